@@ -0,0 +1,62 @@
+-- table_change_counters.sql
+-- Adds the change counters that the startup snapshot (data/controllers.snapshot) is checked against.
+-- Run once against the shelter database, before starting the program:
+--     psql -U oop -d ensf380project -f data/table_change_counters.sql
+-- Running it again is safe. It starts a new epoch, so the next start reloads everything from the tables.
+-- Without it the program still runs, but always loads from the tables and never writes a snapshot.
+
+BEGIN;
+
+DROP TABLE IF EXISTS TableChangeCounter;
+
+-- Each table's count is spread over several slots, chosen by the writing connection, so concurrent
+-- writers to the same table do not wait on one counter row. Readers add the slots up.
+CREATE TABLE TableChangeCounter (
+    table_name VARCHAR(64) NOT NULL,
+    slot SMALLINT NOT NULL,
+    change_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (table_name, slot)
+);
+
+-- Identifies this database, so counters from a recreated one never match an old snapshot
+INSERT INTO TableChangeCounter (table_name, slot, change_count)
+VALUES ('#epoch', 0, (EXTRACT(EPOCH FROM clock_timestamp()) * 1000000)::BIGINT);
+
+CREATE OR REPLACE FUNCTION count_table_change() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO TableChangeCounter (table_name, slot, change_count)
+    VALUES (lower(TG_TABLE_NAME), pg_backend_pid() % 16, 1)
+    ON CONFLICT (table_name, slot) DO UPDATE SET change_count = TableChangeCounter.change_count + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS table_change_counter ON Person;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON Person
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON Location;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON Location
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON PersonLocation;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON PersonLocation
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON Supply;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON Supply
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON SupplyAllocation;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON SupplyAllocation
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON MedicalRecord;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON MedicalRecord
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+DROP TRIGGER IF EXISTS table_change_counter ON Inquiry;
+CREATE TRIGGER table_change_counter AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON Inquiry
+    FOR EACH STATEMENT EXECUTE PROCEDURE count_table_change();
+
+COMMIT;
@@ -0,0 +1,186 @@
+/**
+ * CatalogWatcher.java
+ * Version: 1.1
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+public class CatalogWatcher {
+    public static final long DEFAULT_QUIET_MILLIS = 250;
+    private static final String CATALOG_EXTENSION = ".xml";
+
+    private final Path directory;
+    private final ChangeListener listener;
+    private final long quietMillis;
+    private WatchService watchService;
+    private Thread thread;
+    private static ErrorLogger errorLogger = ErrorLogger.getInstance();
+
+
+    /**
+     * Notified with the locales whose catalog files were written, on the watcher's thread.
+     */
+    public interface ChangeListener {
+        void onCatalogsChanged(Set<String> locales);
+    }
+
+
+    /**
+     * Constructs a new CatalogWatcher. Editors often save a file in several writes, or write a temporary
+     * file and rename it, so changes are only reported once the directory has been quiet for a moment.
+     *
+     * @param directory The directory holding the catalogs, such as data.
+     * @param listener Notified with the changed locales.
+     * @param quietMillis How long the directory must go without changes before they are reported.
+     * @throws IllegalArgumentException If the directory or listener is null.
+     */
+    public CatalogWatcher(Path directory, ChangeListener listener, long quietMillis) {
+        if (directory == null || listener == null) {
+            throw new IllegalArgumentException("Directory and listener cannot be null");
+        }
+        this.directory = directory;
+        this.listener = listener;
+        this.quietMillis = quietMillis;
+    }
+
+
+    /**
+     * Starts watching the directory on a daemon thread. Catalogs that are deleted are not reported,
+     * so whatever was last loaded from them stays in use.
+     *
+     * @throws IOException If the directory cannot be watched.
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        watchService = service;
+        thread = new Thread(() -> watch(service), "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching. Changes not yet reported are dropped.
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            errorLogger.logError(e, "CatalogWatcher.stop()");
+        }
+        thread.interrupt();
+        thread = null;
+        watchService = null;
+    }
+
+    /**
+     * @return true if the watcher has been started and not stopped.
+     */
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+
+
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = service.take();
+                long quietUntil = 0;
+                // Keep collecting until a whole quiet period passes without another catalog event.
+                // The directory also holds logs and snapshots, whose writes must not hold the reload back.
+                while (true) {
+                    if (collect(key, changed)) {
+                        quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(quietMillis);
+                    }
+                    if (changed.isEmpty()) {
+                        key = service.take();
+                        continue;
+                    }
+                    long remaining = quietUntil - System.nanoTime();
+                    key = remaining > 0 ? service.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (key == null) {
+                        break;
+                    }
+                }
+                notifyListener(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * @return true if any of the events was for a catalog.
+     */
+    private boolean collect(WatchKey key, Set<String> changed) {
+        boolean catalogChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, so any catalog may have changed
+                addAllCatalogs(changed);
+                catalogChanged = true;
+            } else {
+                catalogChanged |= addCatalog(event.context().toString(), changed);
+            }
+        }
+        key.reset();
+        return catalogChanged;
+    }
+
+    private void addAllCatalogs(Set<String> changed) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + CATALOG_EXTENSION)) {
+            for (Path file : files) {
+                addCatalog(file.getFileName().toString(), changed);
+            }
+        } catch (IOException e) {
+            errorLogger.logError(e, "CatalogWatcher.watch()");
+        }
+    }
+
+    private static boolean addCatalog(String name, Set<String> changed) {
+        if (!name.endsWith(CATALOG_EXTENSION)) {
+            return false;
+        }
+        changed.add(name.substring(0, name.length() - CATALOG_EXTENSION.length()));
+        return true;
+    }
+
+    private void notifyListener(Set<String> changed) {
+        try {
+            listener.onCatalogsChanged(changed);
+        } catch (RuntimeException e) {
+            // A bad reload must not stop later ones
+            errorLogger.logError(e, "CatalogWatcher.onCatalogsChanged()");
+        }
+    }
+}
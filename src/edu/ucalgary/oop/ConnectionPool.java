@@ -0,0 +1,379 @@
+/**
+ * ConnectionPool.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConnectionPool {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory connectionFactory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    private final LinkedBlockingDeque<PooledEntry> idleConnections = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+
+    /**
+     * Creates physical connections for the pool.
+     * Kept separate from DriverManager so the pool can be exercised without a database.
+     */
+    public interface ConnectionFactory {
+        Connection createConnection() throws SQLException;
+    }
+
+
+    /**
+     * Constructs a new ConnectionPool and opens the minimum number of connections up front.
+     * A background daemon thread periodically closes connections that have been idle for
+     * longer than the idle timeout while keeping at least minSize connections open.
+     *
+     * @param connectionFactory The factory used to open new physical connections.
+     * @param minSize The number of connections kept open even when idle.
+     * @param maxSize The maximum number of connections that may be borrowed at once.
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before failing.
+     * @param idleTimeoutMillis How long a connection may sit idle before it is evicted.
+     * @throws IllegalArgumentException If the sizes or timeouts are invalid.
+     * @throws SQLException If the initial connections cannot be opened.
+     */
+    public ConnectionPool(ConnectionFactory connectionFactory, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis) throws SQLException {
+        if (connectionFactory == null) {
+            throw new IllegalArgumentException("Connection factory cannot be null");
+        }
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Pool sizes must satisfy 0 <= minSize <= maxSize and maxSize > 0");
+        }
+        if (borrowTimeoutMillis < 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Pool timeouts must be positive");
+        }
+
+        this.connectionFactory = connectionFactory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            closeIdleConnections();
+            throw e;
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if every connection is in use.
+     * Idle connections are validated before being handed out and silently replaced if they are broken.
+     * Closing the returned connection hands it back to the pool instead of closing the socket.
+     *
+     * @return A connection that must be closed by the caller once it is no longer needed.
+     * @throws SQLException If the pool is closed, the timeout expires or a new connection cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a pooled connection");
+        }
+
+        PooledEntry entry = null;
+        try {
+            PooledEntry candidate;
+            while (entry == null && (candidate = idleConnections.pollFirst()) != null) {
+                if (isUsable(candidate.connection)) {
+                    entry = candidate;
+                } else {
+                    closeQuietly(candidate.connection);
+                }
+            }
+            if (entry == null) {
+                entry = new PooledEntry(connectionFactory.createConnection());
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        activeCount.incrementAndGet();
+        borrowCount.incrementAndGet();
+        return wrap(entry);
+    }
+
+
+    /**
+     * Closes every idle connection and stops the eviction thread.
+     * Connections that are currently borrowed are closed as they are returned.
+     */
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        closeIdleConnections();
+    }
+
+
+    /**
+     * Closes idle connections that have been unused for longer than the idle timeout,
+     * then reopens connections if the pool dropped below its minimum size.
+     */
+    void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+
+        // Oldest entries sit at the tail because returned connections are pushed to the head
+        Iterator<PooledEntry> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext() && idleConnections.size() > minSize) {
+            PooledEntry entry = iterator.next();
+            if (now - entry.lastUsedMillis >= idleTimeoutMillis && idleConnections.removeLastOccurrence(entry)) {
+                closeQuietly(entry.connection);
+            }
+        }
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            // The next borrow will retry; the database may simply be unavailable right now
+        }
+    }
+
+
+    // Counters
+
+    /**
+     * @return The number of connections currently borrowed.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return The number of open connections waiting in the pool.
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * @return The total number of successful borrows since the pool was created.
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * @return The number of borrows that failed because the timeout expired.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return The total time callers have spent waiting for a connection, in milliseconds.
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * @return The longest time a single caller has waited for a connection, in milliseconds.
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * @return The average time spent waiting per borrow attempt, in milliseconds.
+     */
+    public double getAverageWaitMillis() {
+        long attempts = borrowCount.get() + timeoutCount.get();
+        if (attempts == 0) {
+            return 0.0;
+        }
+        return totalWaitNanos.get() / 1_000_000.0 / attempts;
+    }
+
+    /**
+     * @return The maximum number of connections that may be borrowed at once.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+
+
+    /**
+     * Opens connections until the idle queue holds at least minSize entries
+     * or the pool is at capacity.
+     *
+     * @throws SQLException If a connection cannot be opened.
+     */
+    private void fillToMinimum() throws SQLException {
+        while (!closed && idleConnections.size() < minSize
+                && idleConnections.size() + activeCount.get() < maxSize) {
+            idleConnections.offerLast(new PooledEntry(connectionFactory.createConnection()));
+        }
+    }
+
+    /**
+     * Hands a borrowed connection back to the pool, resetting any transaction state left behind.
+     * Broken connections, and every connection once the pool is closed, are closed instead.
+     *
+     * @param entry The pooled entry being returned.
+     */
+    private void release(PooledEntry entry) {
+        try {
+            boolean reusable = !closed && !entry.connection.isClosed();
+            if (reusable && !entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+            if (reusable) {
+                entry.lastUsedMillis = System.currentTimeMillis();
+                idleConnections.offerFirst(entry);
+            } else {
+                closeQuietly(entry.connection);
+            }
+        } catch (SQLException e) {
+            closeQuietly(entry.connection);
+        } finally {
+            activeCount.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void closeIdleConnections() {
+        PooledEntry entry;
+        while ((entry = idleConnections.pollFirst()) != null) {
+            closeQuietly(entry.connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Connection is being discarded either way
+        }
+    }
+
+    /**
+     * Wraps a pooled connection so that close() returns it to the pool.
+     * Any use after close() fails instead of touching a connection another caller now owns.
+     */
+    private Connection wrap(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || entry.connection.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Pooled" + entry.connection;
+                    default:
+                        if (returned) {
+                            throw new SQLException("Connection has already been returned to the pool");
+                        }
+                        try {
+                            return method.invoke(entry.connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+
+    /**
+     * A physical connection together with the time it was last handed back.
+     */
+    private static class PooledEntry {
+        private final Connection connection;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private PooledEntry(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
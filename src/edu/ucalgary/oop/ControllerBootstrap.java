@@ -0,0 +1,301 @@
+/**
+ * ControllerBootstrap.java
+ * Version: 1.2
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ControllerBootstrap {
+    private static final int CONTROLLER_COUNT = 5;
+    private static final long IDLE_THREAD_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+    private final LoadListener listener;
+    private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final Load<SupplyController> supplyController;
+    private final Load<LocationController> locationController;
+    private final Load<MedicalRecordController> medicalRecordController;
+    private final Load<PersonController> personController;
+    private final Load<InquiryController> inquiryController;
+    private final CompletableFuture<Void> allLoaded;
+    // The SupplyController whose expired supplies are being passed on, and the controllers already told about them
+    private SupplyController evictingSupplies;
+    private final Set<Object> evictionTargets = Collections.newSetFromMap(new IdentityHashMap<>());
+
+
+    /**
+     * Told when each controller finishes loading, on the thread that loaded it.
+     */
+    public interface LoadListener {
+        void controllerLoaded(String controllerName, long millis, RuntimeException failure);
+    }
+
+
+    /**
+     * Starts loading the controllers concurrently, one thread each.
+     * Each controller borrows its own connection from the pool, so the table loads overlap.
+     *
+     * @param supplies Builds the SupplyController.
+     * @param locations Builds the LocationController.
+     * @param medicalRecords Builds the MedicalRecordController.
+     * @param people Builds the PersonController.
+     * @param inquiries Builds the InquiryController.
+     * @param listener Told about each load as it finishes. Can be null.
+     */
+    public ControllerBootstrap(Supplier<SupplyController> supplies,
+                               Supplier<LocationController> locations,
+                               Supplier<MedicalRecordController> medicalRecords,
+                               Supplier<PersonController> people,
+                               Supplier<InquiryController> inquiries,
+                               LoadListener listener) {
+        this.listener = listener;
+        this.executor = new ThreadPoolExecutor(CONTROLLER_COUNT, CONTROLLER_COUNT,
+                IDLE_THREAD_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "controller-bootstrap");
+            // Never keep the program alive just to finish loading
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The threads go away once loading is over, but come back if a failed load is retried
+        this.executor.allowCoreThreadTimeOut(true);
+
+        // Loads that finish early wait in linkEvictions() until every Load has been assigned
+        synchronized (this) {
+            this.supplyController = new Load<>("SupplyController", supplies);
+            this.locationController = new Load<>("LocationController", locations);
+            this.medicalRecordController = new Load<>("MedicalRecordController", medicalRecords);
+            this.personController = new Load<>("PersonController", people);
+            this.inquiryController = new Load<>("InquiryController", inquiries);
+        }
+
+        this.allLoaded = CompletableFuture.allOf(supplyController.first, locationController.first,
+                medicalRecordController.first, personController.first, inquiryController.first);
+    }
+
+    /**
+     * Starts loading every controller. Controllers whose tables have not changed since the last
+     * snapshot was written are loaded from the memory-mapped snapshot file, the rest from the database.
+     * Once everything has loaded, the snapshot is saved periodically and when the program exits.
+     *
+     * @param listener Told about each load as it finishes. Can be null.
+     * @return The running bootstrap.
+     */
+    public static ControllerBootstrap start(LoadListener listener) {
+        // Every load waits on the counters, which are read once
+        CompletableFuture<SnapshotWriter> snapshotWriter =
+                CompletableFuture.supplyAsync(() -> SnapshotWriter.open(SnapshotWriter.DEFAULT_FILE));
+
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(snapshotWriter.join().getStartupSnapshot()),
+                () -> new LocationController(snapshotWriter.join().getStartupSnapshot()),
+                () -> new MedicalRecordController(snapshotWriter.join().getStartupSnapshot()),
+                () -> new PersonController(snapshotWriter.join().getStartupSnapshot()),
+                () -> new InquiryController(snapshotWriter.join().getStartupSnapshot()),
+                listener);
+        bootstrap.allLoaded.thenRun(() -> snapshotWriter.join().start(SnapshotWriter.DEFAULT_PERIOD_MINUTES));
+        return bootstrap;
+    }
+
+
+    /**
+     * @return The SupplyController, waiting for it to finish loading if needed.
+     * @throws RuntimeException If it failed to load. The next call loads it again.
+     */
+    public SupplyController getSupplyController() {
+        return supplyController.get();
+    }
+
+    /**
+     * @return The LocationController, waiting for it to finish loading if needed.
+     * @throws RuntimeException If it failed to load. The next call loads it again.
+     */
+    public LocationController getLocationController() {
+        return locationController.get();
+    }
+
+    /**
+     * @return The MedicalRecordController, waiting for it to finish loading if needed.
+     * @throws RuntimeException If it failed to load. The next call loads it again.
+     */
+    public MedicalRecordController getMedicalRecordController() {
+        return medicalRecordController.get();
+    }
+
+    /**
+     * @return The PersonController, waiting for it to finish loading if needed.
+     * @throws RuntimeException If it failed to load. The next call loads it again.
+     */
+    public PersonController getPersonController() {
+        return personController.get();
+    }
+
+    /**
+     * @return The InquiryController, waiting for it to finish loading if needed.
+     * @throws RuntimeException If it failed to load. The next call loads it again.
+     */
+    public InquiryController getInquiryController() {
+        return inquiryController.get();
+    }
+
+    /**
+     * @param controllerName The controller's class name, e.g. "PersonController".
+     * @return true if that controller has loaded and can be used without waiting.
+     */
+    public boolean isLoaded(String controllerName) {
+        for (Load<?> load : new Load<?>[] {supplyController, locationController,
+                medicalRecordController, personController, inquiryController}) {
+            if (load.name.equals(controllerName)) {
+                return load.isLoaded();
+            }
+        }
+        throw new IllegalArgumentException("Unknown controller: " + controllerName);
+    }
+
+    /**
+     * @return true once every controller has finished its first load, successfully or not.
+     */
+    public boolean isDone() {
+        return allLoaded.isDone();
+    }
+
+    /**
+     * Waits for every controller to finish its first load.
+     *
+     * @throws RuntimeException If any controller failed its first load.
+     */
+    public void awaitAll() {
+        await(allLoaded);
+    }
+
+    /**
+     * @return How long each controller that has finished took to load, in milliseconds, in finishing order.
+     */
+    public Map<String, Long> getLoadTimes() {
+        synchronized (loadTimes) {
+            return new LinkedHashMap<>(loadTimes);
+        }
+    }
+
+
+
+
+    /**
+     * One controller's load. A load that failed is started again by the next caller that needs it,
+     * so a database that was briefly unreachable does not leave the controller missing for good.
+     */
+    private final class Load<T> {
+        private final String name;
+        private final Supplier<T> factory;
+        private final CompletableFuture<T> first;
+        private CompletableFuture<T> current;
+        private CompletableFuture<T> reported;
+        private volatile T loaded;
+
+        private Load(String name, Supplier<T> factory) {
+            this.name = name;
+            this.factory = factory;
+            this.first = start();
+            this.current = first;
+        }
+
+        private T get() {
+            CompletableFuture<T> future;
+            synchronized (this) {
+                // Only retry once the failure has been reported, so every failure reaches a caller
+                if (current == reported) {
+                    current = start();
+                }
+                future = current;
+            }
+            try {
+                return await(future);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    reported = future;
+                }
+                throw e;
+            }
+        }
+
+        private synchronized boolean isLoaded() {
+            return current.isDone() && !current.isCompletedExceptionally();
+        }
+
+        private CompletableFuture<T> start() {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    T controller = factory.get();
+                    loaded = controller;
+                    linkEvictions();
+                    finished(name, start, null);
+                    return controller;
+                } catch (RuntimeException e) {
+                    finished(name, start, e);
+                    throw e;
+                }
+            }, executor);
+        }
+    }
+
+    /**
+     * Has the latest SupplyController pass expired supplies on to the latest PersonController
+     * and LocationController, so their inventories do not keep water the database no longer has.
+     * Runs after every load, so controllers loaded again after a failure are linked too.
+     */
+    private synchronized void linkEvictions() {
+        SupplyController supplies = supplyController.loaded;
+        if (supplies == null) {
+            return;
+        }
+        if (supplies != evictingSupplies) {
+            evictingSupplies = supplies;
+            evictionTargets.clear();
+        }
+        PersonController people = personController.loaded;
+        if (people != null && evictionTargets.add(people)) {
+            supplies.addEvictionListener(people::evictSupplies);
+        }
+        LocationController locations = locationController.loaded;
+        if (locations != null && evictionTargets.add(locations)) {
+            supplies.addEvictionListener(locations::evictSupplies);
+        }
+    }
+
+    private void finished(String controllerName, long start, RuntimeException failure) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        loadTimes.put(controllerName, millis);
+        if (listener != null) {
+            listener.controllerLoaded(controllerName, millis, failure);
+        }
+    }
+
+    /**
+     * Waits for a load and rethrows its failure as the original unchecked exception.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
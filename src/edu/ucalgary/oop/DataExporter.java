@@ -0,0 +1,215 @@
+/**
+ * DataExporter.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyOut;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class DataExporter {
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final ConnectionPool pool;
+
+
+    /**
+     * The file formats an export can be written in.
+     */
+    public enum Format {
+        CSV(".csv"),
+        NDJSON(".ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * The tables included in the daily handover export.
+     */
+    public enum Table {
+        PERSON("Person"),
+        LOCATION("Location"),
+        SUPPLY("Supply"),
+        SUPPLY_ALLOCATION("SupplyAllocation"),
+        MEDICAL_RECORD("MedicalRecord"),
+        INQUIRY("Inquiry");
+
+        private final String tableName;
+
+        Table(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+    }
+
+    /**
+     * Supplies the chunks produced by a COPY ... TO STDOUT, returning null once the copy is finished.
+     * Matches CopyOut.readFromCopy() so the writing can be exercised without a database.
+     */
+    interface CopySource {
+        byte[] readFromCopy() throws SQLException;
+    }
+
+
+    /**
+     * Constructs a new DataExporter that borrows connections from the given pool.
+     *
+     * @param pool The connection pool to export from.
+     * @throws IllegalArgumentException If the pool is null.
+     */
+    public DataExporter(ConnectionPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Connection pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+
+    /**
+     * Exports every handover table into a directory, one file per table named after the table.
+     *
+     * @param directory The directory to write into. It is created if it does not exist.
+     * @param format The format to write.
+     * @param gzip Whether to compress each file, adding ".gz" to its name.
+     * @return The files that were written, in table order.
+     * @throws IOException If a file cannot be written.
+     * @throws SQLException If a table cannot be read.
+     */
+    public List<Path> exportAll(Path directory, Format format, boolean gzip) throws IOException, SQLException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        for (Table table : Table.values()) {
+            Path target = directory.resolve(fileName(table, format, gzip));
+            exportTable(table, target, format, gzip);
+            files.add(target);
+        }
+        return files;
+    }
+
+    /**
+     * Streams one table straight from the database into a file using COPY ... TO STDOUT.
+     * Rows are never materialized as objects, so memory use does not grow with the table.
+     * The data is written to a temporary file that replaces the target only once the copy succeeds.
+     *
+     * @param table The table to export.
+     * @param target The file to write.
+     * @param format The format to write.
+     * @param gzip Whether to compress the file.
+     * @return The number of rows exported.
+     * @throws IOException If the file cannot be written.
+     * @throws SQLException If the table cannot be read.
+     */
+    public long exportTable(Table table, Path target, Format format, boolean gzip) throws IOException, SQLException {
+        try (Connection connection = pool.getConnection()) {
+            CopyOut copyOut = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(buildCopySql(table, format));
+            try {
+                writeCopy(copyOut::readFromCopy, target, gzip);
+            } finally {
+                if (copyOut.isActive()) {
+                    copyOut.cancelCopy();
+                }
+            }
+            return copyOut.getHandledRowCount();
+        }
+    }
+
+
+    /**
+     * Builds the COPY statement for a table.
+     * NDJSON uses row_to_json with CSV framing and control-character quote and delimiter,
+     * because text-format COPY would escape the backslashes inside the JSON.
+     *
+     * @param table The table to export.
+     * @param format The format to produce.
+     * @return The COPY ... TO STDOUT statement.
+     */
+    static String buildCopySql(Table table, Format format) {
+        if (format == Format.NDJSON) {
+            return "COPY (SELECT row_to_json(t) FROM " + table.getTableName() + " t) " +
+                    "TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+        }
+        return "COPY " + table.getTableName() + " TO STDOUT WITH (FORMAT csv, HEADER)";
+    }
+
+    /**
+     * Returns the file name used for a table by exportAll.
+     */
+    static String fileName(Table table, Format format, boolean gzip) {
+        return table.getTableName() + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Writes every chunk from a copy source into a file through a file channel, optionally gzipped.
+     * Only one chunk is held in memory at a time.
+     *
+     * @param source The chunks to write.
+     * @param target The file to write.
+     * @param gzip Whether to compress the file.
+     * @return The number of uncompressed bytes written.
+     * @throws IOException If the file cannot be written.
+     * @throws SQLException If the source fails.
+     */
+    static long writeCopy(CopySource source, Path target, boolean gzip) throws IOException, SQLException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+        long written = 0;
+
+        try {
+            try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 WritableByteChannel out = gzip
+                         ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), GZIP_BUFFER_BYTES))
+                         : file) {
+                byte[] chunk;
+                while ((chunk = source.readFromCopy()) != null) {
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                    while (buffer.hasRemaining()) {
+                        written += out.write(buffer);
+                    }
+                }
+            }
+            moveIntoPlace(temp, target);
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return written;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -7,25 +7,64 @@
 
 package edu.ucalgary.oop;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class DatabaseManager {
     private static DatabaseManager instance;
-    private Connection connection;
+    private ConnectionPool pool;
     private final String DB_URL = "jdbc:postgresql://localhost:5432/ensf380project";
     private final String USER = "oop";
     private final String PASS = "ucalgary";
+    private static final int MIN_POOL_SIZE = 2;
+    private static final int MAX_POOL_SIZE = 10;
+    private static final long BORROW_TIMEOUT_MILLIS = 5_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 300_000;
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    // Key of the TableChangeCounter row that identifies this database rather than counting a table
+    public static final String DATABASE_EPOCH = "#epoch";
+
+    private final IdAllocator personIdAllocator = createIdAllocator("Person", "person_id");
+    private final IdAllocator locationIdAllocator = createIdAllocator("Location", "location_id");
+    private final IdAllocator inquiryIdAllocator = createIdAllocator("Inquiry", "inquiry_id");
+    private final IdAllocator supplyIdAllocator = createIdAllocator("Supply", "supply_id");
+    private final IdAllocator medicalRecordIdAllocator = createIdAllocator("MedicalRecord", "medical_record_id");
     private static ErrorLogger errorLogger = ErrorLogger.getInstance();
     private static TranslationManager translationManager = TranslationManager.getInstance();
 
+    // Joins each supply with the most recent time it was allocated to a person (la.allocation_date)
+    private static final String LATEST_PERSON_ALLOCATION_JOIN =
+            "LEFT JOIN (SELECT supply_id, MAX(allocation_date) AS allocation_date " +
+            "FROM SupplyAllocation WHERE person_id IS NOT NULL GROUP BY supply_id) la " +
+            "ON la.supply_id = s.supply_id ";
+
+    // True for water whose latest allocation time plus the expiration days (parameter) has passed
+    private static final String EXPIRED_WATER_CONDITION =
+            "(LOWER(s.type) = 'water' AND la.allocation_date IS NOT NULL " +
+            "AND la.allocation_date + ? * INTERVAL '1 day' <= LOCALTIMESTAMP)";
+
+    // Every supply with its latest person allocation time and expired water flag (parameter: expiration days)
+    private static final String SUPPLY_SELECT =
+            "SELECT s.supply_id, s.type, s.comments, la.allocation_date, " +
+            EXPIRED_WATER_CONDITION + " AS expired " +
+            "FROM Supply s " +
+            LATEST_PERSON_ALLOCATION_JOIN;
+
     /**
      * Constructor for the DatabaseManager class.
-     * Attempts to establish a connection to the database.
+     * Attempts to set up the connection pool for the database.
      * If the connection fails, it logs a fatal error and throws an SQLException to indicate the failure.
      *
      * @throws SQLException If a database connection cannot be established.
@@ -46,13 +85,21 @@ public class DatabaseManager {
     }
 
     /**
-     * Establishes a connection to the database using the provided database URL, username, and password.
+     * Creates the connection pool using the provided database URL, username, and password.
+     * Every query borrows a connection from the pool, so a dropped connection is replaced
+     * on the next borrow instead of taking down the whole application.
      *
-     * @throws SQLException If a connection to the database cannot be established.
+     * @throws SQLException If the initial connections to the database cannot be established.
      */
     private void connect() throws SQLException {
         try {
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
+            pool = new ConnectionPool(
+                    () -> DriverManager.getConnection(DB_URL, USER, PASS),
+                    MIN_POOL_SIZE,
+                    MAX_POOL_SIZE,
+                    BORROW_TIMEOUT_MILLIS,
+                    IDLE_TIMEOUT_MILLIS
+            );
         } catch (SQLException e) {
             System.err.println(translationManager.getTranslation("error.databaseManagerConnectionFailureMessage2") + ": " + e.getMessage());
             throw e;
@@ -60,20 +107,30 @@ public class DatabaseManager {
     }
 
     /**
-     * Closes the database connection if it is open.
-     * Checks if the connection is not null and is currently open before attempting to close it.
-     * If the connection is already closed or null, no action is taken.
+     * Closes the connection pool if it is open.
+     * Idle connections are closed immediately, borrowed ones as soon as they are returned.
      * Mainly used for personal testing and not actual application.
      *
      * @throws SQLException If an error occurs while closing the connection.
      */
     public void close() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
+        if (pool != null) {
+            pool.close();
         }
     }
 
 
+    /**
+     * Retrieves the connection pool backing this DatabaseManager.
+     * Exposed so that the active, idle and wait-time counters can be monitored.
+     *
+     * @return The connection pool.
+     */
+    public ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+
     /**
      * Retrieves the singleton instance of the DatabaseManager.
      * If the instance does not already exist, it creates a new one.
@@ -102,26 +159,23 @@ public class DatabaseManager {
     /**
      * Adds a new supply to the database.
      * Inserts a new record into the "Supply" table with the supply type and comments (using supply name as comments).
-     * If the insertion is successful, the method retrieves the generated supply ID.
-     * Throws an SQLException if the insertion fails or no ID is returned.
+     * If the supply has no ID yet, one is taken from the supply ID allocator first.
      *
      * @param supply The Supply object containing the data to be inserted.
-     * @throws SQLException If an error occurs while inserting the supply or if no ID is returned after insertion.
+     * @throws SQLException If an error occurs while allocating an ID or inserting the supply.
      */
     public void addSupply(Supply supply) throws SQLException {
-        String sql = "INSERT INTO Supply (type, comments) VALUES (?, ?) RETURNING supply_id";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, supply.getSupplyType());
-            pstmt.setString(2, supply.getSupplyName()); // Using supplyName as comments
+        if (supply.getSupplyId() <= 0) {
+            supply.setSupplyId(supplyIdAllocator.nextId());
+        }
+        String sql = "INSERT INTO Supply (supply_id, type, comments) VALUES (?, ?, ?)";
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                int generatedId = rs.getInt(1);
-                supply.setSupplyId(generatedId);
-                return;
-            }
-            throw new SQLException("Failed to insert supply, no ID obtained");
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, supply.getSupplyId());
+            pstmt.setString(2, supply.getSupplyType());
+            pstmt.setString(3, supply.getSupplyName()); // Using supplyName as comments
+            pstmt.executeUpdate();
         }
     }
 
@@ -131,149 +185,169 @@ public class DatabaseManager {
      * Retrieves all supplies from the database and maps them to their corresponding Supply objects.
      * The method fetches all records from the "Supply" table, and for each supply, it determines its type
      * to instantiate the appropriate subclass.
+     * Each supply is joined with its latest person allocation and expired water is flagged by the same
+     * query, so the listing costs one query no matter how much water is in stock. Expired water is skipped
+     * here; deleting it is left to the SupplyExpiryScheduler so reads never write.
      *
      * @return A list of Supply objects corresponding to the records in the "Supply" table.
      * @throws SQLException If an error occurs while querying the database or processing the result set.
      */
     public List<Supply> getAllSupplies() throws SQLException {
-        deleteExpiredSupplies();
         List<Supply> supplies = new ArrayList<>();
-        String sql = "SELECT * FROM Supply";
+        String sql = SUPPLY_SELECT;
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, Water.EXPIRATION_DAYS);
+            ResultSet rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                String type = rs.getString("type");
-                String name = rs.getString("comments"); // Using comments as supplyName
-                int supplyId = rs.getInt("supply_id");
-                Supply supply;
-
-                // Create the appropriate subclass based on the type
-                switch (type.toLowerCase()) {
-                    case "water":
-                        Water water = new Water(name, type);
-                        setWaterAllocationDate((Water) water, supplyId);
-                        if (!isWaterExpired(water.getAllocationDate())) {
-                            supply = water;
-                        } else {
-                            continue;
-                        }
-                        break;
-                    case "cot":
-                        String[] cotSpecs = name.split(" ");
-                        supply = new Cot(type + supplyId, type, cotSpecs[0], cotSpecs[1]);
-                        break;
-                    case "personal item":
-                        supply = new PersonalBelonging(type + supplyId, type, name);
-                        break;
-                    case "blanket":
-                        supply = new Blanket(name, type);
-                        break;
-                    default:
-                        supply = new Supply(name, type);
-                        break;
+                Supply supply = supplyFromRow(rs);
+                if (supply != null) {
+                    supplies.add(supply);
                 }
-
-                supply.setSupplyId(supplyId);
-                supplies.add(supply);
             }
         }
         return supplies;
     }
 
-
     /**
-     * Retrieves the most recent allocation date for a specific water supply from the database
-     * and sets it on the provided Water object.
+     * Retrieves a single supply by ID with the same typing and expiry rules as getAllSupplies(),
+     * without scanning the whole table.
      *
-     * @param water The Water object to which the allocation date will be set.
-     * @param supplyId The ID of the supply (water) for which the allocation date is being retrieved.
-     * @throws SQLException If an error occurs while querying the database or processing the result.
+     * @param supplyId The ID of the supply to retrieve.
+     * @return The supply, or null if it does not exist or is expired water.
+     * @throws SQLException If an error occurs while querying the database.
      */
-    private void setWaterAllocationDate(Water water, int supplyId) throws SQLException {
-        String sql = "SELECT allocation_date FROM SupplyAllocation " +
-                "WHERE supply_id = ? AND person_id IS NOT NULL " +
-                "ORDER BY allocation_date DESC LIMIT 1";
+    public Supply getSupplyById(int supplyId) throws SQLException {
+        String sql = SUPPLY_SELECT + "WHERE s.supply_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, supplyId);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, Water.EXPIRATION_DAYS);
+            pstmt.setInt(2, supplyId);
             ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                Timestamp timestamp = rs.getTimestamp("allocation_date");
-                if (timestamp != null) {
-                    water.setAllocationDate(timestamp.toLocalDateTime().toLocalDate().toString());
-                }
-            }
+            return rs.next() ? supplyFromRow(rs) : null;
         }
     }
 
-
     /**
-     * Checks whether the water supply has expired based on its allocation date.
-     * The method compares the current date with the expiration date time.
+     * Builds the appropriate Supply subclass from a row of SUPPLY_SELECT.
      *
-     * @param allocationDate The allocation date of the water supply, or null if unallocated.
-     * @return true if the water has expired, false otherwise.
+     * @param rs The result set positioned on the row.
+     * @return The supply, or null if the row is expired water.
+     * @throws SQLException If a column cannot be read.
      */
-    private boolean isWaterExpired(String allocationDate) {
-        if (allocationDate == null) return false; // Unallocated water doesn't expire
+    private Supply supplyFromRow(ResultSet rs) throws SQLException {
+        String type = rs.getString("type");
+        String name = rs.getString("comments"); // Using comments as supplyName
+        int supplyId = rs.getInt("supply_id");
+        Supply supply;
+
+        // Create the appropriate subclass based on the type
+        switch (type.toLowerCase()) {
+            case "water":
+                if (rs.getBoolean("expired")) {
+                    return null;
+                }
+                Water water = new Water(name, type);
+                Timestamp timestamp = rs.getTimestamp("allocation_date");
+                if (timestamp != null) {
+                    water.setAllocationTimestamp(timestamp.toLocalDateTime());
+                }
+                supply = water;
+                break;
+            case "cot":
+                String[] cotSpecs = name.split(" ");
+                supply = new Cot(type + supplyId, type, cotSpecs[0], cotSpecs[1]);
+                break;
+            case "personal item":
+                supply = new PersonalBelonging(type + supplyId, type, name);
+                break;
+            case "blanket":
+                supply = new Blanket(name, type);
+                break;
+            default:
+                supply = new Supply(name, type);
+                break;
+        }
 
-        LocalDate allocation = LocalDate.parse(allocationDate);
-        LocalDate expirationDate = allocation.plusDays(Water.EXPIRATION_DAYS);
-        return LocalDate.now().isAfter(expirationDate);
+        supply.setSupplyId(supplyId);
+        return supply;
     }
 
 
     /**
      * Deletes expired water supplies from the database.
+     * Expired supplies are found with the same latest-allocation query used by getAllSupplies().
      *
      * @throws SQLException If an error occurs while querying the database or deleting the expired supplies.
      */
     public void deleteExpiredSupplies() throws SQLException {
-        String query = "SELECT s.supply_id, sa.allocation_date FROM Supply s " +
-                "LEFT JOIN SupplyAllocation sa ON s.supply_id = sa.supply_id " +
-                "WHERE s.type = 'water' AND sa.person_id IS NOT NULL " +
-                "ORDER BY sa.allocation_date DESC";
+        String query = "SELECT s.supply_id FROM Supply s " +
+                LATEST_PERSON_ALLOCATION_JOIN +
+                "WHERE " + EXPIRED_WATER_CONDITION;
 
         List<Integer> expiredIds = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (Connection connection = pool.getConnection()) {
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setInt(1, Water.EXPIRATION_DAYS);
+                ResultSet rs = pstmt.executeQuery();
 
-            while (rs.next()) {
-                Timestamp timestamp = rs.getTimestamp("allocation_date");
-                if (timestamp != null) {
-                    String allocationDate = timestamp.toLocalDateTime().toLocalDate().toString();
-                    if (isWaterExpired(allocationDate)) {
-                        expiredIds.add(rs.getInt("supply_id"));
-                    }
+                while (rs.next()) {
+                    expiredIds.add(rs.getInt("supply_id"));
                 }
             }
+
+            deleteSuppliesById(connection, expiredIds);
+        }
+    }
+
+
+    /**
+     * Deletes the given supplies and their allocation records in one batch per table.
+     * Used by the SupplyExpiryScheduler to purge expired water.
+     *
+     * @param supplyIds The IDs of the supplies to delete.
+     * @throws SQLException If an error occurs while deleting the supplies.
+     */
+    public void deleteSupplies(List<Integer> supplyIds) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            deleteSuppliesById(connection, supplyIds);
         }
+    }
 
-        // Delete the expired supplies
-        if (!expiredIds.isEmpty()) {
-            String deleteAllocations = "DELETE FROM SupplyAllocation WHERE supply_id = ?";
-            String deleteSupplies = "DELETE FROM Supply WHERE supply_id = ?";
+    /**
+     * Deletes the given supplies and their allocation records in one batch per table.
+     *
+     * @param connection The borrowed connection to run the statements on.
+     * @param supplyIds The IDs of the supplies to delete. Nothing is done if the list is empty.
+     * @throws SQLException If an error occurs while deleting the supplies.
+     */
+    private void deleteSuppliesById(Connection connection, List<Integer> supplyIds) throws SQLException {
+        if (supplyIds.isEmpty()) {
+            return;
+        }
 
-            try (PreparedStatement allocStmt = connection.prepareStatement(deleteAllocations);
-                 PreparedStatement supplyStmt = connection.prepareStatement(deleteSupplies)) {
+        String deleteAllocations = "DELETE FROM SupplyAllocation WHERE supply_id = ?";
+        String deleteSupplies = "DELETE FROM Supply WHERE supply_id = ?";
 
-                for (Integer id : expiredIds) {
-                    // First delete from SupplyAllocation (child table)
-                    allocStmt.setInt(1, id);
-                    allocStmt.addBatch();
+        try (PreparedStatement allocStmt = connection.prepareStatement(deleteAllocations);
+             PreparedStatement supplyStmt = connection.prepareStatement(deleteSupplies)) {
 
-                    // Then delete from Supply (parent table)
-                    supplyStmt.setInt(1, id);
-                    supplyStmt.addBatch();
-                }
+            for (Integer id : supplyIds) {
+                // First delete from SupplyAllocation (child table)
+                allocStmt.setInt(1, id);
+                allocStmt.addBatch();
 
-                allocStmt.executeBatch();
-                supplyStmt.executeBatch();
+                // Then delete from Supply (parent table)
+                supplyStmt.setInt(1, id);
+                supplyStmt.addBatch();
             }
+
+            allocStmt.executeBatch();
+            supplyStmt.executeBatch();
         }
     }
 
@@ -292,7 +366,8 @@ public class DatabaseManager {
     public boolean isSupplyAllocated(int supplyId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM SupplyAllocation WHERE supply_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, supplyId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -315,7 +390,8 @@ public class DatabaseManager {
     public boolean isSupplyAllocatedToPerson(int supplyId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM SupplyAllocation WHERE supply_id = ? AND person_id IS NOT NULL";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, supplyId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -341,7 +417,8 @@ public class DatabaseManager {
     public void updateSupply(Supply supply) throws SQLException {
         String sql = "UPDATE Supply SET type = ?, comments = ? WHERE supply_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, supply.getSupplyType());
             pstmt.setString(2, supply.getSupplyName());
             pstmt.setInt(3, supply.getSupplyId());
@@ -364,7 +441,8 @@ public class DatabaseManager {
     public void deleteSupply(int supplyId) throws SQLException {
         String sql = "DELETE FROM Supply WHERE supply_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, supplyId);
 
             int affectedRows = pstmt.executeUpdate();
@@ -393,7 +471,8 @@ public class DatabaseManager {
             // If already allocated to a location, update the record
             if (locationId != null) {
                 String updateSql = "UPDATE SupplyAllocation SET location_id = ?, person_id = NULL WHERE supply_id = ?";
-                try (PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
+                try (Connection connection = pool.getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
                     pstmt.setInt(1, locationId);
                     pstmt.setInt(2, supplyId);
                     pstmt.executeUpdate();
@@ -402,7 +481,8 @@ public class DatabaseManager {
             // If already allocated to a person, update the record
             else if (personId != null) {
                 String updateSql = "UPDATE SupplyAllocation SET person_id = ?, location_id = NULL WHERE supply_id = ?";
-                try (PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
+                try (Connection connection = pool.getConnection();
+                     PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
                     pstmt.setInt(1, personId);
                     pstmt.setInt(2, supplyId);
                     pstmt.executeUpdate();
@@ -411,7 +491,8 @@ public class DatabaseManager {
         } else {
             // Create new allocation record
             String sql = "INSERT INTO SupplyAllocation (supply_id, person_id, location_id) VALUES (?, ?, ?)";
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, supplyId);
                 if (personId != null) {
                     pstmt.setInt(2, personId);
@@ -440,7 +521,8 @@ public class DatabaseManager {
      */
     public boolean isSupplyAtLocation(int supplyId, int locationId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM SupplyAllocation WHERE supply_id = ? AND location_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, supplyId);
             pstmt.setInt(2, locationId);
             ResultSet rs = pstmt.executeQuery();
@@ -458,7 +540,8 @@ public class DatabaseManager {
      */
     public void removeSupplyFromLocation(int supplyId, int locationId) throws SQLException {
         String sql = "DELETE FROM SupplyAllocation WHERE supply_id = ? AND location_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, supplyId);
             pstmt.setInt(2, locationId);
             pstmt.executeUpdate();
@@ -475,6 +558,21 @@ public class DatabaseManager {
      * @throws SQLException If an error occurs while querying the database.
      */
     public List<Supply> getSuppliesAllocatedTo(Integer personId, Integer locationId) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            return getSuppliesAllocatedTo(connection, personId, locationId);
+        }
+    }
+
+    /**
+     * Retrieves a list of supplies allocated to a specific person or location using an already borrowed connection.
+     *
+     * @param connection The borrowed connection to run the query on.
+     * @param personId The ID of the person to whom the supplies are allocated, or null if querying by location.
+     * @param locationId The ID of the location to which the supplies are allocated, or null if querying by person.
+     * @return A list of `Supply` objects allocated to the specified person or location.
+     * @throws SQLException If an error occurs while querying the database.
+     */
+    private List<Supply> getSuppliesAllocatedTo(Connection connection, Integer personId, Integer locationId) throws SQLException {
         List<Supply> supplies = new ArrayList<>();
         String sql = "SELECT s.* FROM Supply s JOIN SupplyAllocation sa ON s.supply_id = sa.supply_id WHERE ";
 
@@ -524,20 +622,23 @@ public class DatabaseManager {
     /**
      * Adds a new location to the database.
      *
+     * If the location has no ID yet, one is taken from the location ID allocator first.
+     *
      * @param location The `Location` object containing the details to be inserted.
-     * @throws SQLException If an error occurs while inserting the location into the database or retrieving the generated ID.
+     * @throws SQLException If an error occurs while allocating an ID or inserting the location into the database.
      */
     public void addLocation(Location location) throws SQLException {
-        String sql = "INSERT INTO Location (name, address) VALUES (?, ?) RETURNING location_id";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, location.getLocationName());
-            pstmt.setString(2, location.getLocationAddress());
+        if (location.getLocationId() <= 0) {
+            location.setLocationId(locationIdAllocator.nextId());
+        }
+        String sql = "INSERT INTO Location (location_id, name, address) VALUES (?, ?, ?)";
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                location.setLocationId(rs.getInt("location_id"));
-            }
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, location.getLocationId());
+            pstmt.setString(2, location.getLocationName());
+            pstmt.setString(3, location.getLocationAddress());
+            pstmt.executeUpdate();
         }
     }
 
@@ -552,7 +653,8 @@ public class DatabaseManager {
         List<Location> locations = new ArrayList<>();
         String sql = "SELECT * FROM Location";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -579,7 +681,8 @@ public class DatabaseManager {
     public void updateLocation(Location location) throws SQLException {
         String sql = "UPDATE Location SET name = ?, address = ? WHERE location_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, location.getLocationName());
             pstmt.setString(2, location.getLocationAddress());
             pstmt.setInt(3, location.getLocationId());
@@ -602,7 +705,8 @@ public class DatabaseManager {
     public void deleteLocation(int locationId) throws SQLException {
         String sql = "DELETE FROM Location WHERE location_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, locationId);
 
             int affectedRows = pstmt.executeUpdate();
@@ -623,7 +727,8 @@ public class DatabaseManager {
         List<Person> occupants = new ArrayList<>();
         String sql = "SELECT p.* FROM Person p JOIN PersonLocation pl ON p.person_id = pl.person_id WHERE pl.location_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, locationId);
 
             ResultSet rs = pstmt.executeQuery();
@@ -652,7 +757,8 @@ public class DatabaseManager {
     public void addPersonToLocation(int personId, int locationId) throws SQLException {
         String sql = "INSERT INTO PersonLocation (person_id, location_id) VALUES (?, ?)";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, personId);
             pstmt.setInt(2, locationId);
 
@@ -672,7 +778,8 @@ public class DatabaseManager {
     public void removePersonFromLocation(int personId, int locationId) throws SQLException {
         String sql = "DELETE FROM PersonLocation WHERE person_id = ? AND location_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, personId);
             pstmt.setInt(2, locationId);
 
@@ -683,6 +790,27 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Retrieves every person and location assignment from the `PersonLocation` table in one query.
+     *
+     * @return A list of {person_id, location_id} pairs.
+     * @throws SQLException If an error occurs while querying the database.
+     */
+    public List<int[]> getAllPersonLocations() throws SQLException {
+        List<int[]> assignments = new ArrayList<>();
+        String sql = "SELECT person_id, location_id FROM PersonLocation";
+
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                assignments.add(new int[]{rs.getInt("person_id"), rs.getInt("location_id")});
+            }
+        }
+        return assignments;
+    }
+
 
 
 
@@ -703,23 +831,26 @@ public class DatabaseManager {
     /**
      * Adds a new medical record to the database.
      *
+     * If the record has no ID yet, one is taken from the medical record ID allocator first.
+     *
      * @param record The `MedicalRecord` object containing the details of the treatment to be added.
-     * @throws SQLException If an error occurs while inserting the record into the database.
+     * @throws SQLException If an error occurs while allocating an ID or inserting the record into the database.
      */
     public void addMedicalRecord(MedicalRecord record) throws SQLException {
-        String sql = "INSERT INTO MedicalRecord (location_id, person_id, date_of_treatment, treatment_details) " +
-                "VALUES (?, ?, ?::timestamp, ?) RETURNING medical_record_id";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, record.getLocation().getLocationId());
-            pstmt.setInt(2, record.getPerson().getPersonId());
-            pstmt.setString(3, record.getDateOfTreatment() + " 00:00:00"); // Add time component
-            pstmt.setString(4, record.getTreatmentDetails());
-
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                record.setMedicalRecordId(rs.getInt("medical_record_id"));
-            }
+        if (record.getMedicalRecordId() <= 0) {
+            record.setMedicalRecordId(medicalRecordIdAllocator.nextId());
+        }
+        String sql = "INSERT INTO MedicalRecord (medical_record_id, location_id, person_id, date_of_treatment, treatment_details) " +
+                "VALUES (?, ?, ?, ?::timestamp, ?)";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, record.getMedicalRecordId());
+            pstmt.setInt(2, record.getLocation().getLocationId());
+            pstmt.setInt(3, record.getPerson().getPersonId());
+            pstmt.setString(4, record.getDateOfTreatment() + " 00:00:00"); // Add time component
+            pstmt.setString(5, record.getTreatmentDetails());
+            pstmt.executeUpdate();
         }
     }
 
@@ -738,7 +869,8 @@ public class DatabaseManager {
                 "JOIN Person p ON mr.person_id = p.person_id " +
                 "JOIN Location l ON mr.location_id = l.location_id";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -785,7 +917,8 @@ public class DatabaseManager {
                 "date_of_treatment = ?, treatment_details = ? " +
                 "WHERE medical_record_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, record.getLocation().getLocationId());
             pstmt.setInt(2, record.getPerson().getPersonId());
             Timestamp timestamp = Timestamp.valueOf(record.getDateOfTreatment() + " 00:00:00");
@@ -817,7 +950,8 @@ public class DatabaseManager {
                 "JOIN Location l ON mr.location_id = l.location_id " +
                 "WHERE mr.person_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, personId);
 
             ResultSet rs = pstmt.executeQuery();
@@ -863,7 +997,8 @@ public class DatabaseManager {
                 "JOIN Location l ON mr.location_id = l.location_id " +
                 "WHERE mr.location_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, locationId);
 
             ResultSet rs = pstmt.executeQuery();
@@ -911,91 +1046,113 @@ public class DatabaseManager {
     /**
      * Retrieves a list of all people from the database, including information about their supplies if they are disaster victims.
      * If a person is a disaster victim, their allocated supplies are also fetched and added to their personal inventory.
+     * People, family memberships and allocated supplies are loaded with a fixed number of queries and joined in memory,
+     * so members of the same family group share the same `Person` instances and `FamilyGroup`.
      *
      * @return A list of `Person` objects, potentially including `DisasterVictim` objects if applicable.
      * @throws SQLException If there is an error executing the database queries.
      */
     public List<Person> getAllPeople() throws SQLException {
         List<Person> people = new ArrayList<>();
+        Map<Integer, ArrayList<Person>> familyMembers = new LinkedHashMap<>();
+
+        try (Connection connection = pool.getConnection()) {
+            // Pre-fetch every person's allocated supplies in one query
+            Map<Integer, List<Supply>> suppliesByPerson = getSuppliesAllocatedToPeople(connection);
+
+            String personSql = "SELECT * FROM Person";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(personSql)) {
+
+                while (rs.next()) {
+                    int personId = rs.getInt("person_id");
+                    List<Supply> supplies = suppliesByPerson.get(personId);
+
+                    Person person;
+                    if (supplies != null) {
+                        DisasterVictim victim = new DisasterVictim(
+                                rs.getString("first_name"),
+                                rs.getString("last_name")
+                        );
+                        victim.setPersonalInventory(new ArrayList<>(supplies));
+                        person = victim;
+                    } else {
+                        person = new Person(
+                                rs.getString("first_name"),
+                                rs.getString("last_name")
+                        );
+                    }
 
-        // First get all people
-        String personSql = "SELECT * FROM Person";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(personSql)) {
-
-            // Pre-fetch all supply allocations to minimize database queries
-            Map<Integer, Boolean> hasSuppliesMap = getPeopleWithSuppliesMap();
-
-            while (rs.next()) {
-                int personId = rs.getInt("person_id");
-                boolean isDisasterVictim = hasSuppliesMap.getOrDefault(personId, false);
-
-                Person person;
-                if (isDisasterVictim) {
-                    person = new DisasterVictim(
-                            rs.getString("first_name"),
-                            rs.getString("last_name")
-                    );
-                } else {
-                    person = new Person(
-                            rs.getString("first_name"),
-                            rs.getString("last_name")
-                    );
-                }
-
-                person.setPersonId(personId);
+                    person.setPersonId(personId);
 
-                // Set date of birth if available
-                String dob = rs.getString("date_of_birth");
-                if (dob != null) {
-                    person.setDateOfBirth(dob);
-                }
+                    // Set date of birth if available
+                    String dob = rs.getString("date_of_birth");
+                    if (dob != null) {
+                        person.setDateOfBirth(dob);
+                    }
 
-                person.setGender(rs.getString("gender"));
-                person.setComments(rs.getString("comments"));
+                    person.setGender(rs.getString("gender"));
+                    person.setComments(rs.getString("comments"));
 
-                // Handle phone number
-                String phoneNumber = rs.getString("phone_number");
-                if (phoneNumber != null && !phoneNumber.trim().isEmpty()) {
-                    person.setPhoneNumber(phoneNumber);
-                }
+                    // Handle phone number
+                    String phoneNumber = rs.getString("phone_number");
+                    if (phoneNumber != null && !phoneNumber.trim().isEmpty()) {
+                        person.setPhoneNumber(phoneNumber);
+                    }
 
-                // Handle family group
-                int familyGroupId = rs.getInt("family_group");
-                if (!rs.wasNull()) {
-                    FamilyGroup familyGroup = getFamilyGroupById(familyGroupId);
-                    if (familyGroup != null) {
-                        person.setFamilyGroup(familyGroup);
+                    // Remember family membership; groups are built once every member is loaded
+                    int familyGroupId = rs.getInt("family_group");
+                    if (!rs.wasNull()) {
+                        familyMembers.computeIfAbsent(familyGroupId, id -> new ArrayList<>()).add(person);
                     }
-                }
 
-                // If this is a DisasterVictim, load their personal inventory
-                if (isDisasterVictim && person instanceof DisasterVictim) {
-                    DisasterVictim victim = (DisasterVictim) person;
-                    List<Supply> supplies = getSuppliesAllocatedTo(personId, null);
-                    victim.setPersonalInventory(new ArrayList<>(supplies));
+                    people.add(person);
                 }
-
-                people.add(person);
             }
         }
+
+        joinFamilyGroups(familyMembers);
         return people;
     }
 
     /**
-     * Retrieves a map of person IDs that have supplies allocated to them.
+     * Joins family groups in memory so every member points at the same group and instances.
+     * Shared with the startup snapshot so people read from it are grouped the same way.
+     *
+     * @param familyMembers The members of each family group, keyed by family group ID.
+     */
+    static void joinFamilyGroups(Map<Integer, ArrayList<Person>> familyMembers) {
+        for (Map.Entry<Integer, ArrayList<Person>> entry : familyMembers.entrySet()) {
+            FamilyGroup familyGroup = new FamilyGroup(entry.getValue());
+            familyGroup.setFamilyGroupId(entry.getKey());
+            for (Person member : entry.getValue()) {
+                member.setFamilyGroup(familyGroup);
+            }
+        }
+    }
+
+    /**
+     * Retrieves every supply allocated to a person, grouped by person ID.
      *
-     * @return A map where the key is a person ID and the value is `true` if the person has supplies allocated.
+     * @param connection The borrowed connection to run the query on.
+     * @return A map where the key is a person ID and the value is the list of supplies allocated to them.
      * @throws SQLException If there is an error executing the SQL query.
      */
-    private Map<Integer, Boolean> getPeopleWithSuppliesMap() throws SQLException {
-        Map<Integer, Boolean> result = new HashMap<>();
-        String sql = "SELECT DISTINCT person_id FROM SupplyAllocation WHERE person_id IS NOT NULL";
+    private Map<Integer, List<Supply>> getSuppliesAllocatedToPeople(Connection connection) throws SQLException {
+        Map<Integer, List<Supply>> result = new HashMap<>();
+        String sql = "SELECT sa.person_id, s.* FROM Supply s " +
+                "JOIN SupplyAllocation sa ON s.supply_id = sa.supply_id " +
+                "WHERE sa.person_id IS NOT NULL";
 
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                result.put(rs.getInt("person_id"), true);
+                Supply supply = new Supply(
+                        rs.getString("comments"),
+                        rs.getString("type")
+                ) {};
+                supply.setSupplyId(rs.getInt("supply_id"));
+                result.computeIfAbsent(rs.getInt("person_id"), id -> new ArrayList<>()).add(supply);
             }
         }
         return result;
@@ -1011,13 +1168,14 @@ public class DatabaseManager {
     public Person getPersonById(int personId) throws SQLException {
         String sql = "SELECT * FROM Person WHERE person_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, personId);
 
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
                 // Determine if this person should be a DisasterVictim
-                boolean isDisasterVictim = checkIfPersonHasSupplies(personId);
+                boolean isDisasterVictim = checkIfPersonHasSupplies(connection, personId);
 
                 Person person;
                 if (isDisasterVictim) {
@@ -1055,7 +1213,7 @@ public class DatabaseManager {
                 // Handle family group
                 int familyGroupId = rs.getInt("family_group");
                 if (!rs.wasNull()) {
-                    FamilyGroup familyGroup = getFamilyGroupById(familyGroupId);
+                    FamilyGroup familyGroup = getFamilyGroupById(connection, familyGroupId);
                     if (familyGroup != null) {
                         person.setFamilyGroup(familyGroup);
                     }
@@ -1064,7 +1222,7 @@ public class DatabaseManager {
                 // If this is a DisasterVictim, load their personal inventory
                 if (isDisasterVictim && person instanceof DisasterVictim) {
                     DisasterVictim victim = (DisasterVictim) person;
-                    List<Supply> supplies = getSuppliesAllocatedTo(personId, null);
+                    List<Supply> supplies = getSuppliesAllocatedTo(connection, personId, null);
                     victim.setPersonalInventory(new ArrayList<>(supplies));
                 }
 
@@ -1078,11 +1236,12 @@ public class DatabaseManager {
     /**
      * Checks whether a person has any supplies allocated to them.
      *
+     * @param connection The borrowed connection to run the query on.
      * @param personId The ID of the person to check for supply allocations.
      * @return true if the person has one or more supplies allocated; false otherwise.
      * @throws SQLException if there is an error executing the SQL query.
      */
-    private boolean checkIfPersonHasSupplies(int personId) throws SQLException {
+    private boolean checkIfPersonHasSupplies(Connection connection, int personId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM SupplyAllocation WHERE person_id = ?";
 
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
@@ -1095,12 +1254,13 @@ public class DatabaseManager {
     /**
      * Helper method that retrieves a family group based on the given family group ID
      *
+     * @param connection The borrowed connection to run the query on.
      * @param familyGroupId The ID of the family group to retrieve.
      * @return A FamilyGroup object containing the list of people in the family group,
      *         or null if no members are found for the given family group ID.
      * @throws SQLException if there is an error executing the SQL query.
      */
-    private FamilyGroup getFamilyGroupById(int familyGroupId) throws SQLException {
+    private FamilyGroup getFamilyGroupById(Connection connection, int familyGroupId) throws SQLException {
         String sql = "SELECT * FROM Person WHERE family_group = ?";
         List<Person> members = new ArrayList<>();
 
@@ -1132,37 +1292,263 @@ public class DatabaseManager {
     /**
      * Adds a new person to the database.
      *
+     * If the person has no ID yet, one is taken from the person ID allocator first.
+     *
      * @param person The person object containing the details to be inserted.
-     * @throws SQLException if there is an error executing the SQL query.
+     * @throws SQLException if there is an error allocating an ID or executing the SQL query.
      */
     public void addPerson(Person person) throws SQLException {
-        String sql = "INSERT INTO Person (first_name, last_name, date_of_birth, gender, comments, phone_number, family_group) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING person_id";
+        if (person.getPersonId() <= 0) {
+            person.setPersonId(personIdAllocator.nextId());
+        }
+        String sql = "INSERT INTO Person (person_id, first_name, last_name, date_of_birth, gender, comments, phone_number, family_group) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, person.getFirstName());
-            pstmt.setString(2, person.getLastName());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, person.getPersonId());
+            pstmt.setString(2, person.getFirstName());
+            pstmt.setString(3, person.getLastName());
 
             // Handle date_of_birth properly
             if (person.getDateOfBirth() != null && !person.getDateOfBirth().isEmpty()) {
-                pstmt.setDate(3, Date.valueOf(person.getDateOfBirth()));
+                pstmt.setDate(4, Date.valueOf(person.getDateOfBirth()));
             } else {
-                pstmt.setNull(3, Types.DATE);
+                pstmt.setNull(4, Types.DATE);
             }
 
-            pstmt.setString(4, person.getGender());
-            pstmt.setString(5, person.getComments());
-            pstmt.setString(6, person.getPhoneNumber());
+            pstmt.setString(5, person.getGender());
+            pstmt.setString(6, person.getComments());
+            pstmt.setString(7, person.getPhoneNumber());
 
             if (person.getFamilyGroup() != null) {
-                pstmt.setInt(7, person.getFamilyGroup().getFamilyGroupId());
+                pstmt.setInt(8, person.getFamilyGroup().getFamilyGroupId());
             } else {
-                pstmt.setNull(7, Types.INTEGER);
+                pstmt.setNull(8, Types.INTEGER);
+            }
+
+            pstmt.executeUpdate();
+        }
+    }
+
+
+    /**
+     * Adds many people at once using PostgreSQL COPY instead of one INSERT per person.
+     * Person IDs are reserved from the table's sequence in a single query, then the people, their
+     * shelter assignments and their supply allocations are streamed into Person, PersonLocation and
+     * SupplyAllocation in one transaction. On success every imported person has its ID set.
+     * A supply can only be given to one person, so the import is refused if any of its supplies is
+     * already allocated or appears on more than one row.
+     *
+     * @param rows The parsed intake rows to import.
+     * @throws IllegalArgumentException if a supply is already allocated; nothing is written in that case.
+     * @throws SQLException if any part of the import fails; nothing is written in that case.
+     */
+    public void bulkAddPeople(List<PersonCsvImporter.ImportRow> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = pool.getConnection()) {
+            int[] personIds;
+            try {
+                connection.setAutoCommit(false); // Start transaction
+
+                checkImportedSuppliesFree(connection, rows);
+                personIds = reserveIds(connection, "person", "person_id", rows.size());
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+                StringBuilder people = new StringBuilder();
+                StringBuilder personLocations = new StringBuilder();
+                StringBuilder supplyAllocations = new StringBuilder();
+                CopyIn personCopy = copyManager.copyIn(
+                        "COPY Person (person_id, first_name, last_name, date_of_birth, gender, comments, phone_number) " +
+                        "FROM STDIN WITH (FORMAT csv)");
+                try {
+                    for (int i = 0; i < rows.size(); i++) {
+                        PersonCsvImporter.ImportRow row = rows.get(i);
+                        Person person = row.getPerson();
+                        int personId = personIds[i];
+
+                        people.append(personId).append(',')
+                                .append(csvField(person.getFirstName())).append(',')
+                                .append(csvField(person.getLastName())).append(',')
+                                .append(csvField(person.getDateOfBirth())).append(',')
+                                .append(csvField(person.getGender())).append(',')
+                                .append(csvField(person.getComments())).append(',')
+                                .append(csvField(person.getPhoneNumber())).append('\n');
+                        if (row.getLocationId() != null) {
+                            personLocations.append(personId).append(',').append(row.getLocationId()).append('\n');
+                        }
+                        if (row.getSupplyId() != null) {
+                            supplyAllocations.append(row.getSupplyId()).append(',').append(personId).append('\n');
+                        }
+                        flushCopyBuffer(personCopy, people, false);
+                    }
+                    flushCopyBuffer(personCopy, people, true);
+                    personCopy.endCopy();
+                } finally {
+                    if (personCopy.isActive()) {
+                        personCopy.cancelCopy();
+                    }
+                }
+
+                copyIn(copyManager, "COPY PersonLocation (person_id, location_id) FROM STDIN WITH (FORMAT csv)",
+                        personLocations);
+                copyIn(copyManager, "COPY SupplyAllocation (supply_id, person_id) FROM STDIN WITH (FORMAT csv)",
+                        supplyAllocations);
+
+                connection.commit(); // Commit transaction if every COPY succeeds
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback(); // Rollback if the check or any COPY fails
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // Reset auto-commit
+            }
+
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).getPerson().setPersonId(personIds[i]);
             }
+        }
+    }
+
+    /**
+     * Refuses an import that would allocate a supply twice. SupplyAllocation is locked against other
+     * writers until the import's transaction ends, so nothing can be allocated between the check and the COPY.
+     *
+     * @param connection The connection the import's transaction is running on.
+     * @param rows The parsed intake rows to import.
+     * @throws IllegalArgumentException if a supply is already allocated or is on more than one row.
+     * @throws SQLException if the allocations cannot be read.
+     */
+    private void checkImportedSuppliesFree(Connection connection, List<PersonCsvImporter.ImportRow> rows)
+            throws SQLException {
+        Set<Integer> supplyIds = new LinkedHashSet<>();
+        for (PersonCsvImporter.ImportRow row : rows) {
+            if (row.getSupplyId() != null && !supplyIds.add(row.getSupplyId())) {
+                throw new IllegalArgumentException("Supply " + row.getSupplyId() + " is on more than one row");
+            }
+        }
+        if (supplyIds.isEmpty()) {
+            return;
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("LOCK TABLE SupplyAllocation IN SHARE ROW EXCLUSIVE MODE");
+        }
 
+        List<Integer> allocated = new ArrayList<>();
+        String sql = "SELECT DISTINCT supply_id FROM SupplyAllocation WHERE supply_id = ANY(?) ORDER BY supply_id";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setArray(1, connection.createArrayOf("integer", supplyIds.toArray()));
             ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                person.setPersonId(rs.getInt("person_id"));
+            while (rs.next()) {
+                allocated.add(rs.getInt("supply_id"));
+            }
+        }
+        if (!allocated.isEmpty()) {
+            throw new IllegalArgumentException("Supplies already allocated: " + allocated);
+        }
+    }
+
+    /**
+     * Reserves a block of IDs from a table's serial sequence in one round trip.
+     *
+     * @param connection The borrowed connection to run the query on.
+     * @param tableName The table whose sequence is used.
+     * @param idColumn The serial column of the table.
+     * @param count How many IDs to reserve.
+     * @return The reserved IDs, in ascending order.
+     * @throws SQLException if the sequence cannot be read.
+     */
+    private int[] reserveIds(Connection connection, String tableName, String idColumn, int count) throws SQLException {
+        String sql = "SELECT nextval(pg_get_serial_sequence(?, ?)) AS id FROM generate_series(1, ?) ORDER BY id";
+        int[] ids = new int[count];
+        int reserved = 0;
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, tableName);
+            pstmt.setString(2, idColumn);
+            pstmt.setInt(3, count);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                ids[reserved++] = rs.getInt("id");
+            }
+        }
+        if (reserved != count) {
+            throw new SQLException("Reserved " + reserved + " of " + count + " IDs from " + tableName);
+        }
+        return ids;
+    }
+
+    /**
+     * Runs a COPY ... FROM STDIN with the given CSV content.
+     * Nothing is sent if the content is empty.
+     */
+    private void copyIn(CopyManager copyManager, String sql, StringBuilder csv) throws SQLException {
+        if (csv.length() == 0) {
+            return;
+        }
+        CopyIn copy = copyManager.copyIn(sql);
+        try {
+            flushCopyBuffer(copy, csv, true);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Sends buffered CSV lines to an open COPY once the buffer is large enough, or always if forced.
+     */
+    private void flushCopyBuffer(CopyIn copy, StringBuilder buffer, boolean force) throws SQLException {
+        if (buffer.length() == 0 || (!force && buffer.length() < COPY_BUFFER_CHARS)) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Formats a value as a CSV field for COPY. Null becomes an unquoted empty field, which COPY reads as NULL.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+
+    /**
+     * Sets or clears the family group of several people in a single statement.
+     *
+     * @param personIds The IDs of the people.
+     * @param familyGroupId The family group to put them in, or null to take them out of their family group.
+     * @throws SQLException if there is an error executing the SQL query or if no rows are affected.
+     */
+    public void setFamilyGroup(List<Integer> personIds, Integer familyGroupId) throws SQLException {
+        String sql = "UPDATE Person SET family_group = ? WHERE person_id = ANY(?)";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            if (familyGroupId != null) {
+                pstmt.setInt(1, familyGroupId);
+            } else {
+                pstmt.setNull(1, Types.INTEGER);
+            }
+            pstmt.setArray(2, connection.createArrayOf("integer", personIds.toArray()));
+
+            int affectedRows = pstmt.executeUpdate();
+            if (affectedRows == 0) {
+                throw new SQLException("Setting family group failed, no rows affected.");
             }
         }
     }
@@ -1179,7 +1565,8 @@ public class DatabaseManager {
                 "gender = ?, comments = ?, phone_number = ?, family_group = ? " +
                 "WHERE person_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, person.getFirstName());
             pstmt.setString(2, person.getLastName());
 
@@ -1226,28 +1613,30 @@ public class DatabaseManager {
                 "DELETE FROM Person WHERE person_id = ?"
         };
 
-        try {
-            connection.setAutoCommit(false); // Start transaction
-
-            for (String query : deleteQueries) {
-                try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-                    // For the Inquiry query which has two parameters
-                    if (query.contains("OR seeking_id")) {
-                        pstmt.setInt(1, personId);
-                        pstmt.setInt(2, personId);
-                    } else {
-                        pstmt.setInt(1, personId);
+        try (Connection connection = pool.getConnection()) {
+            try {
+                connection.setAutoCommit(false); // Start transaction
+
+                for (String query : deleteQueries) {
+                    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                        // For the Inquiry query which has two parameters
+                        if (query.contains("OR seeking_id")) {
+                            pstmt.setInt(1, personId);
+                            pstmt.setInt(2, personId);
+                        } else {
+                            pstmt.setInt(1, personId);
+                        }
+                        pstmt.executeUpdate();
                     }
-                    pstmt.executeUpdate();
                 }
-            }
 
-            connection.commit(); // Commit transaction if all queries succeed
-        } catch (SQLException e) {
-            connection.rollback(); // Rollback if any query fails
-            throw e;
-        } finally {
-            connection.setAutoCommit(true); // Reset auto-commit
+                connection.commit(); // Commit transaction if all queries succeed
+            } catch (SQLException e) {
+                connection.rollback(); // Rollback if any query fails
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // Reset auto-commit
+            }
         }
     }
 
@@ -1284,7 +1673,8 @@ public class DatabaseManager {
                 "JOIN Person p2 ON i.seeking_id = p2.person_id " +
                 "JOIN Location l ON i.location_id = l.location_id";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -1353,7 +1743,8 @@ public class DatabaseManager {
                 "JOIN Location l ON i.location_id = l.location_id " +
                 "WHERE i.inquiry_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, inquiryId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -1402,24 +1793,27 @@ public class DatabaseManager {
      * Adds a new inquiry to the database. This method inserts a record into the Inquiry table, including
      * the inquirer, missing person, location, date of the inquiry, and comments.
      *
+     * If the inquiry has no ID yet, one is taken from the inquiry ID allocator first.
+     *
      * @param inquiry the Inquiry object containing all the necessary details to be added.
      * @throws SQLException if any error occurs during database interaction.
      */
     public void addInquiry(Inquiry inquiry) throws SQLException {
-        String sql = "INSERT INTO Inquiry (inquirer_id, seeking_id, location_id, date_of_inquiry, comments) " +
-                "VALUES (?, ?, ?, ?::timestamp, ?) RETURNING inquiry_id";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, inquiry.getInquirer().getPersonId());
-            pstmt.setInt(2, inquiry.getMissingPerson().getPersonId());
-            pstmt.setInt(3, inquiry.getLastKnownLocation().getLocationId());
-            pstmt.setString(4, inquiry.getDateOfInquiry() + " 00:00:00"); // Add time component
-            pstmt.setString(5, inquiry.getInfoProvided());
-
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                inquiry.setInquiryId(rs.getInt("inquiry_id"));
-            }
+        if (inquiry.getInquiryId() <= 0) {
+            inquiry.setInquiryId(inquiryIdAllocator.nextId());
+        }
+        String sql = "INSERT INTO Inquiry (inquiry_id, inquirer_id, seeking_id, location_id, date_of_inquiry, comments) " +
+                "VALUES (?, ?, ?, ?, ?::timestamp, ?)";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, inquiry.getInquiryId());
+            pstmt.setInt(2, inquiry.getInquirer().getPersonId());
+            pstmt.setInt(3, inquiry.getMissingPerson().getPersonId());
+            pstmt.setInt(4, inquiry.getLastKnownLocation().getLocationId());
+            pstmt.setString(5, inquiry.getDateOfInquiry() + " 00:00:00"); // Add time component
+            pstmt.setString(6, inquiry.getInfoProvided());
+            pstmt.executeUpdate();
         }
     }
 
@@ -1434,7 +1828,8 @@ public class DatabaseManager {
                 "date_of_inquiry = ?::timestamp, comments = ? " +
                 "WHERE inquiry_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, inquiry.getInquirer().getPersonId());
             pstmt.setInt(2, inquiry.getMissingPerson().getPersonId());
             pstmt.setInt(3, inquiry.getLastKnownLocation().getLocationId());
@@ -1460,7 +1855,8 @@ public class DatabaseManager {
     public void deleteInquiry(int inquiryId) throws SQLException {
         String sql = "DELETE FROM Inquiry WHERE inquiry_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, inquiryId);
 
             int affectedRows = pstmt.executeUpdate();
@@ -1477,84 +1873,121 @@ public class DatabaseManager {
 
 
 
+    // Change counters
+
+
+    /**
+     * Retrieves how many times each table has been changed, as counted by the change counter triggers
+     * that data/table_change_counters.sql adds to the database.
+     * Every statement that inserts, updates, deletes or truncates a table moves its counter on, so a
+     * cache built while the counters had given values is still current if they have not moved since.
+     * Each table's count is spread over several rows so concurrent writers do not queue on one row;
+     * the rows are added up here.
+     * Tables that have never changed are missing, which callers should read as 0.
+     * The DATABASE_EPOCH entry changes if the database is recreated, so counters from an older
+     * database are never mistaken for current ones.
+     *
+     * @return The change counter of each table, keyed by lower case table name.
+     * @throws SQLException If the counters cannot be read, e.g. the migration has not been run.
+     */
+    public Map<String, Long> getTableChangeCounters() throws SQLException {
+        Map<String, Long> counters = new HashMap<>();
+        String sql = "SELECT table_name, SUM(change_count) AS change_count FROM TableChangeCounter GROUP BY table_name";
+
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                counters.put(rs.getString("table_name"), rs.getLong("change_count"));
+            }
+        }
+        return counters;
+    }
+
+
+
+
+
+
+
+
     // ID management
 
 
     /**
-     * Gets the largest person ID currently in the database
+     * Gets the allocator that hands out person IDs
      *
-     * @return The largest person ID, or 0 if no supplies exist
-     * @throws SQLException If there's a database error
+     * @return The person ID allocator
      */
-    public int getLargestPersonId() throws SQLException {
-        return getLargestIdFromTable("Person", "person_id");
+    public IdAllocator getPersonIdAllocator() {
+        return personIdAllocator;
     }
 
     /**
-     * Gets the largest location ID currently in the database
+     * Gets the allocator that hands out location IDs
      *
-     * @return The largest locations ID, or 0 if no supplies exist
-     * @throws SQLException If there's a database error
+     * @return The location ID allocator
      */
-    public int getLargestLocationId() throws SQLException {
-        return getLargestIdFromTable("Location", "location_id");
+    public IdAllocator getLocationIdAllocator() {
+        return locationIdAllocator;
     }
 
 
     /**
-     * Gets the largest inquiry ID currently in the database
+     * Gets the allocator that hands out inquiry IDs
      *
-     * @return The largest inquiry ID, or 0 if no supplies exist
-     * @throws SQLException If there's a database error
+     * @return The inquiry ID allocator
      */
-    public int getLargestInquiryId() throws SQLException {
-        return getLargestIdFromTable("Inquiry", "inquiry_id");
+    public IdAllocator getInquiryIdAllocator() {
+        return inquiryIdAllocator;
     }
 
     /**
-     * Gets the largest supply ID currently in the database
+     * Gets the allocator that hands out supply IDs
      *
-     * @return The largest supply ID, or 0 if no supplies exist
-     * @throws SQLException If there's a database error
+     * @return The supply ID allocator
      */
-    public int getLargestSupplyId() throws SQLException {
-        return getLargestIdFromTable("Supply", "supply_id");
+    public IdAllocator getSupplyIdAllocator() {
+        return supplyIdAllocator;
     }
 
 
     /**
-     * Gets the largest Medical Record ID currently in the database
+     * Gets the allocator that hands out medical record IDs
      *
-     * @return The largest medical record ID, or 0 if no supplies exist
-     * @throws SQLException If there's a database error
+     * @return The medical record ID allocator
      */
-    public int getLargestMedicalRecordId() throws SQLException {
-        return getLargestIdFromTable("MedicalRecord", "medical_record_id");
+    public IdAllocator getMedicalRecordIdAllocator() {
+        return medicalRecordIdAllocator;
     }
 
 
 
     /**
-     * Gets the largest ID currently in the database
-     *
+     * Reserves a block of IDs from a table's serial sequence.
+     * Sequence values are never handed out twice, so IDs reserved by different
+     * processes cannot collide, although a block may not be contiguous.
      *
      * @param tableName Takes the specific table name needed
-     * @param idColumn Takes the specific columm name
-     * @return The largest supply ID, or 0 if no supplies exist
+     * @param idColumn Takes the specific column name
+     * @param count How many IDs to reserve
+     * @return The reserved IDs, in ascending order
      * @throws SQLException If there's a database error
      */
-    private int getLargestIdFromTable(String tableName, String idColumn) throws SQLException {
-        String query = "SELECT MAX(" + idColumn + ") AS max_id FROM " + tableName;
+    public int[] reserveIds(String tableName, String idColumn, int count) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            return reserveIds(connection, tableName, idColumn, count);
+        }
+    }
 
-        try (
-             Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
 
-            if (rs.next()) {
-                return rs.getInt("max_id");
-            }
-            return 0; // Return 0 if table is empty
-        }
+
+    /**
+     * Creates an allocator that reserves blocks of IDs from the given table's sequence.
+     */
+    private IdAllocator createIdAllocator(String tableName, String idColumn) {
+        return new IdAllocator(count -> reserveIds(tableName, idColumn, count), IdAllocator.DEFAULT_BLOCK_SIZE);
     }
 
 
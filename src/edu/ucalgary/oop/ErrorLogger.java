@@ -1,6 +1,6 @@
 /**
  * ErrorLogger.java
- * Version: 4.0
+ * Version: 5.0
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -8,13 +8,49 @@
 package edu.ucalgary.oop;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 public class ErrorLogger {
     private static final String LOG_FILE_PATH = "data/errorlog.txt";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
     private static ErrorLogger instance;
 
+    private volatile AsyncWriter asyncWriter;
+    private volatile LogRotator rotator = new LogRotator(Paths.get(LOG_FILE_PATH));
+    private volatile JsonErrorLog jsonLog;
+    private boolean shutdownHookAdded;
+
+    /**
+     * How entries are written to the log.
+     */
+    public enum LogFormat {
+        /** A readable block per entry, with the full stack trace every time. */
+        TEXT,
+        /** One JSON object per line, with identical errors collapsed; see JsonErrorLog. */
+        JSON_LINES
+    }
+
+    /**
+     * What logError does when the asynchronous buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait for the writer to make room. Nothing is lost, but callers can stall during a flood of errors. */
+        BLOCK,
+        /** Drop the entry and count it. Callers never wait; the count is written to the log once there is room. */
+        DISCARD
+    }
+
     /**
      * Private constructor to ensure that the ErrorLogger can only be instantiated from within the class.
      */
@@ -40,30 +76,17 @@ public class ErrorLogger {
 
     /**
      * Logs recoverable error details to a log file.
+     * By default the entry is written before this returns. Once startAsync has been called it is only
+     * queued, and the background writer formats and writes it.
      *
      * @param exception The exception to be logged, containing the error details (type, message, stack trace).
      * @param context A description of the context in which the error occurred, typically the method or class name.
      */
-    public synchronized void logError(Exception exception, String context) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE_PATH, true))) {
-            // Format timestamp
-            String timestamp = LocalDateTime.now().format(
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-            // Write error entry
-            writer.println("[" + timestamp + "] ERROR in " + context);
-            writer.println("Exception: " + exception.getClass().getName());
-            writer.println("Message: " + exception.getMessage());
-
-            // Write stack trace
-            writer.println("Stack Trace:");
-            exception.printStackTrace(writer);
-            writer.println(); // Add blank line between entries
-
-        } catch (IOException e) {
-            // If we can't write to the error log, print to console as last resort
-            System.err.println("CRITICAL: Failed to write to error log:");
-            e.printStackTrace();
+    public void logError(Exception exception, String context) {
+        LogEntry entry = new LogEntry(LocalDateTime.now(), exception, context);
+        AsyncWriter writer = asyncWriter;
+        if (writer == null || !writer.enqueue(entry)) {
+            writeSynchronously(entry);
         }
     }
 
@@ -78,6 +101,8 @@ public class ErrorLogger {
     public void logFatalError(Exception exception, String context, String userMessage) {
         // Log the error
         logError(exception, context);
+        // Make sure it reaches the file before exiting
+        shutdown();
 
         // Show message to user
         System.err.println("\nFATAL ERROR: " + userMessage);
@@ -86,4 +111,358 @@ public class ErrorLogger {
         // Exit cleanly
         System.exit(1);
     }
-}
\ No newline at end of file
+
+    /**
+     * Switches to asynchronous logging. logError then only queues its entry in a bounded lock-free buffer,
+     * and a single background thread keeps the log file open, writes entries in batches and flushes
+     * once per batch, so failure paths no longer wait on the disk or on each other.
+     * Whatever is queued is written when stopAsync is called or the program exits.
+     *
+     * @param capacity The number of entries the buffer holds, rounded up to a power of two of at least 2.
+     * @param policy What to do when the buffer is full.
+     * @throws IllegalArgumentException If the capacity is not positive or the policy is null.
+     */
+    public synchronized void startAsync(int capacity, OverflowPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        if (asyncWriter != null) {
+            return;
+        }
+        AsyncWriter writer = new AsyncWriter(new LogRingBuffer<>(capacity), policy);
+        writer.start();
+        asyncWriter = writer;
+
+        addShutdownHook();
+    }
+
+    /**
+     * Writes everything still queued and returns to synchronous logging.
+     */
+    public void stopAsync() {
+        AsyncWriter writer;
+        synchronized (this) {
+            writer = asyncWriter;
+            asyncWriter = null;
+        }
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    /**
+     * Chooses how entries are written. The default is TEXT. With JSON_LINES, an error repeated from the
+     * same context within a minute is written once, and then counted; the count is written when the
+     * minute is up, or when the program exits. Choose the format before logging starts.
+     *
+     * @param format The format.
+     * @throws IllegalArgumentException If the format is null.
+     */
+    public synchronized void setFormat(LogFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Log format cannot be null");
+        }
+        if (format == getFormat()) {
+            return;
+        }
+        writeOpenRepeats();
+        jsonLog = format == LogFormat.JSON_LINES ? new JsonErrorLog(JsonErrorLog.DEFAULT_WINDOW) : null;
+        if (jsonLog != null) {
+            addShutdownHook();
+        }
+    }
+
+    /**
+     * @return How entries are written.
+     */
+    public LogFormat getFormat() {
+        return jsonLog == null ? LogFormat.TEXT : LogFormat.JSON_LINES;
+    }
+
+    /**
+     * Replaces the rotation settings. By default the log is rolled at 10 MB or after a day, whichever
+     * comes first, and the newest 10 rolled segments are kept, gzipped.
+     *
+     * @param rotator The rotation to apply to data/errorlog.txt, or null to append to it forever.
+     */
+    public void setRotator(LogRotator rotator) {
+        this.rotator = rotator;
+    }
+
+    /**
+     * @return The rotation applied to the log, or null if it is not rotated.
+     */
+    public LogRotator getRotator() {
+        return rotator;
+    }
+
+    /**
+     * @return true if entries are being written by the background writer.
+     */
+    public boolean isAsync() {
+        return asyncWriter != null;
+    }
+
+    /**
+     * @return The number of entries dropped because the buffer was full, since asynchronous logging started.
+     */
+    public long getDroppedCount() {
+        AsyncWriter writer = asyncWriter;
+        return writer == null ? 0 : writer.dropped.get();
+    }
+
+
+
+
+    private static final class LogEntry {
+        final LocalDateTime time;
+        final Exception exception;
+        final String context;
+
+        LogEntry(LocalDateTime time, Exception exception, String context) {
+            this.time = time;
+            this.exception = exception;
+            this.context = context;
+        }
+    }
+
+    private synchronized void addShutdownHook() {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "error-log-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    /**
+     * Writes everything still queued or being counted, so nothing is lost on exit.
+     */
+    private void shutdown() {
+        stopAsync();
+        writeOpenRepeats();
+    }
+
+    /**
+     * Writes the counts of repeated errors that are still being collapsed.
+     */
+    private synchronized void writeOpenRepeats() {
+        JsonErrorLog json = jsonLog;
+        if (json == null) {
+            return;
+        }
+        rollIfNeeded(rotator);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE_PATH, true))) {
+            json.writeAll(writer);
+        } catch (IOException e) {
+            reportWriteFailure(e);
+        }
+    }
+
+    private synchronized void writeSynchronously(LogEntry entry) {
+        rollIfNeeded(rotator);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE_PATH, true))) {
+            writeEntry(writer, entry);
+        } catch (IOException e) {
+            reportWriteFailure(e);
+        }
+    }
+
+    private void writeEntry(PrintWriter writer, LogEntry entry) {
+        JsonErrorLog json = jsonLog;
+        if (json != null) {
+            json.write(writer, entry.time, entry.exception, entry.context);
+            return;
+        }
+
+        // Write error entry
+        writer.println("[" + TIMESTAMP_FORMAT.format(entry.time) + "] ERROR in " + entry.context);
+        writer.println("Exception: " + entry.exception.getClass().getName());
+        writer.println("Message: " + entry.exception.getMessage());
+
+        // Write stack trace
+        writer.println("Stack Trace:");
+        entry.exception.printStackTrace(writer);
+        writer.println(); // Add blank line between entries
+    }
+
+    /**
+     * Rolls the log if it is due. The caller must not have the file open.
+     */
+    private static void rollIfNeeded(LogRotator rotator) {
+        if (rotator != null && rotator.needsRoll()) {
+            try {
+                rotator.roll();
+            } catch (IOException e) {
+                // Keep appending to the current file rather than lose the entry
+                reportWriteFailure(e);
+            }
+        }
+    }
+
+    private static void reportWriteFailure(IOException e) {
+        // If we can't write to the error log, print to console as last resort
+        System.err.println("CRITICAL: Failed to write to error log:");
+        e.printStackTrace();
+    }
+
+    /**
+     * The background half of asynchronous logging: the only thread that takes entries out of the buffer.
+     */
+    private final class AsyncWriter implements Runnable {
+        private static final int BATCH_SIZE = 256;
+        private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+        private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+        private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+        private final LogRingBuffer<LogEntry> buffer;
+        private final OverflowPolicy policy;
+        private final Thread thread;
+        private final AtomicLong dropped = new AtomicLong();
+        private long droppedReported;
+        private volatile boolean running = true;
+        private volatile boolean parked;
+        private PrintWriter out;
+
+        AsyncWriter(LogRingBuffer<LogEntry> buffer, OverflowPolicy policy) {
+            this.buffer = buffer;
+            this.policy = policy;
+            this.thread = new Thread(this, "error-log-writer");
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * @return false if the writer has stopped and the caller should write the entry itself.
+         */
+        boolean enqueue(LogEntry entry) {
+            while (running) {
+                if (buffer.offer(entry)) {
+                    if (parked) {
+                        LockSupport.unpark(thread);
+                    }
+                    return true;
+                }
+                if (policy == OverflowPolicy.DISCARD) {
+                    dropped.incrementAndGet();
+                    return true;
+                }
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+            return false;
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<LogEntry> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                while (true) {
+                    buffer.drainTo(batch, BATCH_SIZE);
+                    if (!batch.isEmpty() || dropped.get() != droppedReported || hasExpiredRepeats()) {
+                        write(batch, false);
+                        batch.clear();
+                        continue;
+                    }
+                    if (!running) {
+                        break;
+                    }
+                    parked = true;
+                    // An entry queued just before parked was set would otherwise wait out the whole park
+                    if (buffer.isEmpty() && running) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            } finally {
+                // Anything queued by callers that saw running just before it changed
+                buffer.drainTo(batch, Integer.MAX_VALUE);
+                JsonErrorLog json = jsonLog;
+                if (!batch.isEmpty() || dropped.get() != droppedReported
+                        || (json != null && json.hasExpired(LocalDateTime.MAX))) {
+                    write(batch, true);
+                }
+                if (out != null) {
+                    out.close();
+                }
+            }
+        }
+
+        private boolean hasExpiredRepeats() {
+            JsonErrorLog json = jsonLog;
+            return json != null && json.hasExpired(LocalDateTime.now());
+        }
+
+        /**
+         * Writes a batch and flushes once at the end, opening the log file if it is not open yet.
+         * Repeated errors whose window has ended are counted in the log, or all of them when closing.
+         */
+        private void write(List<LogEntry> batch, boolean closing) {
+            LogRotator currentRotator = rotator;
+            if (currentRotator != null && currentRotator.needsRoll()) {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                rollIfNeeded(currentRotator);
+            }
+            try {
+                if (out == null) {
+                    out = new PrintWriter(Files.newBufferedWriter(Paths.get(LOG_FILE_PATH), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+                }
+            } catch (IOException e) {
+                reportWriteFailure(e);
+                System.err.println(batch.size() + " error log entries could not be written");
+                droppedReported = dropped.get();
+                return;
+            }
+            for (LogEntry entry : batch) {
+                try {
+                    writeEntry(out, entry);
+                } catch (RuntimeException e) {
+                    // One bad entry must not stop the writer thread
+                    System.err.println("CRITICAL: Failed to format error log entry for " + entry.context);
+                    e.printStackTrace();
+                }
+            }
+            long droppedNow = dropped.get();
+            JsonErrorLog json = jsonLog;
+            if (droppedNow != droppedReported) {
+                if (json != null) {
+                    json.writeDropped(out, LocalDateTime.now(), droppedNow - droppedReported);
+                } else {
+                    out.println("[" + TIMESTAMP_FORMAT.format(LocalDateTime.now()) + "] WARNING "
+                            + (droppedNow - droppedReported) + " error log entries were dropped because the buffer was full");
+                    out.println();
+                }
+                droppedReported = droppedNow;
+            }
+            if (json != null) {
+                if (closing) {
+                    json.writeAll(out);
+                } else {
+                    json.writeExpired(out, LocalDateTime.now());
+                }
+            }
+            out.flush();
+            if (out.checkError()) {
+                // The file was probably removed or the disk is full; reopen it for the next batch
+                reportWriteFailure(new IOException("Error writing to " + LOG_FILE_PATH));
+                out.close();
+                out = null;
+            }
+        }
+    }
+}
@@ -8,13 +8,14 @@
 package edu.ucalgary.oop;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class FamilyGroup {
     private ArrayList<Person> members;
     private int familyGroupId = createFamilyGroupId();
     private static TranslationManager translationManager = TranslationManager.getInstance();
-    private static int counter = 100;
+    private static final AtomicInteger counter = new AtomicInteger(100);
 
     /**
      * Constructs a FamilyGroup with a list of members.
@@ -117,7 +118,7 @@ public class FamilyGroup {
      * @return The newly generated family group ID.
      */
     private int createFamilyGroupId() {
-        return counter++;
+        return counter.getAndIncrement();
     }
 
 }
@@ -1,6 +1,6 @@
 /**
  * FileModel.java
- * Version: 2.0
+ * Version: 4.0
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -8,25 +8,84 @@
 package edu.ucalgary.oop;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
 
 public class FileModel {
+    public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    // Files at least this big are memory-mapped by readFile() rather than copied through a buffer
+    public static final long MAPPED_THRESHOLD = 1024 * 1024;
+    private static final int DEFAULT_CHUNK_BYTES = 64 * 1024;
+    private static final long DEFAULT_MAP_WINDOW_BYTES = 64L * 1024 * 1024;
+
     private String filePath;
     private String fileContent;
-    private BufferedReader reader;
+    private final Charset charset;
+    private FileChannel channel;
     private boolean isFileOpen = false;
+    private FileChannel writeChannel;
+    private Path tempPath;
+    private boolean sync;
+    private CharsetEncoder encoder;
+    private ByteBuffer pendingBytes;
+    // Half of a surrogate pair left at the end of one write, finished by the next
+    private char pendingHighSurrogate;
+    private int chunkBytes = DEFAULT_CHUNK_BYTES;
+    private long mapWindowBytes = DEFAULT_MAP_WINDOW_BYTES;
     private ErrorLogger errorLogger = ErrorLogger.getInstance();
 
+    /**
+     * How the file's bytes are brought into memory.
+     */
+    public enum ReadMode {
+        /** Read through a reusable buffer with ordinary channel reads. Best for small files. */
+        BUFFERED,
+        /** Map the file into memory, so the bytes come straight from the page cache without a read call per chunk. */
+        MAPPED
+    }
+
 
 
     /**
-     * Constructs a new FileModel object with the specified file path and content.
+     * Constructs a new FileModel object with the specified file path and content, read and written as UTF-8.
      *
      * @param filePath The path to the file, either for reading or writing.
      * @param fileContent The content of the file to be read or written.
      */
     public FileModel(String filePath, String fileContent) {
+        this(filePath, fileContent, DEFAULT_CHARSET);
+    }
+
+    /**
+     * Constructs a new FileModel object with the specified file path, content and character set.
+     *
+     * @param filePath The path to the file, either for reading or writing.
+     * @param fileContent The content of the file to be read or written.
+     * @param charset The character set the file is encoded in.
+     * @throws IllegalArgumentException If the character set is null.
+     */
+    public FileModel(String filePath, String fileContent, Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
         this.filePath = filePath;
         this.fileContent = fileContent;
+        this.charset = charset;
     }
 
 
@@ -51,6 +110,15 @@ public class FileModel {
         return fileContent;
     }
 
+    /**
+     * Returns the character set the file is read in.
+     *
+     * @return The character set.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
 
 
 
@@ -77,6 +145,18 @@ public class FileModel {
         this.fileContent = fileContent;
     }
 
+    /**
+     * Sets how much is read or mapped at a time. For testing chunk and window boundaries.
+     *
+     * @param chunkBytes The size of the buffer used by BUFFERED reads, and of the chunks handed to consumers.
+     * @param mapWindowBytes The most of the file mapped at once by MAPPED reads.
+     */
+    void setBufferSizes(int chunkBytes, long mapWindowBytes) {
+        // Anything smaller might not hold a single character
+        this.chunkBytes = Math.max(16, chunkBytes);
+        this.mapWindowBytes = Math.max(16, mapWindowBytes);
+    }
+
 
 
 
@@ -100,22 +180,34 @@ public class FileModel {
         }
 
         try {
-            // Reset the reader each time we open the file
-            reader = new BufferedReader(new FileReader(filePath));
+            // Reset the channel each time we open the file
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
             isFileOpen = true;
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             errorLogger.logError(e, "FileModel.openFile()");
             throw new IllegalArgumentException("File could not be opened: " + e.getMessage());
         }
     }
 
     /**
-     * Reads the content of the file.
+     * Reads the whole content of the file, line breaks included, and closes it.
+     * Files of at least MAPPED_THRESHOLD bytes are memory-mapped; smaller ones are read through a buffer.
      *
      * @throws IllegalStateException If the file is not open when attempting to read.
      * @throws IllegalStateException If an error occurs while reading the file.
      */
     public void readFile() {
+        readFile(null);
+    }
+
+    /**
+     * Reads the whole content of the file, line breaks included, and closes it.
+     *
+     * @param mode How to read the file, or null to choose by its size.
+     * @throws IllegalStateException If the file is not open when attempting to read.
+     * @throws IllegalStateException If an error occurs while reading the file.
+     */
+    public void readFile(ReadMode mode) {
         if (!isFileOpen) {
             errorLogger.logError(new IllegalStateException("File not open"),
                     "FileModel.readFile()");
@@ -123,24 +215,193 @@ public class FileModel {
         }
 
         try {
-            StringBuilder content = new StringBuilder();
-            String line;
-
-            // Read the entire file content
-            while ((line = reader.readLine()) != null) {
-                content.append(line);
-            }
+            long size = channel.size();
+            // Most encodings used here take at least one byte per character
+            StringBuilder content = new StringBuilder((int) Math.min(size, Integer.MAX_VALUE - 8));
+            decode(mode != null ? mode : modeFor(size), content::append);
 
             // Update the fileContent field
             fileContent = content.toString();
-
-            // Close the reader since we've read everything
-            reader.close();
-            isFileOpen = false;
         } catch (IOException e) {
             errorLogger.logError(e, "FileModel.readFile()");
             throw new IllegalStateException("Error reading file: " + e.getMessage());
+        } finally {
+            // Close the file since we've read everything
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Reads the file in chunks and hands each one to a consumer, then closes it. The whole file is never
+     * held in memory, so this suits files too large for readFile(). The chunk is a reused buffer that is
+     * only valid during the call; consumers must copy anything they want to keep. fileContent is not changed.
+     *
+     * @param mode How to read the file.
+     * @param consumer Receives the decoded text, in order, a chunk at a time.
+     * @throws IllegalStateException If the file is not open when attempting to read.
+     * @throws IllegalStateException If an error occurs while reading the file.
+     */
+    public void streamFile(ReadMode mode, Consumer<CharBuffer> consumer) {
+        if (!isFileOpen) {
+            errorLogger.logError(new IllegalStateException("File not open"),
+                    "FileModel.streamFile()");
+            throw new IllegalStateException("File must be opened before reading");
+        }
+
+        try {
+            decode(mode, consumer);
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.streamFile()");
+            throw new IllegalStateException("Error reading file: " + e.getMessage());
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Writes fileContent to the file in one go, replacing it without ever leaving a partly written file.
+     *
+     * @param sync Whether to force the content to disk before the file is replaced.
+     * @throws IllegalStateException If the file is already being written.
+     * @throws IllegalStateException If an error occurs while writing the file.
+     */
+    public void writeFile(boolean sync) {
+        openFileForWriting(sync);
+        try {
+            write(fileContent != null ? fileContent : "");
+        } catch (IllegalStateException e) {
+            discardFile();
+            throw e;
         }
+        commitFile();
+    }
+
+    /**
+     * Starts writing the file. Text passed to write() goes to a temporary file next to it, which
+     * commitFile() moves over the file in a single step. Until then, and if writing fails or is
+     * discarded, the file keeps its old content.
+     *
+     * @param sync Whether commitFile() forces the content to disk before the file is replaced, so the
+     *             new content survives a crash or power loss as well as the program stopping part way.
+     * @throws IllegalStateException If the file is already being written.
+     * @throws IllegalArgumentException If the temporary file cannot be created.
+     */
+    public void openFileForWriting(boolean sync) {
+        if (writeChannel != null) {
+            errorLogger.logError(new IllegalStateException("File is already being written"),
+                    "FileModel.openFileForWriting()");
+            throw new IllegalStateException("File is already being written");
+        }
+
+        Path target = Paths.get(filePath).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            tempPath = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+            writeChannel = FileChannel.open(tempPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            deleteTemp();
+            errorLogger.logError(e, "FileModel.openFileForWriting()");
+            throw new IllegalArgumentException("File could not be opened for writing: " + e.getMessage());
+        }
+        this.sync = sync;
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        pendingBytes = ByteBuffer.allocate(Math.max(chunkBytes, (int) Math.ceil(encoder.maxBytesPerChar())));
+        pendingHighSurrogate = 0;
+    }
+
+    /**
+     * Adds text to the file being written. Small writes are gathered and written to disk a buffer at a time.
+     *
+     * @param text The text to add.
+     * @throws IllegalStateException If the file is not being written.
+     * @throws IllegalStateException If an error occurs while writing the file.
+     */
+    public void write(CharSequence text) {
+        if (writeChannel == null) {
+            errorLogger.logError(new IllegalStateException("File not open for writing"),
+                    "FileModel.write()");
+            throw new IllegalStateException("File must be opened for writing first");
+        }
+
+        CharBuffer chars;
+        if (pendingHighSurrogate != 0) {
+            chars = CharBuffer.allocate(text.length() + 1).put(pendingHighSurrogate).append(text).flip();
+            pendingHighSurrogate = 0;
+        } else {
+            chars = CharBuffer.wrap(text);
+        }
+
+        try {
+            while (encoder.encode(chars, pendingBytes, false) == CoderResult.OVERFLOW) {
+                drain();
+            }
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.write()");
+            throw new IllegalStateException("Error writing file: " + e.getMessage());
+        }
+        if (chars.hasRemaining()) {
+            pendingHighSurrogate = chars.get();
+        }
+    }
+
+    /**
+     * Finishes writing the file. Everything still buffered is written, forced to disk if sync was asked
+     * for, and the temporary file is moved over the file.
+     *
+     * @throws IllegalStateException If the file is not being written.
+     * @throws IllegalStateException If an error occurs while writing the file, which then keeps its old content.
+     */
+    public void commitFile() {
+        if (writeChannel == null) {
+            throw new IllegalStateException("No file is currently being written");
+        }
+
+        try {
+            CharBuffer rest = pendingHighSurrogate != 0
+                    ? CharBuffer.wrap(new char[] {pendingHighSurrogate})
+                    : CharBuffer.allocate(0);
+            while (encoder.encode(rest, pendingBytes, true) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            while (encoder.flush(pendingBytes) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            drain();
+            if (sync) {
+                writeChannel.force(true);
+            }
+            writeChannel.close();
+
+            Path target = Paths.get(filePath).toAbsolutePath();
+            try {
+                Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempPath = null;
+            if (sync) {
+                syncDirectory(target.getParent());
+            }
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.commitFile()");
+            throw new IllegalStateException("Error writing file: " + e.getMessage());
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * Abandons the file being written, leaving the file with its old content.
+     *
+     * @throws IllegalStateException If the file is not being written.
+     */
+    public void discardFile() {
+        if (writeChannel == null) {
+            throw new IllegalStateException("No file is currently being written");
+        }
+        endWrite();
     }
 
     /**
@@ -157,10 +418,135 @@ public class FileModel {
         }
 
         try {
-            reader.close();
+            channel.close();
             isFileOpen = false;
         } catch (IOException e) {
             throw new IllegalStateException("Error closing file: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+
+
+
+    private static ReadMode modeFor(long size) {
+        return size >= MAPPED_THRESHOLD ? ReadMode.MAPPED : ReadMode.BUFFERED;
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.closeFile()");
+        }
+        isFileOpen = false;
+    }
+
+    private void drain() throws IOException {
+        pendingBytes.flip();
+        while (pendingBytes.hasRemaining()) {
+            writeChannel.write(pendingBytes);
+        }
+        pendingBytes.clear();
+    }
+
+    /**
+     * Closes the write channel if still open and removes the temporary file if it was not moved into place.
+     */
+    private void endWrite() {
+        try {
+            writeChannel.close();
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.discardFile()");
+        }
+        deleteTemp();
+        writeChannel = null;
+        encoder = null;
+        pendingBytes = null;
+    }
+
+    private void deleteTemp() {
+        try {
+            if (tempPath != null) {
+                Files.deleteIfExists(tempPath);
+            }
+        } catch (IOException e) {
+            errorLogger.logError(e, "FileModel.discardFile()");
+        }
+        tempPath = null;
+    }
+
+    /**
+     * Forces the directory entry of a renamed file to disk, so the rename itself survives a crash.
+     * Not every platform can open a directory; there the rename is left to the file system.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows cannot open directories; NTFS journals the rename itself
+        }
+    }
+
+    /**
+     * Decodes the open file into a reused CharBuffer, handing it to the consumer each time it fills.
+     * Like the FileReader this replaced, malformed bytes become the replacement character.
+     */
+    private void decode(ReadMode mode, Consumer<CharBuffer> consumer) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(Math.max(16, (int) (chunkBytes * decoder.maxCharsPerByte())));
+        // Decoders only take their fast path on heap buffers, so mapped bytes are copied over a chunk at a time
+        ByteBuffer bytes = ByteBuffer.allocate(chunkBytes);
+
+        if (mode == ReadMode.MAPPED) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(size - position, mapWindowBytes);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                position += length;
+                while (window.hasRemaining()) {
+                    int count = Math.min(bytes.remaining(), window.remaining());
+                    bytes.put(bytes.position(), window, window.position(), count);
+                    bytes.position(bytes.position() + count);
+                    window.position(window.position() + count);
+                    bytes.flip();
+                    decodeInto(decoder, bytes, chars, false, consumer);
+                    // A character cut off at the end of the chunk is finished by the next one
+                    bytes.compact();
+                }
+            }
+            bytes.flip();
+            decodeInto(decoder, bytes, chars, true, consumer);
+        } else {
+            boolean last = false;
+            while (!last) {
+                last = channel.read(bytes) < 0;
+                bytes.flip();
+                decodeInto(decoder, bytes, chars, last, consumer);
+                bytes.compact();
+            }
+        }
+
+        while (decoder.flush(chars) == CoderResult.OVERFLOW) {
+            emit(chars, consumer);
+        }
+        emit(chars, consumer);
+    }
+
+    private static void decodeInto(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean last,
+                                   Consumer<CharBuffer> consumer) {
+        while (decoder.decode(bytes, chars, last) == CoderResult.OVERFLOW) {
+            emit(chars, consumer);
+        }
+    }
+
+    private static void emit(CharBuffer chars, Consumer<CharBuffer> consumer) {
+        chars.flip();
+        if (chars.hasRemaining()) {
+            consumer.accept(chars);
+        }
+        chars.clear();
+    }
+}
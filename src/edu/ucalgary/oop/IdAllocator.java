@@ -0,0 +1,118 @@
+/**
+ * IdAllocator.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdAllocator {
+    public static final int DEFAULT_BLOCK_SIZE = 20;
+
+    private final BlockSource blockSource;
+    private final int blockSize;
+    private volatile Block currentBlock = new Block(new int[0]);
+    private final AtomicInteger blocksReserved = new AtomicInteger();
+
+
+    /**
+     * Reserves a block of unused IDs, normally from a database sequence.
+     * The IDs must never be handed out again by any other source.
+     */
+    public interface BlockSource {
+        int[] reserveBlock(int size) throws SQLException;
+    }
+
+
+    /**
+     * Constructs a new IdAllocator that reserves IDs from the given source a block at a time.
+     *
+     * @param blockSource Where blocks of IDs are reserved from.
+     * @param blockSize How many IDs to reserve at once.
+     * @throws IllegalArgumentException If the source is null or the block size is not positive.
+     */
+    public IdAllocator(BlockSource blockSource, int blockSize) {
+        if (blockSource == null) {
+            throw new IllegalArgumentException("Block source cannot be null");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSource = blockSource;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates an IdAllocator that counts up from the given ID without a database.
+     * Used by the controllers' test constructors.
+     *
+     * @param firstId The first ID to hand out.
+     * @return An allocator producing firstId, firstId + 1, ...
+     */
+    public static IdAllocator sequential(int firstId) {
+        AtomicInteger nextBlockStart = new AtomicInteger(firstId);
+        return new IdAllocator(size -> {
+            int start = nextBlockStart.getAndAdd(size);
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = start + i;
+            }
+            return ids;
+        }, DEFAULT_BLOCK_SIZE);
+    }
+
+
+    /**
+     * Hands out the next unused ID. Within a block this is a single atomic increment;
+     * the source is only consulted when the current block is used up.
+     * IDs are unique across every process sharing the source, but may have gaps.
+     *
+     * @return The next ID.
+     * @throws SQLException If a new block is needed and cannot be reserved.
+     */
+    public int nextId() throws SQLException {
+        while (true) {
+            Block block = currentBlock;
+            int index = block.next.getAndIncrement();
+            if (index < block.ids.length) {
+                return block.ids[index];
+            }
+
+            synchronized (this) {
+                // Another thread may already have replaced the exhausted block
+                if (currentBlock == block) {
+                    int[] ids = blockSource.reserveBlock(blockSize);
+                    if (ids == null || ids.length == 0) {
+                        throw new SQLException("No IDs were reserved");
+                    }
+                    currentBlock = new Block(ids);
+                    blocksReserved.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of blocks reserved from the source so far.
+     */
+    public int getBlocksReserved() {
+        return blocksReserved.get();
+    }
+
+
+    /**
+     * A reserved run of IDs and the index of the next one to hand out.
+     */
+    private static class Block {
+        private final int[] ids;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Block(int[] ids) {
+            this.ids = ids;
+        }
+    }
+}
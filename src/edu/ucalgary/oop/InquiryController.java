@@ -1,6 +1,6 @@
 /**
  * InquiryController.java
- * Version: 3.0
+ * Version: 4.0
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -8,12 +8,15 @@
 package edu.ucalgary.oop;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.sql.SQLException;
 
 public class InquiryController {
-    private ArrayList<Inquiry> inquiryModels;
+    // The inquiries and their indexes, read without any lock and replaced as a whole on every change
+    private final ModelStore<State> models = new ModelStore<>(State.EMPTY);
+    private final ModelLock modelLock = new ModelLock();
     private DatabaseManager databaseManager;
-    private static int inquiryIdCounter;
+    private IdAllocator idAllocator;
 
 
     /**
@@ -22,11 +25,27 @@ public class InquiryController {
      * @throws RuntimeException if there is a failure in initializing the InquiryController,
      */
     public InquiryController() {
+        this(SnapshotFile.empty());
+    }
+
+    /**
+     * Constructs an InquiryController, taking the inquiries from the startup snapshot
+     * if they have not changed since it was written.
+     *
+     * @param snapshot The startup snapshot.
+     * @throws RuntimeException if there is a failure in initializing the InquiryController,
+     */
+    public InquiryController(SnapshotFile snapshot) {
         try {
             this.databaseManager = DatabaseManager.getInstance();
+            this.idAllocator = databaseManager.getInquiryIdAllocator();
 
-            this.inquiryModels = new ArrayList<>();
-            populateInquiriesFromDatabase();
+            List<Inquiry> inquiries = snapshot.getInquiries();
+            if (inquiries != null) {
+                loadInquiries(inquiries);
+            } else {
+                populateInquiriesFromDatabase();
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to initialize InquiryController", e);
         }
@@ -38,8 +57,7 @@ public class InquiryController {
      *
      */
     public InquiryController(int test) {
-            this.inquiryModels = new ArrayList<>();
-
+        this.idAllocator = IdAllocator.sequential(1);
     }
 
 
@@ -51,32 +69,53 @@ public class InquiryController {
      */
     private void populateInquiriesFromDatabase() throws SQLException {
         try {
-            ArrayList<Inquiry> inquiries = (ArrayList<Inquiry>) databaseManager.getAllInquiries();
-            this.inquiryModels.clear();
-            this.inquiryModels.addAll(inquiries);
-            initializeIdCounter();
+            loadInquiries(databaseManager.getAllInquiries());
         } catch (SQLException e) {
             System.err.println("Error loading inquiries from database: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Replaces the local inquiries and rebuilds the indexes.
+     *
+     * @param inquiries The inquiries to hold.
+     */
+    private void loadInquiries(List<Inquiry> inquiries) {
+        State state = State.EMPTY;
+        for (Inquiry inquiry : inquiries) {
+            state = state.withInquiry(inquiry);
+        }
+        models.set(state);
+    }
+
     /**
      * Retrieves a copy of the list of all inquiries.
      *
      * @return A new ArrayList containing all Inquiry objects.
      */
     public ArrayList<Inquiry> getAllInquiries() {
-        return new ArrayList<>(this.inquiryModels);
+        return new ArrayList<>(getInquiriesSnapshot().asList());
     }
 
     /**
-     * Retrieves a list of all inquiries.
+     * Retrieves an immutable snapshot of all inquiries. The snapshot is only rebuilt after a change,
+     * so calling this repeatedly, for example inside a loop, does not copy anything.
      *
-     * @return A ArrayList containing all Inquiry objects.
+     * @return The current snapshot of inquiries.
      */
-    public ArrayList<Inquiry> getAllInquiriesTest() {
-        return this.inquiryModels;
+    public ModelSnapshot<Inquiry> getInquiriesSnapshot() {
+        return models.get().inquiries.snapshot();
+    }
+
+    /**
+     * Adds an inquiry to the local models for test purposes, or replaces the one with the same ID.
+     * The database is not touched.
+     *
+     * @param inquiry The inquiry to add.
+     */
+    void addInquiryTest(Inquiry inquiry) {
+        models.update(state -> state.withInquiry(inquiry));
     }
 
     /**
@@ -91,16 +130,17 @@ public class InquiryController {
             throw new IllegalArgumentException("Inquiry cannot be null");
         }
 
-        if(inquiryIdCounter <= 0) {
-            inquiry.setInquiryId(generateInquiryId());
+        if (inquiry.getInquiryId() <= 0) {
+            inquiry.setInquiryId(idAllocator.nextId());
         }
 
         try {
-            databaseManager.addInquiry(inquiry);
-            this.inquiryModels.add(inquiry);
+            modelLock.withStripe(inquiry.getInquiryId(), () -> {
+                databaseManager.addInquiry(inquiry);
+                models.update(state -> state.withInquiry(inquiry));
+            });
         } catch (SQLException e) {
             System.err.println("Error adding inquiry: " + e.getMessage());
-            inquiryIdCounter--;
             throw e;
         }
     }
@@ -119,14 +159,12 @@ public class InquiryController {
         }
 
         try {
-            databaseManager.updateInquiry(inquiry);
-            // Update local model
-            for (int i = 0; i < inquiryModels.size(); i++) {
-                if (inquiryModels.get(i).getInquiryId() == inquiry.getInquiryId()) {
-                    inquiryModels.set(i, inquiry);
-                    break;
-                }
-            }
+            modelLock.withStripe(inquiry.getInquiryId(), () -> {
+                databaseManager.updateInquiry(inquiry);
+                // Update local model
+                models.update(state -> state.inquiries.containsKey(inquiry.getInquiryId())
+                        ? state.withInquiry(inquiry) : state);
+            });
         } catch (SQLException e) {
             System.err.println("Error updating inquiry: " + e.getMessage());
             throw e;
@@ -141,8 +179,10 @@ public class InquiryController {
      */
     public void deleteInquiry(int inquiryId) throws SQLException {
         try {
-            databaseManager.deleteInquiry(inquiryId);
-            inquiryModels.removeIf(i -> i.getInquiryId() == inquiryId);
+            modelLock.withStripe(inquiryId, () -> {
+                databaseManager.deleteInquiry(inquiryId);
+                models.update(state -> state.withoutInquiry(inquiryId));
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting inquiry: " + e.getMessage());
             throw e;
@@ -157,10 +197,9 @@ public class InquiryController {
      * @throws SQLException if there is an error retrieving the inquiry from the database.
      */
     public Inquiry getInquiryById(int inquiryId) throws SQLException {
-        for (Inquiry inquiry : inquiryModels) {
-            if (inquiry.getInquiryId() == inquiryId) {
-                return inquiry;
-            }
+        Inquiry inquiry = models.get().inquiries.get(inquiryId);
+        if (inquiry != null) {
+            return inquiry;
         }
 
         try {
@@ -176,16 +215,10 @@ public class InquiryController {
      * Note: Created to make sure that 1 person can make more than 1 inquiry.
      *
      * @param personId The ID of the person (inquirer) whose inquiries are to be retrieved.
-     * @return An ArrayList of Inquiry objects associated with the given inquirer.
+     * @return An ArrayList of Inquiry objects associated with the given inquirer, in ID order.
      */
     public ArrayList<Inquiry> getInquiriesByInquirer(int personId){
-        ArrayList<Inquiry> results = new ArrayList<>();
-        for (Inquiry inquiry : inquiryModels) {
-            if (inquiry.getInquirer().getPersonId() == personId) {
-                results.add(inquiry);
-            }
-        }
-        return results;
+        return bucketOf(models.get().inquiriesByInquirer, personId);
     }
 
     /**
@@ -194,16 +227,10 @@ public class InquiryController {
      * have multiple inquires about them
      *
      * @param personId The ID of the missing person whose associated inquiries are to be retrieved.
-     * @return An ArrayList of Inquiry objects associated with the given missing person.
+     * @return An ArrayList of Inquiry objects associated with the given missing person, in ID order.
      */
     public ArrayList<Inquiry> getInquiriesByMissingPerson(int personId){
-        ArrayList<Inquiry> results = new ArrayList<>();
-        for (Inquiry inquiry : inquiryModels) {
-            if (inquiry.getMissingPerson().getPersonId() == personId) {
-                results.add(inquiry);
-            }
-        }
-        return results;
+        return bucketOf(models.get().inquiriesByMissingPerson, personId);
     }
 
     /**
@@ -219,24 +246,130 @@ public class InquiryController {
 
 
     /**
-     * Initializes the inquiry ID counter by retrieving the largest existing inquiry ID from the database.
+     * Generates a new inquiry ID from the ID allocator
      *
-     * @throws SQLException if there is an error retrieving the largest inquiry ID from the database.
+     * @return The next available inquiry ID.
+     * @throws RuntimeException if a new block of IDs cannot be reserved.
      */
-    private void initializeIdCounter() throws SQLException {
-        int maxId = databaseManager.getLargestInquiryId();
-        inquiryIdCounter = maxId + 1;
+    public int generateInquiryId() {
+        try {
+            return idAllocator.nextId();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to allocate an inquiry ID", e);
+        }
     }
 
+
+
+    // Indexes
+
+    private static ArrayList<Inquiry> bucketOf(PersistentIntMap<PersistentIntMap<Inquiry>> index, int personId) {
+        PersistentIntMap<Inquiry> bucket = index.get(personId);
+        return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Inquiry>> addToBucket(
+            PersistentIntMap<PersistentIntMap<Inquiry>> index, int personId, Inquiry inquiry) {
+        PersistentIntMap<Inquiry> bucket = index.get(personId);
+        if (bucket == null) {
+            bucket = PersistentIntMap.empty();
+        }
+        return index.put(personId, bucket.put(inquiry.getInquiryId(), inquiry));
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Inquiry>> removeFromBucket(
+            PersistentIntMap<PersistentIntMap<Inquiry>> index, int personId, int inquiryId) {
+        PersistentIntMap<Inquiry> bucket = index.get(personId);
+        if (bucket == null) {
+            return index;
+        }
+        bucket = bucket.remove(inquiryId);
+        return bucket.isEmpty() ? index.remove(personId) : index.put(personId, bucket);
+    }
+
+
     /**
-     * Generates a new inquiry ID by adding 1 to inquiryIdCounter
-     *
-     * @return The next available inquiry ID.
+     * The inquiries, in the order they were added, and their indexes by ID, inquirer and missing person.
+     * Never changed once built; every change makes a new State that shares all but what changed.
      */
-    public int generateInquiryId() {
-        return inquiryIdCounter++;
-    }
+    private static final class State {
+        private static final State EMPTY = new State(ModelTable.empty(Inquiry::getInquiryId),
+                PersistentIntMap.empty(), PersistentIntMap.empty(), PersistentIntMap.empty());
+
+        private final ModelTable<Inquiry> inquiries;
+        private final PersistentIntMap<IndexEntry> inquiriesById;
+        // Each person's inquiries, keyed by inquiry ID
+        private final PersistentIntMap<PersistentIntMap<Inquiry>> inquiriesByInquirer;
+        private final PersistentIntMap<PersistentIntMap<Inquiry>> inquiriesByMissingPerson;
+
+        private State(ModelTable<Inquiry> inquiries, PersistentIntMap<IndexEntry> inquiriesById,
+                      PersistentIntMap<PersistentIntMap<Inquiry>> inquiriesByInquirer,
+                      PersistentIntMap<PersistentIntMap<Inquiry>> inquiriesByMissingPerson) {
+            this.inquiries = inquiries;
+            this.inquiriesById = inquiriesById;
+            this.inquiriesByInquirer = inquiriesByInquirer;
+            this.inquiriesByMissingPerson = inquiriesByMissingPerson;
+        }
 
+        /**
+         * Adds an inquiry at the end, or in place of the one with the same ID, filed under its current people.
+         * An existing inquiry is first taken out of the indexes, since its inquirer or missing person may have changed.
+         */
+        private State withInquiry(Inquiry inquiry) {
+            State state = unindexed(inquiry.getInquiryId());
+            IndexEntry entry = new IndexEntry(inquiry);
+            PersistentIntMap<PersistentIntMap<Inquiry>> byInquirer = state.inquiriesByInquirer;
+            PersistentIntMap<PersistentIntMap<Inquiry>> byMissingPerson = state.inquiriesByMissingPerson;
+            if (entry.inquirerId != null) {
+                byInquirer = addToBucket(byInquirer, entry.inquirerId, inquiry);
+            }
+            if (entry.missingPersonId != null) {
+                byMissingPerson = addToBucket(byMissingPerson, entry.missingPersonId, inquiry);
+            }
+            return new State(state.inquiries.put(inquiry), state.inquiriesById.put(inquiry.getInquiryId(), entry),
+                    byInquirer, byMissingPerson);
+        }
 
+        private State withoutInquiry(int inquiryId) {
+            State state = unindexed(inquiryId);
+            return state == this ? this : new State(state.inquiries.remove(inquiryId), state.inquiriesById,
+                    state.inquiriesByInquirer, state.inquiriesByMissingPerson);
+        }
 
+        /**
+         * Takes an inquiry out of every index using the people it was filed under, which may differ
+         * from its current inquirer and missing person. The inquiry stays in the table, so that
+         * a replacement keeps its place.
+         */
+        private State unindexed(int inquiryId) {
+            IndexEntry entry = inquiriesById.get(inquiryId);
+            if (entry == null) {
+                return this;
+            }
+            PersistentIntMap<PersistentIntMap<Inquiry>> byInquirer = inquiriesByInquirer;
+            PersistentIntMap<PersistentIntMap<Inquiry>> byMissingPerson = inquiriesByMissingPerson;
+            if (entry.inquirerId != null) {
+                byInquirer = removeFromBucket(byInquirer, entry.inquirerId, inquiryId);
+            }
+            if (entry.missingPersonId != null) {
+                byMissingPerson = removeFromBucket(byMissingPerson, entry.missingPersonId, inquiryId);
+            }
+            return new State(inquiries, inquiriesById.remove(inquiryId), byInquirer, byMissingPerson);
+        }
+    }
+
+    /**
+     * An indexed inquiry together with the person IDs it is filed under.
+     */
+    private static class IndexEntry {
+        private final Inquiry inquiry;
+        private final Integer inquirerId;
+        private final Integer missingPersonId;
+
+        private IndexEntry(Inquiry inquiry) {
+            this.inquiry = inquiry;
+            this.inquirerId = inquiry.getInquirer() != null ? inquiry.getInquirer().getPersonId() : null;
+            this.missingPersonId = inquiry.getMissingPerson() != null ? inquiry.getMissingPerson().getPersonId() : null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,227 @@
+/**
+ * IntObjectMap.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class IntObjectMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+
+    /**
+     * Constructs a new, empty IntObjectMap.
+     */
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty IntObjectMap sized to hold the expected number of entries without growing.
+     *
+     * @param expectedSize The number of entries expected.
+     * @throws IllegalArgumentException If the expected size is negative.
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+
+    /**
+     * Returns the value stored under a key.
+     *
+     * @param key The key to look up.
+     * @return The value, or null if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = findSlot(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key The key to look for.
+     * @return true if the key is present, false otherwise.
+     */
+    public boolean containsKey(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Stores a value under a key, replacing any previous value.
+     *
+     * @param key The key.
+     * @param value The value to store. Cannot be null.
+     * @return The previous value, or null if the key was not present.
+     * @throws IllegalArgumentException If the value is null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key and its value.
+     *
+     * @param key The key to remove.
+     * @return The removed value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        closeGap(slot);
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return The number of entries in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry while keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the values in the map in no particular order.
+     *
+     * @return A new list containing every value.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+
+
+
+    private int findSlot(int key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot and shifts later entries of the same probe run back into it,
+     * so lookups never need tombstones.
+     */
+    private void closeGap(int gap) {
+        int slot = (gap + 1) & mask;
+        while (values[slot] != null) {
+            int home = hash(keys[slot]) & mask;
+            // The entry may move into the gap only if the gap lies between its home slot and where it sits now
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads sequential IDs across the table so runs of consecutive keys do not cluster.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * JsonErrorLog.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class JsonErrorLog {
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+    // How many distinct traces are remembered as already written in full
+    private static final int MAX_SEEN_TRACES = 4096;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Duration window;
+    private final Map<String, Repeats> openWindows = new LinkedHashMap<>();
+    private final Map<String, Boolean> seenTraces = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_SEEN_TRACES;
+        }
+    };
+
+
+    /**
+     * Constructs a new JsonErrorLog, which writes one JSON object per line with the fields timestamp,
+     * context, exception, message, traceHash and count.
+     * The full stack trace is added as trace only the first time a trace is seen. After an error is written,
+     * the same trace from the same context is not written again until the window has passed. Instead,
+     * a single record then reports how many repeats were collapsed, with the times of the first and last.
+     *
+     * @param window How long identical errors are collapsed for.
+     * @throws IllegalArgumentException If the window is null or negative.
+     */
+    public JsonErrorLog(Duration window) {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Window cannot be null or negative");
+        }
+        this.window = window;
+    }
+
+
+    /**
+     * Writes an error, or counts it if the same trace was already written from the same context within the window.
+     * Windows that have ended are reported first.
+     *
+     * @param out Where to write the records.
+     * @param time When the error happened.
+     * @param exception The exception.
+     * @param context Where the error happened, typically the method or class name.
+     */
+    public synchronized void write(PrintWriter out, LocalDateTime time, Throwable exception, String context) {
+        writeExpired(out, time);
+
+        String hash = traceHash(exception);
+        String key = context + '\u0000' + hash;
+        Repeats repeats = openWindows.get(key);
+        if (repeats != null) {
+            repeats.add(time, exception.getMessage());
+            return;
+        }
+        openWindows.put(key, new Repeats(time, exception, context, hash));
+
+        StringBuilder record = startRecord(time, exception, context, exception.getMessage(), hash, 1);
+        if (seenTraces.put(hash, Boolean.TRUE) == null) {
+            StringWriter trace = new StringWriter();
+            exception.printStackTrace(new PrintWriter(trace));
+            appendField(record, "trace", trace.toString());
+        }
+        out.println(record.append('}'));
+    }
+
+    /**
+     * Reports the windows that have ended by the given time and had repeats.
+     *
+     * @param out Where to write the records.
+     * @param now The current time.
+     */
+    public synchronized void writeExpired(PrintWriter out, LocalDateTime now) {
+        Iterator<Repeats> iterator = openWindows.values().iterator();
+        while (iterator.hasNext()) {
+            Repeats repeats = iterator.next();
+            if (!now.isBefore(repeats.windowStart.plus(window))) {
+                repeats.writeTo(out);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Reports every open window that had repeats, ending them early. Used when the log is closed.
+     *
+     * @param out Where to write the records.
+     */
+    public synchronized void writeAll(PrintWriter out) {
+        for (Repeats repeats : openWindows.values()) {
+            repeats.writeTo(out);
+        }
+        openWindows.clear();
+    }
+
+    /**
+     * Writes a record saying how many errors were dropped before they could be logged.
+     *
+     * @param out Where to write the record.
+     * @param time When the drops were noticed.
+     * @param count How many errors were dropped.
+     */
+    public void writeDropped(PrintWriter out, LocalDateTime time, long count) {
+        StringBuilder record = new StringBuilder(128).append('{');
+        appendField(record, "timestamp", formatTime(time));
+        appendField(record, "level", "WARNING");
+        appendField(record, "message", "Error log entries were dropped because the buffer was full");
+        record.append(",\"count\":").append(count);
+        out.println(record.append('}'));
+    }
+
+    /**
+     * @param now The current time.
+     * @return true if a window with repeats has ended and is waiting to be reported.
+     */
+    public synchronized boolean hasExpired(LocalDateTime now) {
+        for (Repeats repeats : openWindows.values()) {
+            if (repeats.count > 0 && !now.isBefore(repeats.windowStart.plus(window))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hashes the exception class and stack frames of an exception and its causes. Messages are left out,
+     * since they often carry IDs or values that differ between otherwise identical failures.
+     *
+     * @param exception The exception.
+     * @return The hash as 16 hexadecimal digits.
+     */
+    public static String traceHash(Throwable exception) {
+        long hash = FNV_OFFSET_BASIS;
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = exception; current != null && visited.add(current); current = current.getCause()) {
+            hash = mix(hash, current.getClass().getName());
+            for (StackTraceElement frame : current.getStackTrace()) {
+                hash = mix(hash, frame.toString());
+            }
+        }
+        return String.format("%016x", hash);
+    }
+
+
+
+
+    /**
+     * The repeats of one error within its window.
+     */
+    private static final class Repeats {
+        final LocalDateTime windowStart;
+        final String exceptionClass;
+        final String context;
+        final String hash;
+        int count;
+        LocalDateTime firstRepeat;
+        LocalDateTime lastRepeat;
+        String lastMessage;
+
+        Repeats(LocalDateTime windowStart, Throwable exception, String context, String hash) {
+            this.windowStart = windowStart;
+            this.exceptionClass = exception.getClass().getName();
+            this.context = context;
+            this.hash = hash;
+        }
+
+        void add(LocalDateTime time, String message) {
+            if (count == 0) {
+                firstRepeat = time;
+            }
+            count++;
+            lastRepeat = time;
+            lastMessage = message;
+        }
+
+        void writeTo(PrintWriter out) {
+            if (count == 0) {
+                return;
+            }
+            StringBuilder record = startRecord(lastRepeat, exceptionClass, context, lastMessage, hash, count);
+            appendField(record, "firstSeen", formatTime(firstRepeat));
+            out.println(record.append('}'));
+        }
+    }
+
+    private static StringBuilder startRecord(LocalDateTime time, Throwable exception, String context,
+                                             String message, String hash, int count) {
+        return startRecord(time, exception.getClass().getName(), context, message, hash, count);
+    }
+
+    private static StringBuilder startRecord(LocalDateTime time, String exceptionClass, String context,
+                                             String message, String hash, int count) {
+        StringBuilder record = new StringBuilder(256).append('{');
+        appendField(record, "timestamp", formatTime(time));
+        appendField(record, "context", context);
+        appendField(record, "exception", exceptionClass);
+        appendField(record, "message", message);
+        appendField(record, "traceHash", hash);
+        record.append(",\"count\":").append(count);
+        return record;
+    }
+
+    private static String formatTime(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
+
+    private static void appendField(StringBuilder record, String name, String value) {
+        if (record.length() > 1) {
+            record.append(',');
+        }
+        record.append('"').append(name).append("\":");
+        if (value == null) {
+            record.append("null");
+            return;
+        }
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': record.append("\\\""); break;
+                case '\\': record.append("\\\\"); break;
+                case '\n': record.append("\\n"); break;
+                case '\r': record.append("\\r"); break;
+                case '\t': record.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        record.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        record.append(c);
+                    }
+            }
+        }
+        record.append('"');
+    }
+
+    private static long mix(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // Separates one piece from the next, so "ab" + "c" and "a" + "bc" differ
+        hash ^= 0xff;
+        return hash * FNV_PRIME;
+    }
+}
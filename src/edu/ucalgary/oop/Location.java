@@ -1,6 +1,6 @@
 /**
  * Location.java
- * Version: 1.0
+ * Version: 1.1
  * Author: Jibran Somroo
  * Date: April 7, 2025
  */
@@ -125,6 +125,19 @@ public class Location {
         this.occupants = occupants;
     }
 
+    /**
+     * Sets the supplies of the location.
+     *
+     * @param inventory The arraylist of supplies to be set for the location.
+     */
+    public void setLocationInventory(ArrayList<Supply> inventory) {
+        if (inventory == null) {
+            this.inventory = new ArrayList<>();
+        } else {
+            this.inventory = inventory;
+        }
+    }
+
 
 
 
@@ -1,6 +1,6 @@
 /**
  * LocationController.java
- * Version: 3.0
+ * Version: 4.2
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -8,12 +8,18 @@
 package edu.ucalgary.oop;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.sql.SQLException;
 
 public class LocationController {
-    private ArrayList<Location> locationModels;
+    // The locations and who is at them, read without any lock and replaced as a whole on every change
+    private final ModelStore<State> models = new ModelStore<>(State.EMPTY);
+    private final ModelLock modelLock = new ModelLock();
     private DatabaseManager databaseManager;
-    private static int locationIdCounter;
+    private IdAllocator idAllocator;
     private static ErrorLogger errorLogger = ErrorLogger.getInstance();
     private static TranslationManager translationManager = TranslationManager.getInstance();
 
@@ -25,11 +31,27 @@ public class LocationController {
      * @throws RuntimeException if there is an error initializing the LocationController or retrieving data from the database.
      */
     public LocationController() {
+        this(SnapshotFile.empty());
+    }
+
+    /**
+     * Constructs a new LocationController, taking the locations and the people at them from the
+     * startup snapshot if they have not changed since it was written. The two are checked separately,
+     * so moving people around does not reload the locations themselves.
+     *
+     * @param snapshot The startup snapshot.
+     * @throws RuntimeException if there is an error initializing the LocationController or retrieving data from the database.
+     */
+    public LocationController(SnapshotFile snapshot) {
         try {
             this.databaseManager = DatabaseManager.getInstance();
-            this.locationModels = new ArrayList<>();
-            populateLocationsFromDatabase();
+            this.idAllocator = databaseManager.getLocationIdAllocator();
+            List<Location> locations = snapshot.getLocations();
+            List<int[]> assignments = snapshot.getPersonLocations();
+            loadLocations(locations != null ? locations : databaseManager.getAllLocations(),
+                    assignments != null ? assignments : databaseManager.getAllPersonLocations());
         } catch (SQLException e) {
+            System.err.println("Error loading locations from database: " + e.getMessage());
             throw new RuntimeException("Failed to initialize LocationController", e);
         }
     }
@@ -39,7 +61,7 @@ public class LocationController {
      * Created for LocationControllerTest
      */
     public LocationController(int test) {
-            this.locationModels = new ArrayList<>();
+        this.idAllocator = IdAllocator.sequential(1);
     }
 
 
@@ -50,32 +72,49 @@ public class LocationController {
      */
     private void populateLocationsFromDatabase() throws SQLException {
         try {
-            ArrayList<Location> locations = (ArrayList<Location>) databaseManager.getAllLocations();
-            this.locationModels.clear();
-            this.locationModels.addAll(locations);
-            initializeIdCounter();
+            loadLocations(databaseManager.getAllLocations(), databaseManager.getAllPersonLocations());
         } catch (SQLException e) {
             System.err.println("Error loading locations from database: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Replaces the local locations and the occupancy index.
+     *
+     * @param locations The locations to hold.
+     * @param assignments Pairs of {personId, locationId}.
+     */
+    private void loadLocations(List<Location> locations, List<int[]> assignments) {
+        models.set(new State(ModelTable.of(Location::getLocationId, locations), OccupancyIndex.of(assignments)));
+    }
+
     /**
      * Retrieves a copy of the list of all locations.
      *
      * @return A new ArrayList containing all Location objects in the locationModels list.
      */
     public ArrayList<Location> getAllLocations() {
-        return new ArrayList<>(this.locationModels);
+        return new ArrayList<>(getLocationsSnapshot().asList());
     }
 
     /**
-     * Retrieves all locations.
-     *  Note: Created for LocationControllerTest
-     * @return A new ArrayList containing all Location objects
+     * Retrieves an immutable snapshot of all locations. The snapshot is only rebuilt after a change,
+     * so calling this repeatedly, for example inside a loop, does not copy anything.
+     *
+     * @return The current snapshot of locations.
+     */
+    public ModelSnapshot<Location> getLocationsSnapshot() {
+        return models.get().locations.snapshot();
+    }
+
+    /**
+     * Adds a location to the local list.
+     *  Note: Created for LocationControllerTest. The database is not touched.
+     * @param location The location to add.
      */
-    public ArrayList<Location> getAllLocationsTest() {
-        return this.locationModels;
+    void addLocationTest(Location location) {
+        models.update(state -> state.withLocation(location));
     }
 
 
@@ -92,15 +131,16 @@ public class LocationController {
         }
 
         if(location.getLocationId() <= 0){
-            location.setLocationId(generateLocationId());
+            location.setLocationId(idAllocator.nextId());
         }
 
         try {
-            databaseManager.addLocation(location);
-            this.locationModels.add(location); // Add to local model
+            modelLock.withStripe(location.getLocationId(), () -> {
+                databaseManager.addLocation(location);
+                models.update(state -> state.withLocation(location)); // Add to local model
+            });
         } catch (SQLException e) {
             System.err.println("Error adding location: " + e.getMessage());
-            locationIdCounter--;
             throw e;
         }
     }
@@ -118,14 +158,12 @@ public class LocationController {
         }
 
         try {
-            databaseManager.updateLocation(location);
-            // Find and update the location in local models
-            for (int i = 0; i < locationModels.size(); i++) {
-                if (locationModels.get(i).getLocationId() == location.getLocationId()) {
-                    locationModels.set(i, location);
-                    break;
-                }
-            }
+            modelLock.withStripe(location.getLocationId(), () -> {
+                databaseManager.updateLocation(location);
+                // Update the location in local models, keeping its place
+                models.update(state -> state.locations.containsKey(location.getLocationId())
+                        ? state.withLocation(location) : state);
+            });
         } catch (SQLException e) {
             System.err.println("Error updating location: " + e.getMessage());
             throw e;
@@ -143,9 +181,12 @@ public class LocationController {
      */
     public void deleteLocation(int locationId) throws SQLException {
         try {
-            databaseManager.deleteLocation(locationId);
-            // Remove from local models
-            locationModels.removeIf(l -> l.getLocationId() == locationId);
+            modelLock.withStripe(locationId, () -> {
+                databaseManager.deleteLocation(locationId);
+                // Remove from local models
+                models.update(state -> new State(state.locations.remove(locationId),
+                        state.occupancy.removeLocation(locationId)));
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting location: " + e.getMessage());
             throw e;
@@ -180,7 +221,10 @@ public class LocationController {
      */
     public void addPersonToLocation(int personId, int locationId) throws SQLException {
         try {
-            databaseManager.addPersonToLocation(personId, locationId);
+            modelLock.withStripe(locationId, () -> {
+                databaseManager.addPersonToLocation(personId, locationId);
+                models.update(state -> state.withOccupancy(state.occupancy.add(personId, locationId)));
+            });
         } catch (SQLException e) {
             System.err.println("Error adding person to location: " + e.getMessage());
             throw e;
@@ -196,13 +240,83 @@ public class LocationController {
      */
     public void removePersonFromLocation(int personId, int locationId) throws SQLException {
         try {
-            databaseManager.removePersonFromLocation(personId, locationId);
+            modelLock.withStripe(locationId, () -> {
+                databaseManager.removePersonFromLocation(personId, locationId);
+                models.update(state -> state.withOccupancy(state.occupancy.remove(personId, locationId)));
+            });
         } catch (SQLException e) {
             System.err.println("Error removing person from location: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Records people that have already been placed at locations in the database, for example by a
+     * bulk import, in the local occupancy index, so it stays current without reloading every location.
+     *
+     * @param assignments Pairs of {personId, locationId}.
+     */
+    public void addOccupantsLocally(List<int[]> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        models.update(state -> {
+            OccupancyIndex occupancy = state.occupancy;
+            for (int[] assignment : assignments) {
+                occupancy = occupancy.add(assignment[0], assignment[1]);
+            }
+            return state.withOccupancy(occupancy);
+        });
+    }
+
+    /**
+     * Retrieves the IDs of the locations a person is currently at, from the local occupancy index.
+     *
+     * @param personId The ID of the person.
+     * @return A list of location IDs, empty if the person is not at any location.
+     */
+    public List<Integer> getLocationIdsForPerson(int personId) {
+        return models.get().occupancy.getLocationIds(personId);
+    }
+
+    /**
+     * Retrieves the IDs of the people currently at a location, from the local occupancy index.
+     *
+     * @param locationId The ID of the location.
+     * @return A list of person IDs, empty if nobody is at the location.
+     */
+    public List<Integer> getOccupantIdsAtLocation(int locationId) {
+        return models.get().occupancy.getOccupantIds(locationId);
+    }
+
+    /**
+     * Filters a list of people down to those not assigned to any location.
+     * Each person is a single lookup in the occupancy index, matched by person ID.
+     *
+     * @param people The people to check.
+     * @return A new list of the people who are not at any location, in their original order.
+     */
+    public ArrayList<Person> getPeopleNotAtAnyLocation(List<Person> people) {
+        OccupancyIndex occupancy = models.get().occupancy;
+        ArrayList<Person> unassigned = new ArrayList<>();
+        for (Person person : people) {
+            if (!occupancy.isAssigned(person.getPersonId())) {
+                unassigned.add(person);
+            }
+        }
+        return unassigned;
+    }
+
+    /**
+     * Records that a person is at a location in the local occupancy index.
+     * Note: Created for LocationControllerTest. The database is not touched.
+     * @param personId The ID of the person.
+     * @param locationId The ID of the location.
+     */
+    void addOccupantTest(int personId, int locationId) {
+        models.update(state -> state.withOccupancy(state.occupancy.add(personId, locationId)));
+    }
+
     /**
      * Retrieves a list of supplies currently allocated to a specific location.
      *
@@ -237,77 +351,98 @@ public class LocationController {
         }
 
         // First check local models
-        for (Location location : locationModels) {
-            if (location.getLocationId() == locationId) {
-                return location;
-            }
-        }
-
-        return null;
+        return models.get().locations.get(locationId);
     }
 
 
     /**
-     * Allocates a supply to a person if they are currently at this location
+     * Allocates a supply held at a location to a person who is currently there.
+     * The allocation goes through the SupplyController, so the supply, the person's inventory and
+     * the location's inventory are all updated in place, and allocated water starts to expire.
      *
      * @param supplyId The ID of the supply to allocate
      * @param personId The ID of the person to allocate to
+     * @param locationId The ID of the location the supply and the person are at
+     * @param supplyController Holds the supply.
+     * @param personController Holds the person.
      * @throws SQLException If there's a database error
-     * @throws IllegalArgumentException If the person is not at this location or if the supply is already allocated
+     * @throws IllegalArgumentException If the person is not at this location or the supply is not held there
      */
-    public void allocateSupplyToPersonAtLocation(int supplyId, int personId, int locationId)
+    public void allocateSupplyToPersonAtLocation(int supplyId, int personId, int locationId,
+                                                 SupplyController supplyController, PersonController personController)
             throws SQLException, IllegalArgumentException {
 
-        // Verify the person is at this location
-        ArrayList<Person> occupants = getOccupantsAtLocation(locationId);
-        boolean personFound = false;
-
-        for (Person person : occupants) {
-            if (person.getPersonId() == personId) {
-                personFound = true;
-                break;
+        // Verify the person is at this location, reloading the occupancy index once if it disagrees
+        if (!models.get().occupancy.isAt(personId, locationId)) {
+            OccupancyIndex reloaded = OccupancyIndex.of(databaseManager.getAllPersonLocations());
+            models.update(state -> state.withOccupancy(reloaded));
+            if (!reloaded.isAt(personId, locationId)) {
+                throw new IllegalArgumentException("Person with ID " + personId +
+                        " is not currently at location " + locationId);
             }
         }
 
-        if (!personFound) {
-            throw new IllegalArgumentException("Person with ID " + personId +
-                    " is not currently at location " + locationId);
-        }
-
-        // Check if supply is already allocated
-        if (databaseManager.isSupplyAllocatedToPerson(supplyId)) {
-            throw new IllegalArgumentException("Supply with ID " + supplyId + " is already allocated");
-        }
-
-        // Get the supply to verify it exists
-        Supply supplyToAllocate = null;
-        for (Supply supply : databaseManager.getAllSupplies()) {
-            if (supply.getSupplyId() == supplyId) {
-                supplyToAllocate = supply;
-                break;
-            }
-        }
+        supplyController.allocateSupply(supplyId, personId, null, locationId, personController, this);
+    }
 
-        if (supplyToAllocate == null) {
-            throw new IllegalArgumentException("No supply found with ID: " + supplyId);
+    /**
+     * Adds a supply to a location's inventory, replacing any copy of it already there.
+     * Called once the allocation has been written to the database.
+     *
+     * @param locationId The ID of the location.
+     * @param supply The allocated supply.
+     */
+    public void addSupplyToInventory(int locationId, Supply supply) {
+        Location location = models.get().locations.get(locationId);
+        if (location == null) {
+            return;
         }
+        // The inventory is copied and swapped in, so readers walking the old one are not disturbed
+        modelLock.inStripe(locationId, () -> {
+            ArrayList<Supply> inventory = new ArrayList<>(location.getLocationInventory());
+            inventory.removeIf(s -> s.getSupplyId() == supply.getSupplyId());
+            inventory.add(supply);
+            location.setLocationInventory(inventory);
+        });
+    }
 
-        // Special handling for Water - needs allocation date
-        if (supplyToAllocate instanceof Water) {
-            // Beta
+    /**
+     * Removes a supply from a location's inventory. Called once the supply has left the location in the database.
+     *
+     * @param locationId The ID of the location.
+     * @param supplyId The ID of the supply.
+     */
+    public void removeSupplyFromInventory(int locationId, int supplyId) {
+        Location location = models.get().locations.get(locationId);
+        if (location == null) {
+            return;
         }
+        modelLock.inStripe(locationId, () -> {
+            ArrayList<Supply> inventory = new ArrayList<>(location.getLocationInventory());
+            inventory.removeIf(s -> s.getSupplyId() == supplyId);
+            location.setLocationInventory(inventory);
+        });
+    }
 
-        // Allocate the supply
-        databaseManager.allocateSupply(supplyId, personId, null);
-
-        // If allocated to a DisasterVictim, add to their inventory
-        Person person = databaseManager.getPersonById(personId);
-        if (person instanceof DisasterVictim) {
-            ((DisasterVictim)person).addItem(supplyToAllocate);
+    /**
+     * Removes supplies from the inventory of every cached location holding them.
+     * Called once the supplies have been deleted from the database, for example when water expires.
+     *
+     * @param supplyIds The IDs of the removed supplies.
+     */
+    public void evictSupplies(Collection<Integer> supplyIds) {
+        Set<Integer> evicted = new HashSet<>(supplyIds);
+        for (Location location : models.get().locations.snapshot().asList()) {
+            modelLock.inStripe(location.getLocationId(), () -> {
+                List<Supply> current = location.getLocationInventory();
+                if (current.stream().noneMatch(s -> evicted.contains(s.getSupplyId()))) {
+                    return;
+                }
+                ArrayList<Supply> inventory = new ArrayList<>(current);
+                inventory.removeIf(s -> evicted.contains(s.getSupplyId()));
+                location.setLocationInventory(inventory);
+            });
         }
-
-
-        refreshLocations();
     }
 
 
@@ -315,21 +450,42 @@ public class LocationController {
 
 
     /**
-     * Initializes the location ID counter by retrieving the highest existing location ID from the database.
+     * Generates a new location ID from the ID allocator
      *
-     * @throws SQLException if there is an error accessing the database to retrieve the maximum location ID.
+     * @return The next available location ID.
+     * @throws RuntimeException if a new block of IDs cannot be reserved.
      */
-    private void initializeIdCounter() throws SQLException {
-        int maxId = databaseManager.getLargestLocationId();
-        locationIdCounter = maxId + 1;
+    public int generateLocationId() {
+        try {
+            return idAllocator.nextId();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to allocate a location ID", e);
+        }
     }
 
+
+
     /**
-     * Calculates the location id by incrementing the locationIdCounter by 1
-     *
-     * @return locationId
+     * The locations, in the order they were added and indexed by ID, and the people at them.
+     * Never changed once built; every change makes a new State that shares all but what changed.
      */
-    public int generateLocationId() {
-        return locationIdCounter++;
+    private static final class State {
+        private static final State EMPTY = new State(ModelTable.empty(Location::getLocationId), OccupancyIndex.empty());
+
+        private final ModelTable<Location> locations;
+        private final OccupancyIndex occupancy;
+
+        private State(ModelTable<Location> locations, OccupancyIndex occupancy) {
+            this.locations = locations;
+            this.occupancy = occupancy;
+        }
+
+        private State withLocation(Location location) {
+            return new State(locations.put(location), occupancy);
+        }
+
+        private State withOccupancy(OccupancyIndex newOccupancy) {
+            return newOccupancy == occupancy ? this : new State(locations, newOccupancy);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+/**
+ * LogRingBuffer.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class LogRingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    // Each slot's sequence says whose turn it is: equal to a producer's position when the slot is free
+    // for it, one past the position once filled, and a lap further on once the consumer has emptied it
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private long head;
+
+
+    /**
+     * Constructs a new, empty LogRingBuffer. Any number of threads may offer entries without locking;
+     * only one thread may take them out.
+     *
+     * @param capacity The number of entries the buffer holds, rounded up to a power of two of at least 2.
+     * @throws IllegalArgumentException If the capacity is not positive or too large.
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        // A single slot cannot tell "filled" from "free on the next lap", so there are always at least two
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+
+    /**
+     * Adds an entry if there is room, without blocking. Safe to call from any thread.
+     *
+     * @param entry The entry to add.
+     * @return true if the entry was added, false if the buffer is full.
+     * @throws IllegalArgumentException If the entry is null.
+     */
+    public boolean offer(T entry) {
+        if (entry == null) {
+            throw new IllegalArgumentException("Entry cannot be null");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the entry from a lap ago
+                return false;
+            } else {
+                // Another producer claimed this position first
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest entry. Only the consuming thread may call this.
+     *
+     * @return The oldest entry, or null if the buffer is empty.
+     */
+    public T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return entry;
+    }
+
+    /**
+     * Moves up to the given number of entries, oldest first, into a list. Only the consuming thread may call this.
+     *
+     * @param target The list to add the entries to.
+     * @param maximum The most entries to move.
+     * @return The number of entries moved.
+     */
+    public int drainTo(List<? super T> target, int maximum) {
+        int count = 0;
+        T entry;
+        while (count < maximum && (entry = poll()) != null) {
+            target.add(entry);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether any entries are waiting. Only the consuming thread may call this.
+     *
+     * @return true if no entries are waiting.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    /**
+     * @return The number of entries the buffer holds.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * LogRotator.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+public class LogRotator {
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(1);
+    public static final int DEFAULT_RETAINED_SEGMENTS = 10;
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    // Sorts by name in the order the segments were rolled
+    private static final DateTimeFormatter SEGMENT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+
+    private final Path logFile;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final int retainedSegments;
+    private final Clock clock;
+    private final String segmentPrefix;
+    private final String segmentSuffix;
+    private final ExecutorService compressor;
+    private Instant segmentStart;
+    private Future<?> lastCompression;
+
+
+    /**
+     * Constructs a new LogRotator with the default limits and the system clock.
+     *
+     * @param logFile The log file that is appended to.
+     */
+    public LogRotator(Path logFile) {
+        this(logFile, DEFAULT_MAX_BYTES, DEFAULT_MAX_AGE, DEFAULT_RETAINED_SEGMENTS, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a new LogRotator. When the log file reaches the size limit or the age limit it is renamed to a
+     * timestamped segment, such as errorlog.20261017-093000123.txt next to errorlog.txt, and writing starts
+     * again on an empty file. Segments are gzipped on a background thread, and only the newest are kept.
+     *
+     * @param logFile The log file that is appended to.
+     * @param maxBytes The size at which the file is rolled.
+     * @param maxAge How long one file is written to before it is rolled.
+     * @param retainedSegments How many rolled segments to keep.
+     * @param clock The clock used to time the segments and name them.
+     * @throws IllegalArgumentException If a limit is not positive or an argument is null.
+     */
+    public LogRotator(Path logFile, long maxBytes, Duration maxAge, int retainedSegments, Clock clock) {
+        if (logFile == null || maxAge == null || clock == null) {
+            throw new IllegalArgumentException("Log file, maximum age and clock cannot be null");
+        }
+        if (maxBytes <= 0 || maxAge.isNegative() || maxAge.isZero() || retainedSegments <= 0) {
+            throw new IllegalArgumentException("Size limit, age limit and retained segments must be positive");
+        }
+        this.logFile = logFile.toAbsolutePath();
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.retainedSegments = retainedSegments;
+        this.clock = clock;
+
+        String name = this.logFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.segmentPrefix = (dot > 0 ? name.substring(0, dot) : name) + ".";
+        this.segmentSuffix = dot > 0 ? name.substring(dot) : "";
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Checks whether the log file should be rolled before more is written to it. Only the file's size
+     * and when it was started are looked at, so the cost is the same however long the history is.
+     *
+     * @return true if the file has reached the size or age limit.
+     */
+    public synchronized boolean needsRoll() {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // No file yet, so nothing to roll; the next one starts now
+            segmentStart = null;
+            return false;
+        }
+        if (segmentStart == null) {
+            // A file left by an earlier run counts from when it was created
+            segmentStart = attributes.creationTime().toInstant();
+        }
+        return attributes.size() >= maxBytes
+                || !clock.instant().isBefore(segmentStart.plus(maxAge));
+    }
+
+    /**
+     * Renames the log file to a new segment, then compresses it and removes old segments in the background.
+     * Whoever writes the log must have closed the file first.
+     *
+     * @return The segment the log file was renamed to, or null if there was no log file.
+     * @throws IOException If the log file cannot be renamed.
+     */
+    public synchronized Path roll() throws IOException {
+        Instant now = clock.instant();
+        Path segment = nextSegment(now);
+        try {
+            Files.move(logFile, segment, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return null;
+        } finally {
+            segmentStart = null;
+        }
+        lastCompression = compressor.submit(this::compressAndPrune);
+        return segment;
+    }
+
+    /**
+     * @return The rolled segments that remain, oldest first, compressed or not.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public List<Path> getSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(logFile.getParent(), segmentPrefix + "*")) {
+            for (Path file : files) {
+                if (isSegment(file.getFileName().toString())) {
+                    segments.add(file);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Waits for the background compression started by the last roll.
+     */
+    void awaitCompression() throws InterruptedException {
+        Future<?> compression;
+        synchronized (this) {
+            compression = lastCompression;
+        }
+        if (compression != null) {
+            try {
+                compression.get();
+            } catch (ExecutionException e) {
+                // Already logged by the compressor
+            }
+        }
+    }
+
+
+
+
+    private Path nextSegment(Instant now) {
+        // Two rolls in the same millisecond take the next free name
+        Instant stamp = now;
+        while (true) {
+            String name = segmentPrefix + SEGMENT_FORMAT.format(stamp.atZone(ZoneId.systemDefault())) + segmentSuffix;
+            Path segment = logFile.resolveSibling(name);
+            if (!Files.exists(segment) && !Files.exists(segment.resolveSibling(name + COMPRESSED_EXTENSION))) {
+                return segment;
+            }
+            stamp = stamp.plusMillis(1);
+        }
+    }
+
+    private boolean isSegment(String name) {
+        String stem = name.endsWith(COMPRESSED_EXTENSION)
+                ? name.substring(0, name.length() - COMPRESSED_EXTENSION.length())
+                : name;
+        if (stem.length() <= segmentPrefix.length() + segmentSuffix.length()
+                || !stem.startsWith(segmentPrefix) || !stem.endsWith(segmentSuffix)) {
+            return false;
+        }
+        String stamp = stem.substring(segmentPrefix.length(), stem.length() - segmentSuffix.length());
+        return stamp.matches("\\d{8}-\\d{9}");
+    }
+
+    /**
+     * Compresses every segment still waiting, including any a crash left behind, then deletes the oldest
+     * segments beyond the retention count.
+     */
+    private void compressAndPrune() {
+        try {
+            List<Path> segments = getSegments();
+            int excess = segments.size() - retainedSegments;
+            for (int i = 0; i < segments.size(); i++) {
+                Path segment = segments.get(i);
+                if (i < excess) {
+                    Files.deleteIfExists(segment);
+                } else if (!segment.getFileName().toString().endsWith(COMPRESSED_EXTENSION)) {
+                    compress(segment);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The log being rotated may be the error log itself, so report on the console
+            System.err.println("CRITICAL: Failed to compress or prune rolled logs:");
+            e.printStackTrace();
+        }
+    }
+
+    private static void compress(Path segment) throws IOException {
+        Path compressed = segment.resolveSibling(segment.getFileName() + COMPRESSED_EXTENSION);
+        Path partial = segment.resolveSibling(segment.getFileName() + COMPRESSED_EXTENSION + ".tmp");
+        try (InputStream in = Files.newInputStream(segment);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial))) {
+            in.transferTo(out);
+        }
+        // Only a complete archive gets the final name, and only then is the original removed
+        Files.move(partial, compressed, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(segment);
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * MedicalRecord.java
- * Version: 4.0
+ * Version: 5.0
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -8,12 +8,24 @@
 package edu.ucalgary.oop;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 public class MedicalRecordController {
-    private ArrayList<MedicalRecord> medicalRecordModels;
+    private static final Comparator<IndexEntry> BY_DATE_OF_TREATMENT =
+            Comparator.comparing((IndexEntry entry) -> entry.dateOfTreatment).thenComparingInt(entry -> entry.recordId);
+
+    private static final IndexEntry[] NO_ENTRIES = new IndexEntry[0];
+
+    // The medical records and their indexes, read without any lock and replaced as a whole on every change
+    private final ModelStore<State> models = new ModelStore<>(State.EMPTY);
+    private final ModelLock modelLock = new ModelLock();
     private DatabaseManager databaseManager;
-    private static int medicalRecordIdCounter;
+    private IdAllocator idAllocator;
 
 
     /**
@@ -22,10 +34,26 @@ public class MedicalRecordController {
      * @throws RuntimeException if there is an error initializing the controller or populating the medical records.
      */
     public MedicalRecordController() {
+        this(SnapshotFile.empty());
+    }
+
+    /**
+     * Initializes the MedicalRecordController, taking the medical records from the startup snapshot
+     * if they have not changed since it was written.
+     *
+     * @param snapshot The startup snapshot.
+     * @throws RuntimeException if there is an error initializing the controller or populating the medical records.
+     */
+    public MedicalRecordController(SnapshotFile snapshot) {
         try {
             this.databaseManager = DatabaseManager.getInstance();
-            this.medicalRecordModels = new ArrayList<>();
-            populateMedicalRecordsFromDatabase();
+            this.idAllocator = databaseManager.getMedicalRecordIdAllocator();
+            List<MedicalRecord> records = snapshot.getMedicalRecords();
+            if (records != null) {
+                loadMedicalRecords(records);
+            } else {
+                populateMedicalRecordsFromDatabase();
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to initialize MedicalRecordController", e);
         }
@@ -37,8 +65,7 @@ public class MedicalRecordController {
      *
      */
     public MedicalRecordController(int test) {
-            this.medicalRecordModels = new ArrayList<>();
-
+        this.idAllocator = IdAllocator.sequential(1);
     }
 
     /**
@@ -48,32 +75,49 @@ public class MedicalRecordController {
      */
     private void populateMedicalRecordsFromDatabase() throws SQLException {
         try {
-            ArrayList<MedicalRecord> records = (ArrayList<MedicalRecord>) databaseManager.getAllMedicalRecords();
-            this.medicalRecordModels.clear();
-            this.medicalRecordModels.addAll(records);
-            initializeIdCounter();
+            loadMedicalRecords(databaseManager.getAllMedicalRecords());
         } catch (SQLException e) {
             System.err.println("Error loading medical records from database: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Replaces the local medical records and rebuilds the indexes.
+     *
+     * @param records The medical records to hold.
+     */
+    private void loadMedicalRecords(List<MedicalRecord> records) {
+        models.set(State.of(records));
+    }
+
     /**
      * Retrieves a copy of the list of all medical records currently in the system.
      *
      * @return A new ArrayList containing all the medical records.
      */
     public ArrayList<MedicalRecord> getAllMedicalRecords() {
-        return new ArrayList<>(this.medicalRecordModels);
+        return new ArrayList<>(getMedicalRecordsSnapshot().asList());
+    }
+
+    /**
+     * Retrieves an immutable snapshot of all medical records. The snapshot is only rebuilt after a change,
+     * so calling this repeatedly, for example inside a loop, does not copy anything.
+     *
+     * @return The current snapshot of medical records.
+     */
+    public ModelSnapshot<MedicalRecord> getMedicalRecordsSnapshot() {
+        return models.get().records.snapshot();
     }
 
     /**
-     * Retrieves a list of all medical records currently in the system.
+     * Adds a medical record to the local models for test purposes, or replaces the one with the same ID.
+     * The database is not touched.
      *
-     * @return A ArrayList containing all the medical records.
+     * @param record The medical record to add.
      */
-    public ArrayList<MedicalRecord> getAllMedicalRecordsTest() {
-        return this.medicalRecordModels;
+    void addMedicalRecordTest(MedicalRecord record) {
+        models.update(state -> state.withRecord(record));
     }
 
     /**
@@ -89,15 +133,16 @@ public class MedicalRecordController {
         }
 
         if(record.getMedicalRecordId() <= 0) {
-            record.setMedicalRecordId(generateMedicalRecordId());
+            record.setMedicalRecordId(idAllocator.nextId());
         }
 
         try {
-            databaseManager.addMedicalRecord(record);
-            this.medicalRecordModels.add(record);
+            modelLock.withStripe(record.getMedicalRecordId(), () -> {
+                databaseManager.addMedicalRecord(record);
+                models.update(state -> state.withRecord(record));
+            });
         } catch (SQLException e) {
             System.err.println("Error adding medical record: " + e.getMessage());
-            medicalRecordIdCounter--;
             throw e;
         }
     }
@@ -115,14 +160,12 @@ public class MedicalRecordController {
         }
 
         try {
-            databaseManager.updateMedicalRecord(record);
-            // Find and update in local models
-            for (int i = 0; i < medicalRecordModels.size(); i++) {
-                if (medicalRecordModels.get(i).getMedicalRecordId() == record.getMedicalRecordId()) {
-                    medicalRecordModels.set(i, record);
-                    break;
-                }
-            }
+            modelLock.withStripe(record.getMedicalRecordId(), () -> {
+                databaseManager.updateMedicalRecord(record);
+                // Update local model
+                models.update(state -> state.records.containsKey(record.getMedicalRecordId())
+                        ? state.withRecord(record) : state);
+            });
         } catch (SQLException e) {
             System.err.println("Error updating medical record: " + e.getMessage());
             throw e;
@@ -130,35 +173,48 @@ public class MedicalRecordController {
     }
 
     /**
-     * Retrieves all medical records associated with a specific person.
+     * Retrieves all medical records associated with a specific person, oldest treatment first.
      *
      * @param personId The ID of the person for whom the medical records are being retrieved.
      * @return A list of medical records associated with the person.
-     * @throws SQLException if there is an error while interacting with the database.
      */
-    public ArrayList<MedicalRecord> getMedicalRecordsForPerson(int personId) throws SQLException {
-        try {
-            return (ArrayList<MedicalRecord>) databaseManager.getMedicalRecordsForPerson(personId);
-        } catch (SQLException e) {
-            System.err.println("Error getting medical records for person: " + e.getMessage());
-            throw e;
-        }
+    public ArrayList<MedicalRecord> getMedicalRecordsForPerson(int personId) {
+        return getMedicalRecordsForPerson(personId, null, null);
     }
 
     /**
-     * Retrieves all medical records associated with a specific location.
+     * Retrieves the medical records of a specific person treated within a date range, oldest treatment first.
+     *
+     * @param personId The ID of the person for whom the medical records are being retrieved.
+     * @param from The first treatment date to include, or null for no lower bound.
+     * @param to The last treatment date to include, or null for no upper bound.
+     * @return A list of medical records associated with the person within the range.
+     */
+    public ArrayList<MedicalRecord> getMedicalRecordsForPerson(int personId, LocalDate from, LocalDate to) {
+        return slice(models.get().recordsByPerson.get(personId), from, to);
+    }
+
+    /**
+     * Retrieves all medical records associated with a specific location, oldest treatment first.
      *
      * @param locationId The ID of the location for which the medical records are being retrieved.
      * @return A list of medical records associated with the location.
-     * @throws SQLException if there is an error while interacting with the database.
      */
-    public ArrayList<MedicalRecord> getMedicalRecordsAtLocation(int locationId) throws SQLException {
-        try {
-            return (ArrayList<MedicalRecord>) databaseManager.getMedicalRecordsAtLocation(locationId);
-        } catch (SQLException e) {
-            System.err.println("Error getting medical records at location: " + e.getMessage());
-            throw e;
-        }
+    public ArrayList<MedicalRecord> getMedicalRecordsAtLocation(int locationId) {
+        return getMedicalRecordsAtLocation(locationId, null, null);
+    }
+
+    /**
+     * Retrieves the medical records at a specific location treated within a date range, oldest treatment first.
+     * For example, the last three days at a location is {@code (locationId, LocalDate.now().minusDays(3), null)}.
+     *
+     * @param locationId The ID of the location for which the medical records are being retrieved.
+     * @param from The first treatment date to include, or null for no lower bound.
+     * @param to The last treatment date to include, or null for no upper bound.
+     * @return A list of medical records associated with the location within the range.
+     */
+    public ArrayList<MedicalRecord> getMedicalRecordsAtLocation(int locationId, LocalDate from, LocalDate to) {
+        return slice(models.get().recordsByLocation.get(locationId), from, to);
     }
 
 
@@ -177,21 +233,226 @@ public class MedicalRecordController {
 
 
     /**
-     * Initializes the medical record ID counter by retrieving the largest existing medical record ID from the database.
+     * Generates a new medical record ID from the ID allocator
      *
-     * @throws SQLException if there is an error retrieving the largest medical record ID from the database.
+     * @return The next available medical record ID.
+     * @throws RuntimeException if a new block of IDs cannot be reserved.
      */
-    private void initializeIdCounter() throws SQLException {
-        int maxId = databaseManager.getLargestMedicalRecordId();
-        medicalRecordIdCounter = maxId + 1;
+    public int generateMedicalRecordId() {
+        try {
+            return idAllocator.nextId();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to allocate a medical record ID", e);
+        }
+    }
+
+
+
+    // Indexes
+    // Each bucket is sorted by treatment date and replaced, never changed, when a record is filed or removed.
+
+    private static ArrayList<IndexEntry> bucket(IntObjectMap<ArrayList<IndexEntry>> index, int key) {
+        ArrayList<IndexEntry> bucket = index.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            index.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private static PersistentIntMap<IndexEntry[]> sortedBuckets(IntObjectMap<ArrayList<IndexEntry>> buckets,
+                                                                ToIntFunction<IndexEntry> keyOf) {
+        PersistentIntMap<IndexEntry[]> index = PersistentIntMap.empty();
+        for (ArrayList<IndexEntry> bucket : buckets.values()) {
+            IndexEntry[] sorted = bucket.toArray(NO_ENTRIES);
+            Arrays.sort(sorted, BY_DATE_OF_TREATMENT);
+            // Every entry in a bucket is filed under the same key, so the first one gives it
+            index = index.put(keyOf.applyAsInt(sorted[0]), sorted);
+        }
+        return index;
+    }
+
+    private static PersistentIntMap<IndexEntry[]> insertSorted(PersistentIntMap<IndexEntry[]> index, int key,
+                                                               IndexEntry entry) {
+        IndexEntry[] bucket = index.get(key);
+        if (bucket == null) {
+            bucket = NO_ENTRIES;
+        }
+        int low = 0;
+        int high = bucket.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BY_DATE_OF_TREATMENT.compare(bucket[mid], entry) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        IndexEntry[] grown = new IndexEntry[bucket.length + 1];
+        System.arraycopy(bucket, 0, grown, 0, low);
+        grown[low] = entry;
+        System.arraycopy(bucket, low, grown, low + 1, bucket.length - low);
+        return index.put(key, grown);
+    }
+
+    private static PersistentIntMap<IndexEntry[]> removeFromBucket(PersistentIntMap<IndexEntry[]> index, int key,
+                                                                   IndexEntry entry) {
+        IndexEntry[] bucket = index.get(key);
+        if (bucket == null) {
+            return index;
+        }
+        int position = Arrays.binarySearch(bucket, entry, BY_DATE_OF_TREATMENT);
+        if (position < 0) {
+            return index;
+        }
+        if (bucket.length == 1) {
+            return index.remove(key);
+        }
+        IndexEntry[] shrunk = new IndexEntry[bucket.length - 1];
+        System.arraycopy(bucket, 0, shrunk, 0, position);
+        System.arraycopy(bucket, position + 1, shrunk, position, shrunk.length - position);
+        return index.put(key, shrunk);
     }
 
     /**
-     * Generates a new medical record ID by adding 1 to medicalRecordIdCounter
+     * Copies the records of a sorted bucket whose treatment date falls within the range.
+     * Both ends are found by binary search, so only the matching records are visited.
      *
-     * @return The next available medical record ID.
+     * @param bucket The sorted bucket, or null if there are no records.
+     * @param from The first date to include, or null for no lower bound.
+     * @param to The last date to include, or null for no upper bound.
+     * @return A new list of the matching records in date order.
      */
-    public int generateMedicalRecordId() {
-        return medicalRecordIdCounter++;
+    private static ArrayList<MedicalRecord> slice(IndexEntry[] bucket, LocalDate from, LocalDate to) {
+        ArrayList<MedicalRecord> result = new ArrayList<>();
+        if (bucket == null) {
+            return result;
+        }
+        int start = from != null ? firstOnOrAfter(bucket, from) : 0;
+        int end = to != null ? firstOnOrAfter(bucket, to.plusDays(1)) : bucket.length;
+        for (int i = start; i < end; i++) {
+            result.add(bucket[i].record);
+        }
+        return result;
+    }
+
+    private static int firstOnOrAfter(IndexEntry[] bucket, LocalDate date) {
+        int low = 0;
+        int high = bucket.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucket[mid].dateOfTreatment.isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * The medical records, in the order they were added, and their indexes by ID, person and location.
+     * Never changed once built; every change makes a new State that shares all but what changed.
+     */
+    private static final class State {
+        private static final State EMPTY = new State(ModelTable.empty(MedicalRecord::getMedicalRecordId),
+                PersistentIntMap.empty(), PersistentIntMap.empty(), PersistentIntMap.empty());
+
+        private final ModelTable<MedicalRecord> records;
+        private final PersistentIntMap<IndexEntry> recordsById;
+        private final PersistentIntMap<IndexEntry[]> recordsByPerson;
+        private final PersistentIntMap<IndexEntry[]> recordsByLocation;
+
+        private State(ModelTable<MedicalRecord> records, PersistentIntMap<IndexEntry> recordsById,
+                      PersistentIntMap<IndexEntry[]> recordsByPerson, PersistentIntMap<IndexEntry[]> recordsByLocation) {
+            this.records = records;
+            this.recordsById = recordsById;
+            this.recordsByPerson = recordsByPerson;
+            this.recordsByLocation = recordsByLocation;
+        }
+
+        /**
+         * Builds the state for a freshly loaded list of records.
+         * Buckets are filled unsorted and sorted once at the end.
+         */
+        private static State of(List<MedicalRecord> loaded) {
+            IntObjectMap<ArrayList<IndexEntry>> byPerson = new IntObjectMap<>();
+            IntObjectMap<ArrayList<IndexEntry>> byLocation = new IntObjectMap<>();
+            PersistentIntMap<IndexEntry> byId = PersistentIntMap.empty();
+            for (MedicalRecord record : loaded) {
+                IndexEntry entry = new IndexEntry(record);
+                byId = byId.put(entry.recordId, entry);
+                if (entry.personId != null) {
+                    bucket(byPerson, entry.personId).add(entry);
+                }
+                if (entry.locationId != null) {
+                    bucket(byLocation, entry.locationId).add(entry);
+                }
+            }
+            return new State(ModelTable.of(MedicalRecord::getMedicalRecordId, loaded), byId,
+                    sortedBuckets(byPerson, entry -> entry.personId),
+                    sortedBuckets(byLocation, entry -> entry.locationId));
+        }
+
+        /**
+         * Adds a record at the end, or in place of the one with the same ID, keeping the buckets sorted.
+         * An existing record is first taken out of the indexes, since its person, location or date may have changed.
+         */
+        private State withRecord(MedicalRecord record) {
+            State state = unindexed(record.getMedicalRecordId());
+            IndexEntry entry = new IndexEntry(record);
+            PersistentIntMap<IndexEntry[]> byPerson = state.recordsByPerson;
+            PersistentIntMap<IndexEntry[]> byLocation = state.recordsByLocation;
+            if (entry.personId != null) {
+                byPerson = insertSorted(byPerson, entry.personId, entry);
+            }
+            if (entry.locationId != null) {
+                byLocation = insertSorted(byLocation, entry.locationId, entry);
+            }
+            return new State(state.records.put(record), state.recordsById.put(entry.recordId, entry),
+                    byPerson, byLocation);
+        }
+
+        /**
+         * Takes a record out of every index using the values it was filed under, which may differ
+         * from its current person, location and date. The record stays in the table, so that
+         * a replacement keeps its place.
+         */
+        private State unindexed(int recordId) {
+            IndexEntry entry = recordsById.get(recordId);
+            if (entry == null) {
+                return this;
+            }
+            PersistentIntMap<IndexEntry[]> byPerson = recordsByPerson;
+            PersistentIntMap<IndexEntry[]> byLocation = recordsByLocation;
+            if (entry.personId != null) {
+                byPerson = removeFromBucket(byPerson, entry.personId, entry);
+            }
+            if (entry.locationId != null) {
+                byLocation = removeFromBucket(byLocation, entry.locationId, entry);
+            }
+            return new State(records, recordsById.remove(recordId), byPerson, byLocation);
+        }
+    }
+
+    /**
+     * An indexed medical record together with the values it is filed and sorted under.
+     */
+    private static class IndexEntry {
+        private final MedicalRecord record;
+        private final int recordId;
+        private final Integer personId;
+        private final Integer locationId;
+        private final LocalDate dateOfTreatment;
+
+        private IndexEntry(MedicalRecord record) {
+            this.record = record;
+            this.recordId = record.getMedicalRecordId();
+            this.personId = record.getPerson() != null ? record.getPerson().getPersonId() : null;
+            this.locationId = record.getLocation() != null ? record.getLocation().getLocationId() : null;
+            // Dates may carry a time from the database, but only the day is kept
+            this.dateOfTreatment = LocalDate.parse(record.getDateOfTreatment().substring(0, 10));
+        }
     }
-}
\ No newline at end of file
+}
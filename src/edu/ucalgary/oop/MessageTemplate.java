@@ -0,0 +1,271 @@
+/**
+ * MessageTemplate.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class MessageTemplate {
+    private static final int LITERAL = -1;
+
+    // Parallel arrays, one entry per segment: literal text, or the argument index, width and alignment of a placeholder
+    private final String[] literals;
+    private final int[] arguments;
+    private final boolean[] numeric;
+    private final int[] widths;
+    private final boolean[] leftJustified;
+    private final int argumentCount;
+    private final String pattern;
+
+
+    private MessageTemplate(String pattern, List<Segment> segments) {
+        this.pattern = pattern;
+        int size = segments.size();
+        this.literals = new String[size];
+        this.arguments = new int[size];
+        this.numeric = new boolean[size];
+        this.widths = new int[size];
+        this.leftJustified = new boolean[size];
+
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            Segment segment = segments.get(i);
+            literals[i] = segment.literal;
+            arguments[i] = segment.argument;
+            numeric[i] = segment.numeric;
+            widths[i] = segment.width;
+            leftJustified[i] = segment.leftJustified;
+            count = Math.max(count, segment.argument + 1);
+        }
+        this.argumentCount = count;
+    }
+
+
+    /**
+     * Compiles a format string once, so rendering it never parses it again.
+     * Understands the subset of java.util.Formatter used by the catalogs and the console tables:
+     * %s and %d, explicit positions such as %2$s, a width with an optional - flag such as %-15s,
+     * %n and %%. Positions are resolved here, at compile time.
+     *
+     * @param pattern The format string.
+     * @return The compiled template.
+     * @throws IllegalArgumentException If the pattern uses anything outside that subset.
+     */
+    public static MessageTemplate compile(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int nextArgument = 0;
+        int length = pattern.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i == length) {
+                throw new IllegalArgumentException("Format specifier is incomplete in: " + pattern);
+            }
+
+            // %[position$][-][width]conversion
+            int start = i;
+            int argument = -1;
+            int positionDigits = digits(pattern, i);
+            if (positionDigits > 0 && i + positionDigits < length && pattern.charAt(i + positionDigits) == '$') {
+                int position = readNumber(pattern, i);
+                if (position == 0) {
+                    throw new IllegalArgumentException("Argument positions start at 1 in: " + pattern);
+                }
+                argument = position - 1;
+                i += positionDigits + 1;
+            }
+            boolean left = i < length && pattern.charAt(i) == '-';
+            if (left) {
+                i++;
+            }
+            if (i < length && pattern.charAt(i) == '0') {
+                throw new IllegalArgumentException("Zero padding is not supported in: " + pattern);
+            }
+            int width = readNumber(pattern, i);
+            i += digits(pattern, i);
+            if (left && width < 0) {
+                throw new IllegalArgumentException("The - flag needs a width in: " + pattern);
+            }
+            if (i == length) {
+                throw new IllegalArgumentException("Format specifier is incomplete in: " + pattern);
+            }
+
+            char conversion = pattern.charAt(i++);
+            boolean plain = i - start == 1;
+            if (conversion == '%' && plain) {
+                literal.append('%');
+            } else if (conversion == 'n' && plain) {
+                literal.append(System.lineSeparator());
+            } else if (conversion == 's' || conversion == 'd') {
+                if (literal.length() > 0) {
+                    segments.add(new Segment(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(new Segment(argument >= 0 ? argument : nextArgument++,
+                        conversion == 'd', Math.max(width, 0), left));
+            } else {
+                throw new IllegalArgumentException("Unsupported format specifier %"
+                        + pattern.substring(start, i) + " in: " + pattern);
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString()));
+        }
+        return new MessageTemplate(pattern, segments);
+    }
+
+    /**
+     * Wraps text that is not meant to be a format string, so it renders exactly as written.
+     *
+     * @param text The text.
+     * @return A template with no placeholders.
+     */
+    public static MessageTemplate literal(String text) {
+        List<Segment> segments = new ArrayList<>();
+        if (!text.isEmpty()) {
+            segments.add(new Segment(text));
+        }
+        return new MessageTemplate(text, segments);
+    }
+
+
+    /**
+     * Renders the template onto the end of a buffer, which callers printing many rows can reuse.
+     *
+     * @param target The buffer to append to.
+     * @param args The arguments, in the order the format string numbers them.
+     * @return The buffer.
+     * @throws IllegalArgumentException If an argument is missing or a %d argument is not an integer.
+     */
+    public StringBuilder renderTo(StringBuilder target, Object... args) {
+        if (args.length < argumentCount) {
+            throw new IllegalArgumentException("Format needs " + argumentCount + " arguments but got "
+                    + args.length + ": " + pattern);
+        }
+        for (int i = 0; i < literals.length; i++) {
+            if (arguments[i] == LITERAL) {
+                target.append(literals[i]);
+                continue;
+            }
+            Object arg = args[arguments[i]];
+            if (numeric[i] && arg != null && !isInteger(arg)) {
+                throw new IllegalArgumentException("%d cannot format " + arg.getClass().getSimpleName()
+                        + ": " + pattern);
+            }
+            int mark = target.length();
+            target.append(arg);
+            pad(target, mark, widths[i], leftJustified[i]);
+        }
+        return target;
+    }
+
+    /**
+     * Renders the template into a new String.
+     *
+     * @param args The arguments, in the order the format string numbers them.
+     * @return The rendered text.
+     * @throws IllegalArgumentException If an argument is missing or a %d argument is not an integer.
+     */
+    public String format(Object... args) {
+        return renderTo(new StringBuilder(pattern.length() + 16 * argumentCount), args).toString();
+    }
+
+    /**
+     * @return The number of arguments rendering needs.
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * @return The format string the template was compiled from.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+
+
+
+    private static final class Segment {
+        final String literal;
+        final int argument;
+        final boolean numeric;
+        final int width;
+        final boolean leftJustified;
+
+        Segment(String literal) {
+            this(literal, LITERAL, false, 0, false);
+        }
+
+        Segment(int argument, boolean numeric, int width, boolean leftJustified) {
+            this(null, argument, numeric, width, leftJustified);
+        }
+
+        private Segment(String literal, int argument, boolean numeric, int width, boolean leftJustified) {
+            this.literal = literal;
+            this.argument = argument;
+            this.numeric = numeric;
+            this.width = width;
+            this.leftJustified = leftJustified;
+        }
+    }
+
+    /**
+     * Pads the text appended since mark out to the width, with spaces after it or, right-justified, before it.
+     */
+    private static void pad(StringBuilder target, int mark, int width, boolean left) {
+        int missing = width - (target.length() - mark);
+        if (missing <= 0) {
+            return;
+        }
+        if (left) {
+            for (int i = 0; i < missing; i++) {
+                target.append(' ');
+            }
+        } else {
+            char[] spaces = new char[missing];
+            Arrays.fill(spaces, ' ');
+            target.insert(mark, spaces);
+        }
+    }
+
+    private static boolean isInteger(Object arg) {
+        return arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                || arg instanceof Byte || arg instanceof BigInteger;
+    }
+
+    private static int digits(String pattern, int from) {
+        int end = from;
+        while (end < pattern.length() && Character.isDigit(pattern.charAt(end))) {
+            end++;
+        }
+        return end - from;
+    }
+
+    /**
+     * @return The decimal number starting at from, or -1 if there is none.
+     */
+    private static int readNumber(String pattern, int from) {
+        int count = digits(pattern, from);
+        return count == 0 ? -1 : Integer.parseInt(pattern.substring(from, from + count));
+    }
+}
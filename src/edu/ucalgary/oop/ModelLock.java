@@ -0,0 +1,118 @@
+/**
+ * ModelLock.java
+ * Version: 2.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ModelLock {
+    public static final int DEFAULT_STRIPES = 16;
+
+    private final ReentrantLock[] stripes;
+
+
+    /**
+     * A database operation run while holding an entity's stripe.
+     */
+    public interface StripedTask {
+        void run() throws SQLException;
+    }
+
+
+    /**
+     * Constructs a new ModelLock with the default number of stripes.
+     */
+    public ModelLock() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a new ModelLock.
+     *
+     * @param stripeCount How many entity stripes to spread writers over.
+     * @throws IllegalArgumentException If the stripe count is not positive.
+     */
+    public ModelLock(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+
+    /**
+     * Runs a task while holding the stripe for an entity ID, so that changes to the same entity
+     * reach the database and the models in the same order. Changes to entities on other stripes
+     * proceed in parallel, so the task publishes its in-memory changes through a ModelStore,
+     * which never loses a concurrent update. Readers take no lock at all.
+     *
+     * @param entityId The ID of the entity being changed.
+     * @param task The database and model changes to make.
+     * @throws SQLException If the task fails.
+     */
+    public void withStripe(int entityId, StripedTask task) throws SQLException {
+        ReentrantLock stripe = stripes[Math.floorMod(entityId, stripes.length)];
+        stripe.lock();
+        try {
+            task.run();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs an in-memory change to an entity while holding its stripe, for changes that do not touch
+     * the database, such as copying a new list into a model object.
+     *
+     * @param entityId The ID of the entity being changed.
+     * @param task The model changes to make.
+     */
+    public void inStripe(int entityId, Runnable task) {
+        ReentrantLock stripe = stripes[Math.floorMod(entityId, stripes.length)];
+        stripe.lock();
+        try {
+            task.run();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs a task that changes several entities at once while holding all of their stripes.
+     * The stripes are always taken in the same order, so two such tasks cannot deadlock.
+     *
+     * @param entityIds The IDs of the entities being changed.
+     * @param task The database and model changes to make.
+     * @throws SQLException If the task fails.
+     */
+    public void withStripes(Collection<Integer> entityIds, StripedTask task) throws SQLException {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (int entityId : entityIds) {
+            indexes.add(Math.floorMod(entityId, stripes.length));
+        }
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            task.run();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * ModelSnapshot.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class ModelSnapshot<T> implements Iterable<T> {
+    private final long version;
+    private final List<T> items;
+
+
+    /**
+     * Constructs a new ModelSnapshot by copying the models once.
+     * The snapshot never changes afterwards, so it can be shared between readers.
+     *
+     * @param version The model version the snapshot was taken at.
+     * @param models The models to copy.
+     */
+    public ModelSnapshot(long version, List<T> models) {
+        this.version = version;
+        @SuppressWarnings("unchecked")
+        T[] copy = (T[]) models.toArray();
+        this.items = Collections.unmodifiableList(Arrays.asList(copy));
+    }
+
+
+    /**
+     * @return The model version the snapshot was taken at.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of models in the snapshot.
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return true if the snapshot has no models.
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @param index The position of the model.
+     * @return The model at the position.
+     */
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * @return A read-only list view of the snapshot. The same view is returned every time.
+     */
+    public List<T> asList() {
+        return items;
+    }
+
+    /**
+     * @return A stream over the snapshot.
+     */
+    public Stream<T> stream() {
+        return items.stream();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return items.iterator();
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * ModelStore.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+public final class ModelStore<S> {
+    private final AtomicReference<S> state;
+
+
+    /**
+     * Constructs a new ModelStore.
+     *
+     * @param initial The first state. It must never be changed in place.
+     */
+    public ModelStore(S initial) {
+        this.state = new AtomicReference<>(initial);
+    }
+
+
+    /**
+     * Returns the current state without taking any lock. The state is immutable,
+     * so the caller can read as much of it as it likes while writers carry on.
+     *
+     * @return The current state.
+     */
+    public S get() {
+        return state.get();
+    }
+
+    /**
+     * Replaces the state outright, for example after reloading from the database.
+     *
+     * @param newState The new state.
+     */
+    public void set(S newState) {
+        state.set(newState);
+    }
+
+    /**
+     * Publishes a change built from the current state. If another writer publishes first,
+     * the change is built again from that writer's state, so no update is ever lost.
+     * The change may therefore run more than once and must do nothing but build the new state.
+     *
+     * @param change Builds the new state from the current one.
+     * @return The state that was published.
+     */
+    public S update(UnaryOperator<S> change) {
+        while (true) {
+            S current = state.get();
+            S next = change.apply(current);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * ModelTable.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+public final class ModelTable<T> {
+    private final ToIntFunction<? super T> idOf;
+    // Each model's place in the table, so a replaced model keeps its place
+    private final PersistentIntMap<Slot<T>> slotsById;
+    // The models keyed by when they were first added, which is the order they are listed in
+    private final PersistentIntMap<T> modelsBySequence;
+    private final int nextSequence;
+    private final long version;
+    private ModelSnapshot<T> snapshot;
+
+
+    private ModelTable(ToIntFunction<? super T> idOf, PersistentIntMap<Slot<T>> slotsById,
+                       PersistentIntMap<T> modelsBySequence, int nextSequence, long version) {
+        this.idOf = idOf;
+        this.slotsById = slotsById;
+        this.modelsBySequence = modelsBySequence;
+        this.nextSequence = nextSequence;
+        this.version = version;
+    }
+
+
+    /**
+     * Returns an empty table.
+     *
+     * @param idOf Gives the ID each model is stored under.
+     * @return The empty table.
+     */
+    public static <T> ModelTable<T> empty(ToIntFunction<? super T> idOf) {
+        return new ModelTable<>(idOf, PersistentIntMap.empty(), PersistentIntMap.empty(), 0, 0);
+    }
+
+    /**
+     * Returns a table holding the given models, in order.
+     *
+     * @param idOf Gives the ID each model is stored under.
+     * @param models The models to hold.
+     * @return The new table.
+     */
+    public static <T> ModelTable<T> of(ToIntFunction<? super T> idOf, Collection<? extends T> models) {
+        ModelTable<T> table = empty(idOf);
+        for (T model : models) {
+            table = table.put(model);
+        }
+        return table;
+    }
+
+    /**
+     * @param id The ID of the model.
+     * @return The model with the ID, or null if there is none.
+     */
+    public T get(int id) {
+        Slot<T> slot = slotsById.get(id);
+        return slot != null ? slot.model : null;
+    }
+
+    /**
+     * @param id The ID of the model.
+     * @return true if the table holds a model with the ID.
+     */
+    public boolean containsKey(int id) {
+        return slotsById.containsKey(id);
+    }
+
+    /**
+     * Returns a table with a model added at the end, or in place of the model with the same ID.
+     * This table is left unchanged.
+     *
+     * @param model The model to add.
+     * @return The new table.
+     */
+    public ModelTable<T> put(T model) {
+        int id = idOf.applyAsInt(model);
+        Slot<T> existing = slotsById.get(id);
+        if (existing != null) {
+            return new ModelTable<>(idOf, slotsById.put(id, new Slot<>(existing.sequence, model)),
+                    modelsBySequence.put(existing.sequence, model), nextSequence, version + 1);
+        }
+        if (nextSequence == Integer.MAX_VALUE) {
+            return renumbered().put(model);
+        }
+        return new ModelTable<>(idOf, slotsById.put(id, new Slot<>(nextSequence, model)),
+                modelsBySequence.put(nextSequence, model), nextSequence + 1, version + 1);
+    }
+
+    /**
+     * Returns a table without the model with an ID. The other models keep their order.
+     * This table is left unchanged.
+     *
+     * @param id The ID of the model to remove.
+     * @return The new table, or this table if there was no such model.
+     */
+    public ModelTable<T> remove(int id) {
+        Slot<T> existing = slotsById.get(id);
+        if (existing == null) {
+            return this;
+        }
+        return new ModelTable<>(idOf, slotsById.remove(id), modelsBySequence.remove(existing.sequence),
+                nextSequence, version + 1);
+    }
+
+    /**
+     * @return The number of models in the table.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * @return true if the table holds no models.
+     */
+    public boolean isEmpty() {
+        return slotsById.isEmpty();
+    }
+
+    /**
+     * Returns the models in the order they were first added. The snapshot is built the first time
+     * it is asked for and then shared, so asking again does not copy anything.
+     *
+     * @return A snapshot of the table.
+     */
+    public ModelSnapshot<T> snapshot() {
+        ModelSnapshot<T> result = snapshot;
+        if (result == null) {
+            // Racing readers may each build one, but they are equal, so it does not matter which is kept
+            result = new ModelSnapshot<>(version, modelsBySequence.values());
+            snapshot = result;
+        }
+        return result;
+    }
+
+
+
+    /**
+     * Numbers the models again from zero, once after about two billion additions.
+     */
+    private ModelTable<T> renumbered() {
+        ModelTable<T> table = of(idOf, modelsBySequence.values());
+        return new ModelTable<>(idOf, table.slotsById, table.modelsBySequence, table.nextSequence, version);
+    }
+
+
+    private static final class Slot<T> {
+        private final int sequence;
+        private final T model;
+
+        private Slot(int sequence, T model) {
+            this.sequence = sequence;
+            this.model = model;
+        }
+    }
+}
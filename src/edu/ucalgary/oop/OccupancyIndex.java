@@ -0,0 +1,150 @@
+/**
+ * OccupancyIndex.java
+ * Version: 2.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OccupancyIndex {
+    private static final OccupancyIndex EMPTY = new OccupancyIndex(PersistentIntMap.empty(), PersistentIntMap.empty());
+
+    // Each bucket maps an ID to itself, so it works as a set listed in ascending ID order
+    private final PersistentIntMap<PersistentIntMap<Integer>> locationsByPerson;
+    private final PersistentIntMap<PersistentIntMap<Integer>> occupantsByLocation;
+
+
+    private OccupancyIndex(PersistentIntMap<PersistentIntMap<Integer>> locationsByPerson,
+                           PersistentIntMap<PersistentIntMap<Integer>> occupantsByLocation) {
+        this.locationsByPerson = locationsByPerson;
+        this.occupantsByLocation = occupantsByLocation;
+    }
+
+
+    /**
+     * @return The index with nobody at any location.
+     */
+    public static OccupancyIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index from person and location pairs, as read from the PersonLocation table.
+     *
+     * @param assignments Pairs of {personId, locationId}.
+     * @return The new index.
+     */
+    public static OccupancyIndex of(List<int[]> assignments) {
+        OccupancyIndex index = EMPTY;
+        for (int[] assignment : assignments) {
+            index = index.add(assignment[0], assignment[1]);
+        }
+        return index;
+    }
+
+    /**
+     * Returns an index that also records that a person is at a location. This index is left unchanged.
+     *
+     * @param personId The ID of the person.
+     * @param locationId The ID of the location.
+     * @return The new index.
+     */
+    public OccupancyIndex add(int personId, int locationId) {
+        return new OccupancyIndex(addToBucket(locationsByPerson, personId, locationId),
+                addToBucket(occupantsByLocation, locationId, personId));
+    }
+
+    /**
+     * Returns an index that records that a person has left a location. This index is left unchanged.
+     *
+     * @param personId The ID of the person.
+     * @param locationId The ID of the location.
+     * @return The new index.
+     */
+    public OccupancyIndex remove(int personId, int locationId) {
+        return new OccupancyIndex(removeFromBucket(locationsByPerson, personId, locationId),
+                removeFromBucket(occupantsByLocation, locationId, personId));
+    }
+
+    /**
+     * Returns an index without a location and every person recorded there. This index is left unchanged.
+     *
+     * @param locationId The ID of the location.
+     * @return The new index.
+     */
+    public OccupancyIndex removeLocation(int locationId) {
+        PersistentIntMap<Integer> occupants = occupantsByLocation.get(locationId);
+        if (occupants == null) {
+            return this;
+        }
+        PersistentIntMap<PersistentIntMap<Integer>> locations = locationsByPerson;
+        for (int personId : occupants.values()) {
+            locations = removeFromBucket(locations, personId, locationId);
+        }
+        return new OccupancyIndex(locations, occupantsByLocation.remove(locationId));
+    }
+
+    /**
+     * @param personId The ID of the person.
+     * @return The IDs of the locations the person is at, in ascending order.
+     */
+    public List<Integer> getLocationIds(int personId) {
+        return idsIn(locationsByPerson.get(personId));
+    }
+
+    /**
+     * @param locationId The ID of the location.
+     * @return The IDs of the people at the location, in ascending order.
+     */
+    public List<Integer> getOccupantIds(int locationId) {
+        return idsIn(occupantsByLocation.get(locationId));
+    }
+
+    /**
+     * @param personId The ID of the person.
+     * @return true if the person is at one or more locations.
+     */
+    public boolean isAssigned(int personId) {
+        return locationsByPerson.containsKey(personId);
+    }
+
+    /**
+     * @param personId The ID of the person.
+     * @param locationId The ID of the location.
+     * @return true if the person is at the location.
+     */
+    public boolean isAt(int personId, int locationId) {
+        PersistentIntMap<Integer> locations = locationsByPerson.get(personId);
+        return locations != null && locations.containsKey(locationId);
+    }
+
+
+
+
+    private static List<Integer> idsIn(PersistentIntMap<Integer> bucket) {
+        return bucket != null ? bucket.values() : new ArrayList<>();
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Integer>> addToBucket(
+            PersistentIntMap<PersistentIntMap<Integer>> index, int key, int value) {
+        PersistentIntMap<Integer> bucket = index.get(key);
+        if (bucket == null) {
+            bucket = PersistentIntMap.empty();
+        }
+        return index.put(key, bucket.put(value, value));
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Integer>> removeFromBucket(
+            PersistentIntMap<PersistentIntMap<Integer>> index, int key, int value) {
+        PersistentIntMap<Integer> bucket = index.get(key);
+        if (bucket == null) {
+            return index;
+        }
+        bucket = bucket.remove(value);
+        return bucket.isEmpty() ? index.remove(key) : index.put(key, bucket);
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * PersistentIntMap.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PersistentIntMap<V> {
+    // Each level of the trie takes 5 bits of the key, highest bits first, so a 32-bit key is at most 7 levels deep
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int TOP_SHIFT = 30;
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+
+    /**
+     * An entry passed to forEach().
+     */
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+
+    /**
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /**
+     * Returns the value stored under a key. Walks at most 7 levels, whatever the size of the map.
+     *
+     * @param key The key to look up.
+     * @return The value, or null if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int bits = orderBits(key);
+        Node node = root;
+        for (int shift = TOP_SHIFT; node != null; shift -= BITS) {
+            int bit = 1 << ((bits >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) slot;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key The key to look for.
+     * @return true if the key is present, false otherwise.
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with a value stored under a key, replacing any previous value.
+     * This map is left unchanged; the two share everything but the path to the key.
+     *
+     * @param key The key.
+     * @param value The value to store. Cannot be null.
+     * @return The new map, or this map if the key already held the same value.
+     * @throws IllegalArgumentException If the value is null.
+     */
+    public PersistentIntMap<V> put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        if (root == null) {
+            return new PersistentIntMap<>(Node.of(new Leaf(key, value), TOP_SHIFT), 1);
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = put(root, TOP_SHIFT, new Leaf(key, value), added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentIntMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without a key. This map is left unchanged.
+     *
+     * @param key The key to remove.
+     * @return The new map, or this map if the key was not present.
+     */
+    public PersistentIntMap<V> remove(int key) {
+        if (root == null) {
+            return this;
+        }
+        Object newRoot = remove(root, TOP_SHIFT, key);
+        if (newRoot == root) {
+            return this;
+        }
+        if (newRoot == null) {
+            return empty();
+        }
+        // A lone leaf left at the top still needs a node above it
+        Node node = newRoot instanceof Leaf ? Node.of((Leaf) newRoot, TOP_SHIFT) : (Node) newRoot;
+        return new PersistentIntMap<>(node, size - 1);
+    }
+
+    /**
+     * @return The number of entries in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits every entry in ascending key order.
+     *
+     * @param consumer Told about each entry.
+     */
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (root != null) {
+            forEach(root, consumer);
+        }
+    }
+
+    /**
+     * @return A new list of the values in ascending key order.
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+
+
+
+    /**
+     * Flips the sign bit, so that walking the trie in unsigned bit order visits negative keys first.
+     */
+    private static int orderBits(int key) {
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    private static Node put(Node node, int shift, Leaf leaf, boolean[] added) {
+        int bit = 1 << ((orderBits(leaf.key) >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            return node.inserted(bit, index, leaf);
+        }
+
+        Object slot = node.slots[index];
+        if (slot instanceof Leaf) {
+            Leaf existing = (Leaf) slot;
+            if (existing.key == leaf.key) {
+                return existing.value == leaf.value ? node : node.replaced(index, leaf);
+            }
+            // Two keys share this slot, so both move one level down, where they split apart
+            added[0] = true;
+            return node.replaced(index, split(existing, leaf, shift - BITS));
+        }
+        Node child = (Node) slot;
+        Node newChild = put(child, shift - BITS, leaf, added);
+        return newChild == child ? node : node.replaced(index, newChild);
+    }
+
+    private static Node split(Leaf first, Leaf second, int shift) {
+        int firstIndex = (orderBits(first.key) >>> shift) & MASK;
+        int secondIndex = (orderBits(second.key) >>> shift) & MASK;
+        if (firstIndex == secondIndex) {
+            return new Node(1 << firstIndex, new Object[]{split(first, second, shift - BITS)});
+        }
+        Object[] slots = firstIndex < secondIndex ? new Object[]{first, second} : new Object[]{second, first};
+        return new Node((1 << firstIndex) | (1 << secondIndex), slots);
+    }
+
+    /**
+     * @return The node without the key, the node itself if the key was not there, a lone leaf
+     *         if only one entry is left, so it can move back up, or null if nothing is left.
+     */
+    private static Object remove(Node node, int shift, int key) {
+        int bit = 1 << ((orderBits(key) >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object slot = node.slots[index];
+
+        Object newSlot;
+        if (slot instanceof Leaf) {
+            if (((Leaf) slot).key != key) {
+                return node;
+            }
+            newSlot = null;
+        } else {
+            newSlot = remove((Node) slot, shift - BITS, key);
+            if (newSlot == slot) {
+                return node;
+            }
+        }
+
+        if (newSlot != null) {
+            return node.replaced(index, newSlot);
+        }
+        if (node.slots.length == 1) {
+            return null;
+        }
+        Node smaller = node.removed(bit, index);
+        if (smaller.slots.length == 1 && smaller.slots[0] instanceof Leaf) {
+            return smaller.slots[0];
+        }
+        return smaller;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Node node, EntryConsumer<? super V> consumer) {
+        for (Object slot : node.slots) {
+            if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                consumer.accept(leaf.key, (V) leaf.value);
+            } else {
+                forEach((Node) slot, consumer);
+            }
+        }
+    }
+
+
+    /**
+     * One level of the trie. The bitmap says which of the 32 slots are used, and only those are stored.
+     * Nodes are never changed once built.
+     */
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private static Node of(Leaf leaf, int shift) {
+            return new Node(1 << ((orderBits(leaf.key) >>> shift) & MASK), new Object[]{leaf});
+        }
+
+        private Node inserted(int bit, int index, Object slot) {
+            Object[] newSlots = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            newSlots[index] = slot;
+            System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+            return new Node(bitmap | bit, newSlots);
+        }
+
+        private Node replaced(int index, Object slot) {
+            Object[] newSlots = slots.clone();
+            newSlots[index] = slot;
+            return new Node(bitmap, newSlots);
+        }
+
+        private Node removed(int bit, int index) {
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 1, newSlots, index, newSlots.length - index);
+            return new Node(bitmap & ~bit, newSlots);
+        }
+    }
+
+    private static final class Leaf {
+        private final int key;
+        private final Object value;
+
+        private Leaf(int key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -1,22 +1,32 @@
 /**
  * PersonController.java
- * Version: 4.0
+ * Version: 5.2
  * Author: Jibran Somroo
  * Date: April 10, 2025
  */
 
 package edu.ucalgary.oop;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 public class PersonController {
-    private ArrayList<Person> personModels;
+    // The people and family groups, read without any lock and replaced as a whole on every change
+    private final ModelStore<State> models = new ModelStore<>(State.EMPTY);
+    private final ModelLock modelLock = new ModelLock();
+    // Guards changes to family group member lists; only ever taken on its own or inside a person's stripe
+    private final ModelLock familyGroupLock = new ModelLock();
     private DatabaseManager databaseManager;
-    private static int personIdCounter;
+    private IdAllocator idAllocator;
 
 
     /**
@@ -25,10 +35,26 @@ public class PersonController {
      * @throws RuntimeException if the initialization of the PersonController fails
      */
     public PersonController() {
+        this(SnapshotFile.empty());
+    }
+
+    /**
+     * Constructs a new PersonController, taking the people from the startup snapshot
+     * if they have not changed since it was written.
+     *
+     * @param snapshot The startup snapshot.
+     * @throws RuntimeException if the initialization of the PersonController fails
+     */
+    public PersonController(SnapshotFile snapshot) {
         try {
             this.databaseManager = DatabaseManager.getInstance();
-            this.personModels = new ArrayList<>();
-            populatePeopleFromDatabase();
+            this.idAllocator = databaseManager.getPersonIdAllocator();
+            List<Person> people = snapshot.getPeople();
+            if (people != null) {
+                loadPeople(people);
+            } else {
+                populatePeopleFromDatabase();
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to initialize PersonController", e);
         }
@@ -38,8 +64,7 @@ public class PersonController {
      * Constructs a new PersonController for PersonControllerTest
      */
     public PersonController(int test) {
-        this.personModels = new ArrayList<>();
-
+        this.idAllocator = IdAllocator.sequential(1);
     }
 
 
@@ -50,33 +75,59 @@ public class PersonController {
      */
     private void populatePeopleFromDatabase() throws SQLException {
         try {
-            ArrayList<Person> people = (ArrayList<Person>) databaseManager.getAllPeople();
-            this.personModels.clear();
-            this.personModels.addAll(people);
-            initializeIdCounter();
+            loadPeople(databaseManager.getAllPeople());
         } catch (SQLException e) {
             System.err.println("Error loading people from database: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Replaces the local people and rebuilds the indexes.
+     *
+     * @param people The people to hold.
+     */
+    private void loadPeople(List<Person> people) {
+        models.set(State.EMPTY.withPeople(people));
+    }
+
     /**
      * Retrieves a copy of the list of all people
      *
      * @return A new ArrayList containing all people.
      */
     public ArrayList<Person> getAllPeople() {
-        return new ArrayList<>(this.personModels);
+        return new ArrayList<>(getPeopleSnapshot().asList());
+    }
+
+    /**
+     * Retrieves an immutable snapshot of all people. The snapshot is only rebuilt after a change,
+     * so calling this repeatedly, for example inside a loop, does not copy anything.
+     *
+     * @return The current snapshot of people.
+     */
+    public ModelSnapshot<Person> getPeopleSnapshot() {
+        return models.get().people.snapshot();
     }
 
 
     /**
-     * Retrieves a copy of the list of all people for test purposes
+     * Adds a person to the local models for test purposes, or replaces the one with the same ID.
+     * The database is not touched.
+     *
+     * @param person The person to add.
+     */
+    void addPersonTest(Person person) {
+        models.update(state -> state.withPerson(person));
+    }
+
+    /**
+     * Removes a person from the local models for test purposes. The database is not touched.
      *
-     * @return A ArrayList containing all people.
+     * @param personId The ID of the person to remove.
      */
-    public ArrayList<Person> getAllPeopleTest() {
-        return this.personModels;
+    void removePersonTest(int personId) {
+        models.update(state -> state.withoutPerson(personId));
     }
 
 
@@ -88,16 +139,76 @@ public class PersonController {
 
         // Set the ID before adding to database
         if (person.getPersonId() <= 0) { // Assuming 0 or negative means unset
-            person.setPersonId(generatePersonId());
+            person.setPersonId(idAllocator.nextId());
         }
 
-        try {
+        modelLock.withStripe(person.getPersonId(), () -> {
             databaseManager.addPerson(person);
-            this.personModels.add(person);
+            models.update(state -> state.withPerson(person));
+        });
+    }
+
+    /**
+     * Imports people from a CSV intake file in one bulk database operation.
+     * The imported people are added to the local models with their new IDs,
+     * so the cache stays current without reloading every person. Their supply allocations
+     * are applied through the SupplyController, which also starts any water's expiry clock,
+     * and their shelter assignments through the LocationController's occupancy index.
+     *
+     * @param filePath The path of the CSV file to import.
+     * @param supplyController The controller holding the imported supplies.
+     * @param locationController The controller holding the occupancy index.
+     * @return The people that were imported, in file order.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is missing required columns, contains an invalid row,
+     *                                  or allocates a supply that is already allocated.
+     * @throws SQLException If the import fails; no people are added in that case.
+     */
+    public List<Person> importPeopleFromCsv(String filePath, SupplyController supplyController,
+                                            LocationController locationController)
+            throws IOException, SQLException {
+        List<PersonCsvImporter.ImportRow> rows;
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            rows = new PersonCsvImporter().parse(reader);
+        }
+
+        try {
+            databaseManager.bulkAddPeople(rows);
         } catch (SQLException e) {
-            personIdCounter--;
+            System.err.println("Error importing people: " + e.getMessage());
             throw e;
         }
+
+        List<Person> imported = new ArrayList<>(rows.size());
+        List<int[]> assignments = new ArrayList<>();
+        for (PersonCsvImporter.ImportRow row : rows) {
+            imported.add(row.getPerson());
+            if (row.getLocationId() != null) {
+                assignments.add(new int[]{row.getPerson().getPersonId(), row.getLocationId()});
+            }
+        }
+        // The new IDs are not known to anyone else yet, so no stripes are needed
+        models.update(state -> state.withPeople(imported));
+        locationController.addOccupantsLocally(assignments);
+
+        boolean reloaded = false;
+        for (PersonCsvImporter.ImportRow row : rows) {
+            if (row.getSupplyId() == null) {
+                continue;
+            }
+            int supplyId = row.getSupplyId();
+            Person person = row.getPerson();
+            // A supply added since the cache was loaded means the whole cache is behind, so reload it once
+            if (!supplyController.applyAllocationLocally(supplyId, person.getPersonId(), null) && !reloaded) {
+                supplyController.refreshSupplies();
+                reloaded = true;
+            }
+            Supply supply = supplyController.getSupplyById(supplyId);
+            if (supply != null && person instanceof DisasterVictim) {
+                modelLock.inStripe(person.getPersonId(), () -> replaceInInventory((DisasterVictim) person, supply));
+            }
+        }
+        return imported;
     }
 
     /**
@@ -107,14 +218,11 @@ public class PersonController {
      * @throws SQLException If there is an error while updating the person in the database.
      */
     public void updatePerson(Person person) throws SQLException {
-        databaseManager.updatePerson(person);
-        // Find and replace the person in the local list
-        for (int i = 0; i < personModels.size(); i++) {
-            if (personModels.get(i).getPersonId() == person.getPersonId()) {
-                personModels.set(i, person);
-                break;
-            }
-        }
+        modelLock.withStripe(person.getPersonId(), () -> {
+            databaseManager.updatePerson(person);
+            // Usually the caller edited the cached object itself, so swapping in only re-indexes the family group
+            models.update(state -> state.people.containsKey(person.getPersonId()) ? state.withPerson(person) : state);
+        });
     }
 
 
@@ -125,8 +233,10 @@ public class PersonController {
      * @throws SQLException If there is an error while deleting the person from the database.
      */
     public void deletePerson(int personId) throws SQLException {
-        databaseManager.deletePerson(personId);
-        personModels.removeIf(p -> p.getPersonId() == personId);
+        modelLock.withStripe(personId, () -> {
+            databaseManager.deletePerson(personId);
+            models.update(state -> state.withoutPerson(personId));
+        });
     }
 
     /**
@@ -137,17 +247,47 @@ public class PersonController {
      * @throws SQLException If an error occurs while retrieving the person from the database.
      */
     public Person getPersonById(int personId) throws SQLException {
-        // First check local list
-        for (Person person : personModels) {
-            if (person.getPersonId() == personId) {
-                return person;
-            }
+        // First check local index
+        Person person = models.get().people.get(personId);
+        if (person != null) {
+            return person;
         }
         // If not found, try to get from database
         return databaseManager.getPersonById(personId);
     }
 
 
+    /**
+     * Adds a supply to the inventory of a cached DisasterVictim, replacing any copy of it already there.
+     * Called once the allocation has been written to the database.
+     *
+     * @param personId The ID of the person the supply was allocated to.
+     * @param supply The allocated supply.
+     */
+    public void addSupplyToInventory(int personId, Supply supply) {
+        Person person = models.get().people.get(personId);
+        if (person instanceof DisasterVictim) {
+            modelLock.inStripe(personId, () -> replaceInInventory((DisasterVictim) person, supply));
+        }
+    }
+
+
+    /**
+     * Removes supplies from the inventory of every cached DisasterVictim holding them.
+     * Called once the supplies have been deleted from the database, for example when water expires.
+     *
+     * @param supplyIds The IDs of the removed supplies.
+     */
+    public void evictSupplies(Collection<Integer> supplyIds) {
+        Set<Integer> evicted = new HashSet<>(supplyIds);
+        for (Person person : models.get().people.snapshot().asList()) {
+            if (person instanceof DisasterVictim) {
+                modelLock.inStripe(person.getPersonId(), () -> removeFromInventory((DisasterVictim) person, evicted));
+            }
+        }
+    }
+
+
     /**
      * Converts a Person to a DisasterVictim by copying over relevant properties and transferring
      * related entities like medical records and allocated supplies.
@@ -206,7 +346,8 @@ public class PersonController {
     // Add these methods to your PersonController class
 
     /**
-     * Creates a new family group with the specified members
+     * Creates a new family group with the specified members.
+     * The database is written first, so a failed write leaves the local models unchanged.
      * @param members List of persons to include in the family group
      * @return The created FamilyGroup
      * @throws SQLException If there's a database error
@@ -219,12 +360,16 @@ public class PersonController {
 
         // Create new family group
         FamilyGroup familyGroup = new FamilyGroup(members);
+        List<Integer> memberIds = idsOf(members);
 
-        // Update all members to belong to this family group
-        for (Person member : members) {
-            member.setFamilyGroup(familyGroup);
-            databaseManager.updatePerson(member);
-        }
+        modelLock.withStripes(memberIds, () -> {
+            databaseManager.setFamilyGroup(memberIds, familyGroup.getFamilyGroupId());
+            // Update all members to belong to this family group
+            for (Person member : members) {
+                member.setFamilyGroup(familyGroup);
+            }
+            models.update(state -> state.withFamilyGroup(familyGroup));
+        });
 
         return familyGroup;
     }
@@ -242,21 +387,22 @@ public class PersonController {
             throw new IllegalArgumentException("Person not found with ID: " + personId);
         }
 
-        // Find the family group by checking all persons
         FamilyGroup familyGroup = findFamilyGroupById(familyGroupId);
         if (familyGroup == null) {
             throw new IllegalArgumentException("Family group not found with ID: " + familyGroupId);
         }
 
-        // Remove from current family if any
-        if (person.getFamilyGroup() != null) {
-            person.getFamilyGroup().removeMember(person);
-        }
+        modelLock.withStripe(personId, () -> {
+            databaseManager.setFamilyGroup(List.of(personId), familyGroupId);
+            // Remove from current family if any
+            if (person.getFamilyGroup() != null) {
+                removeMember(person.getFamilyGroup(), person);
+            }
 
-        // Add to new family
-        familyGroup.addMember(person);
-        person.setFamilyGroup(familyGroup);
-        databaseManager.updatePerson(person);
+            // Add to new family
+            addMember(familyGroup, person);
+            person.setFamilyGroup(familyGroup);
+        });
     }
 
     /**
@@ -275,9 +421,14 @@ public class PersonController {
             throw new IllegalArgumentException("Person is not in a family group");
         }
 
-        person.getFamilyGroup().removeMember(person);
-        person.setFamilyGroup(null);
-        databaseManager.updatePerson(person);
+        FamilyGroup familyGroup = person.getFamilyGroup();
+        modelLock.withStripe(personId, () -> {
+            databaseManager.setFamilyGroup(List.of(personId), null);
+            person.setFamilyGroup(null);
+            if (removeMember(familyGroup, person)) {
+                models.update(state -> state.withoutFamilyGroup(familyGroup.getFamilyGroupId()));
+            }
+        });
     }
 
     /**
@@ -286,16 +437,7 @@ public class PersonController {
      * @throws SQLException If there's a database error
      */
     public ArrayList<FamilyGroup> getAllFamilyGroups() throws SQLException {
-        Map<Integer, FamilyGroup> familyGroups = new HashMap<>();
-
-        for (Person person : personModels) {
-            if (person.getFamilyGroup() != null) {
-                FamilyGroup family = person.getFamilyGroup();
-                familyGroups.putIfAbsent(family.getFamilyGroupId(), family);
-            }
-        }
-
-        return new ArrayList<>(familyGroups.values());
+        return new ArrayList<>(models.get().familyGroupsById.values());
     }
 
     /**
@@ -304,13 +446,7 @@ public class PersonController {
      * @return The FamilyGroup or null if not found
      */
     public FamilyGroup findFamilyGroupById(int familyGroupId) {
-        for (Person person : personModels) {
-            if (person.getFamilyGroup() != null &&
-                    person.getFamilyGroup().getFamilyGroupId() == familyGroupId) {
-                return person.getFamilyGroup();
-            }
-        }
-        return null;
+        return models.get().familyGroupsById.get(familyGroupId);
     }
 
     /**
@@ -325,6 +461,7 @@ public class PersonController {
             throw new IllegalArgumentException("Family group not found with ID: " + familyGroupId);
         }
 
+        // Member lists are replaced, never changed in place, so this copies a list no one is writing to
         return new ArrayList<>(familyGroup.getMembers());
     }
 
@@ -340,33 +477,144 @@ public class PersonController {
             throw new IllegalArgumentException("Family group not found with ID: " + familyGroupId);
         }
 
-        for (Person member : new ArrayList<>(familyGroup.getMembers())) {
-            member.setFamilyGroup(null);
-            databaseManager.updatePerson(member);
-        }
+        List<Person> members = new ArrayList<>(familyGroup.getMembers());
+        List<Integer> memberIds = idsOf(members);
+        modelLock.withStripes(memberIds, () -> {
+            if (!memberIds.isEmpty()) {
+                databaseManager.setFamilyGroup(memberIds, null);
+            }
+            for (Person member : members) {
+                member.setFamilyGroup(null);
+            }
+            models.update(state -> state.withoutFamilyGroup(familyGroupId));
+        });
     }
 
 
     /**
-     * Initializes the person ID counter by retrieving the largest existing person ID from the database.
+     * Generates a new person ID from the ID allocator
      *
-     * @throws SQLException if there is an error retrieving the largest person ID from the database.
+     * @return The next available person ID.
+     * @throws RuntimeException if a new block of IDs cannot be reserved.
      */
-    private void initializeIdCounter() throws SQLException {
-        int maxId = databaseManager.getLargestPersonId();
-        personIdCounter = maxId + 1;
+    public int generatePersonId() {
+        try {
+            return idAllocator.nextId();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to allocate a person ID", e);
+        }
     }
 
+
+
+    private static List<Integer> idsOf(List<Person> people) {
+        List<Integer> ids = new ArrayList<>(people.size());
+        for (Person person : people) {
+            ids.add(person.getPersonId());
+        }
+        return ids;
+    }
+
+
+
+    // Model objects
+    // Lists inside model objects are copied and swapped in, never changed in place, so readers can walk them freely.
+
     /**
-     * Generates a new person ID by adding 1 to medicalRecordIdCounter
-     *
-     * @return The next available person ID.
+     * Puts a supply into a victim's inventory, replacing any copy of it already there.
+     * Called while holding the victim's stripe.
      */
-    public int generatePersonId() {
-        return personIdCounter++;
+    private static void replaceInInventory(DisasterVictim victim, Supply supply) {
+        ArrayList<Supply> inventory = new ArrayList<>(victim.getPersonalInventory());
+        inventory.removeIf(item -> item.getSupplyId() == supply.getSupplyId());
+        inventory.add(supply);
+        victim.setPersonalInventory(inventory);
+    }
+
+    /**
+     * Takes supplies out of a victim's inventory, leaving it untouched if it holds none of them.
+     * Called while holding the victim's stripe.
+     */
+    private static void removeFromInventory(DisasterVictim victim, Set<Integer> supplyIds) {
+        List<Supply> current = victim.getPersonalInventory();
+        if (current.stream().noneMatch(item -> supplyIds.contains(item.getSupplyId()))) {
+            return;
+        }
+        ArrayList<Supply> inventory = new ArrayList<>(current);
+        inventory.removeIf(item -> supplyIds.contains(item.getSupplyId()));
+        victim.setPersonalInventory(inventory);
     }
 
+    private void addMember(FamilyGroup familyGroup, Person person) {
+        familyGroupLock.inStripe(familyGroup.getFamilyGroupId(), () -> {
+            ArrayList<Person> members = new ArrayList<>(familyGroup.getMembers());
+            members.add(person);
+            familyGroup.setMembers(members);
+        });
+    }
 
+    /**
+     * @return true if the family group has no members left.
+     */
+    private boolean removeMember(FamilyGroup familyGroup, Person person) {
+        boolean[] empty = new boolean[1];
+        familyGroupLock.inStripe(familyGroup.getFamilyGroupId(), () -> {
+            ArrayList<Person> members = new ArrayList<>(familyGroup.getMembers());
+            members.remove(person);
+            familyGroup.setMembers(members);
+            empty[0] = members.isEmpty();
+        });
+        return empty[0];
+    }
+
+
+
+    /**
+     * The people, in the order they were added and indexed by ID, and the family groups they belong to.
+     * Never changed once built; every change makes a new State that shares all but what changed.
+     */
+    private static final class State {
+        private static final State EMPTY = new State(ModelTable.empty(Person::getPersonId), PersistentIntMap.empty());
 
+        private final ModelTable<Person> people;
+        private final PersistentIntMap<FamilyGroup> familyGroupsById;
 
-}
\ No newline at end of file
+        private State(ModelTable<Person> people, PersistentIntMap<FamilyGroup> familyGroupsById) {
+            this.people = people;
+            this.familyGroupsById = familyGroupsById;
+        }
+
+        /**
+         * Adds a person at the end, or in place of the one with the same ID, and indexes their family group.
+         */
+        private State withPerson(Person person) {
+            PersistentIntMap<FamilyGroup> groups = familyGroupsById;
+            FamilyGroup familyGroup = person.getFamilyGroup();
+            if (familyGroup != null) {
+                groups = groups.put(familyGroup.getFamilyGroupId(), familyGroup);
+            }
+            return new State(people.put(person), groups);
+        }
+
+        private State withPeople(List<Person> added) {
+            State state = this;
+            for (Person person : added) {
+                state = state.withPerson(person);
+            }
+            return state;
+        }
+
+        private State withoutPerson(int personId) {
+            ModelTable<Person> remaining = people.remove(personId);
+            return remaining == people ? this : new State(remaining, familyGroupsById);
+        }
+
+        private State withFamilyGroup(FamilyGroup familyGroup) {
+            return new State(people, familyGroupsById.put(familyGroup.getFamilyGroupId(), familyGroup));
+        }
+
+        private State withoutFamilyGroup(int familyGroupId) {
+            return new State(people, familyGroupsById.remove(familyGroupId));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * PersonCsvImporter.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class PersonCsvImporter {
+
+    /**
+     * One parsed intake row: the person plus the optional shelter and supply they were given.
+     */
+    public static class ImportRow {
+        private final Person person;
+        private final Integer locationId;
+        private final Integer supplyId;
+
+        public ImportRow(Person person, Integer locationId, Integer supplyId) {
+            this.person = person;
+            this.locationId = locationId;
+            this.supplyId = supplyId;
+        }
+
+        public Person getPerson() {
+            return person;
+        }
+
+        public Integer getLocationId() {
+            return locationId;
+        }
+
+        public Integer getSupplyId() {
+            return supplyId;
+        }
+    }
+
+
+    /**
+     * Parses an intake spreadsheet exported as CSV.
+     * The first line must be a header naming the columns; first_name and last_name are required and
+     * date_of_birth, gender, comments, phone_number, location_id and supply_id are optional.
+     * Quoted fields may contain commas, quotes ("") and line breaks.
+     * People with a supply_id are created as DisasterVictims since they will have an inventory.
+     *
+     * @param reader The CSV source. It is read once and not closed.
+     * @return The parsed rows in file order.
+     * @throws IOException If the source cannot be read.
+     * @throws IllegalArgumentException If the header is missing a required column or a row is invalid.
+     */
+    public List<ImportRow> parse(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<ImportRow> rows = new ArrayList<>();
+
+        List<String> header = readRecord(in);
+        if (header == null) {
+            return rows;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet exports often start with a byte order mark
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("first_name") || !columns.containsKey("last_name")) {
+            throw new IllegalArgumentException("CSV header must contain first_name and last_name");
+        }
+
+        int lineNumber = 1;
+        List<String> record;
+        while ((record = readRecord(in)) != null) {
+            lineNumber++;
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue; // Blank line
+            }
+            try {
+                rows.add(toRow(record, columns));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid row " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return rows;
+    }
+
+
+
+
+    /**
+     * Builds an ImportRow from one CSV record, validating through the Person setters.
+     */
+    private ImportRow toRow(List<String> record, Map<String, Integer> columns) {
+        String firstName = field(record, columns, "first_name");
+        String lastName = field(record, columns, "last_name");
+        Integer supplyId = parseId(field(record, columns, "supply_id"));
+        Integer locationId = parseId(field(record, columns, "location_id"));
+
+        Person person = supplyId != null
+                ? new DisasterVictim(firstName, lastName)
+                : new Person(firstName, lastName);
+
+        String dateOfBirth = field(record, columns, "date_of_birth");
+        if (dateOfBirth != null) {
+            person.setDateOfBirth(dateOfBirth);
+        }
+        person.setGender(field(record, columns, "gender"));
+        person.setComments(field(record, columns, "comments"));
+        String phoneNumber = field(record, columns, "phone_number");
+        if (phoneNumber != null) {
+            person.setPhoneNumber(phoneNumber);
+        }
+
+        return new ImportRow(person, locationId, supplyId);
+    }
+
+    /**
+     * Returns the trimmed value of a column, or null if the column is absent or blank.
+     */
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(value);
+            if (id <= 0) {
+                throw new NumberFormatException();
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid ID");
+        }
+    }
+
+    /**
+     * Reads one CSV record, following quoted fields across line breaks.
+     *
+     * @return The fields of the record, or null at end of input.
+     */
+    private static List<String> readRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,479 @@
+/**
+ * SnapshotCodec.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SnapshotCodec {
+    // Supply subclass tags
+    private static final byte SUPPLY = 0;
+    private static final byte WATER = 1;
+    private static final byte COT = 2;
+    private static final byte PERSONAL_BELONGING = 3;
+    private static final byte BLANKET = 4;
+
+    private static final int NULL_LENGTH = -1;
+
+
+    /**
+     * Only holds static encoders and decoders.
+     */
+    private SnapshotCodec() {
+    }
+
+
+    // Supplies
+
+    /**
+     * Encodes supplies the way SupplyController holds them.
+     *
+     * @param supplies The supplies to encode.
+     * @return The encoded supplies.
+     */
+    public static byte[] encodeSupplies(List<Supply> supplies) {
+        return encode(out -> {
+            out.writeInt(supplies.size());
+            for (Supply supply : supplies) {
+                writeSupply(out, supply);
+            }
+        });
+    }
+
+    /**
+     * Decodes supplies written by encodeSupplies().
+     *
+     * @param in The encoded supplies. Its position is moved past them.
+     * @return The supplies, as getAllSupplies() in DatabaseManager would build them.
+     */
+    public static List<Supply> decodeSupplies(ByteBuffer in) {
+        int count = readCount(in);
+        List<Supply> supplies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            supplies.add(readSupply(in));
+        }
+        return supplies;
+    }
+
+
+    // People
+
+    /**
+     * Encodes people with their family group and, for disaster victims, their personal inventory.
+     *
+     * @param people The people to encode.
+     * @return The encoded people.
+     */
+    public static byte[] encodePeople(List<Person> people) {
+        return encode(out -> {
+            out.writeInt(people.size());
+            for (Person person : people) {
+                boolean victim = person instanceof DisasterVictim;
+                out.writeInt(person.getPersonId());
+                out.writeBoolean(victim);
+                writeString(out, person.getFirstName());
+                writeString(out, person.getLastName());
+                writeString(out, person.getDateOfBirth());
+                writeString(out, person.getGender());
+                writeString(out, person.getComments());
+                writeString(out, person.getPhoneNumber());
+
+                FamilyGroup familyGroup = person.getFamilyGroup();
+                out.writeBoolean(familyGroup != null);
+                if (familyGroup != null) {
+                    out.writeInt(familyGroup.getFamilyGroupId());
+                }
+
+                if (victim) {
+                    List<Supply> inventory = ((DisasterVictim) person).getPersonalInventory();
+                    out.writeInt(inventory.size());
+                    for (Supply supply : inventory) {
+                        writeSupply(out, supply);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Decodes people written by encodePeople(). Members of a family group share one group instance.
+     *
+     * @param in The encoded people. Its position is moved past them.
+     * @return The people, as getAllPeople() in DatabaseManager would build them.
+     */
+    public static List<Person> decodePeople(ByteBuffer in) {
+        int count = readCount(in);
+        List<Person> people = new ArrayList<>(count);
+        Map<Integer, ArrayList<Person>> familyMembers = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            int personId = in.getInt();
+            boolean victim = readBoolean(in);
+            String firstName = readString(in);
+            String lastName = readString(in);
+
+            Person person = victim ? new DisasterVictim(firstName, lastName) : new Person(firstName, lastName);
+            person.setPersonId(personId);
+
+            String dob = readString(in);
+            if (dob != null) {
+                person.setDateOfBirth(dob);
+            }
+            person.setGender(readString(in));
+            person.setComments(readString(in));
+            String phoneNumber = readString(in);
+            if (phoneNumber != null) {
+                person.setPhoneNumber(phoneNumber);
+            }
+
+            if (readBoolean(in)) {
+                familyMembers.computeIfAbsent(in.getInt(), id -> new ArrayList<>()).add(person);
+            }
+
+            if (victim) {
+                int items = readCount(in);
+                ArrayList<Supply> inventory = new ArrayList<>(items);
+                for (int j = 0; j < items; j++) {
+                    inventory.add(readSupply(in));
+                }
+                ((DisasterVictim) person).setPersonalInventory(inventory);
+            }
+            people.add(person);
+        }
+
+        DatabaseManager.joinFamilyGroups(familyMembers);
+        return people;
+    }
+
+
+    // Inquiries
+
+    /**
+     * Encodes inquiries with the names of the people and the location they refer to.
+     *
+     * @param inquiries The inquiries to encode.
+     * @return The encoded inquiries.
+     */
+    public static byte[] encodeInquiries(List<Inquiry> inquiries) {
+        return encode(out -> {
+            out.writeInt(inquiries.size());
+            for (Inquiry inquiry : inquiries) {
+                out.writeInt(inquiry.getInquiryId());
+                writePersonName(out, inquiry.getInquirer());
+                writePersonName(out, inquiry.getMissingPerson());
+                writeLocation(out, inquiry.getLastKnownLocation());
+                writeString(out, inquiry.getDateOfInquiry());
+                writeString(out, inquiry.getInfoProvided());
+            }
+        });
+    }
+
+    /**
+     * Decodes inquiries written by encodeInquiries().
+     *
+     * @param in The encoded inquiries. Its position is moved past them.
+     * @return The inquiries, as getAllInquiries() in DatabaseManager would build them.
+     */
+    public static List<Inquiry> decodeInquiries(ByteBuffer in) {
+        int count = readCount(in);
+        List<Inquiry> inquiries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int inquiryId = in.getInt();
+            Person inquirer = readPersonName(in, false);
+            DisasterVictim missingPerson = (DisasterVictim) readPersonName(in, true);
+            Location location = readLocation(in);
+            String dateOfInquiry = readString(in);
+            String infoProvided = readString(in);
+
+            Inquiry inquiry = new Inquiry(inquirer, missingPerson, dateOfInquiry, infoProvided, location);
+            inquiry.setInquiryId(inquiryId);
+            inquiries.add(inquiry);
+        }
+        return inquiries;
+    }
+
+
+    // Medical records
+
+    /**
+     * Encodes medical records with the name of the person and the location they refer to.
+     *
+     * @param records The medical records to encode.
+     * @return The encoded medical records.
+     */
+    public static byte[] encodeMedicalRecords(List<MedicalRecord> records) {
+        return encode(out -> {
+            out.writeInt(records.size());
+            for (MedicalRecord record : records) {
+                out.writeInt(record.getMedicalRecordId());
+                writePersonName(out, record.getPerson());
+                writeLocation(out, record.getLocation());
+                writeString(out, record.getTreatmentDetails());
+                writeString(out, record.getDateOfTreatment());
+            }
+        });
+    }
+
+    /**
+     * Decodes medical records written by encodeMedicalRecords().
+     *
+     * @param in The encoded medical records. Its position is moved past them.
+     * @return The medical records, as getAllMedicalRecords() in DatabaseManager would build them.
+     */
+    public static List<MedicalRecord> decodeMedicalRecords(ByteBuffer in) {
+        int count = readCount(in);
+        List<MedicalRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int recordId = in.getInt();
+            Person person = readPersonName(in, false);
+            Location location = readLocation(in);
+            String treatmentDetails = readString(in);
+            String dateOfTreatment = readString(in);
+
+            MedicalRecord record = new MedicalRecord(person, location, treatmentDetails, dateOfTreatment);
+            record.setMedicalRecordId(recordId);
+            records.add(record);
+        }
+        return records;
+    }
+
+
+    // Locations
+
+    /**
+     * Encodes locations. Occupants and inventory are not part of the location rows, so they are left out.
+     *
+     * @param locations The locations to encode.
+     * @return The encoded locations.
+     */
+    public static byte[] encodeLocations(List<Location> locations) {
+        return encode(out -> {
+            out.writeInt(locations.size());
+            for (Location location : locations) {
+                writeLocation(out, location);
+            }
+        });
+    }
+
+    /**
+     * Decodes locations written by encodeLocations().
+     *
+     * @param in The encoded locations. Its position is moved past them.
+     * @return The locations, as getAllLocations() in DatabaseManager would build them.
+     */
+    public static List<Location> decodeLocations(ByteBuffer in) {
+        int count = readCount(in);
+        List<Location> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            locations.add(readLocation(in));
+        }
+        return locations;
+    }
+
+    /**
+     * Encodes person and location assignments.
+     *
+     * @param assignments Pairs of {personId, locationId}.
+     * @return The encoded assignments.
+     */
+    public static byte[] encodePersonLocations(List<int[]> assignments) {
+        return encode(out -> {
+            out.writeInt(assignments.size());
+            for (int[] assignment : assignments) {
+                out.writeInt(assignment[0]);
+                out.writeInt(assignment[1]);
+            }
+        });
+    }
+
+    /**
+     * Decodes person and location assignments written by encodePersonLocations().
+     *
+     * @param in The encoded assignments. Its position is moved past them.
+     * @return Pairs of {personId, locationId}.
+     */
+    public static List<int[]> decodePersonLocations(ByteBuffer in) {
+        int count = readCount(in);
+        List<int[]> assignments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            assignments.add(new int[]{in.getInt(), in.getInt()});
+        }
+        return assignments;
+    }
+
+
+
+
+    /**
+     * Writes encoded data to a DataOutputStream.
+     */
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            // Only reachable through a bug, a byte array never fails to write
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeSupply(DataOutputStream out, Supply supply) throws IOException {
+        if (supply instanceof Water) {
+            Water water = (Water) supply;
+            out.writeByte(WATER);
+            writeCommon(out, supply);
+            LocalDateTime timestamp = water.getAllocationTimestamp();
+            writeString(out, timestamp != null ? timestamp.toString() : null);
+            writeString(out, water.getAllocationDate());
+        } else if (supply instanceof Cot) {
+            Cot cot = (Cot) supply;
+            out.writeByte(COT);
+            writeCommon(out, supply);
+            writeString(out, cot.getRoomLocation());
+            writeString(out, cot.getGridLocation());
+        } else if (supply instanceof PersonalBelonging) {
+            out.writeByte(PERSONAL_BELONGING);
+            writeCommon(out, supply);
+            writeString(out, ((PersonalBelonging) supply).getItemDescription());
+        } else if (supply instanceof Blanket) {
+            out.writeByte(BLANKET);
+            writeCommon(out, supply);
+        } else {
+            out.writeByte(SUPPLY);
+            writeCommon(out, supply);
+        }
+    }
+
+    private static void writeCommon(DataOutputStream out, Supply supply) throws IOException {
+        out.writeInt(supply.getSupplyId());
+        writeString(out, supply.getSupplyName());
+        writeString(out, supply.getSupplyType());
+    }
+
+    private static Supply readSupply(ByteBuffer in) {
+        byte tag = in.get();
+        int supplyId = in.getInt();
+        String name = readString(in);
+        String type = readString(in);
+        Supply supply;
+
+        switch (tag) {
+            case WATER:
+                Water water = new Water(name, type);
+                String timestamp = readString(in);
+                String allocationDate = readString(in);
+                water.setAllocationDate(allocationDate);
+                if (timestamp != null) {
+                    water.setAllocationTimestamp(LocalDateTime.parse(timestamp));
+                }
+                supply = water;
+                break;
+            case COT:
+                supply = new Cot(name, type, readString(in), readString(in));
+                break;
+            case PERSONAL_BELONGING:
+                supply = new PersonalBelonging(name, type, readString(in));
+                break;
+            case BLANKET:
+                supply = new Blanket(name, type);
+                break;
+            case SUPPLY:
+                supply = new Supply(name, type);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown supply tag: " + tag);
+        }
+
+        supply.setSupplyId(supplyId);
+        return supply;
+    }
+
+    private static void writePersonName(DataOutputStream out, Person person) throws IOException {
+        out.writeInt(person.getPersonId());
+        writeString(out, person.getFirstName());
+        writeString(out, person.getLastName());
+    }
+
+    private static Person readPersonName(ByteBuffer in, boolean victim) {
+        int personId = in.getInt();
+        String firstName = readString(in);
+        String lastName = readString(in);
+        Person person = victim ? new DisasterVictim(firstName, lastName) : new Person(firstName, lastName);
+        person.setPersonId(personId);
+        return person;
+    }
+
+    private static void writeLocation(DataOutputStream out, Location location) throws IOException {
+        out.writeInt(location.getLocationId());
+        writeString(out, location.getLocationName());
+        writeString(out, location.getLocationAddress());
+    }
+
+    private static Location readLocation(ByteBuffer in) {
+        int locationId = in.getInt();
+        Location location = new Location(readString(in), readString(in));
+        location.setLocationId(locationId);
+        return location;
+    }
+
+    /**
+     * Strings are a UTF-8 byte count followed by the bytes, or NULL_LENGTH for null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    /**
+     * Reads a count, refusing one that could not fit in what is left, so a corrupt count
+     * fails fast instead of allocating a huge list.
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Invalid count: " + count);
+        }
+        return count;
+    }
+}
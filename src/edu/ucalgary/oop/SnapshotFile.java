@@ -0,0 +1,401 @@
+/**
+ * SnapshotFile.java
+ * Version: 1.2
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public class SnapshotFile {
+    public static final String SUPPLIES = "supplies";
+    public static final String PEOPLE = "people";
+    public static final String INQUIRIES = "inquiries";
+    public static final String MEDICAL_RECORDS = "medicalRecords";
+    public static final String LOCATIONS = "locations";
+    public static final String PERSON_LOCATIONS = "personLocations";
+
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int FORMAT_VERSION = 1;
+
+    // The tables each section is read from; a section is only current while none of them has changed
+    private static final Map<String, String[]> SECTION_TABLES = new LinkedHashMap<>();
+    static {
+        SECTION_TABLES.put(SUPPLIES, new String[]{"supply", "supplyallocation"});
+        SECTION_TABLES.put(PEOPLE, new String[]{"person", "supply", "supplyallocation"});
+        SECTION_TABLES.put(INQUIRIES, new String[]{"inquiry", "person", "location"});
+        SECTION_TABLES.put(MEDICAL_RECORDS, new String[]{"medicalrecord", "person", "location"});
+        SECTION_TABLES.put(LOCATIONS, new String[]{"location"});
+        SECTION_TABLES.put(PERSON_LOCATIONS, new String[]{"personlocation"});
+    }
+
+    private static ErrorLogger errorLogger = ErrorLogger.getInstance();
+
+    private final Map<String, ByteBuffer> currentSections;
+
+
+    private SnapshotFile(Map<String, ByteBuffer> currentSections) {
+        this.currentSections = currentSections;
+    }
+
+
+    /**
+     * @return A snapshot with no sections, so every controller loads from the database.
+     */
+    public static SnapshotFile empty() {
+        return new SnapshotFile(new HashMap<>());
+    }
+
+    /**
+     * Memory-maps the newest generation of a snapshot file and keeps the sections whose tables have not
+     * changed since it was written. Sections are decoded straight from the mapping, without reading the
+     * file into the heap first. A missing, unreadable or corrupt file gives an empty snapshot rather than
+     * an error, since the database can always rebuild it.
+     *
+     * @param file The snapshot file.
+     * @param counters The current change counters, from getTableChangeCounters() in DatabaseManager.
+     * @return The snapshot, holding only the sections that are still current.
+     */
+    public static SnapshotFile open(Path file, Map<String, Long> counters) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(newestGeneration(file), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return empty();
+        } catch (IOException e) {
+            errorLogger.logError(e, "SnapshotFile.open()");
+            return empty();
+        }
+
+        try {
+            return new SnapshotFile(readSections(buffer, counters));
+        } catch (RuntimeException e) {
+            // A torn or foreign file; the next save replaces it
+            errorLogger.logError(e, "SnapshotFile.open()");
+            return empty();
+        }
+    }
+
+    /**
+     * Writes a new generation of a snapshot file. The new generation is written to a temporary file,
+     * forced to disk and only then moved into place, so a crash part way through never leaves a
+     * half-written snapshot behind. It is moved to a new name rather than over the previous generation,
+     * which may still be mapped and so cannot be replaced on Windows; older generations are deleted once
+     * nothing maps them any more.
+     * The sections are written straight from their buffers, which can be slices of a mapped file.
+     *
+     * @param file The snapshot file.
+     * @param counters The change counters read before the sections were loaded.
+     * @param sections The encoded sections, keyed by section name.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If a section name is unknown.
+     */
+    public static void write(Path file, Map<String, Long> counters, Map<String, ByteBuffer> sections) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(header);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sections.size());
+            for (Map.Entry<String, ByteBuffer> section : sections.entrySet()) {
+                writeName(out, section.getKey());
+                Map<String, Long> sectionCounters = countersFor(section.getKey(), counters);
+                out.writeInt(sectionCounters.size());
+                for (Map.Entry<String, Long> counter : sectionCounters.entrySet()) {
+                    writeName(out, counter.getKey());
+                    out.writeLong(counter.getValue());
+                }
+                out.writeInt(section.getValue().remaining());
+                out.flush();
+                writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+                header.reset();
+                writeFully(channel, section.getValue().duplicate());
+            }
+            out.flush();
+            writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+            // The content must be on disk before the rename makes it the newest generation
+            channel.force(true);
+        }
+
+        List<Path> previous = generations(file);
+        long generation = previous.isEmpty() ? 1 : generationOf(file, previous.get(previous.size() - 1)) + 1;
+        Path target = file.resolveSibling(file.getFileName() + "." + generation);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target);
+        }
+        syncDirectory(parent);
+
+        previous.add(file);
+        for (Path old : previous) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                // Still mapped on Windows; the next write tries again
+            }
+        }
+    }
+
+    /**
+     * @param file The snapshot file.
+     * @return true if any generation of the snapshot file has been written.
+     */
+    public static boolean exists(Path file) {
+        return Files.exists(newestGeneration(file));
+    }
+
+    /**
+     * Picks out the counters a section depends on. Tables that have never changed count as 0.
+     *
+     * @param section The section name.
+     * @param counters Every change counter.
+     * @return The database epoch and the counter of each table the section is read from.
+     * @throws IllegalArgumentException If the section name is unknown.
+     */
+    public static Map<String, Long> countersFor(String section, Map<String, Long> counters) {
+        String[] tables = SECTION_TABLES.get(section);
+        if (tables == null) {
+            throw new IllegalArgumentException("Unknown snapshot section: " + section);
+        }
+        Map<String, Long> sectionCounters = new LinkedHashMap<>();
+        sectionCounters.put(DatabaseManager.DATABASE_EPOCH, counters.getOrDefault(DatabaseManager.DATABASE_EPOCH, 0L));
+        for (String table : tables) {
+            sectionCounters.put(table, counters.getOrDefault(table, 0L));
+        }
+        return sectionCounters;
+    }
+
+    /**
+     * @return Every section name, in the order they are written.
+     */
+    public static Set<String> getSectionNames() {
+        return Collections.unmodifiableSet(SECTION_TABLES.keySet());
+    }
+
+
+    /**
+     * @param section The section name.
+     * @return true if the snapshot holds the section and its tables have not changed since.
+     */
+    public boolean isCurrent(String section) {
+        return currentSections.containsKey(section);
+    }
+
+    /**
+     * Gives a current section without copying it out of the mapping, so it can be written again
+     * without re-encoding.
+     *
+     * @param section The section name.
+     * @return A read-only view of the encoded section, or null if it is not current.
+     */
+    public ByteBuffer getSection(String section) {
+        ByteBuffer buffer = currentSections.get(section);
+        return buffer == null ? null : buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return The supplies, or null if they have to be loaded from the database.
+     */
+    public List<Supply> getSupplies() {
+        return decode(SUPPLIES, SnapshotCodec::decodeSupplies);
+    }
+
+    /**
+     * @return The people, or null if they have to be loaded from the database.
+     */
+    public List<Person> getPeople() {
+        return decode(PEOPLE, SnapshotCodec::decodePeople);
+    }
+
+    /**
+     * @return The inquiries, or null if they have to be loaded from the database.
+     */
+    public List<Inquiry> getInquiries() {
+        return decode(INQUIRIES, SnapshotCodec::decodeInquiries);
+    }
+
+    /**
+     * @return The medical records, or null if they have to be loaded from the database.
+     */
+    public List<MedicalRecord> getMedicalRecords() {
+        return decode(MEDICAL_RECORDS, SnapshotCodec::decodeMedicalRecords);
+    }
+
+    /**
+     * @return The locations, or null if they have to be loaded from the database.
+     */
+    public List<Location> getLocations() {
+        return decode(LOCATIONS, SnapshotCodec::decodeLocations);
+    }
+
+    /**
+     * @return Pairs of {personId, locationId}, or null if they have to be loaded from the database.
+     */
+    public List<int[]> getPersonLocations() {
+        return decode(PERSON_LOCATIONS, SnapshotCodec::decodePersonLocations);
+    }
+
+
+
+
+    /**
+     * Decodes a current section. A section that does not decode cleanly is treated as missing.
+     */
+    private <T> List<T> decode(String section, Function<ByteBuffer, List<T>> decoder) {
+        ByteBuffer buffer = currentSections.get(section);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            ByteBuffer in = buffer.duplicate();
+            List<T> models = decoder.apply(in);
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in snapshot section: " + section);
+            }
+            return models;
+        } catch (RuntimeException e) {
+            errorLogger.logError(e, "SnapshotFile.decode() - " + section);
+            return null;
+        }
+    }
+
+    private static Map<String, ByteBuffer> readSections(ByteBuffer in, Map<String, Long> counters) {
+        if (in.remaining() < 12 || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a snapshot file of this version");
+        }
+
+        Map<String, ByteBuffer> sections = new HashMap<>();
+        int sectionCount = in.getInt();
+        for (int i = 0; i < sectionCount; i++) {
+            String section = readName(in);
+            Map<String, Long> written = new LinkedHashMap<>();
+            int counterCount = in.getInt();
+            for (int j = 0; j < counterCount; j++) {
+                written.put(readName(in), in.getLong());
+            }
+
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IllegalArgumentException("Invalid section length: " + length);
+            }
+            ByteBuffer payload = in.slice(in.position(), length);
+            in.position(in.position() + length);
+
+            // Sections from a newer program or with stale counters are skipped
+            if (SECTION_TABLES.containsKey(section) && written.equals(countersFor(section, counters))) {
+                sections.put(section, payload);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * @return The newest generation of the file, or the file itself if none was written,
+     *         as it was before snapshots had generations.
+     */
+    private static Path newestGeneration(Path file) {
+        try {
+            List<Path> generations = generations(file);
+            return generations.isEmpty() ? file : generations.get(generations.size() - 1);
+        } catch (IOException e) {
+            errorLogger.logError(e, "SnapshotFile.newestGeneration()");
+            return file;
+        }
+    }
+
+    /**
+     * @return Every generation of the file, oldest first.
+     */
+    private static List<Path> generations(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        List<Path> generations = new ArrayList<>();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return generations;
+        }
+        String prefix = file.getFileName() + ".";
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory,
+                entry -> entry.getFileName().toString().startsWith(prefix))) {
+            for (Path entry : entries) {
+                if (generationOf(file, entry) > 0) {
+                    generations.add(file.resolveSibling(entry.getFileName()));
+                }
+            }
+        }
+        generations.sort((a, b) -> Long.compare(generationOf(file, a), generationOf(file, b)));
+        return generations;
+    }
+
+    /**
+     * @return The generation number in a file name, or -1 if it is not a generation of the file.
+     */
+    private static long generationOf(Path file, Path generation) {
+        String suffix = generation.getFileName().toString().substring(file.getFileName().toString().length() + 1);
+        if (suffix.isEmpty() || suffix.length() > 18 || !suffix.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Long.parseLong(suffix);
+    }
+
+    /**
+     * Forces the rename itself to disk, so the new generation survives a power loss.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows cannot open directories; NTFS journals the rename itself
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readName(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * SnapshotWriter.java
+ * Version: 1.2
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SnapshotWriter {
+    public static final Path DEFAULT_FILE = Paths.get("data", "controllers.snapshot");
+    public static final long DEFAULT_PERIOD_MINUTES = 5;
+
+    private final DatabaseManager databaseManager;
+    private final Path file;
+    private final SnapshotFile startupSnapshot;
+    private Map<String, Long> writtenCounters;
+    private Map<String, ByteBuffer> writtenSections = new LinkedHashMap<>();
+    private ScheduledExecutorService timer;
+    private static ErrorLogger errorLogger = ErrorLogger.getInstance();
+
+
+    /**
+     * Constructs a new SnapshotWriter. The sections of the startup snapshot that were still current
+     * are written again as they are, so only the tables that changed are read back from the database.
+     *
+     * @param databaseManager The database to read changed sections from, or null to never write.
+     * @param file The snapshot file.
+     * @param startupSnapshot The snapshot the controllers were loaded from.
+     * @param startupCounters The change counters the startup snapshot was checked against.
+     */
+    public SnapshotWriter(DatabaseManager databaseManager, Path file,
+                          SnapshotFile startupSnapshot, Map<String, Long> startupCounters) {
+        this.databaseManager = databaseManager;
+        this.file = file;
+        this.startupSnapshot = startupSnapshot;
+        this.writtenCounters = new HashMap<>(startupCounters);
+        keepSections(startupSnapshot);
+    }
+
+    /**
+     * Reads the change counters and opens the snapshot file against them.
+     * If the counters cannot be read, the controllers load from the database and nothing is written.
+     *
+     * @param file The snapshot file.
+     * @return The writer, holding the snapshot to load the controllers from.
+     */
+    public static SnapshotWriter open(Path file) {
+        try {
+            DatabaseManager databaseManager = DatabaseManager.getInstance();
+            Map<String, Long> counters = databaseManager.getTableChangeCounters();
+            return new SnapshotWriter(databaseManager, file, SnapshotFile.open(file, counters), counters);
+        } catch (SQLException e) {
+            errorLogger.logError(e, "SnapshotWriter.open()");
+            return new SnapshotWriter(null, file, SnapshotFile.empty(), new HashMap<>());
+        }
+    }
+
+
+    /**
+     * @return The snapshot opened at startup, holding only the sections that were still current.
+     */
+    public SnapshotFile getStartupSnapshot() {
+        return startupSnapshot;
+    }
+
+    /**
+     * Writes the snapshot file. Sections whose tables have not changed since the last write are copied
+     * as they are; the rest are read from the database. The counters are read before the tables, so a
+     * change made while saving leaves the section looking stale rather than looking current.
+     * Nothing is written if no table has changed and the file is already there.
+     *
+     * @throws SQLException If the counters or a changed table cannot be read.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void save() throws SQLException, IOException {
+        if (databaseManager == null) {
+            return;
+        }
+
+        Map<String, Long> counters = databaseManager.getTableChangeCounters();
+        Map<String, ByteBuffer> sections = new LinkedHashMap<>();
+        boolean changed = false;
+        for (String section : SnapshotFile.getSectionNames()) {
+            ByteBuffer previous = writtenSections.get(section);
+            if (previous != null && SnapshotFile.countersFor(section, counters)
+                    .equals(SnapshotFile.countersFor(section, writtenCounters))) {
+                sections.put(section, previous);
+            } else {
+                sections.put(section, ByteBuffer.wrap(loadSection(section)));
+                changed = true;
+            }
+        }
+
+        if (changed || !SnapshotFile.exists(file)) {
+            SnapshotFile.write(file, counters, sections);
+            // Keep the sections as slices of the new file rather than holding the loaded ones in the heap
+            writtenSections = new LinkedHashMap<>();
+            keepSections(SnapshotFile.open(file, counters));
+        }
+        writtenCounters = counters;
+    }
+
+    /**
+     * Starts saving the snapshot periodically on a background thread, and once more when the program exits.
+     *
+     * @param periodMinutes How often to save, in minutes.
+     */
+    public synchronized void start(long periodMinutes) {
+        if (databaseManager == null || timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::saveQuietly, periodMinutes, periodMinutes, TimeUnit.MINUTES);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "snapshot-writer-shutdown"));
+    }
+
+    /**
+     * Stops the periodic saves and saves one last time.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (timer == null) {
+                return;
+            }
+            timer.shutdownNow();
+            timer = null;
+        }
+        saveQuietly();
+    }
+
+
+
+
+    /**
+     * Remembers the current sections of a snapshot, still mapped from its file, to write again unchanged.
+     */
+    private void keepSections(SnapshotFile snapshot) {
+        for (String section : SnapshotFile.getSectionNames()) {
+            ByteBuffer buffer = snapshot.getSection(section);
+            if (buffer != null) {
+                writtenSections.put(section, buffer);
+            }
+        }
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (SQLException | IOException | RuntimeException e) {
+            errorLogger.logError(e, "SnapshotWriter.save()");
+        }
+    }
+
+    /**
+     * Reads a section from the database with the same query its controller loads with.
+     */
+    private byte[] loadSection(String section) throws SQLException {
+        switch (section) {
+            case SnapshotFile.SUPPLIES:
+                return SnapshotCodec.encodeSupplies(databaseManager.getAllSupplies());
+            case SnapshotFile.PEOPLE:
+                return SnapshotCodec.encodePeople(databaseManager.getAllPeople());
+            case SnapshotFile.INQUIRIES:
+                return SnapshotCodec.encodeInquiries(databaseManager.getAllInquiries());
+            case SnapshotFile.MEDICAL_RECORDS:
+                return SnapshotCodec.encodeMedicalRecords(databaseManager.getAllMedicalRecords());
+            case SnapshotFile.LOCATIONS:
+                return SnapshotCodec.encodeLocations(databaseManager.getAllLocations());
+            case SnapshotFile.PERSON_LOCATIONS:
+                return SnapshotCodec.encodePersonLocations(databaseManager.getAllPersonLocations());
+            default:
+                throw new IllegalArgumentException("Unknown snapshot section: " + section);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * SupplyController.java
- * Version: 2.0
+ * Version: 3.1
  * Author: Jibran Somroo
  * Date: April 8, 2025
  */
@@ -8,14 +8,21 @@
 package edu.ucalgary.oop;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.sql.SQLException;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 public class SupplyController {
-    private ArrayList<Supply> supplyModels;
+    // The supplies in the order they were added, indexed by ID, read without any lock and replaced on every change
+    private final ModelStore<ModelTable<Supply>> supplyModels = new ModelStore<>(ModelTable.empty(Supply::getSupplyId));
+    private final ModelLock modelLock = new ModelLock();
     private static DatabaseManager databaseManager;
-    private static int supplyIdCounter;
+    private IdAllocator idAllocator;
+    private SupplyExpiryScheduler expiryScheduler;
+    // Other caches holding supplies, told when expired ones are removed
+    private final List<SupplyExpiryScheduler.ExpiryListener> evictionListeners = new CopyOnWriteArrayList<>();
     private static ErrorLogger errorLogger = ErrorLogger.getInstance();
     private static TranslationManager translationManager = TranslationManager.getInstance();
 
@@ -26,10 +33,27 @@ public class SupplyController {
      * @throws RuntimeException if the initialization of the SupplyController fails
      */
     public SupplyController() {
+        this(SnapshotFile.empty());
+    }
+
+    /**
+     * Constructs a new SupplyController, taking the supplies from the startup snapshot
+     * if they have not changed since it was written.
+     *
+     * @param snapshot The startup snapshot.
+     * @throws RuntimeException if the initialization of the SupplyController fails
+     */
+    public SupplyController(SnapshotFile snapshot) {
         try {
             this.databaseManager = DatabaseManager.getInstance();
-            this.supplyModels = new ArrayList<>();
-            populateSuppliesFromDatabase();
+            this.idAllocator = databaseManager.getSupplyIdAllocator();
+            this.expiryScheduler = new SupplyExpiryScheduler(databaseManager::deleteSupplies, this::evictSupplies);
+            List<Supply> supplies = snapshot.getSupplies();
+            if (supplies != null) {
+                loadSupplies(supplies);
+            } else {
+                populateSuppliesFromDatabase();
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to initialize SupplyController", e);
         }
@@ -43,7 +67,7 @@ public class SupplyController {
      * Arbitrary constructor, has no real purpose
      */
     public SupplyController(int test) {
-        this.supplyModels = new ArrayList<>();
+        this.idAllocator = IdAllocator.sequential(1);
     }
 
 
@@ -55,33 +79,60 @@ public class SupplyController {
      */
     private void populateSuppliesFromDatabase() throws SQLException {
         try {
-            ArrayList<Supply> supplies = (ArrayList<Supply>) databaseManager.getAllSupplies();
-            this.supplyModels.clear();
-            this.supplyModels.addAll(supplies);
-            initializeIdCounter();
+            loadSupplies(databaseManager.getAllSupplies());
         } catch (SQLException e) {
             System.err.println("Error loading supplies from database: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Replaces the local supplies and schedules the allocated water to expire.
+     * Water that expired while the program was closed is due at once, so it is removed straight away.
+     *
+     * @param supplies The supplies to hold.
+     */
+    private void loadSupplies(List<Supply> supplies) {
+        supplyModels.set(ModelTable.of(Supply::getSupplyId, supplies));
+        scheduleWaterExpirations(supplies);
+    }
+
     /**
      * Retrieves all supplies stored in the supplyModels list.
      *
      * @return A new ArrayList containing all the supplies.
      */
     public ArrayList<Supply> getAllSupplies() {
-        return new ArrayList<>(this.supplyModels);
+        return new ArrayList<>(getSuppliesSnapshot().asList());
     }
 
+    /**
+     * Retrieves an immutable snapshot of all supplies. The snapshot is only rebuilt after a change,
+     * so calling this repeatedly, for example inside a loop, does not copy anything.
+     *
+     * @return The current snapshot of supplies.
+     */
+    public ModelSnapshot<Supply> getSuppliesSnapshot() {
+        return supplyModels.get().snapshot();
+    }
+
+
+    /**
+     * Adds a supply to the local list for testing purposes. The database is not touched.
+     *
+     * @param supply The supply to add.
+     */
+    void addSupplyTest(Supply supply) {
+        supplyModels.update(supplies -> supplies.put(supply));
+    }
 
     /**
-     * Retrieves all supplies stored in the supplyModels list for testing purposes
+     * Evicts supplies as if the expiry scheduler had just deleted them, for testing purposes.
      *
-     * @return The ArrayList containing all the supplies.
+     * @param supplyIds The IDs of the expired supplies.
      */
-    public ArrayList<Supply> getAllSuppliesTest() {
-        return this.supplyModels;
+    void expireSuppliesTest(List<Integer> supplyIds) {
+        evictSupplies(supplyIds);
     }
 
 
@@ -99,16 +150,14 @@ public class SupplyController {
             throw new IllegalArgumentException("Supply cannot be null");
         }
 
-        try {
-            databaseManager.addSupply(supply);
-            this.supplyModels.add(supply);
-
-            this.supplyIdCounter = databaseManager.getLargestSupplyId() + 1;
-        } catch (SQLException e) {
-            // If add fails, decrement counter to reuse the ID
-            supplyIdCounter--;
-            throw e;
+        if (supply.getSupplyId() <= 0) {
+            supply.setSupplyId(idAllocator.nextId());
         }
+
+        modelLock.withStripe(supply.getSupplyId(), () -> {
+            databaseManager.addSupply(supply);
+            supplyModels.update(supplies -> supplies.put(supply));
+        });
     }
 
 
@@ -125,14 +174,12 @@ public class SupplyController {
         }
 
         try {
-            databaseManager.updateSupply(supply);
-            // Find and update the supply in local models
-            for (int i = 0; i < supplyModels.size(); i++) {
-                if (supplyModels.get(i).getSupplyId() == supply.getSupplyId()) {
-                    supplyModels.set(i, supply);
-                    break;
-                }
-            }
+            modelLock.withStripe(supply.getSupplyId(), () -> {
+                databaseManager.updateSupply(supply);
+                // Update the supply in local models, keeping its place
+                supplyModels.update(supplies ->
+                        supplies.containsKey(supply.getSupplyId()) ? supplies.put(supply) : supplies);
+            });
         } catch (SQLException e) {
             System.err.println("Error updating supply: " + e.getMessage());
             throw e;
@@ -151,9 +198,14 @@ public class SupplyController {
      */
     public void deleteSupply(int supplyId) throws SQLException {
         try {
-            databaseManager.deleteSupply(supplyId);
-            // Remove from local models
-            supplyModels.removeIf(s -> s.getSupplyId() == supplyId);
+            modelLock.withStripe(supplyId, () -> {
+                databaseManager.deleteSupply(supplyId);
+                // Remove from local models
+                supplyModels.update(supplies -> supplies.remove(supplyId));
+                if (expiryScheduler != null) {
+                    expiryScheduler.cancel(supplyId);
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting supply: " + e.getMessage());
             throw e;
@@ -198,16 +250,20 @@ public class SupplyController {
 
 
     /**
-     * Allocates a supply to either a person or a location.
+     * Allocates a supply to either a person or a location. Once the allocation is in the database,
+     * the supply, the person's inventory and the locations' inventories are updated in place.
      *
      * @param supplyId The ID of the supply to be allocated.
      * @param personId The ID of the person to allocate the supply to. Can be null if allocating to a location.
      * @param locationId The ID of the location to allocate the supply to. Can be null if allocating to a person.
      * @param fromLocationId The ID of the location to move the supply from (if applicable).
+     * @param personController Holds the people whose inventories change, or null if it is not loaded.
+     * @param locationController Holds the locations whose inventories change, or null if it is not loaded.
      * @throws SQLException If there is an error during database operations.
      * @throws IllegalArgumentException If the allocation parameters are invalid.
      */
-    public void allocateSupply(int supplyId, Integer personId, Integer locationId, Integer fromLocationId)
+    public void allocateSupply(int supplyId, Integer personId, Integer locationId, Integer fromLocationId,
+                               PersonController personController, LocationController locationController)
             throws SQLException, IllegalArgumentException {
 
         // Validate allocation parameters
@@ -222,13 +278,7 @@ public class SupplyController {
         }
 
         // Find the supply in our local models
-        Supply supplyToAllocate = null;
-        for (Supply supply : supplyModels) {
-            if (supply.getSupplyId() == supplyId) {
-                supplyToAllocate = supply;
-                break;
-            }
-        }
+        Supply supplyToAllocate = findSupply(supplyId);
 
         if (supplyToAllocate == null) {
             throw new IllegalArgumentException("No supply found with ID: " + supplyId);
@@ -239,37 +289,102 @@ public class SupplyController {
             throw new IllegalArgumentException("Personal belongings cannot be allocated to locations");
         }
 
-        // Special handling for Water
-        if (supplyToAllocate instanceof Water) {
-            Water water = (Water) supplyToAllocate;
-            if (water.getAllocationDate() == null || water.getAllocationDate().isEmpty()) {
-                String currentDate = LocalDate.now().toString();
-                water.setAllocationDate(currentDate);
-            }
+        try {
+            modelLock.withStripe(supplyId, () -> allocate(supplyToAllocate, personId, locationId, fromLocationId));
+        } catch (SQLException e) {
+            System.err.println("Error allocating supply: " + e.getMessage());
+            throw e;
         }
 
-        try {
-            // Check if we're moving from a location
+        // The inventories belong to the other controllers, which guard them with their own locks
+        if (personController != null && personId != null) {
+            personController.addSupplyToInventory(personId, supplyToAllocate);
+        }
+        if (locationController != null) {
             if (fromLocationId != null) {
-                // Verify supply is actually at the source location
-                if (!databaseManager.isSupplyAtLocation(supplyId, fromLocationId)) {
-                    throw new IllegalArgumentException("Supply is not at the specified source location");
-                }
+                locationController.removeSupplyFromInventory(fromLocationId, supplyId);
+            }
+            if (locationId != null) {
+                locationController.addSupplyToInventory(locationId, supplyToAllocate);
+            }
+        }
+    }
+
 
-                // Remove from location first
-                databaseManager.removeSupplyFromLocation(supplyId, fromLocationId);
+    /**
+     * Writes an allocation to the database and the local models. Called while holding the supply's stripe.
+     *
+     * @param supplyToAllocate The supply being allocated.
+     * @param personId The ID of the person to allocate the supply to, or null.
+     * @param locationId The ID of the location to allocate the supply to, or null.
+     * @param fromLocationId The ID of the location to move the supply from, or null.
+     * @throws SQLException If there is an error during database operations.
+     */
+    private void allocate(Supply supplyToAllocate, Integer personId, Integer locationId, Integer fromLocationId)
+            throws SQLException {
+        int supplyId = supplyToAllocate.getSupplyId();
+
+        // Check if we're moving from a location
+        if (fromLocationId != null) {
+            // Verify supply is actually at the source location
+            if (!databaseManager.isSupplyAtLocation(supplyId, fromLocationId)) {
+                throw new IllegalArgumentException("Supply is not at the specified source location");
             }
 
-            // Perform the allocation
-            databaseManager.allocateSupply(supplyId, personId, locationId);
+            // Remove from location first
+            databaseManager.removeSupplyFromLocation(supplyId, fromLocationId);
+        }
+
+        // Perform the allocation
+        databaseManager.allocateSupply(supplyId, personId, locationId);
 
-            // Update local models
+        // Update only the allocated supply, reloading everything if it has gone missing locally
+        if (!applyAllocationLocally(supplyId, personId, locationId)) {
             refreshSupplies();
+        }
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error allocating supply: " + e.getMessage());
-            throw e;
+
+    /**
+     * Applies an allocation that has already been written to the database to the local models,
+     * leaving every other supply untouched.
+     * Water only keeps an allocation time while it is allocated to a person, matching what
+     * getAllSupplies() would load after the allocation, and only expires while it has one.
+     *
+     * @param supplyId The ID of the allocated supply.
+     * @param personId The ID of the person it was allocated to, or null.
+     * @param locationId The ID of the location it was allocated to, or null.
+     * @return true if the supply was found and updated, false if the local models are out of
+     *         step with the database and should be reloaded.
+     */
+    public boolean applyAllocationLocally(int supplyId, Integer personId, Integer locationId) {
+        Supply allocated = findSupply(supplyId);
+        if (allocated instanceof Water) {
+            Water water = (Water) allocated;
+            // The water is changed in place, so changes to it are ordered by its stripe
+            modelLock.inStripe(supplyId, () -> {
+                if (personId != null) {
+                    if (water.getAllocationDate() == null || water.getAllocationDate().isEmpty()) {
+                        water.setAllocationTimestamp(LocalDateTime.now());
+                    }
+                } else if (locationId != null) {
+                    water.setAllocationTimestamp(null);
+                    water.setAllocationDate(null);
+                }
+            });
         }
+        if (allocated == null) {
+            return false;
+        }
+
+        if (allocated instanceof Water && expiryScheduler != null) {
+            if (personId != null) {
+                expiryScheduler.schedule((Water) allocated);
+            } else {
+                expiryScheduler.cancel(supplyId);
+            }
+        }
+        return true;
     }
 
 
@@ -287,23 +402,96 @@ public class SupplyController {
 
 
     /**
-     * Initializes the supply ID counter by retrieving the largest existing supply ID from the database.
+     * Retrieves a supply from the local models by its ID.
      *
-     * @throws SQLException if there is an error retrieving the largest supply ID from the database.
+     * @param supplyId The ID of the supply.
+     * @return The supply, or null if it is not in the local models.
      */
-    private void initializeIdCounter() throws SQLException {
-        this.supplyIdCounter = databaseManager.getLargestSupplyId() + 1;
+    public Supply getSupplyById(int supplyId) {
+        return findSupply(supplyId);
+    }
+
 
+    /**
+     * Finds a supply in the local models.
+     *
+     * @param supplyId The ID of the supply.
+     * @return The supply, or null if it is not in the local models.
+     */
+    private Supply findSupply(int supplyId) {
+        return supplyModels.get().get(supplyId);
     }
 
 
     /**
-     * Generates a new supply ID by adding 1 to supplyIdCounter
+     * Schedules every allocated water supply in the given list to expire at the exact hour it goes bad.
+     * Water that has already expired is removed by the scheduler's next batch.
+     *
+     * @param supplies The supplies just loaded into the local models.
+     */
+    private void scheduleWaterExpirations(List<Supply> supplies) {
+        if (expiryScheduler == null) {
+            return;
+        }
+        for (Supply supply : supplies) {
+            if (supply instanceof Water) {
+                expiryScheduler.schedule((Water) supply);
+            }
+        }
+    }
+
+
+    /**
+     * Registers a cache that also holds supplies, such as the people's or locations' inventories,
+     * so expired supplies are evicted from it as well as from the local models.
+     *
+     * @param listener Told the IDs of each batch of expired supplies, on the scheduler's timer thread.
+     * @throws IllegalArgumentException If the listener is null.
+     */
+    public void addEvictionListener(SupplyExpiryScheduler.ExpiryListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Eviction listener cannot be null");
+        }
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Removes supplies that the expiry scheduler has deleted from the local models,
+     * then from every cache registered with addEvictionListener().
+     * Called on the scheduler's timer thread.
+     *
+     * @param supplyIds The IDs of the expired supplies.
+     */
+    private void evictSupplies(List<Integer> supplyIds) {
+        supplyModels.update(supplies -> {
+            for (int supplyId : supplyIds) {
+                supplies = supplies.remove(supplyId);
+            }
+            return supplies;
+        });
+        for (SupplyExpiryScheduler.ExpiryListener listener : evictionListeners) {
+            try {
+                listener.onSuppliesExpired(supplyIds);
+            } catch (RuntimeException e) {
+                // One failing cache must not keep the others holding expired supplies
+                errorLogger.logError(e, "SupplyController.evictSupplies()");
+            }
+        }
+    }
+
+
+    /**
+     * Generates a new supply ID from the ID allocator
      *
      * @return The next available supply ID.
+     * @throws RuntimeException if a new block of IDs cannot be reserved.
      */
     public int generateSupplyId() {
-        return supplyIdCounter++;
+        try {
+            return idAllocator.nextId();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to allocate a supply ID", e);
+        }
     }
 
 
@@ -0,0 +1,267 @@
+/**
+ * SupplyExpiryScheduler.java
+ * Version: 1.1
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SupplyExpiryScheduler {
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final SupplyRemover supplyRemover;
+    private final ExpiryListener expiryListener;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+    private final PriorityQueue<ExpiryEntry> expiryQueue = new PriorityQueue<>();
+    private final Map<Integer, ExpiryEntry> entriesBySupplyId = new HashMap<>();
+    private ScheduledFuture<?> nextRun;
+    private LocalDateTime nextRunAt;
+    private static ErrorLogger errorLogger = ErrorLogger.getInstance();
+
+
+    /**
+     * Permanently removes a batch of expired supplies, normally from the database.
+     */
+    public interface SupplyRemover {
+        void removeSupplies(List<Integer> supplyIds) throws SQLException;
+    }
+
+    /**
+     * Notified after a batch of supplies has been removed, so caches can evict them.
+     */
+    public interface ExpiryListener {
+        void onSuppliesExpired(List<Integer> supplyIds);
+    }
+
+
+    /**
+     * Constructs a new SupplyExpiryScheduler that uses the system clock and its own daemon thread.
+     *
+     * @param supplyRemover Removes expired supplies from permanent storage.
+     * @param expiryListener Notified once expired supplies have been removed.
+     */
+    public SupplyExpiryScheduler(SupplyRemover supplyRemover, ExpiryListener expiryListener) {
+        this(supplyRemover, expiryListener, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a new SupplyExpiryScheduler with the given clock.
+     *
+     * @param supplyRemover Removes expired supplies from permanent storage.
+     * @param expiryListener Notified once expired supplies have been removed.
+     * @param clock The clock used to decide which supplies are due.
+     * @throws IllegalArgumentException If any argument is null.
+     */
+    public SupplyExpiryScheduler(SupplyRemover supplyRemover, ExpiryListener expiryListener, Clock clock) {
+        if (supplyRemover == null || expiryListener == null || clock == null) {
+            throw new IllegalArgumentException("Supply remover, expiry listener and clock cannot be null");
+        }
+        this.supplyRemover = supplyRemover;
+        this.expiryListener = expiryListener;
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "supply-expiry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Schedules a supply to expire at the given time, replacing any earlier schedule for it.
+     *
+     * @param supplyId The ID of the supply that expires.
+     * @param expiresAt The time at which the supply expires.
+     * @throws IllegalArgumentException If the expiration time is null.
+     */
+    public synchronized void schedule(int supplyId, LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiration time cannot be null");
+        }
+        removeEntry(supplyId);
+
+        ExpiryEntry entry = new ExpiryEntry(supplyId, expiresAt);
+        entriesBySupplyId.put(supplyId, entry);
+        expiryQueue.add(entry);
+        rescheduleTimer();
+    }
+
+    /**
+     * Schedules a water supply using its expiration time. Unallocated water is ignored.
+     *
+     * @param water The water supply to schedule.
+     */
+    public void schedule(Water water) {
+        LocalDateTime expiresAt = water.getExpirationTime();
+        if (expiresAt != null) {
+            schedule(water.getSupplyId(), expiresAt);
+        }
+    }
+
+    /**
+     * Cancels the scheduled expiration of a supply, if there is one.
+     *
+     * @param supplyId The ID of the supply.
+     */
+    public synchronized void cancel(int supplyId) {
+        if (removeEntry(supplyId)) {
+            rescheduleTimer();
+        }
+    }
+
+    /**
+     * Checks whether a supply is waiting to expire.
+     *
+     * @param supplyId The ID of the supply.
+     * @return true if the supply is scheduled, false otherwise.
+     */
+    public synchronized boolean isScheduled(int supplyId) {
+        return entriesBySupplyId.containsKey(supplyId);
+    }
+
+    /**
+     * Stops the background thread. Scheduled supplies are no longer removed.
+     */
+    public synchronized void shutdown() {
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * Removes every supply whose expiration time has passed in one batch and notifies the listener.
+     * If the removal fails the batch is logged and retried after a short delay. Whatever happens,
+     * the timer is pointed at the next expiration time afterwards, so one failure never stops expiry.
+     *
+     * @return The IDs of the supplies that were removed.
+     */
+    List<Integer> runDueExpirations() {
+        List<Integer> dueIds = new ArrayList<>();
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            while (!expiryQueue.isEmpty() && !expiryQueue.peek().expiresAt.isAfter(now)) {
+                ExpiryEntry entry = expiryQueue.poll();
+                entriesBySupplyId.remove(entry.supplyId);
+                dueIds.add(entry.supplyId);
+            }
+        }
+
+        boolean removed = false;
+        try {
+            if (!dueIds.isEmpty()) {
+                supplyRemover.removeSupplies(dueIds);
+                removed = true;
+                expiryListener.onSuppliesExpired(dueIds);
+            }
+        } catch (SQLException | RuntimeException e) {
+            errorLogger.logError(e, "SupplyExpiryScheduler.runDueExpirations()");
+            // Supplies that were removed are gone for good; only a failed removal is worth retrying
+            if (!removed) {
+                requeue(dueIds, LocalDateTime.now(clock).plus(RETRY_DELAY));
+            }
+        } finally {
+            synchronized (this) {
+                rescheduleTimer();
+            }
+        }
+        return dueIds;
+    }
+
+    /**
+     * @return The time the background timer is next due to run, or null if nothing is scheduled.
+     */
+    synchronized LocalDateTime getNextRunTime() {
+        return nextRunAt;
+    }
+
+
+
+
+    /**
+     * Queues supplies again for a later attempt, unless they were rescheduled meanwhile.
+     *
+     * @param supplyIds The IDs of the supplies.
+     * @param retryAt When to try again.
+     */
+    private synchronized void requeue(List<Integer> supplyIds, LocalDateTime retryAt) {
+        for (Integer supplyId : supplyIds) {
+            if (!entriesBySupplyId.containsKey(supplyId)) {
+                ExpiryEntry entry = new ExpiryEntry(supplyId, retryAt);
+                entriesBySupplyId.put(supplyId, entry);
+                expiryQueue.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the queued entry for a supply.
+     *
+     * @param supplyId The ID of the supply.
+     * @return true if an entry was removed.
+     */
+    private boolean removeEntry(int supplyId) {
+        ExpiryEntry existing = entriesBySupplyId.remove(supplyId);
+        if (existing == null) {
+            return false;
+        }
+        expiryQueue.remove(existing);
+        return true;
+    }
+
+    /**
+     * Points the single background timer at the earliest expiration time in the queue.
+     */
+    private void rescheduleTimer() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+            nextRun = null;
+            nextRunAt = null;
+        }
+        ExpiryEntry head = expiryQueue.peek();
+        if (head != null) {
+            nextRunAt = head.expiresAt;
+            long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(clock), head.expiresAt).toMillis());
+            nextRun = executor.schedule(this::runDueExpirations, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+
+    /**
+     * A supply ID together with the time it expires, ordered by expiration time.
+     */
+    private static class ExpiryEntry implements Comparable<ExpiryEntry> {
+        private final int supplyId;
+        private final LocalDateTime expiresAt;
+
+        private ExpiryEntry(int supplyId, LocalDateTime expiresAt) {
+            this.supplyId = supplyId;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+            return expiresAt.compareTo(other.expiresAt);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * TranslationCatalog.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class TranslationCatalog {
+    private final String locale;
+    private final Map<String, String> ownTranslations;
+    private final Map<String, String> translations;
+    private final Map<String, MessageTemplate> templates;
+    private final List<String> fallbackChain;
+
+
+    /**
+     * Constructs an immutable catalog. The fallback's translations are merged in once, here,
+     * so a key missing from this locale resolves with a single lookup instead of walking the chain.
+     * Every value is also compiled into a MessageTemplate here, once per load; keys taken from the
+     * fallback share its templates rather than being compiled again.
+     *
+     * @param locale The locale the catalog is for, such as fr-CA.
+     * @param ownTranslations The translations read from this locale's file. They are copied.
+     * @param fallback The catalog to take missing keys from, or null for none.
+     */
+    public TranslationCatalog(String locale, Map<String, String> ownTranslations, TranslationCatalog fallback) {
+        this.locale = locale;
+        this.ownTranslations = Collections.unmodifiableMap(new HashMap<>(ownTranslations));
+
+        Map<String, String> resolved = new HashMap<>();
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        List<String> chain = new ArrayList<>();
+        chain.add(locale);
+        if (fallback != null) {
+            resolved.putAll(fallback.translations);
+            compiled.putAll(fallback.templates);
+            chain.addAll(fallback.fallbackChain);
+        }
+        for (Map.Entry<String, String> entry : ownTranslations.entrySet()) {
+            resolved.put(entry.getKey(), entry.getValue());
+            compiled.put(entry.getKey(), compile(entry.getValue()));
+        }
+        this.translations = Collections.unmodifiableMap(resolved);
+        this.templates = Collections.unmodifiableMap(compiled);
+        this.fallbackChain = Collections.unmodifiableList(chain);
+    }
+
+
+    /**
+     * @return The locale the catalog is for.
+     */
+    public String getLocale() {
+        return locale;
+    }
+
+    /**
+     * @param key The translation key.
+     * @return The translation from this locale or, failing that, the nearest fallback; null if none has it.
+     */
+    public String get(String key) {
+        return translations.get(key);
+    }
+
+    /**
+     * @param key The translation key.
+     * @return The translation compiled for rendering with arguments; null if neither this locale nor a fallback has it.
+     */
+    public MessageTemplate getTemplate(String key) {
+        return templates.get(key);
+    }
+
+    /**
+     * @param key The translation key.
+     * @return true if this locale or one of its fallbacks has the key.
+     */
+    public boolean contains(String key) {
+        return translations.containsKey(key);
+    }
+
+    /**
+     * @param key The translation key.
+     * @return true if this locale's own file has the key, without falling back.
+     */
+    public boolean containsOwn(String key) {
+        return ownTranslations.containsKey(key);
+    }
+
+    /**
+     * @return The translations read from this locale's own file, without fallbacks.
+     */
+    public Map<String, String> getOwnTranslations() {
+        return ownTranslations;
+    }
+
+    /**
+     * @return The locales searched for a key, starting with this one.
+     */
+    public List<String> getFallbackChain() {
+        return fallbackChain;
+    }
+
+    /**
+     * @return The number of keys that resolve, including those from fallbacks.
+     */
+    public int size() {
+        return translations.size();
+    }
+
+
+
+
+    /**
+     * Most values are plain text, and a stray % in one must not stop the catalog loading,
+     * so anything that is not a valid format string renders exactly as written.
+     */
+    private static MessageTemplate compile(String value) {
+        if (value.indexOf('%') < 0) {
+            return MessageTemplate.literal(value);
+        }
+        try {
+            return MessageTemplate.compile(value);
+        } catch (IllegalArgumentException e) {
+            return MessageTemplate.literal(value);
+        }
+    }
+}
@@ -1,25 +1,58 @@
 /**
  * TranslationManager.java
- * Version: 2.0
+ * Version: 2.1
  * Author: Jibran Somroo
  * Date: April 8, 2025
  */
 
 package edu.ucalgary.oop;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class TranslationManager {
-    private final Map<String, String> TRANSLATIONS = new HashMap<>();
+    public static final String DEFAULT_LOCALE = "en-CA";
+    private static final Path CATALOG_DIRECTORY = Paths.get("data");
+    private static final String CATALOG_EXTENSION = ".xml";
+    // Only file names that look like locale tags take part in fallback, such as fr-CA or fr
+    private static final Pattern LOCALE_TAG = Pattern.compile("[a-z]{2,3}(-[A-Za-z0-9]+)*");
+
+    private final Path catalogDirectory;
+    private final Map<String, Translator> translators = new ConcurrentHashMap<>();
+    private volatile Translator defaultTranslator;
+    private CatalogWatcher watcher;
     private static TranslationManager instance;
 
     /**
      * Private constructor for singleton pattern
      */
-    private TranslationManager() {}
+    private TranslationManager() {
+        this(CATALOG_DIRECTORY);
+    }
+
+    /**
+     * Constructor for testing, reading catalogs from another directory.
+     *
+     * @param catalogDirectory The directory holding the catalogs.
+     */
+    TranslationManager(Path catalogDirectory) {
+        this.catalogDirectory = catalogDirectory.toAbsolutePath().normalize();
+    }
 
     /**
      * Singleton class to manage the translation system.
@@ -34,71 +67,320 @@ public class TranslationManager {
     }
 
     /**
-     * Loads translation data from a specified file.
+     * Retrieves the handle for a locale, loading data/[locale].xml the first time it is asked for.
+     * Each catalog is loaded once and shared by every session using the locale, so an English and a
+     * French operator can work side by side. Keys missing from the locale are taken from its fallbacks,
+     * for example fr-CA falls back to fr and then en-CA, whichever of those have a catalog.
      *
-     * @param filePath The path to the file containing the translation data.
+     * @param locale The locale, such as en-CA.
+     * @return The handle for the locale.
+     * @throws IllegalArgumentException If there is no catalog for the locale.
      */
-    public void loadTranslations(String filePath) {
-        FileModel fileModel = new FileModel(filePath, "");
-        try {
-            fileModel.openFile();
-            fileModel.readFile();
-            parseTranslations(fileModel.getFileContent());
-        } finally {
-            if (fileModel.getFileContent() != null) {
-                try {
-                    fileModel.closeFile();
-                } catch (Exception e) {
-                    // Test
-                }
-            }
+    public Translator getTranslator(String locale) {
+        Translator translator = translators.get(locale);
+        if (translator != null) {
+            return translator;
         }
+        return loadTranslator(locale);
     }
 
     /**
-     * Parses the given XML content to extract translations and stores them in the translations map.
+     * Makes a locale the default, used by the model classes and anything else without a session of its own.
+     * This changes the language for the whole program, so it is for configuring the program rather than
+     * for a session choosing its language; sessions take their own handle from getTranslator().
+     * Until a default is configured, en-CA is used.
      *
-     * @param xmlContent The XML content as a string that contains the translation entries.
+     * @param locale The locale, such as en-CA.
+     * @return The handle for the locale.
+     * @throws IllegalArgumentException If there is no catalog for the locale.
      */
-    private void parseTranslations(String xmlContent) {
-        TRANSLATIONS.clear(); // Clear any existing translations
+    public Translator useLocale(String locale) {
+        Translator translator = getTranslator(locale);
+        defaultTranslator = translator;
+        return translator;
+    }
 
-        // Regex pattern to match translation entries
-        Pattern pattern = Pattern.compile(
-                "<key>(.*?)</key>\\s*<value>(.*?)</value>",
-                Pattern.DOTALL
-        );
+    /**
+     * Loads translation data from a specified file and makes it the default.
+     * The file is named after its locale. For a file in the catalog directory, the locale's shared
+     * handle is pointed at the newly read catalog.
+     * The file is streamed through the XML parser straight into the catalog,
+     * without reading it into a String first. A malformed file is logged and leaves no translations.
+     *
+     * @param filePath The path to the file containing the translation data.
+     * @throws IllegalArgumentException If the file does not exist or cannot be read.
+     */
+    public void loadTranslations(String filePath) {
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File does not exist or path is invalid");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        TranslationCatalog catalog = readCatalog(directory, localeOf(path));
+        if (isCatalogDirectory(directory)) {
+            install(catalog);
+        } else {
+            // Files from elsewhere must not replace the shared handles of the real catalogs
+            defaultTranslator = new Translator(catalog);
+        }
+    }
 
-        Matcher matcher = pattern.matcher(xmlContent);
+    /**
+     * Starts watching the catalog directory, so catalogs edited while the program runs are read again
+     * in the background and swapped in without a restart. Each handle moves to its new catalog in a
+     * single step: lookups never block, and see either the old catalog or the new one, never a mix.
+     * Locales that fall back to a changed catalog are rebuilt too, so fr-CA picks up new en-CA keys.
+     * A catalog that no longer parses, or has been deleted, is logged and keeps its last good contents.
+     *
+     * @throws IOException If the directory cannot be watched.
+     */
+    public synchronized void watchCatalogs() throws IOException {
+        if (watcher == null) {
+            watcher = new CatalogWatcher(catalogDirectory, this::reloadCatalogs, CatalogWatcher.DEFAULT_QUIET_MILLIS);
+        }
+        watcher.start();
+    }
 
-        while (matcher.find()) {
-            String key = matcher.group(1).trim();
-            String value = matcher.group(2).trim();
-            TRANSLATIONS.put(key, value);
+    /**
+     * Stops watching the catalog directory.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
         }
     }
 
     /**
-     * Retrieves the translation for the specified key.
+     * Retrieves the translation for the specified key from the default locale.
      *
      * @param key The translation key whose value is to be retrieved.
      * @return The translation value corresponding to the given key.
      * @throws IllegalArgumentException if the key does not exist in the translations map.
      */
     public String getTranslation(String key) {
-        if (!TRANSLATIONS.containsKey(key)) {
+        Translator translator = defaultTranslator();
+        if (translator == null) {
+            throw new IllegalArgumentException("No translation found for key: " + key);
+        }
+        return translator.getTranslation(key);
+    }
+
+    /**
+     * Renders the translation for the specified key from the default locale with arguments.
+     * The translation was compiled into a MessageTemplate when its catalog was loaded, so this
+     * does no format parsing.
+     *
+     * @param key The translation key.
+     * @param args The values for the translation's placeholders.
+     * @return The rendered translation.
+     * @throws IllegalArgumentException if the key does not exist or the arguments do not fit its placeholders.
+     */
+    public String format(String key, Object... args) {
+        Translator translator = defaultTranslator();
+        if (translator == null) {
             throw new IllegalArgumentException("No translation found for key: " + key);
         }
-        return TRANSLATIONS.get(key);
+        return translator.format(key, args);
     }
 
     /**
-     * Checks if a translation exists for the specified key.
+     * Checks if a translation exists for the specified key in the default locale.
      *
      * @param key The translation key to check for existence.
      * @return true if the key exists in the translations map, false otherwise.
      */
     public boolean hasTranslation(String key) {
-        return TRANSLATIONS.containsKey(key);
+        Translator translator = defaultTranslator();
+        return translator != null && translator.hasTranslation(key);
+    }
+
+
+
+
+    /**
+     * Reads changed catalogs again and swaps them into their handles, along with every loaded locale
+     * that falls back to one of them. Locales with fewer fallbacks are rebuilt first, so each locale
+     * is resolved against catalogs that are already up to date. Locales never loaded are skipped.
+     *
+     * @param locales The locales whose catalog files changed.
+     */
+    synchronized void reloadCatalogs(Collection<String> locales) {
+        List<Translator> affected = new ArrayList<>();
+        for (Translator translator : translators.values()) {
+            String locale = translator.getLocale();
+            if (locales.contains(locale) || !Collections.disjoint(locales, fallbackLocales(locale))) {
+                affected.add(translator);
+            }
+        }
+        affected.sort(Comparator.comparingInt(translator -> fallbackLocales(translator.getLocale()).size()));
+
+        for (Translator translator : affected) {
+            String locale = translator.getLocale();
+            Map<String, String> own = null;
+            if (locales.contains(locale)) {
+                own = rereadFile(catalogDirectory.resolve(locale + CATALOG_EXTENSION));
+            }
+            if (own == null) {
+                own = translator.getCatalog().getOwnTranslations();
+            }
+            translator.setCatalog(new TranslationCatalog(locale, own, resolveFallback(catalogDirectory, locale)));
+        }
+    }
+
+    /**
+     * Loads a catalog from the catalog directory. Loading is rare, so it is serialized
+     * to make sure each locale is only read once; lookups never take this lock.
+     */
+    private synchronized Translator loadTranslator(String locale) {
+        Translator translator = translators.get(locale);
+        if (translator == null) {
+            if (!Files.isRegularFile(catalogDirectory.resolve(locale + CATALOG_EXTENSION))) {
+                throw new IllegalArgumentException("No translations found for locale: " + locale);
+            }
+            translator = new Translator(readCatalog(catalogDirectory, locale));
+            translators.put(locale, translator);
+        }
+        return translator;
+    }
+
+    /**
+     * @return The configured default, or the en-CA handle if none has been configured, or null if
+     *         there is no en-CA catalog either.
+     */
+    private Translator defaultTranslator() {
+        Translator translator = defaultTranslator;
+        if (translator == null && Files.isRegularFile(catalogDirectory.resolve(DEFAULT_LOCALE + CATALOG_EXTENSION))) {
+            translator = getTranslator(DEFAULT_LOCALE);
+        }
+        return translator;
+    }
+
+    /**
+     * Points the locale's handle at a catalog, creating the handle if needed, and makes it the default.
+     */
+    private synchronized void install(TranslationCatalog catalog) {
+        Translator translator = translators.get(catalog.getLocale());
+        if (translator == null) {
+            translator = new Translator(catalog);
+            translators.put(catalog.getLocale(), translator);
+        } else {
+            translator.setCatalog(catalog);
+        }
+        defaultTranslator = translator;
+    }
+
+    /**
+     * Reads a locale's catalog and resolves its fallback from the catalogs next to it.
+     * Fallbacks in the catalog directory come from the shared handles, so they are only read once.
+     */
+    private TranslationCatalog readCatalog(Path directory, String locale) {
+        return new TranslationCatalog(locale, readFile(directory.resolve(locale + CATALOG_EXTENSION)),
+                resolveFallback(directory, locale));
+    }
+
+    /**
+     * Finds the nearest fallback of a locale that has a catalog next to it.
+     *
+     * @return The fallback catalog, or null if there is none.
+     */
+    private TranslationCatalog resolveFallback(Path directory, String locale) {
+        for (String candidate : fallbackLocales(locale)) {
+            if (Files.isRegularFile(directory.resolve(candidate + CATALOG_EXTENSION))) {
+                return isCatalogDirectory(directory)
+                        ? getTranslator(candidate).getCatalog()
+                        : readCatalog(directory, candidate);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Streams a catalog file through the XML parser.
+     */
+    private Map<String, String> readFile(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return parseTranslations(in);
+        } catch (IOException e) {
+            ErrorLogger.getInstance().logError(e, "TranslationManager.loadTranslations()");
+            throw new IllegalArgumentException("File could not be read: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a changed catalog file. Unlike a first load, a file that cannot be read or parsed,
+     * perhaps because it is still being saved, gives null so the last good catalog stays in use.
+     */
+    private Map<String, String> rereadFile(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return TranslationParser.parse(in);
+        } catch (IOException | XMLStreamException e) {
+            ErrorLogger.getInstance().logError(e, "TranslationManager.reloadCatalogs()");
+            return null;
+        }
+    }
+
+    /**
+     * Parses the given XML content to extract translations and makes them the default catalog,
+     * with no fallback.
+     *
+     * @param xmlContent The XML content as a string that contains the translation entries.
+     */
+    private void parseTranslations(String xmlContent) {
+        try {
+            Map<String, String> translations = parseTranslations(
+                    new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+            defaultTranslator = new Translator(new TranslationCatalog("inline", translations, null));
+        } catch (IOException e) {
+            // A byte array never fails to read
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parses an XML catalog. A malformed catalog is logged and gives no translations.
+     *
+     * @param in The UTF-8 encoded catalog.
+     * @return The translations in the catalog.
+     * @throws IOException If the catalog cannot be read.
+     */
+    private Map<String, String> parseTranslations(InputStream in) throws IOException {
+        try {
+            return TranslationParser.parse(in);
+        } catch (XMLStreamException e) {
+            ErrorLogger.getInstance().logError(e, "TranslationManager.parseTranslations()");
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Works out where a locale's missing keys come from, nearest first: each shorter form of the tag,
+     * then the default locale. The default locale itself falls back to nothing, so chains always end.
+     *
+     * @param locale The locale.
+     * @return The candidate fallback locales; empty for file names that are not locale tags.
+     */
+    static List<String> fallbackLocales(String locale) {
+        List<String> fallbacks = new ArrayList<>();
+        if (locale.equals(DEFAULT_LOCALE) || !LOCALE_TAG.matcher(locale).matches()) {
+            return fallbacks;
+        }
+        String tag = locale;
+        int dash;
+        while ((dash = tag.lastIndexOf('-')) > 0) {
+            tag = tag.substring(0, dash);
+            fallbacks.add(tag);
+        }
+        fallbacks.add(DEFAULT_LOCALE);
+        return fallbacks;
+    }
+
+    private static String localeOf(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(CATALOG_EXTENSION) ? name.substring(0, name.length() - CATALOG_EXTENSION.length()) : name;
+    }
+
+    private boolean isCatalogDirectory(Path directory) {
+        return directory.normalize().equals(catalogDirectory);
     }
-}
\ No newline at end of file
+}
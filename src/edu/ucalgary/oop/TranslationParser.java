@@ -0,0 +1,158 @@
+/**
+ * TranslationParser.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TranslationParser {
+    // The catalogs are a list of <translation> elements with no root, so the stream is wrapped in one
+    private static final byte[] ROOT_START = "<catalog>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROOT_END = "</catalog>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int PROLOG_LIMIT = 256;
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+
+    /**
+     * Parses a catalog of translations in the form
+     * {@code <translation><key>k</key><value>v</value></translation>}, straight from the stream into the map.
+     * The catalog may or may not have a root element. Entities and CDATA sections are resolved,
+     * keys and values are trimmed, and a later entry replaces an earlier one with the same key.
+     * Entries missing a key or a value are skipped.
+     *
+     * @param in The UTF-8 encoded catalog. It is read to the end but not closed.
+     * @return The translations, keyed by translation key.
+     * @throws XMLStreamException If the catalog is not well-formed XML.
+     * @throws IOException If the stream cannot be read.
+     */
+    public static Map<String, String> parse(InputStream in) throws XMLStreamException, IOException {
+        InputStream wrapped = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                new ByteArrayInputStream(ROOT_START),
+                skipProlog(in),
+                new ByteArrayInputStream(ROOT_END))));
+
+        XMLStreamReader reader;
+        // Factories are not guaranteed to be thread safe, the readers they create are independent
+        synchronized (FACTORY) {
+            reader = FACTORY.createXMLStreamReader(wrapped, StandardCharsets.UTF_8.name());
+        }
+        try {
+            return readTranslations(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Parses a catalog held in a string, as parse(InputStream) does.
+     *
+     * @param xmlContent The catalog.
+     * @return The translations, keyed by translation key.
+     * @throws XMLStreamException If the catalog is not well-formed XML.
+     */
+    public static Map<String, String> parse(String xmlContent) throws XMLStreamException {
+        try {
+            return parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            // A byte array never fails to read
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        // Catalogs come from translators, never let them pull in other files
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static Map<String, String> readTranslations(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> translations = new HashMap<>();
+        String key = null;
+
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "translation":
+                    key = null;
+                    break;
+                case "key":
+                    key = reader.getElementText().trim();
+                    break;
+                case "value":
+                    String value = reader.getElementText().trim();
+                    if (key != null) {
+                        translations.put(key, value);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return translations;
+    }
+
+    /**
+     * Skips a byte order mark and an XML declaration, which are not allowed inside the synthetic root.
+     */
+    private static InputStream skipProlog(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(PROLOG_LIMIT);
+        byte[] head = new byte[PROLOG_LIMIT];
+        int length = buffered.readNBytes(head, 0, PROLOG_LIMIT);
+        buffered.reset();
+
+        int skip = 0;
+        if (startsWith(head, length, UTF8_BOM)) {
+            skip = UTF8_BOM.length;
+        }
+        String start = new String(head, skip, length - skip, StandardCharsets.UTF_8);
+        if (start.startsWith("<?xml")) {
+            int end = start.indexOf("?>");
+            if (end >= 0) {
+                skip += start.substring(0, end + 2).getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        buffered.skipNBytes(skip);
+        return buffered;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
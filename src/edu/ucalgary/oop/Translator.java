@@ -0,0 +1,107 @@
+/**
+ * Translator.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+public class Translator {
+    private final String locale;
+    private volatile TranslationCatalog catalog;
+
+
+    /**
+     * Constructs a handle bound to one locale's catalog.
+     * Handles are shared between sessions; lookups only read the immutable catalog, so they never lock.
+     *
+     * @param catalog The catalog to translate with.
+     */
+    public Translator(TranslationCatalog catalog) {
+        this.locale = catalog.getLocale();
+        this.catalog = catalog;
+    }
+
+
+    /**
+     * Retrieves the translation for the specified key, falling back along the catalog's chain.
+     *
+     * @param key The translation key whose value is to be retrieved.
+     * @return The translation value corresponding to the given key.
+     * @throws IllegalArgumentException if neither the locale nor any of its fallbacks has the key.
+     */
+    public String getTranslation(String key) {
+        String value = catalog.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("No translation found for key: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the translation for the specified key, compiled when the catalog was loaded.
+     * Callers printing many lines should hold on to the template and render it into a reused buffer.
+     *
+     * @param key The translation key whose template is to be retrieved.
+     * @return The compiled translation.
+     * @throws IllegalArgumentException if neither the locale nor any of its fallbacks has the key.
+     */
+    public MessageTemplate getTemplate(String key) {
+        MessageTemplate template = catalog.getTemplate(key);
+        if (template == null) {
+            throw new IllegalArgumentException("No translation found for key: " + key);
+        }
+        return template;
+    }
+
+    /**
+     * Renders the translation for the specified key with arguments, without parsing it again.
+     *
+     * @param key The translation key.
+     * @param args The values for the translation's placeholders.
+     * @return The rendered translation.
+     * @throws IllegalArgumentException if the key does not resolve or the arguments do not fit its placeholders.
+     */
+    public String format(String key, Object... args) {
+        return getTemplate(key).format(args);
+    }
+
+    /**
+     * Checks if a translation exists for the specified key in the locale or one of its fallbacks.
+     *
+     * @param key The translation key to check for existence.
+     * @return true if the key resolves, false otherwise.
+     */
+    public boolean hasTranslation(String key) {
+        return catalog.contains(key);
+    }
+
+    /**
+     * @return The locale this handle is bound to.
+     */
+    public String getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return The catalog currently behind this handle.
+     */
+    public TranslationCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Points the handle at a newer catalog for the same locale. Lookups already running finish
+     * against the catalog they started with.
+     *
+     * @param catalog The new catalog.
+     * @throws IllegalArgumentException If the catalog is for another locale.
+     */
+    void setCatalog(TranslationCatalog catalog) {
+        if (!locale.equals(catalog.getLocale())) {
+            throw new IllegalArgumentException("Catalog is for " + catalog.getLocale() + ", not " + locale);
+        }
+        this.catalog = catalog;
+    }
+}
@@ -1,27 +1,45 @@
 /**
  * UserView.java
- * Version: 4.0
+ * Version: 4.1
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
 
 package edu.ucalgary.oop;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 
 public class UserView {
 
-    private static TranslationManager translationManager;
+    // Each session has its own locale; the TranslationManager default is left alone
+    private Translator translator;
     private static LocationController locationController;
     private static SupplyController supplyController;
     private static MedicalRecordController medicalRecordController;
     private static PersonController personController;
     private static InquiryController inquiryController;
+    private static ControllerBootstrap bootstrap;
     private static ErrorLogger errorLogger = ErrorLogger.getInstance();
 
+    // Table layouts, compiled once instead of being parsed by printf for every row
+    private static final MessageTemplate ROW_3 = MessageTemplate.compile("%-8s %-15s %-20s%n");
+    private static final MessageTemplate ROW_4 = MessageTemplate.compile("%-8s %-15s %-20s %-20s%n");
+    private static final MessageTemplate LOCATION_ROW = MessageTemplate.compile("%-8s %-25s %-30s%n");
+    private static final MessageTemplate OCCUPANT_ROW = MessageTemplate.compile("%-8s %-15s %-15s%n");
+    private static final MessageTemplate PERSON_SUMMARY = MessageTemplate.compile("ID: %d, Name: %s %s%n");
+    private static final MessageTemplate PERSON_ROW = MessageTemplate.compile("%-8s %-15s %-15s %-12s %-20s %-15s %-10s%n");
+    private static final MessageTemplate MEDICAL_RECORD_ROW = MessageTemplate.compile("%-8s %-25s %-25s %-15s %-30s%n");
+    private static final MessageTemplate INQUIRY_ROW = MessageTemplate.compile("%-8s %-25s %-25s %-15s %-25s %-30s%n");
+    // Reused by every row this session prints, all from its console thread
+    private final StringBuilder rowBuffer = new StringBuilder(160);
+
 
 
     /**
@@ -36,11 +54,20 @@ public class UserView {
      * - PersonController: Manages person-related operations
      * - InquiryController: Handles user inquiries
      *
-     * The translationManager is used to load and manage translation files for different languages.
+     * The controllers load their data concurrently in the background, each reporting how long it took,
+     * so the main menu can be shown before the slower ones have finished.
+     *
+     * The translator is this session's handle on the chosen locale's catalog from the shared TranslationManager,
+     * so choosing a locale does not change the language of other sessions or of the TranslationManager default;
+     * keys missing from the locale fall back to en-CA. Edits to the catalogs are reloaded in the background.
+     *
+     * Errors are logged asynchronously from here on, waiting only if the log buffer fills up.
      */
     public UserView() {
+        // Failure paths only queue their entries; a background thread writes them to the log
+        errorLogger.startAsync(ErrorLogger.DEFAULT_BUFFER_CAPACITY, ErrorLogger.OverflowPolicy.BLOCK);
         Scanner scanner = new Scanner(System.in);
-        translationManager = TranslationManager.getInstance();
+        TranslationManager translationManager = TranslationManager.getInstance();
 
         try {
             System.out.print("Enter language code (or press Enter for default 'en-CA'): ");
@@ -48,11 +75,11 @@ public class UserView {
 
             // Default if empty
             if (languageCode.isEmpty()) {
-                languageCode = "en-CA";
+                languageCode = TranslationManager.DEFAULT_LOCALE;
             }
 
-            // Try loading user-specified translation
-            translationManager.loadTranslations("data/" + languageCode + ".xml");
+            // Try loading user-specified translation for this session only
+            translator = translationManager.getTranslator(languageCode);
 
         } catch (Exception e) {
             System.err.println("Error loading translations: " + e.getMessage());
@@ -60,7 +87,7 @@ public class UserView {
 
             try {
                 // Fallback to default
-                translationManager.loadTranslations("data/en-CA.xml");
+                translator = translationManager.getTranslator(TranslationManager.DEFAULT_LOCALE);
             } catch (Exception defaultException) {
                 errorLogger.logFatalError(defaultException, "UserView constructor - loading default translations",
                         "Fatal error: Could not load any translations!");
@@ -69,13 +96,75 @@ public class UserView {
             }
         }
 
-        supplyController = new SupplyController();
-        locationController = new LocationController();
-        medicalRecordController = new MedicalRecordController();
-        personController = new PersonController();
-        inquiryController = new InquiryController();
+        // Catalogs edited while the shelter is running are picked up without a restart
+        try {
+            translationManager.watchCatalogs();
+        } catch (IOException e) {
+            errorLogger.logError(e, "UserView constructor - watching translation catalogs");
+        }
+
+        bootstrap = ControllerBootstrap.start((controllerName, millis, failure) -> {
+            if (failure == null) {
+                System.out.println(translator.format("controller_loaded", controllerName, millis));
+            } else {
+                errorLogger.logError(failure, "UserView constructor - loading " + controllerName);
+                System.err.println(translator.format("controller_load_failed",
+                        controllerName, failure.getMessage()));
+            }
+        });
+    }
 
 
+    /**
+     * Waits for the controllers a data menu works with, then makes them available to it.
+     * The menus for locations, supplies, inquiries and medical records also look up people
+     * and locations, so those two are needed by every menu.
+     *
+     * @param choice The main menu option, from 1 to 5.
+     * @throws RuntimeException if one of those controllers failed to load. Choosing the menu
+     *                          again retries the load.
+     */
+    private void awaitControllers(int choice) {
+        String menuController;
+        switch (choice) {
+            case 2:
+            case 3:
+                menuController = "SupplyController";
+                break;
+            case 4:
+                menuController = "InquiryController";
+                break;
+            case 5:
+                menuController = "MedicalRecordController";
+                break;
+            default:
+                menuController = null;
+        }
+
+        if (!bootstrap.isLoaded("PersonController") || !bootstrap.isLoaded("LocationController")
+                || (menuController != null && !bootstrap.isLoaded(menuController))) {
+            System.out.println(translator.getTranslation("waiting_for_data"));
+        }
+        personController = bootstrap.getPersonController();
+        locationController = bootstrap.getLocationController();
+        if ("SupplyController".equals(menuController)) {
+            supplyController = bootstrap.getSupplyController();
+        } else if ("InquiryController".equals(menuController)) {
+            inquiryController = bootstrap.getInquiryController();
+        } else if ("MedicalRecordController".equals(menuController)) {
+            medicalRecordController = bootstrap.getMedicalRecordController();
+        }
+    }
+
+    /**
+     * Prints one table row, rendering the compiled layout into the shared row buffer.
+     *
+     * @param layout The row layout.
+     * @param values The column values.
+     */
+    private void printRow(MessageTemplate layout, Object... values) {
+        rowBuffer.setLength(0);
+        System.out.print(layout.renderTo(rowBuffer, values));
     }
 
 
@@ -87,23 +176,29 @@ public class UserView {
      * case it calls that specific function or if exit is chose it
      * ends the program.
      */
-    public static void displayMenuOptions() {
+    public void displayMenuOptions() {
         Scanner scanner = new Scanner(System.in);
         boolean exit = false;
 
         while (!exit) {
-            System.out.println("\n" + translationManager.getTranslation("program_title") + "\n");
-            System.out.println("1. " + translationManager.getTranslation("location_detail"));
-            System.out.println("2. " + translationManager.getTranslation("person_detail"));
-            System.out.println("3. " + translationManager.getTranslation("supply_detail"));
-            System.out.println("4. " + translationManager.getTranslation("inquiry_detail"));
-            System.out.println("5. " + translationManager.getTranslation("medical_detail"));
-            System.out.println("0. " + translationManager.getTranslation("exit"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("program_title") + "\n");
+            System.out.println("1. " + translator.getTranslation("location_detail"));
+            System.out.println("2. " + translator.getTranslation("person_detail"));
+            System.out.println("3. " + translator.getTranslation("supply_detail"));
+            System.out.println("4. " + translator.getTranslation("inquiry_detail"));
+            System.out.println("5. " + translator.getTranslation("medical_detail"));
+            System.out.println("6. " + translator.getTranslation("export_data"));
+            System.out.println("0. " + translator.getTranslation("exit"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
 
+                // Only the data menus need the controllers; exporting and exiting never wait for them
+                if (choice >= 1 && choice <= 5) {
+                    awaitControllers(choice);
+                }
+
                 switch (choice) {
                     case 1:
                         displayLocationDetails();
@@ -120,17 +215,20 @@ public class UserView {
                     case 5:
                         displayMedicalDetails();
                         break;
+                    case 6:
+                        exportData();
+                        break;
                     case 0:
                         exit = true;
-                        System.out.println(translationManager.getTranslation("system_exit"));
+                        System.out.println(translator.getTranslation("system_exit"));
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("invalid_choice_main_menu"));
+                        System.out.println(translator.getTranslation("invalid_choice_main_menu"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
@@ -138,6 +236,43 @@ public class UserView {
     }
 
 
+    /**
+     * Prompts the user for an export format, compression and directory, then streams every
+     * handover table (people, locations, supplies, allocations, medical records and inquiries)
+     * into that directory with one file per table.
+     */
+    public void exportData() {
+        Scanner scanner = new Scanner(System.in);
+
+        try {
+            System.out.print(translator.getTranslation("export_format_choice") + " ");
+            int formatChoice = Integer.parseInt(scanner.nextLine().trim());
+            DataExporter.Format format;
+            if (formatChoice == 1) {
+                format = DataExporter.Format.CSV;
+            } else if (formatChoice == 2) {
+                format = DataExporter.Format.NDJSON;
+            } else {
+                System.out.println(translator.getTranslation("invalid_input"));
+                return;
+            }
+
+            System.out.print(translator.getTranslation("export_gzip") + " ");
+            boolean gzip = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+            System.out.print(translator.getTranslation("export_directory") + " ");
+            Path directory = Paths.get(scanner.nextLine().trim());
+
+            DataExporter exporter = new DataExporter(DatabaseManager.getInstance().getConnectionPool());
+            for (Path file : exporter.exportAll(directory, format, gzip)) {
+                System.out.println(translator.format("export_file_written", file));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(translator.getTranslation("invalid_input"));
+        } catch (IOException | SQLException e) {
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
+        }
+    }
 
 
 
@@ -148,20 +283,20 @@ public class UserView {
      * Displays the supply details menu and handles user input for supply-related operations.
      * If the user enters an invalid option or non-numeric input, an appropriate error message is shown.
      */
-    public static void displaySupplyDetails() {
+    public void displaySupplyDetails() {
         Scanner scanner = new Scanner(System.in);
         boolean stayInMenu = true;
 
         while (stayInMenu) {
             // Display menu options
-            System.out.println("\n" + translationManager.getTranslation("supply_detail"));
-            System.out.println("1. " + translationManager.getTranslation("view_all_supply"));
-            System.out.println("2. " + translationManager.getTranslation("add_new_supply"));
-            System.out.println("3. " + translationManager.getTranslation("update_supply"));
-            System.out.println("4. " + translationManager.getTranslation("allocate_supply"));
-            System.out.println("5. " + translationManager.getTranslation("view_allocated_supplies"));
-            System.out.println(translationManager.getTranslation("back_to_menu"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("supply_detail"));
+            System.out.println("1. " + translator.getTranslation("view_all_supply"));
+            System.out.println("2. " + translator.getTranslation("add_new_supply"));
+            System.out.println("3. " + translator.getTranslation("update_supply"));
+            System.out.println("4. " + translator.getTranslation("allocate_supply"));
+            System.out.println("5. " + translator.getTranslation("view_allocated_supplies"));
+            System.out.println(translator.getTranslation("back_to_menu"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -186,12 +321,12 @@ public class UserView {
                         stayInMenu = false;
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("invalid_choice_supply"));
+                        System.out.println(translator.getTranslation("invalid_choice_supply"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace(); // Useful for debugging
             }
         }
@@ -201,16 +336,16 @@ public class UserView {
      * Displays a list of all supplies with their details in a formatted table.
      * A separator line is printed before and after the list to improve the readability of the output.
      */
-    public static void viewAllSupplies() {
+    public void viewAllSupplies() {
         System.out.println("\n-----------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"), translationManager.getTranslation("alloc_date"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type2"), translator.getTranslation("alloc_date"));
         System.out.println("-----------------------------------------------------------");
 
         // Print each supply with consistent formatting
-        for (Supply supply : supplyController.getAllSupplies()) {
+        for (Supply supply : supplyController.getSuppliesSnapshot()) {
             if(supply instanceof Water){
-                System.out.printf("%-8s %-15s %-20s%n",
+                printRow(ROW_3,
                         supply.getSupplyId(),
                         supply.getSupplyType(),
                         ((Water) supply).getAllocationDate());
@@ -221,15 +356,15 @@ public class UserView {
 
 
         System.out.println("\n-----------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"), translationManager.getTranslation("grid_loc"),
-                translationManager.getTranslation("room_loc"));
+        printRow(ROW_4, translator.getTranslation("id"),
+                translator.getTranslation("type2"), translator.getTranslation("grid_loc"),
+                translator.getTranslation("room_loc"));
         System.out.println("-----------------------------------------------------------");
 
         // Print each supply with consistent formatting
-        for (Supply supply : supplyController.getAllSupplies()) {
+        for (Supply supply : supplyController.getSuppliesSnapshot()) {
             if(supply instanceof Cot){
-                System.out.printf("%-8s %-15s %-20s %-20s%n",
+                printRow(ROW_4,
                         supply.getSupplyId(),
                         supply.getSupplyType(),
                         ((Cot) supply).getGridLocation(),
@@ -240,14 +375,14 @@ public class UserView {
         System.out.println("-----------------------------------------------------------");
 
         System.out.println("\n-----------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"), translationManager.getTranslation("comments2"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type2"), translator.getTranslation("comments2"));
         System.out.println("-----------------------------------------------------------");
 
         // Print each supply with consistent formatting
-        for (Supply supply : supplyController.getAllSupplies()) {
+        for (Supply supply : supplyController.getSuppliesSnapshot()) {
             if(supply instanceof PersonalBelonging){
-                System.out.printf("%-8s %-15s %-20s%n",
+                printRow(ROW_3,
                         supply.getSupplyId(),
                         supply.getSupplyType(),
                         ((PersonalBelonging) supply).getItemDescription());
@@ -257,14 +392,14 @@ public class UserView {
         System.out.println("-----------------------------------------------------------");
 
         System.out.println("\n-----------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"), translationManager.getTranslation("comments2"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type2"), translator.getTranslation("comments2"));
         System.out.println("-----------------------------------------------------------");
 
         // Print each supply with consistent formatting
-        for (Supply supply : supplyController.getAllSupplies()) {
+        for (Supply supply : supplyController.getSuppliesSnapshot()) {
             if(supply instanceof Blanket){
-                System.out.printf("%-8s %-15s %-20s%n",
+                printRow(ROW_3,
                         supply.getSupplyId(),
                         supply.getSupplyType(),
                         ((Blanket) supply).getSupplyName());
@@ -275,15 +410,15 @@ public class UserView {
 
 
         System.out.println("\n-----------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type3"),
-                translationManager.getTranslation("comments2"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type3"),
+                translator.getTranslation("comments2"));
         System.out.println("-----------------------------------------------------------");
 
         // Print each supply with consistent formatting
-        for (Supply supply : supplyController.getAllSupplies()) {
+        for (Supply supply : supplyController.getSuppliesSnapshot()) {
             if(!(supply instanceof Blanket) && !(supply instanceof PersonalBelonging) && !(supply instanceof Cot) && !(supply instanceof Water)){
-                System.out.printf("%-8s %-15s %-20s%n",
+                printRow(ROW_3,
                         supply.getSupplyId(),
                         supply.getSupplyType(),
                         supply.getSupplyName());
@@ -309,26 +444,26 @@ public class UserView {
      *
      * If an error occurs (e.g., invalid input), appropriate error messages are shown.
      */
-    public static void addNewSupply() {
+    public void addNewSupply() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("add_new_supply"));
+        System.out.println("\n" + translator.getTranslation("add_new_supply"));
         System.out.println("----------------");
 
         try {
             // Select supply type
-            System.out.println(translationManager.getTranslation("supply_selection_title"));
-            System.out.println(translationManager.getTranslation("supply_selection1"));
-            System.out.println(translationManager.getTranslation("supply_selection2"));
-            System.out.println(translationManager.getTranslation("supply_selection3"));
-            System.out.println(translationManager.getTranslation("supply_selection4"));
-            System.out.println(translationManager.getTranslation("supply_selection5"));
-            System.out.println(translationManager.getTranslation("supply_selection0"));
-            System.out.print(translationManager.getTranslation("supply_selection_choices") + " ");
+            System.out.println(translator.getTranslation("supply_selection_title"));
+            System.out.println(translator.getTranslation("supply_selection1"));
+            System.out.println(translator.getTranslation("supply_selection2"));
+            System.out.println(translator.getTranslation("supply_selection3"));
+            System.out.println(translator.getTranslation("supply_selection4"));
+            System.out.println(translator.getTranslation("supply_selection5"));
+            System.out.println(translator.getTranslation("supply_selection0"));
+            System.out.print(translator.getTranslation("supply_selection_choices") + " ");
             int typeChoice = Integer.parseInt(scanner.nextLine());
 
             if (typeChoice == 0) {
-                System.out.println(translationManager.getTranslation("supply_selection_return"));
+                System.out.println(translator.getTranslation("supply_selection_return"));
                 return;  // This exits the method and returns to the calling menu
             }
 
@@ -347,30 +482,30 @@ public class UserView {
                     // Validate room location (must be a number)
                     String roomLocation;
                     while (true) {
-                        System.out.print(translationManager.getTranslation("cot_input_room") + " ");
+                        System.out.print(translator.getTranslation("cot_input_room") + " ");
                         roomLocation = scanner.nextLine();
                         if (roomLocation.matches("\\d+")) { // Checks if it's one or more digits
                             break;
                         }
-                        System.out.println(translationManager.getTranslation("invalid_room_format"));
+                        System.out.println(translator.getTranslation("invalid_room_format"));
                     }
 
                     // Validate grid location (must be letter + number)
                     String gridLocation;
                     while (true) {
-                        System.out.print(translationManager.getTranslation("cot_input_grid") + " ");
+                        System.out.print(translator.getTranslation("cot_input_grid") + " ");
                         gridLocation = scanner.nextLine().toUpperCase(); // Convert to uppercase for consistency
                         if (gridLocation.matches("[A-Z]\\d+")) { // Checks for letter followed by one or more digits
                             break;
                         }
-                        System.out.println(translationManager.getTranslation("invalid_grid_format"));
+                        System.out.println(translator.getTranslation("invalid_grid_format"));
                     }
 
                     newSupply = new Cot(roomLocation + " " + gridLocation, "cot", roomLocation, gridLocation);
                     break;
 
                 case 3: // Personal Belonging
-                    System.out.print(translationManager.getTranslation("personal_item_input_description") + " ");
+                    System.out.print(translator.getTranslation("personal_item_input_description") + " ");
                     String description = scanner.nextLine();
 
                     newSupply = new PersonalBelonging(description, "personal item", description);
@@ -379,7 +514,7 @@ public class UserView {
                 case 4: // Water
                     newSupply = new Water(null, "water");
 
-                    System.out.print(translationManager.getTranslation("water_input_date") + " ");
+                    System.out.print(translator.getTranslation("water_input_date") + " ");
                     String allocationDate = scanner.nextLine();
                     if(allocationDate.isEmpty()) {
                         ((Water)newSupply).setAllocationDate(null);
@@ -389,9 +524,9 @@ public class UserView {
                     break;
 
                 default:
-                    System.out.print(translationManager.getTranslation("general_supply_input_type") + " ");
+                    System.out.print(translator.getTranslation("general_supply_input_type") + " ");
                     String supplyType = scanner.nextLine();
-                    System.out.print(translationManager.getTranslation("general_supply_input_comments") + " ");
+                    System.out.print(translator.getTranslation("general_supply_input_comments") + " ");
                     String name = scanner.nextLine();
                     newSupply = new Supply(name, supplyType);
                     break;
@@ -401,15 +536,15 @@ public class UserView {
             // Add the supply through the controller
             supplyController.addSupply(newSupply);
 
-            System.out.println("\n" + translationManager.getTranslation("successful_supply_addition"));
-            System.out.println(translationManager.getTranslation("type") + ": " + newSupply.getSupplyType());
-            System.out.println(translationManager.getTranslation("comments") + ": " + newSupply.getSupplyName());
+            System.out.println("\n" + translator.getTranslation("successful_supply_addition"));
+            System.out.println(translator.getTranslation("type") + ": " + newSupply.getSupplyType());
+            System.out.println(translator.getTranslation("comments") + ": " + newSupply.getSupplyName());
 
             // Display additional info based on type
             if (newSupply instanceof Cot) {
                 Cot cot = (Cot)newSupply;
-                System.out.println(translationManager.getTranslation("room_location") + ": " + cot.getRoomLocation());
-                System.out.println(translationManager.getTranslation("grid_location") + ": " + cot.getGridLocation());
+                System.out.println(translator.getTranslation("room_location") + ": " + cot.getRoomLocation());
+                System.out.println(translator.getTranslation("grid_location") + ": " + cot.getGridLocation());
             }
             else if (newSupply instanceof PersonalBelonging) {
                 PersonalBelonging pb = (PersonalBelonging)newSupply;
@@ -417,15 +552,15 @@ public class UserView {
             }
             else if (newSupply instanceof Water) {
                 Water water = (Water)newSupply;
-                System.out.println(translationManager.getTranslation("allocation_date") + ": " + water.getAllocationDate());
+                System.out.println(translator.getTranslation("allocation_date") + ": " + water.getAllocationDate());
             }
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1")+": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1")+": " + e.getMessage());
         }
     }
 
@@ -433,15 +568,15 @@ public class UserView {
     /**
      * Displays a menu for viewing allocated supplies based on either a person or a location.
      */
-    public static void viewAllocatedSupplies() {
+    public void viewAllocatedSupplies() {
         Scanner scanner = new Scanner(System.in);
 
         try {
-            System.out.println("\n" + translationManager.getTranslation("view_allocated_supplies"));
-            System.out.println(translationManager.getTranslation("view_person_allocated_supplies"));
-            System.out.println(translationManager.getTranslation("view_location_allocated_supplies"));
-            System.out.println(translationManager.getTranslation("view_allocated_supplies_return"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("view_allocated_supplies"));
+            System.out.println(translator.getTranslation("view_person_allocated_supplies"));
+            System.out.println(translator.getTranslation("view_location_allocated_supplies"));
+            System.out.println(translator.getTranslation("view_allocated_supplies_return"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             int choice = Integer.parseInt(scanner.nextLine());
 
@@ -455,12 +590,12 @@ public class UserView {
                 case 0:
                     return;
                 default:
-                    System.out.println(translationManager.getTranslation("view_allocated_supplies_invalid"));
+                    System.out.println(translator.getTranslation("view_allocated_supplies_invalid"));
             }
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -473,32 +608,32 @@ public class UserView {
      *
      * @throws SQLException If there is an error retrieving data from the database.
      */
-    private static void viewSuppliesAllocatedToPerson() throws SQLException {
+    private void viewSuppliesAllocatedToPerson() throws SQLException {
         Scanner scanner = new Scanner(System.in);
 
         // First show all people
-        System.out.println("\n" + translationManager.getTranslation("available_people"));
-        for (Person person : personController.getAllPeople()) {
+        System.out.println("\n" + translator.getTranslation("available_people"));
+        for (Person person : personController.getPeopleSnapshot()) {
             System.out.println(person.getPersonId() + ": " +
                     person.getFirstName() + " " + person.getLastName());
         }
 
-        System.out.print("\n" + translationManager.getTranslation("enter_person_id") + " ");
+        System.out.print("\n" + translator.getTranslation("enter_person_id") + " ");
         int personId = Integer.parseInt(scanner.nextLine());
 
         // Get allocated supplies
         ArrayList<Supply> supplies = supplyController.getSuppliesAllocatedTo(personId, null);
 
         // Display results
-        System.out.println("\n" + translationManager.getTranslation("supplies_allocated_person_id") + " " + personId + ":");
+        System.out.println("\n" + translator.getTranslation("supplies_allocated_person_id") + " " + personId + ":");
         System.out.println("--------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"),
-                translationManager.getTranslation("name2"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type2"),
+                translator.getTranslation("name2"));
         System.out.println("--------------------------------------------------");
 
         for (Supply supply : supplies) {
-            System.out.printf("%-8s %-15s %-20s%n",
+            printRow(ROW_3,
                     supply.getSupplyId(),
                     supply.getSupplyType(),
                     supply.getSupplyName());
@@ -515,31 +650,31 @@ public class UserView {
      *
      * @throws SQLException If there is an error retrieving data from the database.
      */
-    private static void viewSuppliesAllocatedToLocation() throws SQLException {
+    private void viewSuppliesAllocatedToLocation() throws SQLException {
         Scanner scanner = new Scanner(System.in);
 
         // First show all locations
-        System.out.println("\n" + translationManager.getTranslation("available_locations"));
-        for (Location location : locationController.getAllLocations()) {
+        System.out.println("\n" + translator.getTranslation("available_locations"));
+        for (Location location : locationController.getLocationsSnapshot()) {
             System.out.println(location.getLocationId() + ": " +
                     location.getLocationName() + " - " + location.getLocationAddress());
         }
 
-        System.out.print("\n" + translationManager.getTranslation("enter_location_id") + " ");
+        System.out.print("\n" + translator.getTranslation("enter_location_id") + " ");
         int locationId = Integer.parseInt(scanner.nextLine());
 
         // Get allocated supplies
         ArrayList<Supply> supplies = supplyController.getSuppliesAllocatedTo(null, locationId);
 
         // Display results
-        System.out.println("\n" + translationManager.getTranslation("supplies_allocated_location_id") + " " + locationId + ":");
+        System.out.println("\n" + translator.getTranslation("supplies_allocated_location_id") + " " + locationId + ":");
         System.out.println("--------------------------------------------------");
-        System.out.printf("%-8s %-15s %-20s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("type2"), translationManager.getTranslation("name2"));
+        printRow(ROW_3, translator.getTranslation("id"),
+                translator.getTranslation("type2"), translator.getTranslation("name2"));
         System.out.println("--------------------------------------------------");
 
         for (Supply supply : supplies) {
-            System.out.printf("%-8s %-15s %-20s%n",
+            printRow(ROW_3,
                     supply.getSupplyId(),
                     supply.getSupplyType(),
                     supply.getSupplyName());
@@ -559,22 +694,22 @@ public class UserView {
      *
      * @throws SQLException If there is an error when interacting with the database.
      */
-    public static void updateSupply() {
+    public void updateSupply() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n"+ translationManager.getTranslation("update_supply"));
+        System.out.println("\n"+ translator.getTranslation("update_supply"));
         System.out.println("----------------");
 
         try {
             // First show all available supplies
             viewAllSupplies();
 
-            System.out.print("\n" + translationManager.getTranslation("supplies_input_id_update") + " ");
+            System.out.print("\n" + translator.getTranslation("supplies_input_id_update") + " ");
             int supplyId = Integer.parseInt(scanner.nextLine());
 
             // Find the supply to update
             Supply supplyToUpdate = null;
-            for (Supply supply : supplyController.getAllSupplies()) {
+            for (Supply supply : supplyController.getSuppliesSnapshot()) {
                 if (supply.getSupplyId() == supplyId) {
                     supplyToUpdate = supply;
                     break;
@@ -582,40 +717,40 @@ public class UserView {
             }
 
             if (supplyToUpdate == null) {
-                System.out.println(translationManager.getTranslation("supplies_no_found_id") + " " + supplyId);
+                System.out.println(translator.getTranslation("supplies_no_found_id") + " " + supplyId);
                 return;
             }
 
             // Display current details
-            System.out.println("\n" + translationManager.getTranslation("current_supply_details"));
-            System.out.println(translationManager.getTranslation("type") + ": " + supplyToUpdate.getSupplyType());
-            System.out.println(translationManager.getTranslation("comments") + ": " + supplyToUpdate.getSupplyName());
+            System.out.println("\n" + translator.getTranslation("current_supply_details"));
+            System.out.println(translator.getTranslation("type") + ": " + supplyToUpdate.getSupplyType());
+            System.out.println(translator.getTranslation("comments") + ": " + supplyToUpdate.getSupplyName());
 
             // Display type-specific details
             if (supplyToUpdate instanceof Cot) {
                 Cot cot = (Cot)supplyToUpdate;
-                System.out.println(translationManager.getTranslation("room_location") + ": " + cot.getRoomLocation());
-                System.out.println(translationManager.getTranslation("grid_location") + cot.getGridLocation());
+                System.out.println(translator.getTranslation("room_location") + ": " + cot.getRoomLocation());
+                System.out.println(translator.getTranslation("grid_location") + cot.getGridLocation());
             }
             else if (supplyToUpdate instanceof PersonalBelonging) {
                 PersonalBelonging pb = (PersonalBelonging)supplyToUpdate;
-                System.out.println(translationManager.getTranslation("description") + ": " + pb.getItemDescription());
+                System.out.println(translator.getTranslation("description") + ": " + pb.getItemDescription());
             }
             else if (supplyToUpdate instanceof Water) {
                 Water water = (Water)supplyToUpdate;
-                System.out.println(translationManager.getTranslation("allocation_date") +": " + water.getAllocationDate());
+                System.out.println(translator.getTranslation("allocation_date") +": " + water.getAllocationDate());
             }
 
             // Get updated information
-            System.out.println("\n" + translationManager.getTranslation("supply_new_details"));
+            System.out.println("\n" + translator.getTranslation("supply_new_details"));
 
-            System.out.print(translationManager.getTranslation("new_name") + " [" + supplyToUpdate.getSupplyName() + "]: ");
+            System.out.print(translator.getTranslation("new_name") + " [" + supplyToUpdate.getSupplyName() + "]: ");
             String newName = scanner.nextLine();
             if (!newName.isEmpty()) {
                 supplyToUpdate.setSupplyName(newName);
             }
 
-            System.out.print(translationManager.getTranslation("new_type") + " [" + supplyToUpdate.getSupplyType() + "]: ");
+            System.out.print(translator.getTranslation("new_type") + " [" + supplyToUpdate.getSupplyType() + "]: ");
             String newType = scanner.nextLine();
             if (!newType.isEmpty()) {
                 supplyToUpdate.setSupplyType(newType);
@@ -625,15 +760,15 @@ public class UserView {
             if (supplyToUpdate instanceof Cot) {
                 Cot cot = (Cot) supplyToUpdate;
 
-                System.out.print(translationManager.getTranslation("new") + " " +
-                        translationManager.getTranslation("room_location") + " [" + cot.getRoomLocation() + "]: ");
+                System.out.print(translator.getTranslation("new") + " " +
+                        translator.getTranslation("room_location") + " [" + cot.getRoomLocation() + "]: ");
                 String newRoomLocation = scanner.nextLine();
                 if (!newRoomLocation.isEmpty()) {
                     cot.setRoomLocation(newRoomLocation);
                 }
 
-                System.out.print(translationManager.getTranslation("new") + " " +
-                        translationManager.getTranslation("grid_location") + " [" + cot.getGridLocation() + "]: ");
+                System.out.print(translator.getTranslation("new") + " " +
+                        translator.getTranslation("grid_location") + " [" + cot.getGridLocation() + "]: ");
                 String newGridLocation = scanner.nextLine();
                 if (!newGridLocation.isEmpty()) {
                     cot.setGridLocation(newGridLocation);
@@ -642,7 +777,7 @@ public class UserView {
             else if (supplyToUpdate instanceof PersonalBelonging) {
                 PersonalBelonging pb = (PersonalBelonging)supplyToUpdate;
 
-                System.out.print(translationManager.getTranslation("new_desc") + " [" + pb.getItemDescription() + "]: ");
+                System.out.print(translator.getTranslation("new_desc") + " [" + pb.getItemDescription() + "]: ");
                 String newDescription = scanner.nextLine();
                 if (!newDescription.isEmpty()) {
                     pb.setItemDescription(newDescription);
@@ -651,7 +786,7 @@ public class UserView {
             else if (supplyToUpdate instanceof Water) {
                 Water water = (Water) supplyToUpdate;
 
-                System.out.print(translationManager.getTranslation("new_alloc") + " [" + water.getAllocationDate() + "]: ");
+                System.out.print(translator.getTranslation("new_alloc") + " [" + water.getAllocationDate() + "]: ");
                 String newAllocationDate = scanner.nextLine();
                 if (!newAllocationDate.isEmpty()) {
                     water.setAllocationDate(newAllocationDate);
@@ -661,14 +796,14 @@ public class UserView {
             // Update the supply through the controller
             supplyController.updateSupply(supplyToUpdate);
 
-            System.out.println("\n" + translationManager.getTranslation("supply_update_success"));
+            System.out.println("\n" + translator.getTranslation("supply_update_success"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("supply_invalid_input"));
+            System.out.println(translator.getTranslation("supply_invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error.userViewUpdatingSupply") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error.userViewUpdatingSupply") + ": " + e.getMessage());
         }
     }
 
@@ -695,47 +830,47 @@ public class UserView {
      * @throws Exception If any other error occurs during the allocation process.
      */
 
-    public static void allocateSupply() {
+    public void allocateSupply() {
         Scanner scanner = new Scanner(System.in);
 
         try {
             // Ask allocation type first
-            System.out.println("\n" + translationManager.getTranslation("allocate_to"));
-            System.out.println(translationManager.getTranslation("allocate_to1"));
-            System.out.println(translationManager.getTranslation("allocate_to2"));
-            System.out.println(translationManager.getTranslation("allocate_to3"));
-            System.out.print(translationManager.getTranslation("allocate_to_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("allocate_to"));
+            System.out.println(translator.getTranslation("allocate_to1"));
+            System.out.println(translator.getTranslation("allocate_to2"));
+            System.out.println(translator.getTranslation("allocate_to3"));
+            System.out.print(translator.getTranslation("allocate_to_choice") + " ");
             int allocationChoice = Integer.parseInt(scanner.nextLine());
 
             if (allocationChoice < 1 || allocationChoice > 3) {
-                System.out.println(translationManager.getTranslation("allocate_to_invalid_choice"));
+                System.out.println(translator.getTranslation("allocate_to_invalid_choice"));
                 return;
             }
 
             if (allocationChoice == 1) {
                 // Option 1: Allocate to person (original code)
-                System.out.println("\n" + translationManager.getTranslation("available_supplies"));
-                System.out.println("\n" + translationManager.getTranslation("available_supplies1"));
+                System.out.println("\n" + translator.getTranslation("available_supplies"));
+                System.out.println("\n" + translator.getTranslation("available_supplies1"));
                 ArrayList<Supply> availableSupplies = new ArrayList<>();
-                for (Supply supply : supplyController.getAllSupplies()) {
+                for (Supply supply : supplyController.getSuppliesSnapshot()) {
                     if (!supplyController.isSupplyAllocated(supply.getSupplyId())) {
                         availableSupplies.add(supply);
-                        System.out.printf("%-8s %-15s %-20s%n",
+                        printRow(ROW_3,
                                 supply.getSupplyId(),
                                 supply.getSupplyType(),
                                 supply.getSupplyName());
                     }
                 }
                 if (availableSupplies.isEmpty()) {
-                    System.out.println(translationManager.getTranslation("available_supplies_empty"));
+                    System.out.println(translator.getTranslation("available_supplies_empty"));
                     return;
                 }
 
-                System.out.print("\n" + translationManager.getTranslation("input_supply_id_to_allocate") + " ");
+                System.out.print("\n" + translator.getTranslation("input_supply_id_to_allocate") + " ");
                 int supplyId = Integer.parseInt(scanner.nextLine());
 
                 Supply supplyToAllocate = null;
-                for (Supply supply : supplyController.getAllSupplies()) {
+                for (Supply supply : supplyController.getSuppliesSnapshot()) {
                     if (supply.getSupplyId() == supplyId) {
                         supplyToAllocate = supply;
                         break;
@@ -743,58 +878,56 @@ public class UserView {
                 }
 
                 if (supplyToAllocate == null) {
-                    System.out.println(translationManager.getTranslation("supply_id_not_found") + " " + supplyId);
+                    System.out.println(translator.getTranslation("supply_id_not_found") + " " + supplyId);
                     return;
                 }
 
                 viewDisasterVictims();
-                System.out.print("\n" + translationManager.getTranslation("input_person_id_for_allocation") + " ");
+                System.out.print("\n" + translator.getTranslation("input_person_id_for_allocation") + " ");
                 int personId = Integer.parseInt(scanner.nextLine());
 
                 Person person = personController.getPersonById(personId);
                 if (person == null) {
-                    System.out.println(translationManager.getTranslation("error.userViewNoPersonIdFound") + ": " + personId);
+                    System.out.println(translator.getTranslation("error.userViewNoPersonIdFound") + ": " + personId);
                     return;
                 }
 
                 if(!(person instanceof DisasterVictim)){
-                    System.out.println(translationManager.getTranslation("error.userViewPersonNotDisasterVictim"));
+                    System.out.println(translator.getTranslation("error.userViewPersonNotDisasterVictim"));
                     return;
                 }
 
                 if (supplyToAllocate instanceof Water) {
-                    System.out.print(translationManager.getTranslation("input_allocation_date") + " ");
+                    System.out.print(translator.getTranslation("input_allocation_date") + " ");
                     String allocationDate = scanner.nextLine();
                     ((Water)supplyToAllocate).setAllocationDate(allocationDate);
                 }
 
-                supplyController.allocateSupply(supplyToAllocate.getSupplyId(), personId, null, null);
-
-                if (person instanceof DisasterVictim) {
-                    ((DisasterVictim)person).addItem(supplyToAllocate);
-                }
+                // Also adds the supply to the victim's inventory
+                supplyController.allocateSupply(supplyToAllocate.getSupplyId(), personId, null, null,
+                        personController, locationController);
 
-                System.out.println(translationManager.getTranslation("successful_supply_allocation"));
+                System.out.println(translator.getTranslation("successful_supply_allocation"));
 
             } else if (allocationChoice == 2) {
                 // Option 2: Allocate to location (original code)
-                System.out.println("\n" + translationManager.getTranslation("available_supplies1"));
+                System.out.println("\n" + translator.getTranslation("available_supplies1"));
                 ArrayList<Supply> availableSupplies = new ArrayList<>();
-                for (Supply supply : supplyController.getAllSupplies()) {
+                for (Supply supply : supplyController.getSuppliesSnapshot()) {
                     if (!supplyController.isSupplyAllocated(supply.getSupplyId())) {
                         availableSupplies.add(supply);
-                        System.out.printf("%-8s %-15s %-20s%n",
+                        printRow(ROW_3,
                                 supply.getSupplyId(),
                                 supply.getSupplyType(),
                                 supply.getSupplyName());
                     }
                 }
                 if (availableSupplies.isEmpty()) {
-                    System.out.println(translationManager.getTranslation("available_supplies_empty"));
+                    System.out.println(translator.getTranslation("available_supplies_empty"));
                     return;
                 }
 
-                System.out.print("\n" + translationManager.getTranslation("input_supply_allocation_id") + " ");
+                System.out.print("\n" + translator.getTranslation("input_supply_allocation_id") + " ");
                 int supplyId = Integer.parseInt(scanner.nextLine());
 
                 Supply supplyToAllocate = null;
@@ -806,61 +939,62 @@ public class UserView {
                 }
 
                 if (supplyToAllocate == null) {
-                    System.out.println(translationManager.getTranslation("supplies_no_found_id") + " " + supplyId);
+                    System.out.println(translator.getTranslation("supplies_no_found_id") + " " + supplyId);
                     return;
                 }
 
                 viewAllLocations();
-                System.out.print("\n" + translationManager.getTranslation("input_allocation_location_id") + " ");
+                System.out.print("\n" + translator.getTranslation("input_allocation_location_id") + " ");
                 int locationId = Integer.parseInt(scanner.nextLine());
 
                 Location location = locationController.getLocationById(locationId);
                 if (location == null) {
-                    System.out.println(translationManager.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
+                    System.out.println(translator.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
                     return;
                 }
 
                 if (supplyToAllocate instanceof Water) {
-                    System.out.print(translationManager.getTranslation("input_allocation_date") + " ");
+                    System.out.print(translator.getTranslation("input_allocation_date") + " ");
                     String allocationDate = scanner.nextLine();
                     ((Water)supplyToAllocate).setAllocationDate(allocationDate);
                 }
 
-                supplyController.allocateSupply(supplyToAllocate.getSupplyId(), null, locationId, null);
-                location.addItem(supplyToAllocate);
+                // Also adds the supply to the location's inventory
+                supplyController.allocateSupply(supplyToAllocate.getSupplyId(), null, locationId, null,
+                        personController, locationController);
 
-                System.out.println(translationManager.getTranslation("successful_supply_to_location_allocation"));
+                System.out.println(translator.getTranslation("successful_supply_to_location_allocation"));
 
             } else if (allocationChoice == 3) {
                 // Option 3: Allocate to person at specific location (from location's supplies)
-                System.out.println("\n" + translationManager.getTranslation("available_locations"));
+                System.out.println("\n" + translator.getTranslation("available_locations"));
                 viewAllLocations();
 
-                System.out.print("\n" + translationManager.getTranslation("enter_location_id") + " ");
+                System.out.print("\n" + translator.getTranslation("enter_location_id") + " ");
                 int locationId = Integer.parseInt(scanner.nextLine());
 
                 Location location = locationController.getLocationById(locationId);
                 if (location == null) {
-                    System.out.println(translationManager.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
+                    System.out.println(translator.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
                     return;
                 }
 
                 // Show supplies at this location
-                System.out.println("\n" + translationManager.getTranslation("supplies_available_at_location"));
+                System.out.println("\n" + translator.getTranslation("supplies_available_at_location"));
                 ArrayList<Supply> locationSupplies = locationController.getSuppliesAtLocation(locationId);
                 if (locationSupplies.isEmpty()) {
-                    System.out.println(translationManager.getTranslation("no_supplies_available_at_location"));
+                    System.out.println(translator.getTranslation("no_supplies_available_at_location"));
                     return;
                 }
 
                 for (Supply supply : locationSupplies) {
-                    System.out.printf("%-8s %-15s %-20s%n",
+                    printRow(ROW_3,
                             supply.getSupplyId(),
                             supply.getSupplyType(),
                             supply.getSupplyName());
                 }
 
-                System.out.print("\n" + translationManager.getTranslation("input_supply_id_to_allocate") + " ");
+                System.out.print("\n" + translator.getTranslation("input_supply_id_to_allocate") + " ");
                 int supplyId = Integer.parseInt(scanner.nextLine());
 
                 // Find the supply at this location
@@ -878,10 +1012,10 @@ public class UserView {
                 }
 
                 // Show occupants at this location
-                System.out.println("\n" + translationManager.getTranslation("occupants_at_location"));
+                System.out.println("\n" + translator.getTranslation("occupants_at_location"));
                 ArrayList<Person> occupants = locationController.getOccupantsAtLocation(locationId);
                 if (occupants.isEmpty()) {
-                    System.out.println(translationManager.getTranslation("no_occupants_at_location"));
+                    System.out.println(translator.getTranslation("no_occupants_at_location"));
                     return;
                 }
 
@@ -890,7 +1024,7 @@ public class UserView {
                             person.getFirstName() + " " + person.getLastName());
                 }
 
-                System.out.print("\n" + translationManager.getTranslation("input_person_id_for_allocation") + " ");
+                System.out.print("\n" + translator.getTranslation("input_person_id_for_allocation") + " ");
                 int personId = Integer.parseInt(scanner.nextLine());
 
                 // Verify person is at this location
@@ -909,32 +1043,24 @@ public class UserView {
 
                 // Special handling for Water
                 if (supplyToAllocate instanceof Water) {
-                    System.out.print(translationManager.getTranslation("input_allocation_date") + " ");
+                    System.out.print(translator.getTranslation("input_allocation_date") + " ");
                     String allocationDate = scanner.nextLine();
                     ((Water)supplyToAllocate).setAllocationDate(allocationDate);
                 }
 
-                // Perform the allocation
-                supplyController.allocateSupply(supplyToAllocate.getSupplyId(), personId, null, locationId);
-
-                // Add to person's inventory if they're a DisasterVictim
-                Person person = personController.getPersonById(personId);
-                if (person instanceof DisasterVictim) {
-                    ((DisasterVictim)person).addItem(supplyToAllocate);
-                }
+                // Perform the allocation, moving the supply from the location's inventory to the person's
+                locationController.allocateSupplyToPersonAtLocation(supplyToAllocate.getSupplyId(), personId, locationId,
+                        supplyController, personController);
 
-                // Remove from location's supplies
-                location.removeItem(supplyToAllocate);
-
-                System.out.println(translationManager.getTranslation("successful_supply_from_location_allocation_to_person"));
+                System.out.println(translator.getTranslation("successful_supply_from_location_allocation_to_person"));
             }
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (SQLException e) {
             System.out.println("Database error during allocation: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -985,20 +1111,20 @@ public class UserView {
      * @throws NumberFormatException If the user enters an invalid number when prompted for a choice.
      * @throws Exception If any other error occurs during the operation.
      */
-    public static void displayLocationDetails() {
+    public void displayLocationDetails() {
         Scanner scanner = new Scanner(System.in);
         boolean stayInMenu = true;
 
         while (stayInMenu) {
-            System.out.println("\n" + translationManager.getTranslation("location_management"));
-            System.out.println(translationManager.getTranslation("location_management1"));
-            System.out.println(translationManager.getTranslation("location_management2"));
-            System.out.println(translationManager.getTranslation("location_management3"));
-            System.out.println(translationManager.getTranslation("location_management4"));
-            System.out.println(translationManager.getTranslation("location_management5"));
-            System.out.println(translationManager.getTranslation("location_management6"));
-            System.out.println(translationManager.getTranslation("location_management7"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("location_management"));
+            System.out.println(translator.getTranslation("location_management1"));
+            System.out.println(translator.getTranslation("location_management2"));
+            System.out.println(translator.getTranslation("location_management3"));
+            System.out.println(translator.getTranslation("location_management4"));
+            System.out.println(translator.getTranslation("location_management5"));
+            System.out.println(translator.getTranslation("location_management6"));
+            System.out.println(translator.getTranslation("location_management7"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -1026,12 +1152,12 @@ public class UserView {
                         stayInMenu = false;
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("location_management8"));
+                        System.out.println(translator.getTranslation("location_management8"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
@@ -1042,15 +1168,15 @@ public class UserView {
      * Displays all locations in the system in a formatted table.
      * The table shows the ID, Name, and Address of each location.
      */
-    public static void viewAllLocations() {
+    public void viewAllLocations() {
         System.out.println("\n------------------------------------------------------------");
-        System.out.printf("%-8s %-25s %-30s%n", translationManager.getTranslation("id"),
-                translationManager.getTranslation("name2"),
-                translationManager.getTranslation("address2"));
+        printRow(LOCATION_ROW, translator.getTranslation("id"),
+                translator.getTranslation("name2"),
+                translator.getTranslation("address2"));
         System.out.println("------------------------------------------------------------");
 
-        for (Location location : locationController.getAllLocations()) {
-            System.out.printf("%-8s %-25s %-30s%n",
+        for (Location location : locationController.getLocationsSnapshot()) {
+            printRow(LOCATION_ROW,
                     location.getLocationId(),
                     location.getLocationName(),
                     location.getLocationAddress());
@@ -1065,23 +1191,23 @@ public class UserView {
      *
      * @throws IllegalArgumentException if the input is invalid
      */
-    public static void addNewLocation() {
+    public void addNewLocation() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("add_new_location_title"));
+        System.out.println("\n" + translator.getTranslation("add_new_location_title"));
         System.out.println("----------------");
 
         try {
-            System.out.print(translationManager.getTranslation("input_location_name")+ ": ");
+            System.out.print(translator.getTranslation("input_location_name")+ ": ");
             String name = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_location_address") + ": ");
+            System.out.print(translator.getTranslation("input_location_address") + ": ");
             String address = scanner.nextLine();
 
             Location newLocation = new Location(name, address);
             locationController.addLocation(newLocation);
 
-            System.out.println("\n" + translationManager.getTranslation("successful_location_addition"));
+            System.out.println("\n" + translator.getTranslation("successful_location_addition"));
             System.out.println("ID: " + newLocation.getLocationId());
             System.out.println("Name: " + newLocation.getLocationName());
             System.out.println("Address: " + newLocation.getLocationAddress());
@@ -1089,7 +1215,7 @@ public class UserView {
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1099,21 +1225,21 @@ public class UserView {
      *
      * @throws NumberFormatException if the input for the location ID is not a valid number.
      */
-    public static void updateLocation() {
+    public void updateLocation() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("update_location_title"));
+        System.out.println("\n" + translator.getTranslation("update_location_title"));
         System.out.println("----------------");
 
         try {
             viewAllLocations();
 
-            System.out.print("\n" + translationManager.getTranslation("input_location_id_to_update") + " ");
+            System.out.print("\n" + translator.getTranslation("input_location_id_to_update") + " ");
             int locationId = Integer.parseInt(scanner.nextLine());
 
             // Find the location to update
             Location locationToUpdate = null;
-            for (Location location : locationController.getAllLocations()) {
+            for (Location location : locationController.getLocationsSnapshot()) {
                 if (location.getLocationId() == locationId) {
                     locationToUpdate = location;
                     break;
@@ -1121,33 +1247,33 @@ public class UserView {
             }
 
             if (locationToUpdate == null) {
-                System.out.println(translationManager.getTranslation("error.userViewNoLocationIdFound")   + ": " + locationId);
+                System.out.println(translator.getTranslation("error.userViewNoLocationIdFound")   + ": " + locationId);
                 return;
             }
 
-            System.out.println("\n" + translationManager.getTranslation("current_location_details"));
+            System.out.println("\n" + translator.getTranslation("current_location_details"));
             System.out.println("Name: " + locationToUpdate.getLocationName());
             System.out.println("Address: " + locationToUpdate.getLocationAddress());
 
-            System.out.println("\n" + translationManager.getTranslation("supply_new_details"));
+            System.out.println("\n" + translator.getTranslation("supply_new_details"));
 
-            System.out.print(translationManager.getTranslation("new_name") + " [" + locationToUpdate.getLocationName() + "]: ");
+            System.out.print(translator.getTranslation("new_name") + " [" + locationToUpdate.getLocationName() + "]: ");
             String newName = scanner.nextLine();
             if (!newName.isEmpty()) {
                 locationToUpdate.setLocationName(newName);
             }
 
-            System.out.print(translationManager.getTranslation("new_address")+ " [" + locationToUpdate.getLocationAddress() + "]: ");
+            System.out.print(translator.getTranslation("new_address")+ " [" + locationToUpdate.getLocationAddress() + "]: ");
             String newAddress = scanner.nextLine();
             if (!newAddress.isEmpty()) {
                 locationToUpdate.setLocationAddress(newAddress);
             }
 
             locationController.updateLocation(locationToUpdate);
-            System.out.println("\n" + translationManager.getTranslation("successful_location_update"));
+            System.out.println("\n" + translator.getTranslation("successful_location_update"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input_for_location_update"));
+            System.out.println(translator.getTranslation("invalid_input_for_location_update"));
         } catch (Exception e) {
             System.out.println("An error occurred while updating the location: " + e.getMessage());
         }
@@ -1160,30 +1286,30 @@ public class UserView {
      *
      * @throws NumberFormatException if the input for the location ID is not a valid number.
      */
-    public static void viewLocationOccupants() {
+    public void viewLocationOccupants() {
         Scanner scanner = new Scanner(System.in);
 
         try {
             viewAllLocations();
-            System.out.print("\n" + translationManager.getTranslation("input_location_id_for_occupants_view") + " ");
+            System.out.print("\n" + translator.getTranslation("input_location_id_for_occupants_view") + " ");
             int locationId = Integer.parseInt(scanner.nextLine());
 
             ArrayList<Person> occupants = locationController.getOccupantsAtLocation(locationId);
             Location locationTest = locationController.getLocationById(locationId);
 
             if (locationTest == null) {
-                System.out.println(translationManager.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
+                System.out.println(translator.getTranslation("error.userViewNoLocationIdFound") + ": " + locationId);
             }
             else {
-                System.out.println("\n" + translationManager.getTranslation("occupants_at_location") + " " + locationId + ":");
+                System.out.println("\n" + translator.getTranslation("occupants_at_location") + " " + locationId + ":");
                 System.out.println("--------------------------------------------------");
-                System.out.printf("%-8s %-15s %-15s%n", translationManager.getTranslation("id"),
-                        translationManager.getTranslation("first_name"),
-                        translationManager.getTranslation("last_name"));
+                printRow(OCCUPANT_ROW, translator.getTranslation("id"),
+                        translator.getTranslation("first_name"),
+                        translator.getTranslation("last_name"));
                 System.out.println("--------------------------------------------------");
 
                 for (Person person : occupants) {
-                    System.out.printf("%-8s %-15s %-15s%n",
+                    printRow(OCCUPANT_ROW,
                             person.getPersonId(),
                             person.getFirstName(),
                             person.getLastName());
@@ -1192,9 +1318,9 @@ public class UserView {
                 System.out.println("--------------------------------------------------");
             }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
             }
 
     }
@@ -1206,73 +1332,49 @@ public class UserView {
      *
      * @throws NumberFormatException if the input for the location ID or person ID is not a valid number.
      */
-    public static void addOccupantToLocation() {
+    public void addOccupantToLocation() {
         Scanner scanner = new Scanner(System.in);
 
         try {
             viewAllLocations();
-            System.out.print("\n" + translationManager.getTranslation("enter_location_id") + " ");
+            System.out.print("\n" + translator.getTranslation("enter_location_id") + " ");
             int locationId = Integer.parseInt(scanner.nextLine());
 
             viewPeopleNotAtAnyLocation();
-            System.out.print(translationManager.getTranslation("input_person_id_for_adding") + " ");
+            System.out.print(translator.getTranslation("input_person_id_for_adding") + " ");
             int personId = Integer.parseInt(scanner.nextLine());
 
             locationController.addPersonToLocation(personId, locationId);
-            System.out.println(translationManager.getTranslation("successful_person_to_location_addition"));
+            System.out.println(translator.getTranslation("successful_person_to_location_addition"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
     /**
      * Displays a list of people who are not assigned to any location.
-     * This method retrieves all people and checks their location status.
-     * If a person is not assigned to any location, they are added to the result list,
-     * which is then displayed to the user.
+     * This method retrieves all people and checks each one against the location
+     * controller's occupancy index, then displays those without a location.
      */
-    public static void viewPeopleNotAtAnyLocation() {
-        try {
-            // Get all people
-            ArrayList<Person> allPeople = personController.getAllPeople();
-            ArrayList<Person> peopleNotAtLocation = new ArrayList<>();
-
-            // Check each person's location status
-            for (Person person : allPeople) {
-                boolean isAtLocation = false;
-
-                // Check all locations to see if this person is at any of them
-                for (Location location : locationController.getAllLocations()) {
-                    ArrayList<Person> occupants = locationController.getOccupantsAtLocation(location.getLocationId());
-                    if (occupants != null && occupants.contains(person)) {
-                        isAtLocation = true;
-                        break;
-                    }
-                }
+    public void viewPeopleNotAtAnyLocation() {
+        ArrayList<Person> peopleNotAtLocation =
+                locationController.getPeopleNotAtAnyLocation(personController.getPeopleSnapshot().asList());
 
-                if (!isAtLocation) {
-                    peopleNotAtLocation.add(person);
-                }
-            }
-
-            // Display results
-            if (peopleNotAtLocation.isEmpty()) {
-                System.out.println(translationManager.getTranslation("all_people_assigned_to_location"));
-            } else {
-                System.out.println("\n" + translationManager.getTranslation("people_not_assigned_to_location"));
-                System.out.println("------------------------------------");
-                for (Person person : peopleNotAtLocation) {
-                    System.out.printf("ID: %d, Name: %s %s%n",
-                            person.getPersonId(),
-                            person.getFirstName(),
-                            person.getLastName());
-                }
+        // Display results
+        if (peopleNotAtLocation.isEmpty()) {
+            System.out.println(translator.getTranslation("all_people_assigned_to_location"));
+        } else {
+            System.out.println("\n" + translator.getTranslation("people_not_assigned_to_location"));
+            System.out.println("------------------------------------");
+            for (Person person : peopleNotAtLocation) {
+                printRow(PERSON_SUMMARY,
+                        person.getPersonId(),
+                        person.getFirstName(),
+                        person.getLastName());
             }
-        } catch (SQLException e) {
-            System.out.println("Error retrieving data: " + e.getMessage());
         }
     }
 
@@ -1281,32 +1383,32 @@ public class UserView {
      *
      * @throws NumberFormatException if the input for location ID or person ID is not a valid number.
      */
-    public static void removeOccupantFromLocation() {
+    public void removeOccupantFromLocation() {
         Scanner scanner = new Scanner(System.in);
 
         try {
             viewAllLocations();
-            System.out.print("\n" + translationManager.getTranslation("enter_location_id") + " ");
+            System.out.print("\n" + translator.getTranslation("enter_location_id") + " ");
             int locationId = Integer.parseInt(scanner.nextLine());
 
             // First show current occupants
             ArrayList<Person> occupants = locationController.getOccupantsAtLocation(locationId);
-            System.out.println("\n" + translationManager.getTranslation("current_occupants_title"));
+            System.out.println("\n" + translator.getTranslation("current_occupants_title"));
             for (Person person : occupants) {
                 System.out.println(person.getPersonId() + ": " +
                         person.getFirstName() + " " + person.getLastName());
             }
 
-            System.out.print(translationManager.getTranslation("input_person_id_for_location_removal") + " ");
+            System.out.print(translator.getTranslation("input_person_id_for_location_removal") + " ");
             int personId = Integer.parseInt(scanner.nextLine());
 
             locationController.removePersonFromLocation(personId, locationId);
-            System.out.println(translationManager.getTranslation("successful_person_location_removal"));
+            System.out.println(translator.getTranslation("successful_person_location_removal"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1326,17 +1428,17 @@ public class UserView {
      *
      * @throws NumberFormatException if the user enters an invalid number when selecting an option.
      */
-    public static void displayMedicalDetails() {
+    public void displayMedicalDetails() {
         Scanner scanner = new Scanner(System.in);
         boolean stayInMenu = true;
 
         while (stayInMenu) {
-            System.out.println("\n" + translationManager.getTranslation("medical_title"));
-            System.out.println(translationManager.getTranslation("view_all_medical_records"));
-            System.out.println(translationManager.getTranslation("add_new_medical_record"));
-            System.out.println(translationManager.getTranslation("update_medical_record"));
-            System.out.println(translationManager.getTranslation("back_to_menu"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("medical_title"));
+            System.out.println(translator.getTranslation("view_all_medical_records"));
+            System.out.println(translator.getTranslation("add_new_medical_record"));
+            System.out.println(translator.getTranslation("update_medical_record"));
+            System.out.println(translator.getTranslation("back_to_menu"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -1355,12 +1457,12 @@ public class UserView {
                         stayInMenu = false;
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("invalid_choice_medical"));
+                        System.out.println(translator.getTranslation("invalid_choice_medical"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
@@ -1376,19 +1478,19 @@ public class UserView {
      * - Date of treatment
      * - Details of the treatment
      */
-    public static void viewAllMedicalRecords() {
+    public void viewAllMedicalRecords() {
         System.out.println("\n----------------------------------------------------------------------------------------------------");
-        System.out.printf("%-8s %-25s %-25s %-15s %-30s%n",
-                translationManager.getTranslation("id"),
-                translationManager.getTranslation("patient2"),
-                translationManager.getTranslation("loc2"),
-                translationManager.getTranslation("date2"),
-                translationManager.getTranslation("treat_details"));
+        printRow(MEDICAL_RECORD_ROW,
+                translator.getTranslation("id"),
+                translator.getTranslation("patient2"),
+                translator.getTranslation("loc2"),
+                translator.getTranslation("date2"),
+                translator.getTranslation("treat_details"));
         System.out.println("----------------------------------------------------------------------------------------------------");
 
-        for (MedicalRecord record : medicalRecordController.getAllMedicalRecords()) {
+        for (MedicalRecord record : medicalRecordController.getMedicalRecordsSnapshot()) {
             String patientName = record.getPerson().getFirstName() + " " + record.getPerson().getLastName();
-            System.out.printf("%-8s %-25s %-25s %-15s %-30s%n",
+            printRow(MEDICAL_RECORD_ROW,
                     record.getMedicalRecordId(),
                     patientName,
                     record.getLocation().getLocationName(),
@@ -1415,22 +1517,22 @@ public class UserView {
      * @throws NumberFormatException if an invalid number is entered for IDs.
      * @throws IllegalArgumentException if the selected person or location is invalid.
      */
-    public static void addNewMedicalRecord() {
+    public void addNewMedicalRecord() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("Add New Medical Record_title"));
+        System.out.println("\n" + translator.getTranslation("Add New Medical Record_title"));
         System.out.println("----------------------");
 
         try {
             // List available people
-            System.out.println("\n" + translationManager.getTranslation("available_people"));
-            ArrayList<Person> people = personController.getAllPeople();
+            System.out.println("\n" + translator.getTranslation("available_people"));
+            ModelSnapshot<Person> people = personController.getPeopleSnapshot();
             for (Person person : people) {
                 System.out.println(person.getPersonId() + ": " +
                         person.getFirstName() + " " + person.getLastName());
             }
 
-            System.out.print("\n" + translationManager.getTranslation("input_patient_id") + " ");
+            System.out.print("\n" + translator.getTranslation("input_patient_id") + " ");
             int personId = Integer.parseInt(scanner.nextLine());
 
             // Find selected person
@@ -1440,28 +1542,28 @@ public class UserView {
                     .orElseThrow(() -> new IllegalArgumentException("Invalid person ID"));
 
             // List available locations
-            System.out.println("\n" + translationManager.getTranslation("available_locations"));
-            ArrayList<Location> locations = locationController.getAllLocations();
+            System.out.println("\n" + translator.getTranslation("available_locations"));
+            ModelSnapshot<Location> locations = locationController.getLocationsSnapshot();
             for (Location location : locations) {
                 System.out.println(location.getLocationId() + ": " +
                         location.getLocationName() + " - " + location.getLocationAddress());
             }
 
-            System.out.print("\n" + translationManager.getTranslation("enter_location_id") + " ");
+            System.out.print("\n" + translator.getTranslation("enter_location_id") + " ");
             int locationId = Integer.parseInt(scanner.nextLine());
 
             // Find selected location
             Location selectedLocation = locations.stream()
                     .filter(l -> l.getLocationId() == locationId)
                     .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(translationManager.getTranslation("invalid_location_id_mr")));
+                    .orElseThrow(() -> new IllegalArgumentException(translator.getTranslation("invalid_location_id_mr")));
 
             // Get treatment details
-            System.out.print("\n" + translationManager.getTranslation("input_treatment_details") + " ");
+            System.out.print("\n" + translator.getTranslation("input_treatment_details") + " ");
             String treatmentDetails = scanner.nextLine();
 
             // Get date
-            System.out.print(translationManager.getTranslation("input_treatment_date") + " ");
+            System.out.print(translator.getTranslation("input_treatment_date") + " ");
             String dateOfTreatment = scanner.nextLine();
 
             MedicalRecord newRecord = new MedicalRecord(
@@ -1472,15 +1574,15 @@ public class UserView {
             );
 
             medicalRecordController.addMedicalRecord(newRecord);
-            System.out.println("\n" + translationManager.getTranslation("successful_medical_record_addition"));
+            System.out.println("\n" + translator.getTranslation("successful_medical_record_addition"));
             System.out.println("Record ID:" + " " + newRecord.getMedicalRecordId());
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1498,22 +1600,22 @@ public class UserView {
      * @throws NumberFormatException if an invalid number is entered for the record ID.
      * @throws IllegalArgumentException if an invalid input is provided for the details being updated.
      */
-    public static void updateMedicalRecord() {
+    public void updateMedicalRecord() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("update_medical_record_title"));
+        System.out.println("\n" + translator.getTranslation("update_medical_record_title"));
         System.out.println("---------------------");
 
         try {
             // First show all available records
             viewAllMedicalRecords();
 
-            System.out.print("\n" + translationManager.getTranslation("input_mr_to_update_id") + " ");
+            System.out.print("\n" + translator.getTranslation("input_mr_to_update_id") + " ");
             int recordId = Integer.parseInt(scanner.nextLine());
 
             // Find the record to update
             MedicalRecord recordToUpdate = null;
-            for (MedicalRecord record : medicalRecordController.getAllMedicalRecords()) {
+            for (MedicalRecord record : medicalRecordController.getMedicalRecordsSnapshot()) {
                 if (record.getMedicalRecordId() == recordId) {
                     recordToUpdate = record;
                     break;
@@ -1521,12 +1623,12 @@ public class UserView {
             }
 
             if (recordToUpdate == null) {
-                System.out.println(translationManager.getTranslation("no_mr_id_found") + " " + recordId);
+                System.out.println(translator.getTranslation("no_mr_id_found") + " " + recordId);
                 return;
             }
 
             // Display current details
-            System.out.println("\n" + translationManager.getTranslation("current_mr_details_title"));
+            System.out.println("\n" + translator.getTranslation("current_mr_details_title"));
             System.out.println("Patient: " + recordToUpdate.getPerson().getFirstName() + " " +
                     recordToUpdate.getPerson().getLastName());
             System.out.println("Location: " + recordToUpdate.getLocation().getLocationName());
@@ -1534,7 +1636,7 @@ public class UserView {
             System.out.println("Treatment Details: " + recordToUpdate.getTreatmentDetails());
 
             // Get updated information
-            System.out.println("\n" + translationManager.getTranslation("supply_new_details"));
+            System.out.println("\n" + translator.getTranslation("supply_new_details"));
 
 
             viewAllLocations();
@@ -1564,7 +1666,7 @@ public class UserView {
             System.out.println("\nMedical record updated successfully!");
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
@@ -1587,27 +1689,29 @@ public class UserView {
      * 5. Add Disaster Victim - Add a new disaster victim.
      * 6. Convert to Disaster Victim - Convert an existing person to a disaster victim.
      * 7. Add/Change Family Group - Assign or change the family group for a person.
+     * 8. Import People from CSV - Add many people at once from an intake file.
      * 0. Back to Main Menu - Exit the person management menu and return to the main menu.
      *
      * If the user enters an invalid choice or input, an error message is displayed.
      *
      * @throws NumberFormatException if the user enters an invalid number when selecting a menu option.
      */
-    public static void displayPersonDetails() {
+    public void displayPersonDetails() {
         Scanner scanner = new Scanner(System.in);
         boolean stayInMenu = true;
 
         while (stayInMenu) {
-            System.out.println("\n" + translationManager.getTranslation("person_management"));
-            System.out.println(translationManager.getTranslation("view_all_persons"));
-            System.out.println(translationManager.getTranslation("add_new_person"));
-            System.out.println(translationManager.getTranslation("update_person"));
-            System.out.println(translationManager.getTranslation("view_disaster_victims"));
-            System.out.println(translationManager.getTranslation("add_disaster_victim"));
-            System.out.println(translationManager.getTranslation("convert_to_disaster_victim"));
-            System.out.println(translationManager.getTranslation("add_change_family_group"));
-            System.out.println(translationManager.getTranslation("back_to_menu"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("person_management"));
+            System.out.println(translator.getTranslation("view_all_persons"));
+            System.out.println(translator.getTranslation("add_new_person"));
+            System.out.println(translator.getTranslation("update_person"));
+            System.out.println(translator.getTranslation("view_disaster_victims"));
+            System.out.println(translator.getTranslation("add_disaster_victim"));
+            System.out.println(translator.getTranslation("convert_to_disaster_victim"));
+            System.out.println(translator.getTranslation("add_change_family_group"));
+            System.out.println(translator.getTranslation("import_people_csv"));
+            System.out.println(translator.getTranslation("back_to_menu"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -1634,21 +1738,45 @@ public class UserView {
                     case 7:
                         changePersonFamilyGroup();
                         break;
+                    case 8:
+                        importPeopleFromCsv();
+                        break;
                     case 0:
                         stayInMenu = false;
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("invalid_choice_7"));
+                        System.out.println(translator.getTranslation("invalid_choice_8"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
     }
 
+    /**
+     * Prompts the user for the path of a CSV intake file and imports every person in it at once.
+     *
+     * The file must start with a header row naming its columns. first_name and last_name are required;
+     * date_of_birth, gender, comments, phone_number, location_id and supply_id are optional.
+     * Nothing is imported if any row is invalid.
+     */
+    public void importPeopleFromCsv() {
+        Scanner scanner = new Scanner(System.in);
+
+        try {
+            System.out.print(translator.getTranslation("input_csv_path") + " ");
+            String filePath = scanner.nextLine().trim();
+
+            List<Person> imported = personController.importPeopleFromCsv(filePath, supplyController, locationController);
+            System.out.println(translator.format("people_imported", imported.size()));
+        } catch (IOException | IllegalArgumentException | SQLException e) {
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Displays a list of all persons in the system along with their details.
      *
@@ -1661,19 +1789,19 @@ public class UserView {
      * - Phone number (if available)
      * - Family group ID (if available)
      *
-     * The method uses the `personController.getAllPeople()` method to retrieve all persons from the system.
+     * The method uses the `personController.getPeopleSnapshot()` method to retrieve all persons from the system.
      */
-    public static void viewAllPersons() {
+    public void viewAllPersons() {
         System.out.println("\n----------------------------------------------------------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-15s %-12s %-20s %-15s %-10s%n",
-                translationManager.getTranslation("id"), translationManager.getTranslation("first_name"),
-                translationManager.getTranslation("last_name"), translationManager.getTranslation("dob"),
-                translationManager.getTranslation("gender"), translationManager.getTranslation("phone"),
-                translationManager.getTranslation("family_group"));
+        printRow(PERSON_ROW,
+                translator.getTranslation("id"), translator.getTranslation("first_name"),
+                translator.getTranslation("last_name"), translator.getTranslation("dob"),
+                translator.getTranslation("gender"), translator.getTranslation("phone"),
+                translator.getTranslation("family_group"));
         System.out.println("----------------------------------------------------------------------------------------------------------");
 
-        for (Person person : personController.getAllPeople()) {
-            System.out.printf("%-8s %-15s %-15s %-12s %-20s %-15s %-10s%n",
+        for (Person person : personController.getPeopleSnapshot()) {
+            printRow(PERSON_ROW,
                     person.getPersonId(),
                     person.getFirstName(),
                     person.getLastName(),
@@ -1701,29 +1829,28 @@ public class UserView {
      *
      * @throws IllegalArgumentException if any invalid arguments are passed when creating the person.
      */
-    public static void addNewPerson() {
+    public void addNewPerson() {
         Scanner scanner = new Scanner(System.in);
-        TranslationManager translator = TranslationManager.getInstance();
 
-        System.out.println("\n" + translationManager.getTranslation("add_new_person_title"));
+        System.out.println("\n" + translator.getTranslation("add_new_person_title"));
         System.out.println("--------------");
 
         try {
-            System.out.print(translationManager.getTranslation("input_firstname") + " ");
+            System.out.print(translator.getTranslation("input_firstname") + " ");
             String firstName = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_lastname") + " ");
+            System.out.print(translator.getTranslation("input_lastname") + " ");
             String lastName = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_date_of_birth_adding_person") + " ");
+            System.out.print(translator.getTranslation("input_date_of_birth_adding_person") + " ");
             String dob = scanner.nextLine();
 
             // Gender selection with same options as updatePerson()
-            System.out.println("\n" + translationManager.getTranslation("input_gender_person"));
+            System.out.println("\n" + translator.getTranslation("input_gender_person"));
             System.out.println("1. " + translator.getTranslation("gender_man"));
             System.out.println("2. " + translator.getTranslation("gender_woman"));
             System.out.println("3. " + translator.getTranslation("gender_nb"));
-            System.out.print(translationManager.getTranslation("gender_person_options_selection") + " ");
+            System.out.print(translator.getTranslation("gender_person_options_selection") + " ");
             String genderChoice = scanner.nextLine();
             String gender = null;
 
@@ -1739,14 +1866,14 @@ public class UserView {
                         gender = translator.getTranslation("gender_nb");
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("invalid_gender_person_options_selection"));
+                        System.out.println(translator.getTranslation("invalid_gender_person_options_selection"));
                 }
             }
 
-            System.out.print(translationManager.getTranslation("input_phone_num_person") + " ");
+            System.out.print(translator.getTranslation("input_phone_num_person") + " ");
             String phone = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_comments_person") + " ");
+            System.out.print(translator.getTranslation("input_comments_person") + " ");
             String comments = scanner.nextLine();
 
             Person person;
@@ -1761,12 +1888,12 @@ public class UserView {
             if (!comments.isEmpty()) person.setComments(comments);
 
             personController.addPerson(person);
-            System.out.println("\n" + translationManager.getTranslation("successful_person_addition") + " " + person.getPersonId());
+            System.out.println("\n" + translator.getTranslation("successful_person_addition") + " " + person.getPersonId());
 
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1785,21 +1912,20 @@ public class UserView {
      * @throws NumberFormatException if the input cannot be parsed as an integer or invalid number is entered.
      * @throws IllegalArgumentException if the user provides invalid data for a field (e.g., empty field when it's not allowed).
      */
-    public static void updatePerson() {
+    public void updatePerson() {
         Scanner scanner = new Scanner(System.in);
-        TranslationManager translator = TranslationManager.getInstance();
 
-        System.out.println("\n" + translationManager.getTranslation("update_person_title"));
+        System.out.println("\n" + translator.getTranslation("update_person_title"));
         System.out.println("-------------");
 
         try {
             viewAllPersons();
-            System.out.print("\n" + translationManager.getTranslation("update_person_id_input") + " ");
+            System.out.print("\n" + translator.getTranslation("update_person_id_input") + " ");
             int personId = Integer.parseInt(scanner.nextLine());
 
             Person person = personController.getPersonById(personId);
             if (person == null) {
-                System.out.println(translationManager.getTranslation("invalid_update_person_id_input") + " " + personId);
+                System.out.println(translator.getTranslation("invalid_update_person_id_input") + " " + personId);
                 return;
             }
 
@@ -1811,18 +1937,18 @@ public class UserView {
             System.out.println("5. Phone Number: " + (person.getPhoneNumber() != null ? person.getPhoneNumber() : "N/A"));
             System.out.println("6. Comments: " + (person.getComments() != null ? person.getComments() : "N/A"));
 
-            System.out.print("\n" + translationManager.getTranslation("enter_choices_6") + " ");
+            System.out.print("\n" + translator.getTranslation("enter_choices_6") + " ");
             int field = Integer.parseInt(scanner.nextLine());
 
             if (field == 0) return;
 
             String newValue;
             if (field == 4) { // Gender field
-                System.out.println("\n" + translationManager.getTranslation("gender_person_options_title"));
+                System.out.println("\n" + translator.getTranslation("gender_person_options_title"));
                 System.out.println("1. " + translator.getTranslation("gender_man"));
                 System.out.println("2. " + translator.getTranslation("gender_woman"));
                 System.out.println("3. " + translator.getTranslation("gender_nb"));
-                System.out.print(translationManager.getTranslation("gender_person_options_selection") + " ");
+                System.out.print(translator.getTranslation("gender_person_options_selection") + " ");
                 int genderChoice = Integer.parseInt(scanner.nextLine());
 
                 switch (genderChoice) {
@@ -1865,7 +1991,7 @@ public class UserView {
                     break;
                     // person.setComments(newValue);
                 default:
-                    System.out.println(translationManager.getTranslation("invalid_field_num"));
+                    System.out.println(translator.getTranslation("invalid_field_num"));
                     return;
             }
 
@@ -1873,11 +1999,11 @@ public class UserView {
             System.out.println("Person updated successfully!");
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1892,7 +2018,7 @@ public class UserView {
      *
      * @throws NumberFormatException if the input cannot be parsed as an integer or invalid number is entered.
      */
-    public static void convertToDisasterVictim() {
+    public void convertToDisasterVictim() {
         Scanner scanner = new Scanner(System.in);
 
         try {
@@ -1903,9 +2029,9 @@ public class UserView {
             personController.convertToDisasterVictim(personId);
             System.out.println("Person converted to Disaster Victim successfully!");
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -1926,19 +2052,19 @@ public class UserView {
      *
      * If no disaster victims are found, the table will simply be empty.
      */
-    public static void viewDisasterVictims() {
+    public void viewDisasterVictims() {
         System.out.println("\n----------------------------------------------------------------------------------------------------------");
-        System.out.printf("%-8s %-15s %-15s %-12s %-20s %-15s %-10s%n",
-                translationManager.getTranslation("id"), translationManager.getTranslation("first_name"),
-                translationManager.getTranslation("last_name"), translationManager.getTranslation("dob"),
-                translationManager.getTranslation("gender"), translationManager.getTranslation("phone"),
-                translationManager.getTranslation("inventory_size1"));
+        printRow(PERSON_ROW,
+                translator.getTranslation("id"), translator.getTranslation("first_name"),
+                translator.getTranslation("last_name"), translator.getTranslation("dob"),
+                translator.getTranslation("gender"), translator.getTranslation("phone"),
+                translator.getTranslation("inventory_size1"));
         System.out.println("----------------------------------------------------------------------------------------------------------");
 
-        for (Person person : personController.getAllPeople()) {
+        for (Person person : personController.getPeopleSnapshot()) {
             if (person instanceof DisasterVictim) {
                 DisasterVictim victim = (DisasterVictim) person;
-                System.out.printf("%-8s %-15s %-15s %-12s %-20s %-15s %-10s%n",
+                printRow(PERSON_ROW,
                         victim.getPersonId(),
                         victim.getFirstName(),
                         victim.getLastName(),
@@ -1966,21 +2092,20 @@ public class UserView {
      *
      * Note: The main difference between a DisasterVictim and a Person is that a Person does not have an inventory
      */
-    public static void addDisasterVictim() {
+    public void addDisasterVictim() {
         Scanner scanner = new Scanner(System.in);
-        TranslationManager translator = TranslationManager.getInstance();
 
-        System.out.println("\n" + translationManager.getTranslation("add_new_DisasterVictim"));
+        System.out.println("\n" + translator.getTranslation("add_new_DisasterVictim"));
         System.out.println("-----------------------");
 
         try {
-            System.out.print(translationManager.getTranslation("input_firstname") + " ");
+            System.out.print(translator.getTranslation("input_firstname") + " ");
             String firstName = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_lastname")+ " ");
+            System.out.print(translator.getTranslation("input_lastname")+ " ");
             String lastName = scanner.nextLine();
 
-            System.out.print(translationManager.getTranslation("input_date_of_birth_adding_person") + " ");
+            System.out.print(translator.getTranslation("input_date_of_birth_adding_person") + " ");
             String dob = scanner.nextLine();
 
             DisasterVictim victim;
@@ -1991,11 +2116,11 @@ public class UserView {
             }
 
             // Gender selection with same options as updatePerson()
-            System.out.println("\n" + translationManager.getTranslation("gender_person_options_title") + " ");
+            System.out.println("\n" + translator.getTranslation("gender_person_options_title") + " ");
             System.out.println("1. " + translator.getTranslation("gender_man"));
             System.out.println("2. " + translator.getTranslation("gender_woman"));
             System.out.println("3. " + translator.getTranslation("gender_nb"));
-            System.out.print(translationManager.getTranslation("gender_person_options_selection") + " ");
+            System.out.print(translator.getTranslation("gender_person_options_selection") + " ");
             String genderChoice = scanner.nextLine();
             String gender = null;
 
@@ -2016,11 +2141,11 @@ public class UserView {
             }
             if (gender != null) victim.setGender(gender);
 
-            System.out.print(translationManager.getTranslation("input_phone_num_person") + " ");
+            System.out.print(translator.getTranslation("input_phone_num_person") + " ");
             String phone = scanner.nextLine();
             if (!phone.isEmpty()) victim.setPhoneNumber(phone);
 
-            System.out.print(translationManager.getTranslation("input_comments_person") + " ");
+            System.out.print(translator.getTranslation("input_comments_person") + " ");
             String comments = scanner.nextLine();
             if (!comments.isEmpty()) victim.setComments(comments);
 
@@ -2031,7 +2156,7 @@ public class UserView {
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -2044,7 +2169,7 @@ public class UserView {
      * 2. Create a new family group with the person and other members.
      * 3. Remove the person from their current family group.
      */
-    public static void changePersonFamilyGroup() {
+    public void changePersonFamilyGroup() {
         Scanner scanner = new Scanner(System.in);
 
         try {
@@ -2144,11 +2269,11 @@ public class UserView {
 
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -2166,19 +2291,19 @@ public class UserView {
      * 5. Generate Inquiry Report: Generates a report based on the existing inquiries in the system.
      * 0. Back to Main Menu: Exits the inquiry management menu and returns to the main menu.
      */
-    public static void displayInquiryDetails() {
+    public void displayInquiryDetails() {
         Scanner scanner = new Scanner(System.in);
         boolean stayInMenu = true;
 
         while (stayInMenu) {
-            System.out.println("\n" + translationManager.getTranslation("inquiry_management"));
-            System.out.println(translationManager.getTranslation("inquiry_management1"));
-            System.out.println(translationManager.getTranslation("inquiry_management2"));
-            System.out.println(translationManager.getTranslation("inquiry_management3"));
-            System.out.println(translationManager.getTranslation("inquiry_management4"));
-            System.out.println(translationManager.getTranslation("inquiry_management5"));  // New option
-            System.out.println(translationManager.getTranslation("inquiry_management6"));
-            System.out.print("\n" + translationManager.getTranslation("ask_choice") + " ");
+            System.out.println("\n" + translator.getTranslation("inquiry_management"));
+            System.out.println(translator.getTranslation("inquiry_management1"));
+            System.out.println(translator.getTranslation("inquiry_management2"));
+            System.out.println(translator.getTranslation("inquiry_management3"));
+            System.out.println(translator.getTranslation("inquiry_management4"));
+            System.out.println(translator.getTranslation("inquiry_management5"));  // New option
+            System.out.println(translator.getTranslation("inquiry_management6"));
+            System.out.print("\n" + translator.getTranslation("ask_choice") + " ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -2203,12 +2328,12 @@ public class UserView {
                         stayInMenu = false;
                         break;
                     default:
-                        System.out.println(translationManager.getTranslation("inquiry_management7"));
+                        System.out.println(translator.getTranslation("inquiry_management7"));
                 }
             } catch (NumberFormatException e) {
-                System.out.println(translationManager.getTranslation("invalid_input"));
+                System.out.println(translator.getTranslation("invalid_input"));
             } catch (Exception e) {
-                System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+                System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
@@ -2227,20 +2352,20 @@ public class UserView {
      * - Last Known Location
      * - Additional Comments provided by the inquirer
      */
-    public static void viewAllInquiries() {
+    public void viewAllInquiries() {
         System.out.println("\n------------------------------------------------------------------------------------------------------------------------------");
-        System.out.printf("%-8s %-25s %-25s %-15s %-25s %-30s%n",
-                translationManager.getTranslation("id"), translationManager.getTranslation("inquirer2"),
-                translationManager.getTranslation("missing_person2"), translationManager.getTranslation("date2"),
-                translationManager.getTranslation("loc2"), translationManager.getTranslation("comments2"));
+        printRow(INQUIRY_ROW,
+                translator.getTranslation("id"), translator.getTranslation("inquirer2"),
+                translator.getTranslation("missing_person2"), translator.getTranslation("date2"),
+                translator.getTranslation("loc2"), translator.getTranslation("comments2"));
         System.out.println("------------------------------------------------------------------------------------------------------------------------------");
 
-        for (Inquiry inquiry : inquiryController.getAllInquiries()) {
+        for (Inquiry inquiry : inquiryController.getInquiriesSnapshot()) {
             String inquirerName = inquiry.getInquirer().getFirstName() + " " + inquiry.getInquirer().getLastName();
             String missingPersonName = inquiry.getMissingPerson().getFirstName() + " " + inquiry.getMissingPerson().getLastName();
             String locationName = inquiry.getLastKnownLocation().getLocationName();
 
-            System.out.printf("%-8s %-25s %-25s %-15s %-25s %-30s%n",
+            printRow(INQUIRY_ROW,
                     inquiry.getInquiryId(),
                     inquirerName,
                     missingPersonName,
@@ -2260,7 +2385,7 @@ public class UserView {
      * - Selecting the last known location of the missing person,
      * - Providing the date of the inquiry and additional information related to the inquiry.
      */
-    public static void addNewInquiry() {
+    public void addNewInquiry() {
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("\nAdd New Inquiry");
@@ -2269,7 +2394,7 @@ public class UserView {
         try {
             // List available people (potential inquirers)
             System.out.println("\nAvailable Inquirers:");
-            for (Person person : personController.getAllPeople()) {
+            for (Person person : personController.getPeopleSnapshot()) {
                 System.out.println(person.getPersonId() + ": " +
                         person.getFirstName() + " " + person.getLastName());
             }
@@ -2283,7 +2408,7 @@ public class UserView {
 
             // List available disaster victims (missing persons)
             System.out.println("\nAvailable Missing Persons:");
-            for (Person person : personController.getAllPeople()) {
+            for (Person person : personController.getPeopleSnapshot()) {
                 if (person instanceof DisasterVictim) {
                     System.out.println(person.getPersonId() + ": " +
                             person.getFirstName() + " " + person.getLastName());
@@ -2300,7 +2425,7 @@ public class UserView {
 
             // List available locations
             System.out.println("\nAvailable Locations:");
-            for (Location location : locationController.getAllLocations()) {
+            for (Location location : locationController.getLocationsSnapshot()) {
                 System.out.println(location.getLocationId() + ": " +
                         location.getLocationName() + " - " + location.getLocationAddress());
             }
@@ -2330,7 +2455,7 @@ public class UserView {
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -2344,17 +2469,17 @@ public class UserView {
      * - Date of Inquiry: The date when the inquiry is being made.
      * - Information Provided: Additional information related to the inquiry.
      */
-    public static void updateInquiry() {
+    public void updateInquiry() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("update_inquiry_title"));
+        System.out.println("\n" + translator.getTranslation("update_inquiry_title"));
         System.out.println("--------------");
 
         try {
             // First show all inquiries
             viewAllInquiries();
 
-            System.out.print("\n" + translationManager.getTranslation("update_inquiry_input_id") + " ");
+            System.out.print("\n" + translator.getTranslation("update_inquiry_input_id") + " ");
             int inquiryId = Integer.parseInt(scanner.nextLine());
 
             Inquiry inquiry = inquiryController.getInquiryById(inquiryId);
@@ -2394,7 +2519,7 @@ public class UserView {
                     // Update missing person
                     Person person = personController.getPersonById(Integer.parseInt(newValue));
                     if (!(person instanceof DisasterVictim)) {
-                        throw new IllegalArgumentException(translationManager.getTranslation("person_is_not_dv"));
+                        throw new IllegalArgumentException(translator.getTranslation("person_is_not_dv"));
                     }
                     inquiry.setMissingPerson((DisasterVictim) person);
                     break;
@@ -2402,7 +2527,7 @@ public class UserView {
                     // Update location
                     Location newLocation = locationController.getLocationById(Integer.parseInt(newValue));
                     if (newLocation == null) {
-                        throw new IllegalArgumentException(translationManager.getTranslation("invalid_location_id_mr"));
+                        throw new IllegalArgumentException(translator.getTranslation("invalid_location_id_mr"));
                     }
                     inquiry.setLastKnownLocation(newLocation);
                     break;
@@ -2415,44 +2540,44 @@ public class UserView {
                     inquiry.setInfoProvided(newValue);
                     break;
                 default:
-                    System.out.println(translationManager.getTranslation("invalid_field_num"));
+                    System.out.println(translator.getTranslation("invalid_field_num"));
                     return;
             }
 
             inquiryController.updateInquiry(inquiry);
-            System.out.println(translationManager.getTranslation("successful_inquiry_update"));
+            System.out.println(translator.getTranslation("successful_inquiry_update"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
     /**
      * Allows the user to delete an existing inquiry from the system.
      */
-    public static void deleteInquiry() {
+    public void deleteInquiry() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("\n" + translationManager.getTranslation("delete_inquiry_title"));
+        System.out.println("\n" + translator.getTranslation("delete_inquiry_title"));
         System.out.println("--------------");
 
         try {
             viewAllInquiries();
-            System.out.print("\n" + translationManager.getTranslation("delete_inquiry_id_input") + " ");
+            System.out.print("\n" + translator.getTranslation("delete_inquiry_id_input") + " ");
             int inquiryId = Integer.parseInt(scanner.nextLine());
 
 
             inquiryController.deleteInquiry(inquiryId);
-            System.out.println(translationManager.getTranslation("successful_inquiry_deletion"));
+            System.out.println(translator.getTranslation("successful_inquiry_deletion"));
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -2460,20 +2585,19 @@ public class UserView {
      * Generates a detailed report for a specific inquiry (It just writes it
      * in a more complicated way).
      */
-    public static void generateInquiryReport() {
+    public void generateInquiryReport() {
         Scanner scanner = new Scanner(System.in);
-        TranslationManager translator = TranslationManager.getInstance();
 
         try {
             // First show all inquiries
             viewAllInquiries();
 
-            System.out.print("\n" + translationManager.getTranslation("inquiry_report_id_input") + " ");
+            System.out.print("\n" + translator.getTranslation("inquiry_report_id_input") + " ");
             int inquiryId = Integer.parseInt(scanner.nextLine());
 
             Inquiry inquiry = inquiryController.getInquiryById(inquiryId);
             if (inquiry == null) {
-                System.out.println(translationManager.getTranslation("invalid_inquiry_report_id_input") + " " + inquiryId);
+                System.out.println(translator.getTranslation("invalid_inquiry_report_id_input") + " " + inquiryId);
                 return;
             }
 
@@ -2484,27 +2608,22 @@ public class UserView {
             String entryDate = inquiry.getDateOfInquiry();
 
             // Format the report using the translation
-            String report = String.format(
-                    translator.getTranslation("report_person"),
-                    personName,
-                    facilityName,
-                    entryDate
-            );
+            String report = translator.format("report_person", personName, facilityName, entryDate);
 
-            System.out.println("\n" + translationManager.getTranslation("inquiry_report_title"));
+            System.out.println("\n" + translator.getTranslation("inquiry_report_title"));
             System.out.println("----------------");
             System.out.println(report);
-            System.out.println(translationManager.getTranslation("inquiry_report_additional_info") + " " + inquiry.getInfoProvided());
-            System.out.println(translationManager.getTranslation("inquiry_report_inquirer") + " " + inquiry.getInquirer().getFirstName() + " " +
+            System.out.println(translator.getTranslation("inquiry_report_additional_info") + " " + inquiry.getInfoProvided());
+            System.out.println(translator.getTranslation("inquiry_report_inquirer") + " " + inquiry.getInquirer().getFirstName() + " " +
                     inquiry.getInquirer().getLastName());
             System.out.println("----------------");
 
         } catch (NumberFormatException e) {
-            System.out.println(translationManager.getTranslation("invalid_input"));
+            System.out.println(translator.getTranslation("invalid_input"));
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println(translationManager.getTranslation("error1") + ": " + e.getMessage());
+            System.out.println(translator.getTranslation("error1") + ": " + e.getMessage());
         }
     }
 
@@ -7,8 +7,12 @@
 
 package edu.ucalgary.oop;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 public class Water extends Supply {
     private String allocationDate;
+    private LocalDateTime allocationTimestamp;
     public static final int EXPIRATION_DAYS = 1;
 
 
@@ -41,4 +45,41 @@ public class Water extends Supply {
     }
 
 
-}
\ No newline at end of file
+    /**
+     * Retrieves the exact time the water was allocated to a person.
+     *
+     * @return The allocation timestamp, or null if it is unknown.
+     */
+    public LocalDateTime getAllocationTimestamp() {
+        return allocationTimestamp;
+    }
+
+    /**
+     * Sets the exact time the water was allocated to a person.
+     * Also keeps the allocation date in sync with the timestamp.
+     *
+     * @param allocationTimestamp The allocation timestamp, or null if unallocated.
+     */
+    public void setAllocationTimestamp(LocalDateTime allocationTimestamp) {
+        this.allocationTimestamp = allocationTimestamp;
+        if (allocationTimestamp != null) {
+            this.allocationDate = allocationTimestamp.toLocalDate().toString();
+        }
+    }
+
+    /**
+     * Calculates when the water expires, EXPIRATION_DAYS after it was allocated.
+     * Falls back to the start of the allocation date when no timestamp is known.
+     *
+     * @return The expiration time, or null if the water has not been allocated.
+     */
+    public LocalDateTime getExpirationTime() {
+        if (allocationTimestamp != null) {
+            return allocationTimestamp.plusDays(EXPIRATION_DAYS);
+        }
+        if (allocationDate == null || allocationDate.isEmpty()) {
+            return null;
+        }
+        return LocalDate.parse(allocationDate).atStartOfDay().plusDays(EXPIRATION_DAYS);
+    }
+}
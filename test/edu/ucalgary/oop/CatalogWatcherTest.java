@@ -0,0 +1,128 @@
+/**
+ * CatalogWatcherTest.java
+ * Version: 1.1
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class CatalogWatcherTest {
+    private static final long QUIET_MILLIS = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Path directory;
+    private LinkedBlockingQueue<Set<String>> notifications;
+    private CatalogWatcher watcher;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalogs");
+        notifications = new LinkedBlockingQueue<>();
+        watcher = new CatalogWatcher(directory, notifications::add, QUIET_MILLIS);
+        watcher.start();
+    }
+
+    @After
+    public void tearDown() {
+        watcher.stop();
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.toFile().delete();
+    }
+
+    @Test
+    public void testWrittenCatalogIsReported() throws Exception {
+        write("fr-CA.xml");
+
+        Set<String> changed = notifications.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull("The change should be reported", changed);
+        assertTrue(changed.contains("fr-CA"));
+    }
+
+    @Test
+    public void testBurstOfWritesIsReportedTogether() throws Exception {
+        write("en-CA.xml");
+        write("fr-CA.xml");
+        write("en-CA.xml");
+
+        Set<String> changed = notifications.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull("The changes should be reported", changed);
+        // Both changes can only land in separate notifications if the writes were further apart than the quiet period
+        Set<String> more = notifications.poll(QUIET_MILLIS * 5, TimeUnit.MILLISECONDS);
+        if (more != null) {
+            changed.addAll(more);
+        }
+        assertTrue(changed.contains("en-CA"));
+        assertTrue(changed.contains("fr-CA"));
+    }
+
+    @Test
+    public void testOtherFilesAreIgnored() throws Exception {
+        write("notes.txt");
+
+        assertNull(notifications.poll(QUIET_MILLIS * 5, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSteadyWritesToOtherFilesDoNotDelayReport() throws Exception {
+        Thread logger = new Thread(() -> {
+            try {
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    write("errorlog.txt");
+                    Thread.sleep(1);
+                }
+            } catch (IOException | InterruptedException e) {
+                // Stopped
+            }
+        });
+        logger.start();
+        try {
+            write("fr-CA.xml");
+
+            // The log keeps being written for far longer than this, so only catalog events may reset the quiet period
+            Set<String> changed = notifications.poll(QUIET_MILLIS * 10, TimeUnit.MILLISECONDS);
+            assertNotNull("The catalog change should be reported while the log is still being written", changed);
+            assertTrue(changed.contains("fr-CA"));
+        } finally {
+            logger.interrupt();
+            logger.join();
+        }
+    }
+
+    @Test
+    public void testStopEndsWatching() throws Exception {
+        watcher.stop();
+        assertFalse(watcher.isRunning());
+
+        write("fr-CA.xml");
+
+        assertNull(notifications.poll(QUIET_MILLIS * 5, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullListenerThrows() {
+        new CatalogWatcher(directory, null, QUIET_MILLIS);
+    }
+
+    private void write(String name) throws IOException {
+        Files.write(directory.resolve(name),
+                "<translation><key>exit</key><value>Exit</value></translation>".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * ConnectionPoolTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConnectionPoolTest {
+    private List<StubState> createdConnections;
+    private ConnectionPool pool;
+
+    /**
+     * Tracks the state of a fake connection so the tests don't need a database.
+     */
+    private static class StubState {
+        boolean closed = false;
+        boolean valid = true;
+        boolean autoCommit = true;
+        boolean rolledBack = false;
+    }
+
+    private Connection createStubConnection() {
+        StubState state = new StubState();
+        createdConnections.add(state);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            state.closed = true;
+                            return null;
+                        case "isClosed":
+                            return state.closed;
+                        case "isValid":
+                            return state.valid;
+                        case "getAutoCommit":
+                            return state.autoCommit;
+                        case "setAutoCommit":
+                            state.autoCommit = (Boolean) args[0];
+                            return null;
+                        case "rollback":
+                            state.rolledBack = true;
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        createdConnections = new ArrayList<>();
+        pool = new ConnectionPool(this::createStubConnection, 1, 2, 100, 60_000);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testMinimumConnectionsOpenedUpFront() {
+        assertEquals("Pool should open minSize connections", 1, createdConnections.size());
+        assertEquals("Opened connection should be idle", 1, pool.getIdleCount());
+        assertEquals("No connection should be active", 0, pool.getActiveCount());
+    }
+
+    @Test
+    public void testBorrowAndReturnUpdatesCounters() throws SQLException {
+        Connection connection = pool.getConnection();
+        assertEquals("Borrowed connection should be active", 1, pool.getActiveCount());
+        assertEquals("Idle connection should have been reused", 0, pool.getIdleCount());
+
+        connection.close();
+        assertEquals("Returned connection should no longer be active", 0, pool.getActiveCount());
+        assertEquals("Returned connection should be idle again", 1, pool.getIdleCount());
+        assertEquals("Borrow should be counted", 1, pool.getBorrowCount());
+        assertFalse("Physical connection should stay open", createdConnections.get(0).closed);
+    }
+
+    @Test(expected = SQLException.class)
+    public void testUseAfterReturnFails() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.createStatement();
+    }
+
+    @Test
+    public void testInvalidConnectionReplacedOnBorrow() throws SQLException {
+        createdConnections.get(0).valid = false;
+
+        try (Connection connection = pool.getConnection()) {
+            assertNotNull(connection);
+        }
+
+        assertTrue("Broken connection should be closed", createdConnections.get(0).closed);
+        assertEquals("A replacement connection should be opened", 2, createdConnections.size());
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenExhausted() throws SQLException {
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        try {
+            pool.getConnection();
+            fail("Third borrow should time out on a pool of two");
+        } catch (SQLException e) {
+            assertEquals("Timeout should be counted", 1, pool.getTimeoutCount());
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    public void testReturnedTransactionIsRolledBack() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        assertTrue("Open transaction should be rolled back", createdConnections.get(0).rolledBack);
+        assertTrue("Auto-commit should be restored", createdConnections.get(0).autoCommit);
+    }
+
+    @Test
+    public void testIdleEvictionKeepsMinimum() throws SQLException {
+        ConnectionPool shortLived = new ConnectionPool(this::createStubConnection, 1, 3, 100, 1);
+        try {
+            Connection first = shortLived.getConnection();
+            Connection second = shortLived.getConnection();
+            first.close();
+            second.close();
+
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            shortLived.evictIdleConnections();
+
+            assertEquals("Eviction should keep exactly minSize idle connections", 1, shortLived.getIdleCount());
+        } finally {
+            shortLived.close();
+        }
+    }
+
+    @Test
+    public void testCloseClosesIdleConnections() {
+        pool.close();
+        assertTrue("Idle connection should be closed with the pool", createdConnections.get(0).closed);
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSizesRejected() throws SQLException {
+        new ConnectionPool(this::createStubConnection, 3, 2, 100, 1000);
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * ControllerBootstrapTest.java
+ * Version: 1.1
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ControllerBootstrapTest {
+
+    /**
+     * Wraps a factory so it only finishes once every controller has started loading,
+     * which can only happen if they load at the same time.
+     */
+    private static <T> Supplier<T> afterAllStarted(CountDownLatch started, Supplier<T> factory) {
+        return () -> {
+            started.countDown();
+            try {
+                if (!started.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Controllers were loaded one at a time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return factory.get();
+        };
+    }
+
+    @Test
+    public void testControllersLoadConcurrently() {
+        CountDownLatch started = new CountDownLatch(5);
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                afterAllStarted(started, () -> new SupplyController(0)),
+                afterAllStarted(started, () -> new LocationController(0)),
+                afterAllStarted(started, () -> new MedicalRecordController(0)),
+                afterAllStarted(started, () -> new PersonController(0)),
+                afterAllStarted(started, () -> new InquiryController(0)),
+                null);
+
+        bootstrap.awaitAll();
+
+        assertTrue(bootstrap.isDone());
+        assertNotNull(bootstrap.getSupplyController());
+        assertNotNull(bootstrap.getInquiryController());
+    }
+
+    @Test
+    public void testLoadTimesReportedForEachController() {
+        Map<String, Long> reported = new ConcurrentHashMap<>();
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> new LocationController(0),
+                () -> new MedicalRecordController(0),
+                () -> new PersonController(0),
+                () -> new InquiryController(0),
+                (name, millis, failure) -> reported.put(name, millis));
+
+        bootstrap.awaitAll();
+
+        assertEquals(5, reported.size());
+        assertEquals(reported, bootstrap.getLoadTimes());
+        assertTrue(reported.containsKey("PersonController"));
+    }
+
+    @Test
+    public void testSlowControllerDoesNotHoldUpOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> new LocationController(0),
+                () -> new MedicalRecordController(0),
+                () -> new PersonController(0),
+                () -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new InquiryController(0);
+                },
+                null);
+
+        assertNotNull("Finished controllers should be available straight away", bootstrap.getPersonController());
+        assertFalse("The slow controller should still be loading", bootstrap.isDone());
+
+        release.countDown();
+        assertNotNull(bootstrap.getInquiryController());
+    }
+
+    @Test
+    public void testFailureRethrownWithOriginalException() {
+        RuntimeException failure = new RuntimeException("Failed to initialize LocationController");
+        Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> { throw failure; },
+                () -> new MedicalRecordController(0),
+                () -> new PersonController(0),
+                () -> new InquiryController(0),
+                (name, millis, error) -> {
+                    if (error != null) {
+                        failures.put(name, error);
+                    }
+                });
+
+        try {
+            bootstrap.getLocationController();
+            fail("Load failure should be rethrown");
+        } catch (RuntimeException e) {
+            assertSame(failure, e);
+        }
+        assertSame(failure, failures.get("LocationController"));
+        assertNotNull("Other controllers should still load", bootstrap.getSupplyController());
+    }
+
+    @Test
+    public void testFailedLoadRetriedOnNextRequest() {
+        AtomicInteger attempts = new AtomicInteger();
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> new LocationController(0),
+                () -> new MedicalRecordController(0),
+                () -> new PersonController(0),
+                () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Database unreachable");
+                    }
+                    return new InquiryController(0);
+                },
+                null);
+
+        try {
+            bootstrap.getInquiryController();
+            fail("The first load failure should be rethrown");
+        } catch (IllegalStateException e) {
+            assertFalse(bootstrap.isLoaded("InquiryController"));
+        }
+
+        assertNotNull("A failed load should be retried", bootstrap.getInquiryController());
+        assertTrue(bootstrap.isLoaded("InquiryController"));
+        assertEquals(2, attempts.get());
+        assertNotNull("A loaded controller should not be loaded again", bootstrap.getInquiryController());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testExpiredSuppliesLeaveInventories() {
+        DisasterVictim victim = new DisasterVictim("Alice", "Smith");
+        victim.setPersonId(1);
+        Location shelter = new Location("Shelter A", "123 Main St");
+        shelter.setLocationId(1);
+        Water water = new Water("Bottled Water", "Water");
+        water.setSupplyId(7);
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> new LocationController(0),
+                () -> new MedicalRecordController(0),
+                () -> new PersonController(0),
+                () -> new InquiryController(0),
+                null);
+        bootstrap.awaitAll();
+        bootstrap.getPersonController().addPersonTest(victim);
+        bootstrap.getPersonController().addSupplyToInventory(1, water);
+        bootstrap.getLocationController().addLocationTest(shelter);
+        bootstrap.getLocationController().addSupplyToInventory(1, water);
+
+        bootstrap.getSupplyController().expireSuppliesTest(Arrays.asList(7));
+
+        assertTrue(victim.getPersonalInventory().isEmpty());
+        assertTrue(shelter.getLocationInventory().isEmpty());
+    }
+
+    @Test
+    public void testControllerLoadedAgainIsStillLinked() {
+        AtomicInteger attempts = new AtomicInteger();
+        DisasterVictim victim = new DisasterVictim("Alice", "Smith");
+        victim.setPersonId(1);
+        Water water = new Water("Bottled Water", "Water");
+        water.setSupplyId(7);
+        ControllerBootstrap bootstrap = new ControllerBootstrap(
+                () -> new SupplyController(0),
+                () -> new LocationController(0),
+                () -> new MedicalRecordController(0),
+                () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Database unreachable");
+                    }
+                    return new PersonController(0);
+                },
+                () -> new InquiryController(0),
+                null);
+        try {
+            bootstrap.getPersonController();
+            fail("The first load failure should be rethrown");
+        } catch (IllegalStateException e) {
+            // Loaded again below
+        }
+        PersonController people = bootstrap.getPersonController();
+        people.addPersonTest(victim);
+        people.addSupplyToInventory(1, water);
+
+        bootstrap.getSupplyController().expireSuppliesTest(Arrays.asList(7));
+
+        assertTrue(victim.getPersonalInventory().isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * DataExporterTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class DataExporterTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("export-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private DataExporter.CopySource chunks(String... parts) {
+        Iterator<String> iterator = Arrays.asList(parts).iterator();
+        return () -> iterator.hasNext() ? iterator.next().getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private List<Path> filesIn(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testChunksWrittenInOrder() throws IOException, SQLException {
+        Path target = directory.resolve("Person.csv");
+
+        long written = DataExporter.writeCopy(chunks("person_id,first_name\n", "1,Jane\n", "2,John\n"), target, false);
+
+        assertEquals("person_id,first_name\n1,Jane\n2,John\n", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertEquals("Uncompressed byte count should be returned", 35, written);
+    }
+
+    @Test
+    public void testGzipOutputDecompressesToOriginal() throws IOException, SQLException {
+        Path target = directory.resolve("Person.ndjson.gz");
+
+        DataExporter.writeCopy(chunks("{\"person_id\":1}\n", "{\"person_id\":2}\n"), target, true);
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(target))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+        assertEquals("{\"person_id\":1}\n{\"person_id\":2}\n", decompressed.toString("UTF-8"));
+    }
+
+    @Test
+    public void testFailedCopyLeavesExistingFileAndNoPartialFile() throws IOException {
+        Path target = directory.resolve("Supply.csv");
+        Files.write(target, "previous export".getBytes(StandardCharsets.UTF_8));
+        Iterator<String> parts = Arrays.asList("supply_id\n", "1\n").iterator();
+
+        try {
+            DataExporter.writeCopy(() -> {
+                if (!parts.hasNext()) {
+                    throw new SQLException("Connection lost");
+                }
+                return parts.next().getBytes(StandardCharsets.UTF_8);
+            }, target, false);
+            fail("Copy failure should be rethrown");
+        } catch (SQLException e) {
+            assertEquals("Connection lost", e.getMessage());
+        }
+
+        assertEquals("Previous export should be untouched", "previous export",
+                new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertEquals("Temporary file should be removed", 1, filesIn(directory).size());
+    }
+
+    @Test
+    public void testCsvCopyIncludesHeader() {
+        assertEquals("COPY Person TO STDOUT WITH (FORMAT csv, HEADER)",
+                DataExporter.buildCopySql(DataExporter.Table.PERSON, DataExporter.Format.CSV));
+    }
+
+    @Test
+    public void testNdjsonCopyUsesRowToJson() {
+        String sql = DataExporter.buildCopySql(DataExporter.Table.SUPPLY_ALLOCATION, DataExporter.Format.NDJSON);
+
+        assertTrue(sql.startsWith("COPY (SELECT row_to_json(t) FROM SupplyAllocation t) TO STDOUT"));
+        assertFalse("Text format would escape backslashes in the JSON", sql.contains("FORMAT text"));
+    }
+
+    @Test
+    public void testFileNames() {
+        assertEquals("MedicalRecord.csv", DataExporter.fileName(DataExporter.Table.MEDICAL_RECORD, DataExporter.Format.CSV, false));
+        assertEquals("Inquiry.ndjson.gz", DataExporter.fileName(DataExporter.Table.INQUIRY, DataExporter.Format.NDJSON, true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoolRejected() {
+        new DataExporter(null);
+    }
+}
@@ -33,7 +33,16 @@ public class ErrorLoggerTest {
     }
 
     @After
-    public void tearDown() {
+    public void tearDown() throws IOException {
+        logger.stopAsync();
+        logger.setFormat(ErrorLogger.LogFormat.TEXT);
+        LogRotator rotator = logger.getRotator();
+        logger.setRotator(new LogRotator(java.nio.file.Paths.get(TEST_LOG_PATH)));
+        if (rotator != null) {
+            for (java.nio.file.Path segment : rotator.getSegments()) {
+                java.nio.file.Files.deleteIfExists(segment);
+            }
+        }
         // Clean up after tests
         File logFile = new File(TEST_LOG_PATH);
         if (logFile.exists()) {
@@ -124,4 +133,116 @@ public class ErrorLoggerTest {
         assertEquals("Should have two log entries", 2, entryCount);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAsyncEntriesAreWrittenByStop() throws Exception {
+        logger.startAsync(ErrorLogger.DEFAULT_BUFFER_CAPACITY, ErrorLogger.OverflowPolicy.BLOCK);
+        assertTrue(logger.isAsync());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    logger.logError(new IOException("Async exception"), "testAsyncEntriesAreWrittenByStop");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.stopAsync();
+
+        assertFalse(logger.isAsync());
+        assertEquals("Every queued entry should be written", 200, countEntries());
+    }
+
+    @Test
+    public void testBlockPolicyLosesNothingWhenFull() throws Exception {
+        logger.startAsync(2, ErrorLogger.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            logger.logError(new IllegalStateException("Entry " + i), "testBlockPolicyLosesNothingWhenFull");
+        }
+        logger.stopAsync();
+
+        assertEquals(100, countEntries());
+    }
+
+    @Test
+    public void testDiscardPolicyCountsDroppedEntries() throws Exception {
+        logger.startAsync(1, ErrorLogger.OverflowPolicy.DISCARD);
+        for (int i = 0; i < 500; i++) {
+            logger.logError(new IllegalStateException("Entry " + i), "testDiscardPolicyCountsDroppedEntries");
+        }
+        long dropped = logger.getDroppedCount();
+        logger.stopAsync();
+
+        int written = countEntries();
+        assertTrue("Entries after the buffer fills may be dropped", written <= 500);
+        assertTrue("Dropped entries should be counted", written + dropped >= 500);
+    }
+
+    @Test
+    public void testLoggingIsSynchronousAfterStop() throws IOException {
+        logger.startAsync(ErrorLogger.DEFAULT_BUFFER_CAPACITY, ErrorLogger.OverflowPolicy.DISCARD);
+        logger.stopAsync();
+
+        logger.logError(new IOException("After stop"), "testLoggingIsSynchronousAfterStop");
+
+        assertEquals(1, countEntries());
+    }
+
+    @Test
+    public void testLogIsRolledAtSizeLimit() throws Exception {
+        LogRotator rotator = new LogRotator(java.nio.file.Paths.get(TEST_LOG_PATH), 1,
+                java.time.Duration.ofDays(1), 5, java.time.Clock.systemDefaultZone());
+        logger.setRotator(rotator);
+
+        logger.logError(new IOException("First"), "testLogIsRolledAtSizeLimit");
+        logger.logError(new IOException("Second"), "testLogIsRolledAtSizeLimit");
+        rotator.awaitCompression();
+
+        assertEquals("The current file should only hold the entry after the roll", 1, countEntries());
+        assertEquals(1, rotator.getSegments().size());
+        assertTrue(rotator.getSegments().get(0).toString().endsWith(".gz"));
+    }
+
+    @Test
+    public void testJsonLinesCollapseRepeatedErrors() throws IOException {
+        logger.setFormat(ErrorLogger.LogFormat.JSON_LINES);
+        Exception first = new IllegalStateException("Database unavailable");
+        for (int i = 0; i < 50; i++) {
+            Exception repeat = new IllegalStateException("Database unavailable");
+            repeat.setStackTrace(first.getStackTrace());
+            logger.logError(repeat, "testJsonLinesCollapseRepeatedErrors");
+        }
+        // Switching back writes the count of repeats still being collapsed
+        logger.setFormat(ErrorLogger.LogFormat.TEXT);
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(TEST_LOG_PATH))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        assertEquals("One record for the first error and one for its repeats", 2, lines.size());
+        assertTrue(lines.get(0).contains("\"count\":1"));
+        assertTrue(lines.get(0).contains("\"trace\""));
+        assertTrue(lines.get(1).contains("\"count\":49"));
+        assertTrue(lines.get(1).contains("\"context\":\"testJsonLinesCollapseRepeatedErrors\""));
+    }
+
+    private int countEntries() throws IOException {
+        int entryCount = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(TEST_LOG_PATH))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains("ERROR in")) {
+                    entryCount++;
+                }
+            }
+        }
+        return entryCount;
+    }
+}
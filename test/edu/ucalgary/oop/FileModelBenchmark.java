@@ -0,0 +1,117 @@
+/**
+ * FileModelBenchmark.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the previous FileModel approach of joining lines read through a BufferedReader against
+ * the BUFFERED and MAPPED read modes, and against streaming the file without keeping it.
+ * Not a unit test; run it by hand with: java -cp out:lib/* edu.ucalgary.oop.FileModelBenchmark
+ */
+public class FileModelBenchmark {
+    private static final int[] FILE_MEGABYTES = {4, 16, 64};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-6s %12s %12s %12s %12s%n", "MB", "lines ms", "buffered ms", "mapped ms", "stream ms");
+
+        for (int megabytes : FILE_MEGABYTES) {
+            Path file = createFile(megabytes);
+            try {
+                // The modes must agree before their timings mean anything
+                long expected = readWith(file, FileModel.ReadMode.BUFFERED);
+                if (readWith(file, FileModel.ReadMode.MAPPED) != expected || stream(file) != expected) {
+                    throw new IllegalStateException("Read modes disagree on a file of " + megabytes + " MB");
+                }
+
+                double linesMillis = time(() -> readLines(file));
+                double bufferedMillis = time(() -> readWith(file, FileModel.ReadMode.BUFFERED));
+                double mappedMillis = time(() -> readWith(file, FileModel.ReadMode.MAPPED));
+                double streamMillis = time(() -> stream(file));
+                System.out.printf("%-6d %12.2f %12.2f %12.2f %12.2f%n",
+                        megabytes, linesMillis, bufferedMillis, mappedMillis, streamMillis);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+
+
+
+    private interface Load {
+        long run() throws Exception;
+    }
+
+    /**
+     * @return The mean time of one load in milliseconds, after warming up.
+     */
+    private static double time(Load load) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            load.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            load.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    /**
+     * The loop readFile() used to run, kept here as the baseline.
+     */
+    private static long readLines(Path file) throws Exception {
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line);
+            }
+        }
+        return content.toString().length();
+    }
+
+    private static long readWith(Path file, FileModel.ReadMode mode) {
+        FileModel fileModel = new FileModel(file.toString(), "");
+        fileModel.openFile();
+        fileModel.readFile(mode);
+        return fileModel.getFileContent().length();
+    }
+
+    private static long stream(Path file) {
+        FileModel fileModel = new FileModel(file.toString(), "");
+        long[] characters = {0};
+        fileModel.openFile();
+        fileModel.streamFile(FileModel.ReadMode.MAPPED, chunk -> characters[0] += chunk.remaining());
+        return characters[0];
+    }
+
+    /**
+     * Writes a file of log-like ASCII lines, so every approach reads the same characters.
+     */
+    private static Path createFile(int megabytes) throws Exception {
+        Path file = Files.createTempFile("filemodel", ".txt");
+        long target = megabytes * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; written < target; i++) {
+                String line = "2026-10-17 09:30:00 - Supply " + i + " was allocated to person " + (i % 997) + "\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+        return file;
+    }
+}
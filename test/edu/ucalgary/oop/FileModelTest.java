@@ -1,6 +1,6 @@
 /**
  * FileModelTest.java
- * Version: 2.0
+ * Version: 3.0
  * Author: Jibran Somroo
  * Date: April 7, 2025
  */
@@ -12,6 +12,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import static org.junit.Assert.*;
 
@@ -77,6 +80,198 @@ public class FileModelTest {
         fileModel.closeFile();
     }
 
+    @Test
+    public void testReadFileKeepsLineBreaks() {
+        createTestFile(testFilePath, "first line\nsecond line\r\nthird");
+        fileModel.openFile();
+
+        fileModel.readFile();
+
+        assertEquals("first line\nsecond line\r\nthird", fileModel.getFileContent());
+    }
+
+    @Test
+    public void testReadFileUsesExplicitCharset() throws IOException {
+        Files.write(Paths.get(testFilePath),
+                "Système café".getBytes(StandardCharsets.ISO_8859_1));
+        FileModel latin1 = new FileModel(testFilePath, null, StandardCharsets.ISO_8859_1);
+        latin1.openFile();
+
+        latin1.readFile();
+
+        assertEquals("Système café", latin1.getFileContent());
+    }
+
+    @Test
+    public void testMappedAndBufferedReadsAgree() throws IOException {
+        String content = multiByteContent(5000);
+        writeUtf8(content);
+
+        for (FileModel.ReadMode mode : FileModel.ReadMode.values()) {
+            FileModel model = new FileModel(testFilePath, null);
+            // Small windows and chunks so characters are split across their boundaries
+            model.setBufferSizes(17, 31);
+            model.openFile();
+            model.readFile(mode);
+            assertEquals("Mode " + mode + " should read the whole file", content, model.getFileContent());
+        }
+    }
+
+    @Test
+    public void testStreamFileDeliversEveryChunkInOrder() throws IOException {
+        String content = multiByteContent(5000);
+        writeUtf8(content);
+
+        for (FileModel.ReadMode mode : FileModel.ReadMode.values()) {
+            FileModel model = new FileModel(testFilePath, null);
+            model.setBufferSizes(64, 100);
+            StringBuilder received = new StringBuilder();
+            int[] chunks = {0};
+            model.openFile();
+            model.streamFile(mode, chunk -> {
+                chunks[0]++;
+                received.append(chunk);
+            });
+
+            assertEquals(content, received.toString());
+            assertTrue("The file should arrive in several chunks", chunks[0] > 1);
+            assertNull("Streaming should not keep the content", model.getFileContent());
+        }
+    }
+
+    @Test
+    public void testReadFileClosesTheFile() {
+        fileModel.openFile();
+        fileModel.readFile(FileModel.ReadMode.MAPPED);
+
+        // Reopening would fail if the file were still open
+        fileModel.openFile();
+        fileModel.readFile();
+        assertEquals(testFileContent, fileModel.getFileContent());
+    }
+
+    @Test
+    public void testEmptyFile() {
+        createTestFile(testFilePath, "");
+        for (FileModel.ReadMode mode : FileModel.ReadMode.values()) {
+            fileModel.openFile();
+            fileModel.readFile(mode);
+            assertEquals("", fileModel.getFileContent());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStreamFileWithoutOpening() {
+        fileModel.streamFile(FileModel.ReadMode.BUFFERED, chunk -> { });
+    }
+
+    @Test
+    public void testWriteFileReplacesContent() throws IOException {
+        FileModel writer = new FileModel(testFilePath, "Replaced\nwith two lines");
+
+        writer.writeFile(false);
+
+        assertEquals("Replaced\nwith two lines", readUtf8());
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void testWriteFileWithSync() throws IOException {
+        FileModel writer = new FileModel(testFilePath, "Synced café");
+
+        writer.writeFile(true);
+
+        assertEquals("Synced café", readUtf8());
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void testWriteFileUsesExplicitCharset() throws IOException {
+        FileModel writer = new FileModel(testFilePath, "Système", StandardCharsets.ISO_8859_1);
+
+        writer.writeFile(false);
+
+        assertArrayEquals("Système".getBytes(StandardCharsets.ISO_8859_1), Files.readAllBytes(Paths.get(testFilePath)));
+    }
+
+    @Test
+    public void testSmallWritesAreGatheredAcrossBuffers() throws IOException {
+        String content = multiByteContent(2000);
+        FileModel writer = new FileModel(testFilePath, null);
+        writer.setBufferSizes(17, 31);
+
+        writer.openFileForWriting(false);
+        // One char at a time, so surrogate pairs are split between writes
+        for (int i = 0; i < content.length(); i++) {
+            writer.write(content.subSequence(i, i + 1));
+        }
+        writer.commitFile();
+
+        assertEquals(content, readUtf8());
+    }
+
+    @Test
+    public void testFileKeepsOldContentUntilCommitted() throws IOException {
+        FileModel writer = new FileModel(testFilePath, null);
+
+        writer.openFileForWriting(false);
+        writer.write("Half written");
+        assertEquals("The file should not change before commitFile()", testFileContent, readUtf8());
+
+        writer.discardFile();
+
+        assertEquals(testFileContent, readUtf8());
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void testWriteCreatesMissingFile() throws IOException {
+        new File(testFilePath).delete();
+        FileModel writer = new FileModel(testFilePath, "New file");
+
+        writer.writeFile(false);
+
+        assertEquals("New file", readUtf8());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteWithoutOpening() {
+        fileModel.write("text");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOpenForWritingTwice() {
+        fileModel.openFileForWriting(false);
+        try {
+            fileModel.openFileForWriting(false);
+        } finally {
+            fileModel.discardFile();
+        }
+    }
+
+    private String readUtf8() throws IOException {
+        return new String(Files.readAllBytes(Paths.get(testFilePath)), StandardCharsets.UTF_8);
+    }
+
+    private void assertNoTempFiles() {
+        File[] parts = new File(testFilePath).getAbsoluteFile().getParentFile()
+                .listFiles((directory, name) -> name.startsWith(testFilePath) && name.endsWith(".part"));
+        assertEquals("Temporary files should be removed", 0, parts.length);
+    }
+
+    private static String multiByteContent(int lines) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append(i).append(": Système d'information \u00e9\u20ac\ud83d\ude00\n");
+        }
+        return content.toString();
+    }
+
+    private void writeUtf8(String content) throws IOException {
+        Files.write(Paths.get(testFilePath),
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+
     //Cerate temp file
     private void createTestFile(String filePath, String content) {
         try (FileWriter writer = new FileWriter(filePath)) {
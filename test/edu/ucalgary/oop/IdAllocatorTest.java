@@ -0,0 +1,147 @@
+/**
+ * IdAllocatorTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdAllocatorTest {
+
+    /**
+     * Stands in for a database sequence, counting how often it is queried.
+     */
+    private static class FakeSequence implements IdAllocator.BlockSource {
+        private int next = 1;
+        private int calls = 0;
+
+        @Override
+        public synchronized int[] reserveBlock(int size) {
+            calls++;
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = next++;
+            }
+            return ids;
+        }
+    }
+
+    @Test
+    public void testSequentialIdsIncrement() throws SQLException {
+        IdAllocator allocator = IdAllocator.sequential(5);
+
+        assertEquals(5, allocator.nextId());
+        assertEquals(6, allocator.nextId());
+        assertEquals(7, allocator.nextId());
+    }
+
+    @Test
+    public void testSourceQueriedOncePerBlock() throws SQLException {
+        FakeSequence sequence = new FakeSequence();
+        IdAllocator allocator = new IdAllocator(sequence, 10);
+
+        for (int i = 1; i <= 25; i++) {
+            assertEquals(i, allocator.nextId());
+        }
+
+        assertEquals("25 IDs in blocks of 10 should need three reservations", 3, sequence.calls);
+        assertEquals(3, allocator.getBlocksReserved());
+    }
+
+    @Test
+    public void testNoReservationUntilFirstId() {
+        FakeSequence sequence = new FakeSequence();
+        new IdAllocator(sequence, 10);
+
+        assertEquals("Blocks should be reserved lazily", 0, sequence.calls);
+    }
+
+    @Test
+    public void testGapsFromOtherProcessesPreserved() throws SQLException {
+        int[][] blocks = {{3, 7}, {12, 13}};
+        AtomicInteger call = new AtomicInteger();
+        IdAllocator allocator = new IdAllocator(size -> blocks[call.getAndIncrement()], 2);
+
+        assertEquals(3, allocator.nextId());
+        assertEquals(7, allocator.nextId());
+        assertEquals(12, allocator.nextId());
+        assertEquals(13, allocator.nextId());
+    }
+
+    @Test
+    public void testConcurrentCallersNeverCollide() throws Exception {
+        FakeSequence sequence = new FakeSequence();
+        IdAllocator allocator = new IdAllocator(sequence, 7);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        ids.add(allocator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<Integer> all = new HashSet<>();
+            for (Future<List<Integer>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertEquals("Every ID should be unique", 4000, all.size());
+            assertEquals("No reserved ID should be skipped", 4000, (int) Collections.max(all));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedReservationPropagatesAndRetries() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        IdAllocator allocator = new IdAllocator(size -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new SQLException("Database unavailable");
+            }
+            return new int[]{42};
+        }, 1);
+
+        try {
+            allocator.nextId();
+            fail("Reservation failure should be thrown");
+        } catch (SQLException e) {
+            assertEquals("Database unavailable", e.getMessage());
+        }
+        assertEquals("Next call should reserve again", 42, allocator.nextId());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testEmptyBlockRejected() throws SQLException {
+        new IdAllocator(size -> new int[0], 5).nextId();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBlockSizeRejected() {
+        new IdAllocator(new FakeSequence(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSourceRejected() {
+        new IdAllocator(null, 10);
+    }
+}
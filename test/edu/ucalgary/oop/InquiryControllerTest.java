@@ -1,6 +1,6 @@
 /**
  * InquiryControllerTest.java
- * Version: 2.0
+ * Version: 2.1
  * Author: Jibran Somroo
  * Date: April 7, 2025
  */
@@ -48,9 +48,9 @@ public class InquiryControllerTest {
         testInquiry2 = new Inquiry(testInquirer, (DisasterVictim) testMissingPerson, "2025-01-01", "Second inquiry", testLocation);
         testInquiry2.setInquiryId(2);
 
-        // Manually add to controller's list
-        inquiryController.getAllInquiriesTest().add(testInquiry1);
-        inquiryController.getAllInquiriesTest().add(testInquiry2);
+        // Manually add to controller's models
+        inquiryController.addInquiryTest(testInquiry1);
+        inquiryController.addInquiryTest(testInquiry2);
     }
 
 
@@ -89,6 +89,51 @@ public class InquiryControllerTest {
                 results.contains(testInquiry1) && results.contains(testInquiry2));
     }
 
+    @Test
+    public void testLookupsSeeInquiriesAddedLater() throws SQLException {
+        assertEquals(2, inquiryController.getInquiriesByInquirer(1).size());
+
+        Person otherInquirer = new Person("Sam", "Lee");
+        otherInquirer.setPersonId(5);
+        Inquiry late = new Inquiry(otherInquirer, (DisasterVictim) testMissingPerson, "2025-02-02", "Late", testLocation);
+        late.setInquiryId(3);
+        inquiryController.addInquiryTest(late);
+
+        assertSame("Should find an inquiry added after the index was built", late, inquiryController.getInquiryById(3));
+        assertEquals(1, inquiryController.getInquiriesByInquirer(5).size());
+        assertEquals("Missing person should now have three inquiries",
+                3, inquiryController.getInquiriesByMissingPerson(2).size());
+    }
+
+    @Test
+    public void testReplacedInquiryMovesToNewInquirerAndKeepsPlace() {
+        Person otherInquirer = new Person("Sam", "Lee");
+        otherInquirer.setPersonId(5);
+        Inquiry replacement = new Inquiry(otherInquirer, (DisasterVictim) testMissingPerson, "2024-05-05", "Moved", testLocation);
+        replacement.setInquiryId(1);
+        inquiryController.addInquiryTest(replacement);
+
+        assertEquals(1, inquiryController.getInquiriesByInquirer(1).size());
+        assertSame(replacement, inquiryController.getInquiriesByInquirer(5).get(0));
+        assertEquals("Missing person should still have two inquiries",
+                2, inquiryController.getInquiriesByMissingPerson(2).size());
+        assertSame("Replacement should keep the first place", replacement, inquiryController.getAllInquiries().get(0));
+    }
+
+    @Test
+    public void testLookupsForUnknownPersonAreEmpty() {
+        assertTrue(inquiryController.getInquiriesByInquirer(99).isEmpty());
+        assertTrue(inquiryController.getInquiriesByMissingPerson(99).isEmpty());
+    }
+
+    @Test
+    public void testLookupResultsAreCopies() {
+        inquiryController.getInquiriesByInquirer(1).clear();
+
+        assertEquals("Clearing a result should not change the index",
+                2, inquiryController.getInquiriesByInquirer(1).size());
+    }
+
     @Test
     public void testGenerateInquiryIdIncrements() {
         int firstId = inquiryController.generateInquiryId();
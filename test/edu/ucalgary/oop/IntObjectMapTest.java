@@ -0,0 +1,116 @@
+/**
+ * IntObjectMapTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class IntObjectMapTest {
+    private IntObjectMap<String> map;
+
+    @Before
+    public void setUp() {
+        map = new IntObjectMap<>();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull("New key should have no previous value", map.put(1, "one"));
+        map.put(2, "two");
+
+        assertEquals("one", map.get(1));
+        assertEquals("two", map.get(2));
+        assertNull("Missing key should return null", map.get(3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        map.put(7, "old");
+
+        assertEquals("Previous value should be returned", "old", map.put(7, "new"));
+        assertEquals("new", map.get(7));
+        assertEquals("Replacing should not change the size", 1, map.size());
+    }
+
+    @Test
+    public void testRemove() {
+        map.put(1, "one");
+        map.put(2, "two");
+
+        assertEquals("one", map.remove(1));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+        assertEquals("two", map.get(2));
+        assertEquals(1, map.size());
+        assertNull("Removing a missing key should return null", map.remove(1));
+    }
+
+    @Test
+    public void testNegativeAndZeroKeys() {
+        map.put(0, "zero");
+        map.put(-1, "unset");
+
+        assertEquals("zero", map.get(0));
+        assertEquals("unset", map.get(-1));
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i, "v" + i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 1; i <= 10_000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 2_000; key++) {
+            assertEquals("Key " + key + " should match", expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testValuesAndClear() {
+        map.put(1, "one");
+        map.put(2, "two");
+
+        assertEquals(2, map.values().size());
+        assertTrue(map.values().contains("two"));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValueRejected() {
+        map.put(1, null);
+    }
+}
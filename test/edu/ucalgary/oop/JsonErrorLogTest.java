@@ -0,0 +1,125 @@
+/**
+ * JsonErrorLogTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class JsonErrorLogTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 17, 9, 30, 0);
+
+    private JsonErrorLog log;
+    private StringWriter output;
+    private PrintWriter out;
+
+    @Before
+    public void setUp() {
+        log = new JsonErrorLog(Duration.ofMinutes(1));
+        output = new StringWriter();
+        out = new PrintWriter(output);
+    }
+
+    @Test
+    public void testFirstErrorIsWrittenWithTrace() {
+        log.write(out, START, failure("Connection refused"), "PersonController.getAllPeople()");
+
+        String[] records = records();
+        assertEquals(1, records.length);
+        String record = records[0];
+        assertTrue(record.startsWith("{\"timestamp\":\"2026-10-17T09:30"));
+        assertTrue(record.contains("\"context\":\"PersonController.getAllPeople()\""));
+        assertTrue(record.contains("\"exception\":\"java.sql.SQLException\""));
+        assertTrue(record.contains("\"message\":\"Connection refused\""));
+        assertTrue(record.contains("\"count\":1"));
+        assertTrue(record.contains("\"trace\":\"java.sql.SQLException: Connection refused\\n"));
+        assertTrue(record.endsWith("}"));
+    }
+
+    @Test
+    public void testRepeatsWithinWindowAreCollapsed() {
+        SQLException first = failure("Connection refused");
+        for (int i = 0; i < 1000; i++) {
+            log.write(out, START.plusSeconds(i % 30), sameTrace(first, "Connection refused " + i), "DatabaseManager.connect()");
+        }
+        assertEquals("Only the first error should be written during the window", 1, records().length);
+
+        log.writeExpired(out, START.plusMinutes(1));
+
+        String[] records = records();
+        assertEquals(2, records.length);
+        assertTrue(records[1].contains("\"count\":999"));
+        assertTrue(records[1].contains("\"message\":\"Connection refused 999\""));
+        assertTrue(records[1].contains("\"firstSeen\""));
+        assertFalse("The summary should not repeat the trace", records[1].contains("\"trace\""));
+    }
+
+    @Test
+    public void testTraceIsOnlyWrittenTheFirstTime() {
+        SQLException first = failure("Connection refused");
+        log.write(out, START, first, "DatabaseManager.connect()");
+        log.write(out, START.plusMinutes(5), sameTrace(first, "Connection refused"), "DatabaseManager.connect()");
+        log.write(out, START.plusMinutes(5), sameTrace(first, "Connection refused"), "SupplyController.addSupply()");
+
+        String[] records = records();
+        assertEquals("A new window and a new context are written again", 3, records.length);
+        assertTrue(records[0].contains("\"trace\""));
+        assertFalse(records[1].contains("\"trace\""));
+        assertFalse(records[2].contains("\"trace\""));
+    }
+
+    @Test
+    public void testWriteAllReportsOpenWindows() {
+        SQLException first = failure("Connection refused");
+        log.write(out, START, first, "DatabaseManager.connect()");
+        log.write(out, START.plusSeconds(1), sameTrace(first, "Connection refused"), "DatabaseManager.connect()");
+        assertTrue(log.hasExpired(START.plusMinutes(1)));
+        assertFalse(log.hasExpired(START.plusSeconds(2)));
+
+        log.writeAll(out);
+
+        assertEquals(2, records().length);
+        assertFalse(log.hasExpired(START.plusMinutes(1)));
+    }
+
+    @Test
+    public void testTraceHashIgnoresMessages() {
+        SQLException first = failure("id 1");
+
+        assertEquals(JsonErrorLog.traceHash(first), JsonErrorLog.traceHash(sameTrace(first, "id 2")));
+        assertNotEquals(JsonErrorLog.traceHash(first), JsonErrorLog.traceHash(new IllegalStateException("id 1")));
+        assertEquals(16, JsonErrorLog.traceHash(first).length());
+    }
+
+    @Test
+    public void testStringsAreEscaped() {
+        log.write(out, START, new IllegalArgumentException("Quote \" slash \\ tab \t bell \u0007"), "context");
+
+        String record = records()[0];
+        assertTrue(record.contains("\"message\":\"Quote \\\" slash \\\\ tab \\t bell \\u0007\""));
+    }
+
+    private String[] records() {
+        out.flush();
+        return output.toString().split(System.lineSeparator());
+    }
+
+    private static SQLException failure(String message) {
+        return new SQLException(message);
+    }
+
+    private static SQLException sameTrace(SQLException original, String message) {
+        SQLException copy = new SQLException(message);
+        copy.setStackTrace(original.getStackTrace());
+        return copy;
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * LocationControllerTest.java
- * Version: 2.0
+ * Version: 2.2
  * Author: Jibran Somroo
  * Date: April 8, 2025
  */
@@ -10,6 +10,7 @@ package edu.ucalgary.oop;
 import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.sql.SQLException;
 
 public class LocationControllerTest {
@@ -46,8 +47,8 @@ public class LocationControllerTest {
         testSupply.setSupplyId(1);
 
         // Manually add to controller's list
-        locationController.getAllLocationsTest().add(testLocation1);
-        locationController.getAllLocationsTest().add(testLocation2);
+        locationController.addLocationTest(testLocation1);
+        locationController.addLocationTest(testLocation2);
     }
 
     // Tests that should pass with the test constructor
@@ -130,7 +131,7 @@ public class LocationControllerTest {
 
     @Test(expected = NullPointerException.class)
     public void testAllocateSupplyToPersonAtLocationThrowsSQLException() throws Exception {
-        locationController.allocateSupplyToPersonAtLocation(1, 1, 1);
+        locationController.allocateSupplyToPersonAtLocation(1, 1, 1, null, null);
     }
 
     // Additional tests for business logic
@@ -149,5 +150,66 @@ public class LocationControllerTest {
         }
     }
 
+    @Test
+    public void testPeopleNotAtAnyLocationUsesOccupancyIndex() {
+        Person unassigned = new Person("Jane", "Doe");
+        unassigned.setPersonId(2);
+        // A different object with the same ID, as returned by a separate query
+        Person sameAsTestPerson = new Person("Test", "Person");
+        sameAsTestPerson.setPersonId(1);
+        locationController.addOccupantTest(1, 1);
+
+        ArrayList<Person> result = locationController.getPeopleNotAtAnyLocation(
+                Arrays.asList(sameAsTestPerson, unassigned));
+        assertEquals("People should be matched by ID, not identity", 1, result.size());
+        assertSame(unassigned, result.get(0));
+    }
+
+    @Test
+    public void testWhereIsPerson() {
+        locationController.addOccupantTest(1, 2);
+
+        assertEquals(Arrays.asList(2), locationController.getLocationIdsForPerson(1));
+        assertEquals(Arrays.asList(1), locationController.getOccupantIdsAtLocation(2));
+        assertTrue(locationController.getLocationIdsForPerson(5).isEmpty());
+    }
+
+    @Test
+    public void testFailedAddLeavesOccupancyUnchanged() {
+        try {
+            locationController.addPersonToLocation(1, 1);
+            fail("Should have thrown NullPointerException");
+        } catch (NullPointerException | SQLException e) {
+            assertTrue(locationController.getLocationIdsForPerson(1).isEmpty());
+        }
+    }
 
-}
\ No newline at end of file
+    @Test(expected = NullPointerException.class)
+    public void testAllocateToPersonAtLocationReloadsOccupancyOnMiss() throws Exception {
+        // The index says the person is elsewhere, so the controller must go back to the database
+        locationController.addOccupantTest(1, 2);
+        locationController.allocateSupplyToPersonAtLocation(1, 1, 1, null, null);
+    }
+
+    @Test
+    public void testEvictSuppliesRemovesThemFromInventories() {
+        Water water = new Water("Bottled Water", "Water");
+        water.setSupplyId(7);
+        locationController.addSupplyToInventory(1, testSupply);
+        locationController.addSupplyToInventory(2, water);
+
+        locationController.evictSupplies(Arrays.asList(7));
+
+        assertEquals(Arrays.asList(testSupply), testLocation1.getLocationInventory());
+        assertTrue(testLocation2.getLocationInventory().isEmpty());
+    }
+
+    @Test
+    public void testAddOccupantsLocallyUpdatesOccupancyIndex() {
+        locationController.addOccupantsLocally(Arrays.asList(new int[]{1, 1}, new int[]{2, 1}, new int[]{2, 2}));
+
+        assertEquals(Arrays.asList(1, 2), locationController.getOccupantIdsAtLocation(1));
+        assertEquals(Arrays.asList(1, 2), locationController.getLocationIdsForPerson(2));
+        assertTrue(locationController.getPeopleNotAtAnyLocation(Arrays.asList(testPerson)).isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * LogRingBufferTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LogRingBufferTest {
+
+    @Test
+    public void testEntriesComeOutInOrder() {
+        LogRingBuffer<String> buffer = new LogRingBuffer<>(4);
+
+        assertTrue(buffer.offer("first"));
+        assertTrue(buffer.offer("second"));
+
+        assertEquals("first", buffer.poll());
+        assertEquals("second", buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer<String>(5).capacity());
+        assertEquals(2, new LogRingBuffer<String>(1).capacity());
+    }
+
+    @Test
+    public void testOfferFailsWhenFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(2);
+
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse("A full buffer should refuse entries", buffer.offer(3));
+
+        assertEquals(Integer.valueOf(1), buffer.poll());
+        assertTrue("Polling should make room", buffer.offer(3));
+    }
+
+    @Test
+    public void testBufferWrapsAround() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(buffer.offer(i));
+            assertEquals(Integer.valueOf(i), buffer.poll());
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testDrainToRespectsMaximum() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(batch, 3));
+        assertEquals(java.util.Arrays.asList(0, 1, 2), batch);
+        assertEquals(2, buffer.drainTo(batch, 10));
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Integer> received = new HashSet<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (received.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            Integer entry = buffer.poll();
+            if (entry != null) {
+                assertTrue("Entries should arrive once", received.add(entry));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, received.size());
+        assertNull(buffer.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullEntryThrows() {
+        new LogRingBuffer<String>(4).offer(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacityThrows() {
+        new LogRingBuffer<String>(0);
+    }
+}
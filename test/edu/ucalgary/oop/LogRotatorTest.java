@@ -0,0 +1,139 @@
+/**
+ * LogRotatorTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class LogRotatorTest {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private Path directory;
+    private Path logFile;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logs");
+        logFile = directory.resolve("errorlog.txt");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.toFile().delete();
+    }
+
+    @Test
+    public void testMissingFileNeedsNoRoll() throws IOException {
+        LogRotator rotator = new LogRotator(logFile, 10, Duration.ofDays(1), 3, Clock.systemDefaultZone());
+
+        assertFalse(rotator.needsRoll());
+        assertNull("There is nothing to roll", rotator.roll());
+    }
+
+    @Test
+    public void testSizeLimitTriggersRoll() throws IOException {
+        LogRotator rotator = new LogRotator(logFile, 10, Duration.ofDays(1), 3, Clock.systemDefaultZone());
+
+        append("short");
+        assertFalse(rotator.needsRoll());
+        append(" and then longer");
+        assertTrue(rotator.needsRoll());
+    }
+
+    @Test
+    public void testAgeLimitTriggersRoll() throws IOException {
+        Instant later = Instant.now().plus(Duration.ofHours(2));
+        LogRotator rotator = new LogRotator(logFile, 1024, Duration.ofHours(1), 3, Clock.fixed(later, ZONE));
+
+        append("entry");
+
+        assertTrue("A file started over an hour ago should roll", rotator.needsRoll());
+    }
+
+    @Test
+    public void testRolledSegmentIsCompressed() throws Exception {
+        LogRotator rotator = new LogRotator(logFile, 10, Duration.ofDays(1), 3, Clock.systemDefaultZone());
+        append("first segment contents");
+
+        Path segment = rotator.roll();
+        rotator.awaitCompression();
+
+        assertNotNull(segment);
+        assertFalse("Writing should start on a new file", Files.exists(logFile));
+        assertFalse("The uncompressed segment should be removed", Files.exists(segment));
+        Path compressed = segment.resolveSibling(segment.getFileName() + ".gz");
+        assertEquals("first segment contents", readCompressed(compressed));
+        assertEquals(List.of(compressed), rotator.getSegments());
+    }
+
+    @Test
+    public void testOnlyNewestSegmentsAreRetained() throws Exception {
+        Instant start = Instant.now();
+        LogRotator rotator = null;
+        for (int i = 0; i < 5; i++) {
+            // Each roll happens a minute after the last, so the segments have distinct names
+            rotator = new LogRotator(logFile, 10, Duration.ofDays(1), 2, Clock.fixed(start.plusSeconds(60L * i), ZONE));
+            append("segment " + i);
+            rotator.roll();
+            rotator.awaitCompression();
+        }
+
+        List<Path> segments = rotator.getSegments();
+        assertEquals(2, segments.size());
+        assertEquals("segment 3", readCompressed(segments.get(0)));
+        assertEquals("segment 4", readCompressed(segments.get(1)));
+    }
+
+    @Test
+    public void testRollsInTheSameMillisecondGetDistinctNames() throws Exception {
+        LogRotator rotator = new LogRotator(logFile, 10, Duration.ofDays(1), 5, Clock.fixed(Instant.now(), ZONE));
+
+        append("one");
+        Path first = rotator.roll();
+        append("two");
+        Path second = rotator.roll();
+
+        assertNotEquals(first, second);
+        assertTrue("Names should sort in roll order", first.compareTo(second) < 0);
+        rotator.awaitCompression();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveLimitThrows() {
+        new LogRotator(logFile, 0, Duration.ofDays(1), 3, Clock.systemDefaultZone());
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(logFile, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String readCompressed(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * MedicalRecordControllerTest.java
- * Version: 2.0
+ * Version: 2.1
  * Author: Jibran Somroo
  * Date: April 8, 2025
  */
@@ -11,6 +11,7 @@ import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.sql.SQLException;
+import java.time.LocalDate;
 
 public class MedicalRecordControllerTest {
     private MedicalRecordController medicalRecordController;
@@ -44,9 +45,9 @@ public class MedicalRecordControllerTest {
         testRecord2.setLocation(testLocation);
         testRecord2.setTreatmentDetails("Sprained ankle");
 
-        // Manually add to controller's list
-        medicalRecordController.getAllMedicalRecordsTest().add(testRecord1);
-        medicalRecordController.getAllMedicalRecordsTest().add(testRecord2);
+        // Manually add to controller's models
+        medicalRecordController.addMedicalRecordTest(testRecord1);
+        medicalRecordController.addMedicalRecordTest(testRecord2);
     }
 
     // Tests that should pass with test constructor
@@ -97,14 +98,22 @@ public class MedicalRecordControllerTest {
         medicalRecordController.updateMedicalRecord(testRecord1);
     }
 
-    @Test(expected = NullPointerException.class)
-    public void testGetMedicalRecordsForPersonNullPointerException() throws SQLException {
-        medicalRecordController.getMedicalRecordsForPerson(1);
+    @Test
+    public void testGetMedicalRecordsForPersonServedFromMemory() {
+        ArrayList<MedicalRecord> records = medicalRecordController.getMedicalRecordsForPerson(1);
+        assertEquals("Should return both records without the database", 2, records.size());
+        assertSame(testRecord1, records.get(0));
+        assertSame(testRecord2, records.get(1));
+        assertTrue("Unknown person should have no records",
+                medicalRecordController.getMedicalRecordsForPerson(99).isEmpty());
     }
 
-    @Test(expected = NullPointerException.class)
-    public void testGetMedicalRecordsAtLocationNullPointerException() throws SQLException {
-        medicalRecordController.getMedicalRecordsAtLocation(1);
+    @Test
+    public void testGetMedicalRecordsAtLocationServedFromMemory() {
+        ArrayList<MedicalRecord> records = medicalRecordController.getMedicalRecordsAtLocation(1);
+        assertEquals("Should return both records without the database", 2, records.size());
+        assertTrue("Unknown location should have no records",
+                medicalRecordController.getMedicalRecordsAtLocation(99).isEmpty());
     }
 
     @Test(expected = NullPointerException.class)
@@ -132,6 +141,82 @@ public class MedicalRecordControllerTest {
         }
     }
 
+    @Test
+    public void testRecordsSortedByDateOfTreatment() {
+        MedicalRecord earliest = new MedicalRecord(testPerson, testLocation, "Checkup", "2024-01-15");
+        earliest.setMedicalRecordId(3);
+        medicalRecordController.addMedicalRecordTest(earliest);
+
+        ArrayList<MedicalRecord> records = medicalRecordController.getMedicalRecordsAtLocation(1);
+        assertSame("Earliest treatment should come first", earliest, records.get(0));
+        assertSame(testRecord1, records.get(1));
+        assertSame(testRecord2, records.get(2));
+    }
+
+    @Test
+    public void testReplacedRecordIsRefiledAndKeepsPlace() {
+        Location clinic = new Location("Field Clinic", "Banff");
+        clinic.setLocationId(2);
+        MedicalRecord moved = new MedicalRecord(testPerson, clinic, "Follow-up", "2024-02-10");
+        moved.setMedicalRecordId(1);
+        medicalRecordController.addMedicalRecordTest(moved);
+
+        assertEquals(1, medicalRecordController.getMedicalRecordsAtLocation(1).size());
+        assertSame(moved, medicalRecordController.getMedicalRecordsAtLocation(2).get(0));
+        ArrayList<MedicalRecord> forPerson = medicalRecordController.getMedicalRecordsForPerson(1);
+        assertSame("Record should be sorted under its new date", moved, forPerson.get(1));
+        assertSame("Replacement should keep the first place", moved,
+                medicalRecordController.getAllMedicalRecords().get(0));
+    }
+
+    @Test
+    public void testDateRangeSlicing() {
+        Location clinic = new Location("Field Clinic", "Banff");
+        clinic.setLocationId(2);
+        for (int day = 1; day <= 10; day++) {
+            MedicalRecord record = new MedicalRecord(testPerson, clinic, "Day " + day,
+                    String.format("2024-03-%02d", day));
+            record.setMedicalRecordId(10 + day);
+            medicalRecordController.addMedicalRecordTest(record);
+        }
+
+        ArrayList<MedicalRecord> lastThreeDays = medicalRecordController.getMedicalRecordsAtLocation(
+                2, LocalDate.of(2024, 3, 10).minusDays(3), null);
+        assertEquals("Range start should be inclusive", 4, lastThreeDays.size());
+        assertEquals("Day 7", lastThreeDays.get(0).getTreatmentDetails());
+        assertEquals("Day 10", lastThreeDays.get(3).getTreatmentDetails());
+
+        ArrayList<MedicalRecord> middle = medicalRecordController.getMedicalRecordsAtLocation(
+                2, LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 5));
+        assertEquals("Range end should be inclusive", 2, middle.size());
+
+        ArrayList<MedicalRecord> forPerson = medicalRecordController.getMedicalRecordsForPerson(
+                1, null, LocalDate.of(2024, 2, 2));
+        assertEquals("Only the February 2 record should be on or before that date", 1, forPerson.size());
+        assertSame(testRecord1, forPerson.get(0));
+
+        assertTrue("Empty range should return nothing", medicalRecordController.getMedicalRecordsAtLocation(
+                2, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)).isEmpty());
+    }
+
+    @Test
+    public void testIndexesUnchangedWhenUpdateFails() {
+        Location shelter = new Location("Shelter", "Calgary");
+        shelter.setLocationId(3);
+        MedicalRecord moved = new MedicalRecord(testPerson, shelter, "Sprained ankle", "2024-05-01");
+        moved.setMedicalRecordId(2);
+
+        try {
+            medicalRecordController.updateMedicalRecord(moved);
+            fail("Should have thrown NullPointerException");
+        } catch (NullPointerException | SQLException e) {
+            // The test constructor has no database, so the local indexes are left as they were
+        }
+
+        assertEquals(2, medicalRecordController.getMedicalRecordsAtLocation(1).size());
+        assertTrue(medicalRecordController.getMedicalRecordsAtLocation(3).isEmpty());
+    }
+
     @Test
     public void testGetAllMedicalRecordsReturnsCopy() {
         ArrayList<MedicalRecord> records = medicalRecordController.getAllMedicalRecords();
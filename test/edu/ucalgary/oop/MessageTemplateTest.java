@@ -0,0 +1,94 @@
+/**
+ * MessageTemplateTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void testSequentialPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile("%s entered the %s facility on %s.");
+
+        assertEquals(3, template.getArgumentCount());
+        assertEquals("Jane Doe entered the North facility on 2025-01-01.",
+                template.format("Jane Doe", "North", "2025-01-01"));
+    }
+
+    @Test
+    public void testIntegerPlaceholder() {
+        MessageTemplate template = MessageTemplate.compile("%s loaded in %d ms");
+
+        assertEquals(String.format("%s loaded in %d ms", "People", 42L), template.format("People", 42L));
+    }
+
+    @Test
+    public void testPositionalPlaceholdersAreResolvedAtCompileTime() {
+        MessageTemplate template = MessageTemplate.compile("%2$s, %1$s (%2$s)");
+
+        assertEquals(2, template.getArgumentCount());
+        assertEquals("Doe, Jane (Doe)", template.format("Jane", "Doe"));
+    }
+
+    @Test
+    public void testWidthsMatchPrintf() {
+        String layout = "%-8s %-15s %5s%n";
+        MessageTemplate template = MessageTemplate.compile(layout);
+
+        assertEquals(String.format(layout, 7, "Water", "ok"), template.format(7, "Water", "ok"));
+        assertEquals(String.format(layout, 7, "A name longer than fifteen", "too long"),
+                template.format(7, "A name longer than fifteen", "too long"));
+    }
+
+    @Test
+    public void testEscapesAndNullArguments() {
+        MessageTemplate template = MessageTemplate.compile("100%% of %s%n");
+
+        assertEquals(String.format("100%% of %s%n", (Object) null), template.format((Object) null));
+    }
+
+    @Test
+    public void testRenderToAppendsToReusedBuffer() {
+        MessageTemplate template = MessageTemplate.compile("%-4s|");
+        StringBuilder buffer = new StringBuilder("row:");
+
+        template.renderTo(buffer, 1);
+        template.renderTo(buffer, 22);
+
+        assertEquals("row:1   |22  |", buffer.toString());
+    }
+
+    @Test
+    public void testLiteralIsRenderedAsWritten() {
+        MessageTemplate template = MessageTemplate.literal("50% off %q");
+
+        assertEquals(0, template.getArgumentCount());
+        assertEquals("50% off %q", template.format());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingArgumentThrows() {
+        MessageTemplate.compile("%s and %s").format("one");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntegerPlaceholderRejectsText() {
+        MessageTemplate.compile("%d people").format("three");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedConversionThrows() {
+        MessageTemplate.compile("%.2f");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrailingPercentThrows() {
+        MessageTemplate.compile("50%");
+    }
+}
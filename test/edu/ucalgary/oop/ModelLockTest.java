@@ -0,0 +1,195 @@
+/**
+ * ModelLockTest.java
+ * Version: 2.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ModelLockTest {
+    private ModelLock modelLock;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        modelLock = new ModelLock(4);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSameEntityIsSerialized() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    modelLock.withStripe(42, () -> {
+                        if (inside.incrementAndGet() > 1) {
+                            overlapped.set(true);
+                        }
+                        Thread.yield();
+                        inside.decrementAndGet();
+                    });
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+
+        assertFalse("Two changes to the same entity should never overlap", overlapped.get());
+    }
+
+    @Test
+    public void testDifferentStripesRunInParallel() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+
+        Future<?> first = executor.submit(() -> {
+            modelLock.withStripe(1, () -> awaitQuietly(bothInside));
+            return null;
+        });
+        Future<?> second = executor.submit(() -> {
+            modelLock.withStripe(2, () -> awaitQuietly(bothInside));
+            return null;
+        });
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testStripeReleasedAfterFailure() throws Exception {
+        try {
+            modelLock.withStripe(3, () -> {
+                throw new SQLException("Database unavailable");
+            });
+            fail("Task failure should be rethrown");
+        } catch (SQLException e) {
+            assertEquals("Database unavailable", e.getMessage());
+        }
+
+        Future<?> next = executor.submit(() -> {
+            modelLock.withStripe(3, () -> { });
+            return null;
+        });
+        next.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testWithStripesHoldsEveryStripe() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> group = executor.submit(() -> {
+            modelLock.withStripes(Arrays.asList(2, 7), () -> {
+                inside.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        });
+        assertTrue(inside.await(10, TimeUnit.SECONDS));
+
+        AtomicBoolean entered = new AtomicBoolean();
+        Future<?> single = executor.submit(() -> {
+            modelLock.withStripe(7, () -> entered.set(true));
+            return null;
+        });
+        Thread.sleep(100);
+        assertFalse("A change to one of the entities should wait for the group", entered.get());
+
+        release.countDown();
+        group.get(10, TimeUnit.SECONDS);
+        single.get(10, TimeUnit.SECONDS);
+        assertTrue(entered.get());
+    }
+
+    @Test
+    public void testOverlappingStripeGroupsDoNotDeadlock() throws Exception {
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<Integer> ids = t % 2 == 0 ? Arrays.asList(1, 2, 3) : Arrays.asList(3, 2, 1);
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    modelLock.withStripes(ids, () -> Thread.yield());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testInStripeWaitsForDatabaseTask() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> task = executor.submit(() -> {
+            modelLock.withStripe(5, () -> {
+                inside.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        });
+        assertTrue(inside.await(10, TimeUnit.SECONDS));
+
+        AtomicBoolean entered = new AtomicBoolean();
+        Future<?> change = executor.submit(() -> modelLock.inStripe(5, () -> entered.set(true)));
+        Thread.sleep(100);
+        assertFalse("An in-memory change should wait for the same entity's database task", entered.get());
+
+        release.countDown();
+        task.get(10, TimeUnit.SECONDS);
+        change.get(10, TimeUnit.SECONDS);
+        assertTrue(entered.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStripeCountRejected() {
+        new ModelLock(0);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) throws SQLException {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new SQLException("Other stripe never entered");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+}
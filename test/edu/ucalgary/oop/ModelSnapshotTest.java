@@ -0,0 +1,69 @@
+/**
+ * ModelSnapshotTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class ModelSnapshotTest {
+    private List<String> models;
+    private ModelSnapshot<String> snapshot;
+
+    @Before
+    public void setUp() {
+        models = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        snapshot = new ModelSnapshot<>(3, models);
+    }
+
+    @Test
+    public void testSnapshotHoldsModelsInOrder() {
+        assertEquals(3, snapshot.size());
+        assertEquals("a", snapshot.get(0));
+        assertEquals(Arrays.asList("a", "b", "c"), snapshot.asList());
+        assertEquals(3, snapshot.getVersion());
+    }
+
+    @Test
+    public void testSnapshotUnaffectedByLaterChanges() {
+        models.add("d");
+        models.set(0, "z");
+
+        assertEquals(Arrays.asList("a", "b", "c"), snapshot.asList());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotCannotBeChanged() {
+        snapshot.asList().add("d");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorCannotRemove() {
+        Iterator<String> iterator = snapshot.iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void testIterableAndStream() {
+        StringBuilder joined = new StringBuilder();
+        for (String item : snapshot) {
+            joined.append(item);
+        }
+        assertEquals("abc", joined.toString());
+        assertEquals(2, snapshot.stream().filter(item -> !item.equals("b")).count());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        assertTrue(new ModelSnapshot<String>(0, new ArrayList<>()).isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * ModelStoreTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ModelStoreTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testUpdatePublishesNewState() {
+        ModelStore<PersistentIntMap<String>> store = new ModelStore<>(PersistentIntMap.empty());
+        PersistentIntMap<String> before = store.get();
+
+        PersistentIntMap<String> published = store.update(map -> map.put(1, "one"));
+
+        assertSame(published, store.get());
+        assertEquals("one", store.get().get(1));
+        assertTrue("Earlier state should be unchanged", before.isEmpty());
+    }
+
+    @Test
+    public void testUnchangedStateIsNotPublishedAgain() {
+        ModelStore<PersistentIntMap<String>> store = new ModelStore<>(PersistentIntMap.<String>empty().put(1, "one"));
+        PersistentIntMap<String> before = store.get();
+
+        assertSame(before, store.update(map -> map.remove(2)));
+    }
+
+    @Test
+    public void testConcurrentWritersLoseNoUpdates() throws Exception {
+        ModelStore<PersistentIntMap<Integer>> store = new ModelStore<>(PersistentIntMap.empty());
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < 8; w++) {
+            int first = w * 1_000;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = first; i < first + 1_000; i++) {
+                    int key = i;
+                    store.update(map -> map.put(key, key));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(8_000, store.get().size());
+    }
+
+    @Test
+    public void testReadersNeverSeeTornTables() throws Exception {
+        ModelStore<ModelTable<Supply>> store = new ModelStore<>(ModelTable.empty(Supply::getSupplyId));
+        int writes = 5_000;
+
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < writes; i++) {
+                Supply supply = new Supply("Blanket", "General");
+                supply.setSupplyId(i);
+                store.update(table -> table.put(supply));
+            }
+        });
+
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(executor.submit(() -> {
+                int lastSize = 0;
+                while (lastSize < writes) {
+                    ModelSnapshot<Supply> snapshot = store.get().snapshot();
+                    assertTrue("Snapshots should only grow", snapshot.size() >= lastSize);
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        assertEquals("Snapshot should hold every supply in order", i, snapshot.get(i).getSupplyId());
+                    }
+                    lastSize = snapshot.size();
+                }
+                return lastSize;
+            }));
+        }
+
+        writer.get(30, TimeUnit.SECONDS);
+        for (Future<Integer> reader : readers) {
+            assertEquals(writes, (int) reader.get(30, TimeUnit.SECONDS));
+        }
+    }
+}
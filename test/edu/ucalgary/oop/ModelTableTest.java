@@ -0,0 +1,91 @@
+/**
+ * ModelTableTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+
+public class ModelTableTest {
+    private ModelTable<Supply> table;
+    private Supply cot;
+    private Supply blanket;
+    private Supply water;
+
+    @Before
+    public void setUp() {
+        cot = supply(30, "Cot");
+        blanket = supply(10, "Blanket");
+        water = supply(20, "Water");
+        table = ModelTable.of(Supply::getSupplyId, Arrays.asList(cot, blanket, water));
+    }
+
+    @Test
+    public void testGetById() {
+        assertSame(blanket, table.get(10));
+        assertTrue(table.containsKey(30));
+        assertNull(table.get(99));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void testSnapshotKeepsInsertionOrder() {
+        assertEquals(Arrays.asList(cot, blanket, water), table.snapshot().asList());
+    }
+
+    @Test
+    public void testRemoveMiddleKeepsOrder() {
+        ModelTable<Supply> removed = table.remove(10);
+
+        assertEquals(Arrays.asList(cot, water), removed.snapshot().asList());
+        assertNull(removed.get(10));
+        assertEquals("Original table should be unchanged", 3, table.size());
+    }
+
+    @Test
+    public void testReplaceKeepsPlace() {
+        Supply newCot = supply(30, "New cot");
+        ModelTable<Supply> replaced = table.put(newCot);
+
+        assertEquals(Arrays.asList(newCot, blanket, water), replaced.snapshot().asList());
+        assertSame(newCot, replaced.get(30));
+        assertSame(cot, table.get(30));
+    }
+
+    @Test
+    public void testAddAfterRemoveGoesToEnd() {
+        ModelTable<Supply> readded = table.remove(30).put(cot);
+
+        assertEquals(Arrays.asList(blanket, water, cot), readded.snapshot().asList());
+    }
+
+    @Test
+    public void testSnapshotSharedUntilChanged() {
+        ModelSnapshot<Supply> first = table.snapshot();
+
+        assertSame("Asking again should not copy", first, table.snapshot());
+        ModelTable<Supply> changed = table.remove(20);
+        assertNotSame(first, changed.snapshot());
+        assertTrue("Each change should move the version on", changed.snapshot().getVersion() > first.getVersion());
+    }
+
+    @Test
+    public void testEmptyTable() {
+        ModelTable<Supply> empty = ModelTable.empty(Supply::getSupplyId);
+
+        assertTrue(empty.isEmpty());
+        assertTrue(empty.snapshot().isEmpty());
+        assertSame(empty, empty.remove(1));
+    }
+
+    private static Supply supply(int id, String type) {
+        Supply supply = new Supply(type, "general");
+        supply.setSupplyId(id);
+        return supply;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * OccupancyIndexTest.java
+ * Version: 2.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+
+public class OccupancyIndexTest {
+    private OccupancyIndex index;
+
+    @Before
+    public void setUp() {
+        index = OccupancyIndex.of(Arrays.asList(new int[]{2, 10}, new int[]{1, 10}, new int[]{3, 20}));
+    }
+
+    @Test
+    public void testLoadIndexesBothDirections() {
+        assertEquals("Occupants should be listed in ID order", Arrays.asList(1, 2), index.getOccupantIds(10));
+        assertEquals(Arrays.asList(20), index.getLocationIds(3));
+        assertTrue(index.isAt(2, 10));
+        assertFalse(index.isAt(2, 20));
+    }
+
+    @Test
+    public void testUnassignedPerson() {
+        assertFalse(index.isAssigned(4));
+        assertTrue(index.getLocationIds(4).isEmpty());
+        assertTrue(index.getOccupantIds(30).isEmpty());
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        index = index.add(4, 20);
+        assertTrue(index.isAssigned(4));
+        assertEquals(Arrays.asList(3, 4), index.getOccupantIds(20));
+
+        index = index.remove(3, 20);
+        assertFalse("Person with no locations left should be unassigned", index.isAssigned(3));
+        assertEquals(Arrays.asList(4), index.getOccupantIds(20));
+    }
+
+    @Test
+    public void testChangesLeaveOriginalUnchanged() {
+        OccupancyIndex changed = index.add(4, 20).remove(1, 10);
+
+        assertFalse(index.isAssigned(4));
+        assertTrue(index.isAt(1, 10));
+        assertTrue(changed.isAt(4, 20));
+        assertFalse(changed.isAt(1, 10));
+    }
+
+    @Test
+    public void testDuplicateAddIgnored() {
+        index = index.add(1, 10);
+        assertEquals(Arrays.asList(1, 2), index.getOccupantIds(10));
+    }
+
+    @Test
+    public void testRemoveLocationUnassignsOccupants() {
+        index = index.add(1, 20).removeLocation(10);
+
+        assertTrue(index.getOccupantIds(10).isEmpty());
+        assertFalse(index.isAssigned(2));
+        assertEquals("Other locations should be kept", Arrays.asList(20), index.getLocationIds(1));
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertFalse(OccupancyIndex.empty().isAssigned(1));
+        assertSame(OccupancyIndex.empty(), OccupancyIndex.empty().removeLocation(10));
+    }
+
+    @Test
+    public void testReturnedListsAreCopies() {
+        index.getOccupantIds(10).clear();
+        assertEquals(2, index.getOccupantIds(10).size());
+    }
+}
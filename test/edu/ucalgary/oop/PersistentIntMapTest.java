@@ -0,0 +1,132 @@
+/**
+ * PersistentIntMapTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class PersistentIntMapTest {
+    private PersistentIntMap<String> map;
+
+    @Before
+    public void setUp() {
+        map = PersistentIntMap.empty();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        map = map.put(1, "one").put(2, "two");
+
+        assertEquals("one", map.get(1));
+        assertEquals("two", map.get(2));
+        assertNull("Missing key should return null", map.get(3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutLeavesOriginalUnchanged() {
+        PersistentIntMap<String> before = map.put(1, "one");
+        PersistentIntMap<String> after = before.put(1, "uno").put(2, "two");
+
+        assertEquals("one", before.get(1));
+        assertNull(before.get(2));
+        assertEquals(1, before.size());
+        assertEquals("uno", after.get(1));
+        assertEquals(2, after.size());
+    }
+
+    @Test
+    public void testPutSameValueReturnsSameMap() {
+        String value = "one";
+        map = map.put(1, value);
+
+        assertSame(map, map.put(1, value));
+    }
+
+    @Test
+    public void testRemove() {
+        PersistentIntMap<String> full = map.put(1, "one").put(2, "two");
+        PersistentIntMap<String> removed = full.remove(1);
+
+        assertNull(removed.get(1));
+        assertFalse(removed.containsKey(1));
+        assertEquals("two", removed.get(2));
+        assertEquals(1, removed.size());
+        assertEquals("Original should keep the key", "one", full.get(1));
+        assertSame("Removing a missing key should return the same map", removed, removed.remove(1));
+    }
+
+    @Test
+    public void testRemoveLastKeyLeavesEmptyMap() {
+        map = map.put(5, "five").remove(5);
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        assertEquals("one", map.put(1, "one").get(1));
+    }
+
+    @Test
+    public void testKeysSharingHighBits() {
+        // These keys only differ in their lowest bits, so they sit deep in the trie
+        map = map.put(0x7FFFFFE0, "a").put(0x7FFFFFE1, "b").put(0x7FFFFFFF, "c");
+
+        assertEquals("a", map.get(0x7FFFFFE0));
+        assertEquals("b", map.get(0x7FFFFFE1));
+        assertEquals("c", map.get(0x7FFFFFFF));
+
+        map = map.remove(0x7FFFFFE1).remove(0x7FFFFFE0);
+        assertEquals("c", map.get(0x7FFFFFFF));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testValuesInAscendingKeyOrder() {
+        map = map.put(40, "forty").put(-3, "minus three").put(0, "zero").put(Integer.MIN_VALUE, "min")
+                .put(Integer.MAX_VALUE, "max").put(7, "seven");
+
+        assertEquals(Arrays.asList("min", "minus three", "zero", "seven", "forty", "max"), map.values());
+
+        List<Integer> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, -3, 0, 7, 40, Integer.MAX_VALUE), keys);
+    }
+
+    @Test
+    public void testRandomOperationsMatchTreeMap() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                String value = "v" + i;
+                expected.put(key, value);
+                map = map.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -1_000; key < 1_000; key++) {
+            assertEquals("Key " + key + " should match", expected.get(key), map.get(key));
+        }
+        assertEquals(new ArrayList<>(expected.values()), map.values());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValueRejected() {
+        map.put(1, null);
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * PersonControllerTest.java
- * Version: 2.0
+ * Version: 2.3
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -10,7 +10,13 @@ package edu.ucalgary.oop;
 import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class PersonControllerTest {
     private PersonController personController;
@@ -46,10 +52,10 @@ public class PersonControllerTest {
         testFamily = new FamilyGroup(familyMembers);
         testFamily.setFamilyGroupId(1);
 
-        // Manually add to controller's list
-        personController.getAllPeopleTest().add(testPerson1);
-        personController.getAllPeopleTest().add(testPerson2);
-        personController.getAllPeopleTest().add(testVictim);
+        // Manually add to controller's models
+        personController.addPersonTest(testPerson1);
+        personController.addPersonTest(testPerson2);
+        personController.addPersonTest(testVictim);
     }
 
     // Tests that should pass with test constructor
@@ -106,6 +112,8 @@ public class PersonControllerTest {
     public void testFindFamilyGroupById() {
         testPerson1.setFamilyGroup(testFamily);
         testPerson2.setFamilyGroup(testFamily);
+        personController.addPersonTest(testPerson1);
+        personController.addPersonTest(testPerson2);
 
         FamilyGroup found = personController.findFamilyGroupById(1);
         assertNotNull("Should find family group", found);
@@ -113,6 +121,121 @@ public class PersonControllerTest {
     }
 
 
+    @Test
+    public void testGetPersonByIdSeesPeopleAddedToList() throws SQLException {
+        assertEquals("Should index existing people", testVictim, personController.getPersonById(3));
+
+        Person late = new Person("Late", "Arrival");
+        late.setPersonId(4);
+        personController.addPersonTest(late);
+
+        assertSame("Should find a person added after the index was built", late, personController.getPersonById(4));
+    }
+
+    @Test
+    public void testGetAllPeopleKeepsInsertionOrder() throws SQLException {
+        personController.getPersonById(1);
+
+        ArrayList<Person> people = personController.getAllPeople();
+        assertSame(testPerson1, people.get(0));
+        assertSame(testPerson2, people.get(1));
+        assertSame(testVictim, people.get(2));
+    }
+
+    @Test
+    public void testFindFamilyGroupMissDoesNotRescan() {
+        assertNull("No family group should exist yet", personController.findFamilyGroupById(1));
+
+        // Set behind the controller's back, so a lookup does not see it
+        testPerson1.setFamilyGroup(testFamily);
+        assertNull("A miss should not rescan every person", personController.findFamilyGroupById(1));
+
+        // Putting the person back through the controller indexes the group
+        personController.addPersonTest(testPerson1);
+        assertSame(testFamily, personController.findFamilyGroupById(1));
+    }
+
+    @Test
+    public void testIndexFollowsRemovalAndReplacement() throws SQLException {
+        personController.getPersonById(1);
+
+        // Removing and then adding keeps the size the same
+        personController.removePersonTest(2);
+        Person replacement = new Person("New", "Person");
+        replacement.setPersonId(5);
+        personController.addPersonTest(replacement);
+
+        assertSame(replacement, personController.getPersonById(5));
+        assertSame(testVictim, personController.getPersonById(3));
+        assertEquals(3, personController.getAllPeople().size());
+    }
+
+    @Test
+    public void testRemovingMiddlePersonKeepsOrder() {
+        Person fourth = new Person("Fourth", "Person");
+        fourth.setPersonId(4);
+        personController.addPersonTest(fourth);
+
+        personController.removePersonTest(2);
+
+        ArrayList<Person> people = personController.getAllPeople();
+        assertEquals(3, people.size());
+        assertSame(testPerson1, people.get(0));
+        assertSame(testVictim, people.get(1));
+        assertSame(fourth, people.get(2));
+    }
+
+    @Test
+    public void testConcurrentAddsAreAllKept() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                int first = 100 + w * 250;
+                writers.add(executor.submit(() -> {
+                    for (int id = first; id < first + 250; id++) {
+                        Person person = new Person("Person", "Number" + id);
+                        person.setPersonId(id);
+                        personController.addPersonTest(person);
+                        // Reads take no lock, so they run freely alongside the writers
+                        assertNotNull(personController.getPersonById(id));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("No concurrent add should be lost", 1_003, personController.getAllPeople().size());
+    }
+
+    @Test
+    public void testReplacingPersonKeepsPlace() {
+        Person renamed = new Person("Janet", "Doe");
+        renamed.setPersonId(2);
+        personController.addPersonTest(renamed);
+
+        ArrayList<Person> people = personController.getAllPeople();
+        assertEquals(3, people.size());
+        assertSame(renamed, people.get(1));
+    }
+
+    @Test
+    public void testGetAllFamilyGroupsListsEachGroupOnce() throws SQLException {
+        testPerson1.setFamilyGroup(testFamily);
+        testPerson2.setFamilyGroup(testFamily);
+        personController.addPersonTest(testPerson1);
+        personController.addPersonTest(testPerson2);
+
+        ArrayList<FamilyGroup> groups = personController.getAllFamilyGroups();
+        assertEquals("Shared family group should be listed once", 1, groups.size());
+        assertSame(testFamily, groups.get(0));
+    }
+
     @Test(expected = NullPointerException.class)
     public void testAddPersonNullPointerException() throws SQLException {
         Person newPerson = new Person("test", "test2");
@@ -146,4 +269,20 @@ public class PersonControllerTest {
             assertEquals("Name should be updated locally", "Updated", updated.getFirstName());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEvictSuppliesRemovesThemFromInventories() {
+        Water water = new Water("Bottled Water", "Water");
+        water.setSupplyId(7);
+        Blanket blanket = new Blanket("Wool Blanket", "Blanket");
+        blanket.setSupplyId(8);
+        personController.addSupplyToInventory(3, water);
+        personController.addSupplyToInventory(3, blanket);
+        List<Supply> before = testVictim.getPersonalInventory();
+
+        personController.evictSupplies(Arrays.asList(7, 99));
+
+        assertEquals(Arrays.asList(blanket), testVictim.getPersonalInventory());
+        assertEquals("Readers holding the old inventory should not see it change", 2, before.size());
+    }
+}
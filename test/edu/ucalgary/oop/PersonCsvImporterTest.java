@@ -0,0 +1,110 @@
+/**
+ * PersonCsvImporterTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+public class PersonCsvImporterTest {
+    private PersonCsvImporter importer;
+
+    @Before
+    public void setUp() {
+        importer = new PersonCsvImporter();
+    }
+
+    private List<PersonCsvImporter.ImportRow> parse(String csv) throws IOException {
+        return importer.parse(new StringReader(csv));
+    }
+
+    @Test
+    public void testParsesAllColumns() throws IOException {
+        List<PersonCsvImporter.ImportRow> rows = parse(
+                "first_name,last_name,date_of_birth,gender,comments,phone_number,location_id,supply_id\n" +
+                "Jane,Doe,1990-05-12,Woman,Arrived by bus,403-555-1234,2,\n");
+
+        assertEquals(1, rows.size());
+        PersonCsvImporter.ImportRow row = rows.get(0);
+        Person person = row.getPerson();
+        assertEquals("Jane", person.getFirstName());
+        assertEquals("Doe", person.getLastName());
+        assertEquals("1990-05-12", person.getDateOfBirth());
+        assertEquals("Woman", person.getGender());
+        assertEquals("Arrived by bus", person.getComments());
+        assertEquals("403-555-1234", person.getPhoneNumber());
+        assertEquals(Integer.valueOf(2), row.getLocationId());
+        assertNull("Blank supply_id should be null", row.getSupplyId());
+        assertFalse("Person without supplies should not be a DisasterVictim", person instanceof DisasterVictim);
+    }
+
+    @Test
+    public void testColumnsMatchedByHeaderName() throws IOException {
+        List<PersonCsvImporter.ImportRow> rows = parse("Last_Name,First_Name\nDoe,Jane\n");
+
+        assertEquals("Jane", rows.get(0).getPerson().getFirstName());
+        assertEquals("Doe", rows.get(0).getPerson().getLastName());
+        assertNull(rows.get(0).getLocationId());
+    }
+
+    @Test
+    public void testQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        List<PersonCsvImporter.ImportRow> rows = parse(
+                "first_name,last_name,comments\r\n" +
+                "Jane,Doe,\"Needs insulin, \"\"type 1\"\"\r\nCheck daily\"\r\n" +
+                "John,Smith,\r\n");
+
+        assertEquals("Multi-line field should not start a new row", 2, rows.size());
+        assertEquals("Needs insulin, \"type 1\"\r\nCheck daily", rows.get(0).getPerson().getComments());
+        assertEquals("Smith", rows.get(1).getPerson().getLastName());
+    }
+
+    @Test
+    public void testSupplyIdCreatesDisasterVictim() throws IOException {
+        List<PersonCsvImporter.ImportRow> rows = parse("first_name,last_name,supply_id\nJane,Doe,7\n");
+
+        assertTrue("Person receiving a supply should be a DisasterVictim",
+                rows.get(0).getPerson() instanceof DisasterVictim);
+        assertEquals(Integer.valueOf(7), rows.get(0).getSupplyId());
+    }
+
+    @Test
+    public void testByteOrderMarkAndBlankLinesIgnored() throws IOException {
+        List<PersonCsvImporter.ImportRow> rows = parse("\uFEFFfirst_name,last_name\n\nJane,Doe\n\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Jane", rows.get(0).getPerson().getFirstName());
+    }
+
+    @Test
+    public void testEmptyInputReturnsNoRows() throws IOException {
+        assertTrue(parse("").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingRequiredColumnRejected() throws IOException {
+        parse("first_name,comments\nJane,None\n");
+    }
+
+    @Test
+    public void testInvalidRowReportsLineNumber() throws IOException {
+        try {
+            parse("first_name,last_name,location_id\nJane,Doe,1\nJohn,Smith,abc\n");
+            fail("Invalid location_id should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should name the bad row: " + e.getMessage(), e.getMessage().startsWith("Invalid row 3"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDateOfBirthRejected() throws IOException {
+        parse("first_name,last_name,date_of_birth\nJane,Doe,12/05/1990\n");
+    }
+}
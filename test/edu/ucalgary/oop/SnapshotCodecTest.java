@@ -0,0 +1,177 @@
+/**
+ * SnapshotCodecTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SnapshotCodecTest {
+
+    @Test
+    public void testSuppliesRoundTripKeepTheirSubclass() {
+        Water water = new Water("Bottle", "water");
+        water.setSupplyId(1);
+        water.setAllocationTimestamp(LocalDateTime.of(2026, 10, 16, 9, 30, 15));
+        Cot cot = new Cot("cot2", "cot", "101", "A1");
+        cot.setSupplyId(2);
+        PersonalBelonging belonging = new PersonalBelonging("personal item3", "personal item", "Blue backpack");
+        belonging.setSupplyId(3);
+        Blanket blanket = new Blanket("Wool blanket", "blanket");
+        blanket.setSupplyId(4);
+
+        List<Supply> decoded = SnapshotCodec.decodeSupplies(
+                ByteBuffer.wrap(SnapshotCodec.encodeSupplies(Arrays.asList(water, cot, belonging, blanket))));
+
+        assertEquals(4, decoded.size());
+        Water decodedWater = (Water) decoded.get(0);
+        assertEquals(1, decodedWater.getSupplyId());
+        assertEquals("Bottle", decodedWater.getSupplyName());
+        assertEquals(water.getAllocationTimestamp(), decodedWater.getAllocationTimestamp());
+        assertEquals("2026-10-16", decodedWater.getAllocationDate());
+
+        Cot decodedCot = (Cot) decoded.get(1);
+        assertEquals("101", decodedCot.getRoomLocation());
+        assertEquals("A1", decodedCot.getGridLocation());
+        assertEquals("Blue backpack", ((PersonalBelonging) decoded.get(2)).getItemDescription());
+        assertTrue(decoded.get(3) instanceof Blanket);
+        assertEquals("blanket", decoded.get(3).getSupplyType());
+    }
+
+    @Test
+    public void testUnallocatedWaterHasNoAllocationTime() {
+        Water water = new Water("Bottle", "water");
+        water.setSupplyId(5);
+
+        Water decoded = (Water) SnapshotCodec.decodeSupplies(
+                ByteBuffer.wrap(SnapshotCodec.encodeSupplies(Arrays.asList(water)))).get(0);
+
+        assertNull(decoded.getAllocationTimestamp());
+        assertNull(decoded.getExpirationTime());
+    }
+
+    @Test
+    public void testPeopleRoundTripWithSharedFamilyGroupAndInventory() {
+        DisasterVictim victim = new DisasterVictim("Freda", "Smith");
+        victim.setPersonId(1);
+        victim.setDateOfBirth("1990-05-14");
+        victim.setGender("woman");
+        victim.setComments("Arrived by bus");
+        victim.setPhoneNumber("403-555-1234");
+        Supply blanket = new Blanket("Wool blanket", "blanket");
+        blanket.setSupplyId(9);
+        victim.setPersonalInventory(new ArrayList<>(Arrays.asList(blanket)));
+
+        Person relative = new Person("Jane", "Smith");
+        relative.setPersonId(2);
+
+        FamilyGroup family = new FamilyGroup(new ArrayList<>(Arrays.asList(victim, relative)));
+        family.setFamilyGroupId(7);
+        victim.setFamilyGroup(family);
+        relative.setFamilyGroup(family);
+
+        List<Person> decoded = SnapshotCodec.decodePeople(
+                ByteBuffer.wrap(SnapshotCodec.encodePeople(Arrays.asList(victim, relative))));
+
+        DisasterVictim decodedVictim = (DisasterVictim) decoded.get(0);
+        Person decodedRelative = decoded.get(1);
+        assertFalse("Only victims should decode as DisasterVictim", decodedRelative instanceof DisasterVictim);
+        assertEquals(1, decodedVictim.getPersonId());
+        assertEquals("1990-05-14", decodedVictim.getDateOfBirth());
+        assertEquals("woman", decodedVictim.getGender());
+        assertEquals("Arrived by bus", decodedVictim.getComments());
+        assertEquals("403-555-1234", decodedVictim.getPhoneNumber());
+        assertNull(decodedRelative.getDateOfBirth());
+        assertNull(decodedRelative.getPhoneNumber());
+
+        assertEquals(1, decodedVictim.getPersonalInventory().size());
+        assertEquals(9, decodedVictim.getPersonalInventory().get(0).getSupplyId());
+
+        assertSame("Members should share one family group", decodedVictim.getFamilyGroup(), decodedRelative.getFamilyGroup());
+        assertEquals(7, decodedVictim.getFamilyGroup().getFamilyGroupId());
+        assertEquals(2, decodedVictim.getFamilyGroup().getMembers().size());
+    }
+
+    @Test
+    public void testInquiriesRoundTrip() {
+        Person inquirer = new Person("Jane", "Doe");
+        inquirer.setPersonId(3);
+        DisasterVictim missing = new DisasterVictim("John", "Doe");
+        missing.setPersonId(4);
+        Location location = new Location("Shelter A", "140 8 Ave NW");
+        location.setLocationId(2);
+        Inquiry inquiry = new Inquiry(inquirer, missing, "2026-10-01", "Last seen downtown", location);
+        inquiry.setInquiryId(11);
+
+        Inquiry decoded = SnapshotCodec.decodeInquiries(
+                ByteBuffer.wrap(SnapshotCodec.encodeInquiries(Arrays.asList(inquiry)))).get(0);
+
+        assertEquals(11, decoded.getInquiryId());
+        assertEquals(3, decoded.getInquirer().getPersonId());
+        assertEquals("John", decoded.getMissingPerson().getFirstName());
+        assertEquals(4, decoded.getMissingPerson().getPersonId());
+        assertEquals("Shelter A", decoded.getLastKnownLocation().getLocationName());
+        assertEquals(2, decoded.getLastKnownLocation().getLocationId());
+        assertEquals("2026-10-01", decoded.getDateOfInquiry());
+        assertEquals("Last seen downtown", decoded.getInfoProvided());
+    }
+
+    @Test
+    public void testMedicalRecordsRoundTrip() {
+        Person person = new Person("Jane", "Doe");
+        person.setPersonId(3);
+        Location location = new Location("Shelter A", "140 8 Ave NW");
+        location.setLocationId(2);
+        MedicalRecord record = new MedicalRecord(person, location, "Bandaged arm", "2026-09-30");
+        record.setMedicalRecordId(21);
+
+        MedicalRecord decoded = SnapshotCodec.decodeMedicalRecords(
+                ByteBuffer.wrap(SnapshotCodec.encodeMedicalRecords(Arrays.asList(record)))).get(0);
+
+        assertEquals(21, decoded.getMedicalRecordId());
+        assertEquals(3, decoded.getPerson().getPersonId());
+        assertEquals(2, decoded.getLocation().getLocationId());
+        assertEquals("Bandaged arm", decoded.getTreatmentDetails());
+        assertEquals("2026-09-30", decoded.getDateOfTreatment());
+    }
+
+    @Test
+    public void testLocationsAndAssignmentsRoundTrip() {
+        Location location = new Location("Shelter Ä", "140 8 Ave NW");
+        location.setLocationId(2);
+        List<int[]> assignments = Arrays.asList(new int[]{1, 2}, new int[]{3, 2});
+
+        Location decoded = SnapshotCodec.decodeLocations(
+                ByteBuffer.wrap(SnapshotCodec.encodeLocations(Arrays.asList(location)))).get(0);
+        List<int[]> decodedAssignments = SnapshotCodec.decodePersonLocations(
+                ByteBuffer.wrap(SnapshotCodec.encodePersonLocations(assignments)));
+
+        assertEquals("Non-ASCII names should survive", "Shelter Ä", decoded.getLocationName());
+        assertEquals(2, decoded.getLocationId());
+        assertEquals(2, decodedAssignments.size());
+        assertArrayEquals(new int[]{3, 2}, decodedAssignments.get(1));
+    }
+
+    @Test
+    public void testTruncatedDataIsRejected() {
+        Location location = new Location("Shelter A", "140 8 Ave NW");
+        byte[] encoded = SnapshotCodec.encodeLocations(Arrays.asList(location));
+
+        try {
+            SnapshotCodec.decodeLocations(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length - 3)));
+            fail("Truncated data should not decode");
+        } catch (IllegalArgumentException | BufferUnderflowException expected) {
+            // Either is fine, the snapshot treats both as a missing section
+        }
+    }
+}
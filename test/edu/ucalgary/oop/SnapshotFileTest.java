@@ -0,0 +1,220 @@
+/**
+ * SnapshotFileTest.java
+ * Version: 1.2
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SnapshotFileTest {
+    private Path directory;
+    private Path file;
+    private Map<String, Long> counters;
+    private Map<String, ByteBuffer> sections;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("snapshots");
+        file = directory.resolve("controllers.snapshot");
+
+        counters = new HashMap<>();
+        counters.put(DatabaseManager.DATABASE_EPOCH, 1000L);
+        counters.put("supply", 4L);
+        counters.put("person", 2L);
+        counters.put("location", 3L);
+
+        Supply blanket = new Blanket("Wool blanket", "blanket");
+        blanket.setSupplyId(1);
+        Person person = new Person("Jane", "Doe");
+        person.setPersonId(2);
+        Location location = new Location("Shelter A", "140 8 Ave NW");
+        location.setLocationId(3);
+
+        sections = new LinkedHashMap<>();
+        sections.put(SnapshotFile.SUPPLIES, ByteBuffer.wrap(SnapshotCodec.encodeSupplies(Arrays.asList(blanket))));
+        sections.put(SnapshotFile.PEOPLE, ByteBuffer.wrap(SnapshotCodec.encodePeople(Arrays.asList(person))));
+        sections.put(SnapshotFile.LOCATIONS, ByteBuffer.wrap(SnapshotCodec.encodeLocations(Arrays.asList(location))));
+        sections.put(SnapshotFile.PERSON_LOCATIONS, ByteBuffer.wrap(SnapshotCodec.encodePersonLocations(Arrays.asList(new int[]{2, 3}))));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Path entry : listDirectory()) {
+            Files.delete(entry);
+        }
+        Files.delete(directory);
+    }
+
+    private List<Path> listDirectory() throws Exception {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testUnchangedCountersLoadEverySection() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+
+        SnapshotFile snapshot = SnapshotFile.open(file, counters);
+
+        assertEquals(1, snapshot.getSupplies().size());
+        assertEquals("Jane", snapshot.getPeople().get(0).getFirstName());
+        assertEquals(3, snapshot.getLocations().get(0).getLocationId());
+        assertArrayEquals(new int[]{2, 3}, snapshot.getPersonLocations().get(0));
+        assertNull("A section that was never written has to come from the database", snapshot.getInquiries());
+    }
+
+    @Test
+    public void testChangedTableOnlyInvalidatesSectionsReadFromIt() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        Map<String, Long> changed = new HashMap<>(counters);
+        changed.put("supplyallocation", 1L);
+
+        SnapshotFile snapshot = SnapshotFile.open(file, changed);
+
+        assertFalse(snapshot.isCurrent(SnapshotFile.SUPPLIES));
+        assertFalse("People carry their allocated supplies", snapshot.isCurrent(SnapshotFile.PEOPLE));
+        assertNull(snapshot.getSupplies());
+        assertTrue(snapshot.isCurrent(SnapshotFile.LOCATIONS));
+        assertNotNull(snapshot.getLocations());
+        assertTrue(snapshot.isCurrent(SnapshotFile.PERSON_LOCATIONS));
+    }
+
+    @Test
+    public void testNewDatabaseInvalidatesEverySection() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        Map<String, Long> recreated = new HashMap<>(counters);
+        recreated.put(DatabaseManager.DATABASE_EPOCH, 2000L);
+
+        SnapshotFile snapshot = SnapshotFile.open(file, recreated);
+
+        for (String section : SnapshotFile.getSectionNames()) {
+            assertFalse(section + " should be stale", snapshot.isCurrent(section));
+        }
+    }
+
+    @Test
+    public void testMissingFileGivesEmptySnapshot() throws Exception {
+        SnapshotFile snapshot = SnapshotFile.open(file, counters);
+
+        assertNull(snapshot.getPeople());
+        assertNull(snapshot.getSection(SnapshotFile.PEOPLE));
+        assertFalse(SnapshotFile.exists(file));
+    }
+
+    @Test
+    public void testCorruptFileGivesEmptySnapshot() throws Exception {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+
+        SnapshotFile snapshot = SnapshotFile.open(file, counters);
+
+        assertFalse(snapshot.isCurrent(SnapshotFile.SUPPLIES));
+        assertNull(snapshot.getSupplies());
+    }
+
+    @Test
+    public void testUndecodableSectionIsTreatedAsMissing() throws Exception {
+        sections.put(SnapshotFile.PEOPLE, ByteBuffer.wrap(new byte[]{0, 0, 0, 9}));
+        SnapshotFile.write(file, counters, sections);
+
+        SnapshotFile snapshot = SnapshotFile.open(file, counters);
+
+        assertNull(snapshot.getPeople());
+        assertNotNull("Other sections should still load", snapshot.getSupplies());
+    }
+
+    @Test
+    public void testMappedSectionsCanBeWrittenAgain() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        SnapshotFile snapshot = SnapshotFile.open(file, counters);
+
+        ByteBuffer section = snapshot.getSection(SnapshotFile.LOCATIONS);
+        assertEquals(sections.get(SnapshotFile.LOCATIONS), section);
+
+        Map<String, ByteBuffer> mapped = new LinkedHashMap<>();
+        for (String name : SnapshotFile.getSectionNames()) {
+            if (snapshot.getSection(name) != null) {
+                mapped.put(name, snapshot.getSection(name));
+            }
+        }
+        SnapshotFile.write(file, counters, mapped);
+
+        assertEquals("Jane", SnapshotFile.open(file, counters).getPeople().get(0).getFirstName());
+        assertEquals("Writing should not use up the mapped section", section, snapshot.getSection(SnapshotFile.LOCATIONS));
+    }
+
+    @Test
+    public void testWriteReplacesTheOldFile() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        Map<String, Long> later = new HashMap<>(counters);
+        later.put("location", 4L);
+        Location renamed = new Location("Shelter B", "140 8 Ave NW");
+        sections.put(SnapshotFile.LOCATIONS, ByteBuffer.wrap(SnapshotCodec.encodeLocations(Arrays.asList(renamed))));
+
+        SnapshotFile.write(file, later, sections);
+        List<Location> locations = SnapshotFile.open(file, later).getLocations();
+
+        assertEquals("Shelter B", locations.get(0).getLocationName());
+        assertEquals("Only the newest generation should be left, with no temporary file",
+                1, listDirectory().size());
+        assertTrue(SnapshotFile.exists(file));
+    }
+
+    @Test
+    public void testWriteLeavesTheMappedFileInPlace() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        List<Path> first = listDirectory();
+        SnapshotFile mapped = SnapshotFile.open(file, counters);
+        Location renamed = new Location("Shelter B", "140 8 Ave NW");
+        renamed.setLocationId(3);
+        sections.put(SnapshotFile.LOCATIONS, ByteBuffer.wrap(SnapshotCodec.encodeLocations(Arrays.asList(renamed))));
+
+        SnapshotFile.write(file, counters, sections);
+
+        List<Path> second = new ArrayList<>(listDirectory());
+        second.removeAll(first);
+        assertEquals("The new generation should get a name of its own", 1, second.size());
+        assertEquals("Shelter A", mapped.getLocations().get(0).getLocationName());
+        assertEquals("Shelter B", SnapshotFile.open(file, counters).getLocations().get(0).getLocationName());
+    }
+
+    @Test
+    public void testFileWithoutGenerationsStillOpens() throws Exception {
+        SnapshotFile.write(file, counters, sections);
+        Files.move(listDirectory().get(0), file, StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals("Jane", SnapshotFile.open(file, counters).getPeople().get(0).getFirstName());
+
+        SnapshotFile.write(file, counters, sections);
+        assertFalse("Writing a generation should clear away the old file", Files.exists(file));
+    }
+
+    @Test
+    public void testTablesThatNeverChangedCountAsZero() {
+        Map<String, Long> sectionCounters = SnapshotFile.countersFor(SnapshotFile.PERSON_LOCATIONS, counters);
+
+        assertEquals(Long.valueOf(0), sectionCounters.get("personlocation"));
+        assertEquals(Long.valueOf(1000), sectionCounters.get(DatabaseManager.DATABASE_EPOCH));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSectionRejected() {
+        SnapshotFile.countersFor("unknown", counters);
+    }
+}
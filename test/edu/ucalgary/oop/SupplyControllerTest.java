@@ -1,6 +1,6 @@
 /**
  * SupplyControllerTest.java
- * Version: 2.0
+ * Version: 2.2
  * Author: Jibran Somroo
  * Date: April 9, 2025
  */
@@ -10,6 +10,8 @@ package edu.ucalgary.oop;
 import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.sql.SQLException;
 import java.time.LocalDate;
 
@@ -43,11 +45,11 @@ public class SupplyControllerTest {
         testPersonalBelonging.setSupplyId(5);
 
         // Manually add to controller's list
-        supplyController.getAllSuppliesTest().add(testSupply);
-        supplyController.getAllSuppliesTest().add(testWater);
-        supplyController.getAllSuppliesTest().add(testBlanket);
-        supplyController.getAllSuppliesTest().add(testCot);
-        supplyController.getAllSuppliesTest().add(testPersonalBelonging);
+        supplyController.addSupplyTest(testSupply);
+        supplyController.addSupplyTest(testWater);
+        supplyController.addSupplyTest(testBlanket);
+        supplyController.addSupplyTest(testCot);
+        supplyController.addSupplyTest(testPersonalBelonging);
     }
 
     // Tests that should pass with test constructor
@@ -87,7 +89,7 @@ public class SupplyControllerTest {
 
     @Test(expected = IllegalArgumentException.class)
     public void testAllocateSupplyWithNullArguments() throws Exception {
-        supplyController.allocateSupply(1, null, null, null);
+        supplyController.allocateSupply(1, null, null, null, null, null);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -96,19 +98,21 @@ public class SupplyControllerTest {
                 testPersonalBelonging.getSupplyId(),
                 null, // personId
                 1,    // locationId
-                null  // fromLocationId
+                null, // fromLocationId
+                null, // personController
+                null  // locationController
         );
     }
 
     @Test
-    public void testWaterAllocationSetsDate() {
+    public void testFailedWaterAllocationLeavesNoDate() {
         try {
-            supplyController.allocateSupply(testWater.getSupplyId(), 1, null, null);
+            supplyController.allocateSupply(testWater.getSupplyId(), 1, null, null, null, null);
             fail("Should throw SQLException");
         } catch (Exception e) {
-            // Verify water got allocation date despite exception
-            assertNotNull("Water should have allocation date set",
-                    ((Water)testWater).getAllocationDate());
+            // The date is only set once the allocation is in the database
+            assertNull("Water should not have an allocation date after a failed write",
+                    testWater.getAllocationDate());
         }
     }
 
@@ -164,11 +168,101 @@ public class SupplyControllerTest {
     @Test
     public void testFindSupplyInLocalModels() {
         try {
-            supplyController.allocateSupply(testSupply.getSupplyId(), 1, null, null);
+            supplyController.allocateSupply(testSupply.getSupplyId(), 1, null, null, null, null);
             fail("Should throw SQLException");
         } catch (Exception e) {
             // If we got here, it means it found the supply in local models first
             assertTrue("Exception should occur after local model check", true);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testApplyAllocationLocallyKeepsOtherSupplies() {
+        ArrayList<Supply> before = supplyController.getAllSupplies();
+
+        assertTrue(supplyController.applyAllocationLocally(testWater.getSupplyId(), 1, null));
+
+        ArrayList<Supply> after = supplyController.getAllSupplies();
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertSame("Supplies should be updated in place, not reloaded", before.get(i), after.get(i));
+        }
+        assertNotNull("Water allocated to a person should have an allocation time",
+                testWater.getAllocationTimestamp());
+    }
+
+    @Test
+    public void testApplyAllocationLocallyToLocationClearsWaterDate() {
+        supplyController.applyAllocationLocally(testWater.getSupplyId(), 1, null);
+        supplyController.applyAllocationLocally(testWater.getSupplyId(), null, 1);
+
+        assertNull("Water at a location should not be expiring",
+                testWater.getAllocationTimestamp());
+        assertNull(testWater.getAllocationDate());
+    }
+
+    @Test
+    public void testApplyAllocationLocallyKeepsGivenWaterDate() {
+        testWater.setAllocationDate("2025-04-01");
+
+        supplyController.applyAllocationLocally(testWater.getSupplyId(), 1, null);
+
+        assertEquals("2025-04-01", testWater.getAllocationDate());
+    }
+
+    @Test
+    public void testApplyAllocationLocallyDetectsMissingSupply() {
+        assertFalse("A supply missing locally should call for a reload",
+                supplyController.applyAllocationLocally(99, 1, null));
+    }
+
+    @Test
+    public void testGetSupplyByIdReturnsCachedSupply() {
+        assertSame(testBlanket, supplyController.getSupplyById(3));
+        assertNull(supplyController.getSupplyById(99));
+    }
+
+    @Test
+    public void testSuppliesSnapshotSharedBetweenCalls() {
+        ModelSnapshot<Supply> first = supplyController.getSuppliesSnapshot();
+
+        assertSame("Repeated calls without changes should not copy", first, supplyController.getSuppliesSnapshot());
+        assertEquals(5, first.size());
+        assertSame(testSupply, first.get(0));
+    }
+
+    @Test
+    public void testSuppliesSnapshotFollowsChanges() {
+        ModelSnapshot<Supply> first = supplyController.getSuppliesSnapshot();
+        Supply added = new Supply("Tarp", "General");
+        added.setSupplyId(6);
+        supplyController.addSupplyTest(added);
+
+        ModelSnapshot<Supply> second = supplyController.getSuppliesSnapshot();
+        assertEquals(6, second.size());
+        assertEquals("Earlier snapshot should be unchanged", 5, first.size());
+    }
+
+    @Test
+    public void testExpiredSuppliesEvictedAndPassedOn() {
+        List<List<Integer>> told = new ArrayList<>();
+        supplyController.addEvictionListener(told::add);
+
+        supplyController.expireSuppliesTest(Arrays.asList(2));
+
+        assertNull("Expired water should leave the local models", supplyController.getSupplyById(2));
+        assertEquals(4, supplyController.getAllSupplies().size());
+        assertEquals(Arrays.asList(Arrays.asList(2)), told);
+    }
+
+    @Test
+    public void testFailingEvictionListenerDoesNotStopOthers() {
+        List<Integer> told = new ArrayList<>();
+        supplyController.addEvictionListener(ids -> { throw new IllegalStateException("Cache unavailable"); });
+        supplyController.addEvictionListener(told::addAll);
+
+        supplyController.expireSuppliesTest(Arrays.asList(2));
+
+        assertEquals(Arrays.asList(2), told);
+    }
+}
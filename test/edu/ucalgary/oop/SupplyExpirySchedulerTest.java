@@ -0,0 +1,175 @@
+/**
+ * SupplyExpirySchedulerTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SupplyExpirySchedulerTest {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private final LocalDateTime now = LocalDateTime.of(2025, 4, 10, 12, 0);
+    private Clock clock;
+    private List<Integer> removedIds;
+    private List<Integer> evictedIds;
+    private CountDownLatch evicted;
+    private SupplyExpiryScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(now.atZone(ZONE).toInstant(), ZONE);
+        removedIds = new ArrayList<>();
+        evictedIds = new ArrayList<>();
+        evicted = new CountDownLatch(1);
+        scheduler = new SupplyExpiryScheduler(
+                ids -> removedIds.addAll(ids),
+                ids -> {
+                    evictedIds.addAll(ids);
+                    evicted.countDown();
+                },
+                clock);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testExpiredSupplyRemovedInBackground() throws InterruptedException {
+        scheduler.schedule(1, now.minusHours(1));
+
+        assertTrue("Expired supply should be removed without a read", evicted.await(2, TimeUnit.SECONDS));
+        assertEquals("Supply should be removed from storage", List.of(1), removedIds);
+        assertEquals("Supply should be evicted from the cache", List.of(1), evictedIds);
+        assertFalse("Removed supply should no longer be scheduled", scheduler.isScheduled(1));
+    }
+
+    @Test
+    public void testSupplyNotRemovedBeforeExpiryHour() {
+        scheduler.schedule(1, now.plusHours(1));
+
+        List<Integer> removed = scheduler.runDueExpirations();
+
+        assertTrue("Nothing should be removed an hour early", removed.isEmpty());
+        assertTrue("Supply should still be scheduled", scheduler.isScheduled(1));
+    }
+
+    @Test
+    public void testDueSuppliesRemovedInOneBatch() throws InterruptedException {
+        // Hold the scheduler's lock so the timer cannot fire between the two due supplies
+        synchronized (scheduler) {
+            scheduler.schedule(2, now.plusHours(3));
+            scheduler.schedule(1, now.minusMinutes(30));
+            scheduler.schedule(3, now.minusHours(2));
+        }
+
+        assertTrue(evicted.await(2, TimeUnit.SECONDS));
+        assertEquals("Both due supplies should be removed together", 2, removedIds.size());
+        assertTrue(removedIds.contains(1) && removedIds.contains(3));
+        assertTrue("Future supply should stay scheduled", scheduler.isScheduled(2));
+    }
+
+    @Test
+    public void testCancelRemovesSchedule() {
+        scheduler.schedule(1, now.plusDays(1));
+        scheduler.cancel(1);
+
+        assertFalse("Cancelled supply should not be scheduled", scheduler.isScheduled(1));
+    }
+
+    @Test
+    public void testRescheduleReplacesEarlierTime() {
+        scheduler.schedule(1, now.plusHours(1));
+        scheduler.schedule(1, now.plusHours(5));
+        scheduler.cancel(1);
+
+        assertFalse("Rescheduling should not leave a duplicate entry", scheduler.isScheduled(1));
+    }
+
+    @Test
+    public void testUnallocatedWaterIgnored() {
+        Water water = new Water("Bottled Water", "water");
+        water.setSupplyId(7);
+        scheduler.schedule(water);
+
+        assertFalse("Unallocated water never expires", scheduler.isScheduled(7));
+    }
+
+    @Test
+    public void testAllocatedWaterUsesHourPrecision() {
+        Water water = new Water("Bottled Water", "water");
+        water.setSupplyId(7);
+        water.setAllocationTimestamp(now.minusDays(Water.EXPIRATION_DAYS).plusHours(1));
+        scheduler.schedule(water);
+
+        assertTrue("Water should not expire until the hour is reached", scheduler.runDueExpirations().isEmpty());
+        assertTrue(scheduler.isScheduled(7));
+    }
+
+    @Test
+    public void testFailedRemovalIsRetried() throws InterruptedException {
+        CountDownLatch attempted = new CountDownLatch(1);
+        SupplyExpiryScheduler failing = new SupplyExpiryScheduler(
+                ids -> {
+                    attempted.countDown();
+                    throw new SQLException("Database unavailable");
+                },
+                ids -> fail("Listener should not be notified when removal fails"),
+                clock);
+        try {
+            failing.schedule(1, now.minusHours(1));
+            assertTrue(attempted.await(2, TimeUnit.SECONDS));
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (!failing.isScheduled(1) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue("Supply should be queued again for a retry", failing.isScheduled(1));
+        } finally {
+            failing.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimerRearmedAfterListenerFails() {
+        SupplyExpiryScheduler failing = new SupplyExpiryScheduler(
+                ids -> removedIds.addAll(ids),
+                ids -> {
+                    throw new IllegalStateException("Cache unavailable");
+                },
+                clock);
+        try {
+            // Hold the scheduler's lock so the batch runs here rather than on the timer thread
+            synchronized (failing) {
+                failing.schedule(2, now.plusHours(1));
+                failing.schedule(1, now.minusHours(1));
+
+                assertEquals(List.of(1), failing.runDueExpirations());
+                assertEquals("The removal itself succeeded", List.of(1), removedIds);
+                assertFalse("A removed supply should not be retried", failing.isScheduled(1));
+                assertEquals("The timer should move on to the next supply",
+                        now.plusHours(1), failing.getNextRunTime());
+            }
+        } finally {
+            failing.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullExpirationTimeRejected() {
+        scheduler.schedule(1, null);
+    }
+}
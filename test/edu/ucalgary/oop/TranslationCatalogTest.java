@@ -0,0 +1,91 @@
+/**
+ * TranslationCatalogTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TranslationCatalogTest {
+    private TranslationCatalog english;
+    private TranslationCatalog french;
+
+    @Before
+    public void setUp() {
+        Map<String, String> englishEntries = new HashMap<>();
+        englishEntries.put("exit", "Exit");
+        englishEntries.put("error.dateOfBirthInvalidFormat", "Invalid date of birth");
+        english = new TranslationCatalog("en-CA", englishEntries, null);
+
+        Map<String, String> frenchEntries = new HashMap<>();
+        frenchEntries.put("exit", "Quitter");
+        french = new TranslationCatalog("fr-CA", frenchEntries, english);
+    }
+
+    @Test
+    public void testOwnTranslationWins() {
+        assertEquals("Quitter", french.get("exit"));
+    }
+
+    @Test
+    public void testMissingKeyFallsBack() {
+        assertTrue(french.contains("error.dateOfBirthInvalidFormat"));
+        assertFalse(french.containsOwn("error.dateOfBirthInvalidFormat"));
+        assertEquals("Invalid date of birth", french.get("error.dateOfBirthInvalidFormat"));
+    }
+
+    @Test
+    public void testUnknownKeyIsNull() {
+        assertNull(french.get("nonexistent_key"));
+        assertFalse(french.contains("nonexistent_key"));
+    }
+
+    @Test
+    public void testFallbackChainIsFlattened() {
+        TranslationCatalog quebec = new TranslationCatalog("fr-CA-QC", new HashMap<>(), french);
+
+        assertEquals(Arrays.asList("fr-CA-QC", "fr-CA", "en-CA"), quebec.getFallbackChain());
+        assertEquals("Quitter", quebec.get("exit"));
+        assertEquals("Invalid date of birth", quebec.get("error.dateOfBirthInvalidFormat"));
+        assertEquals(2, quebec.size());
+    }
+
+    @Test
+    public void testCatalogIsUnaffectedByTheSourceMap() {
+        Map<String, String> entries = new HashMap<>();
+        entries.put("exit", "Exit");
+        TranslationCatalog catalog = new TranslationCatalog("en-CA", entries, null);
+
+        entries.put("exit", "Changed");
+        entries.put("added", "Added");
+
+        assertEquals("Exit", catalog.get("exit"));
+        assertFalse(catalog.contains("added"));
+    }
+
+    @Test
+    public void testTemplatesAreCompiledOnceAndShared() {
+        Map<String, String> englishEntries = new HashMap<>();
+        englishEntries.put("people_imported", "%d people imported successfully.");
+        englishEntries.put("discount", "50% off");
+        TranslationCatalog catalog = new TranslationCatalog("en-CA", englishEntries, null);
+        TranslationCatalog child = new TranslationCatalog("fr-CA", new HashMap<>(), catalog);
+
+        assertEquals("3 people imported successfully.", catalog.getTemplate("people_imported").format(3));
+        assertSame(catalog.getTemplate("people_imported"), child.getTemplate("people_imported"));
+        assertEquals("50% off", catalog.getTemplate("discount").format());
+        assertNull(catalog.getTemplate("nonexistent_key"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOwnTranslationsAreReadOnly() {
+        french.getOwnTranslations().put("exit", "Sortie");
+    }
+}
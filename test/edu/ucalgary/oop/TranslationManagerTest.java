@@ -173,4 +173,169 @@ public class TranslationManagerTest {
             fail("Failed to test special characters: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTranslatorIsLoadedOnceAndShared() {
+        Translator first = manager.getTranslator("fr-CA");
+        Translator second = manager.getTranslator("fr-CA");
+
+        assertSame("The catalog should only be loaded once", first, second);
+        assertEquals("fr-CA", first.getLocale());
+    }
+
+    @Test
+    public void testLocalesAreIndependent() {
+        Translator english = manager.getTranslator("en-CA");
+        Translator french = manager.getTranslator("fr-CA");
+
+        assertEquals("Man", english.getTranslation("gender_man"));
+        assertEquals("Homme", french.getTranslation("gender_man"));
+    }
+
+    @Test
+    public void testFrenchFallsBackToEnglishForMissingKeys() throws IOException {
+        File directory = java.nio.file.Files.createTempDirectory("catalogs").toFile();
+        File english = new File(directory, "en-CA.xml");
+        File french = new File(directory, "fr-CA.xml");
+        try {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(english))) {
+                writer.println("<translation><key>exit</key><value>Exit</value></translation>");
+                writer.println("<translation><key>only_english</key><value>English only</value></translation>");
+            }
+            try (PrintWriter writer = new PrintWriter(new FileWriter(french))) {
+                writer.println("<translation><key>exit</key><value>Quitter</value></translation>");
+            }
+
+            manager.loadTranslations(french.getPath());
+
+            assertEquals("Quitter", manager.getTranslation("exit"));
+            assertEquals("English only", manager.getTranslation("only_english"));
+        } finally {
+            english.delete();
+            french.delete();
+            directory.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTranslatorForMissingKey() {
+        manager.getTranslator("en-CA").getTranslation("nonexistent_key");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTranslatorForUnknownLocale() {
+        manager.getTranslator("xx-XX");
+    }
+
+    @Test
+    public void testUseLocaleSetsTheDefault() {
+        Translator english = manager.useLocale("en-CA");
+
+        assertEquals(english.getTranslation("gender_man"), manager.getTranslation("gender_man"));
+    }
+
+    @Test
+    public void testSessionLocaleLeavesDefaultAlone() {
+        TranslationManager fresh = new TranslationManager(java.nio.file.Paths.get("data"));
+
+        Translator french = fresh.getTranslator("fr-CA");
+
+        assertEquals("Homme", french.getTranslation("gender_man"));
+        assertEquals("Another session's locale must not become the default", "Man", fresh.getTranslation("gender_man"));
+    }
+
+    @Test
+    public void testFormatRendersCompiledTranslations() {
+        Translator french = manager.getTranslator("fr-CA");
+
+        assertEquals("3 personnes importées avec succès.", french.format("people_imported", 3));
+        assertSame(french.getTemplate("report_person"), french.getTemplate("report_person"));
+        assertEquals(String.format(french.getTranslation("report_person"), "Jane Doe", "North", "2025-01-01"),
+                french.format("report_person", "Jane Doe", "North", "2025-01-01"));
+    }
+
+    @Test
+    public void testReloadSwapsCatalogAndRebuildsDependents() throws IOException {
+        File directory = java.nio.file.Files.createTempDirectory("catalogs").toFile();
+        File english = new File(directory, "en-CA.xml");
+        File french = new File(directory, "fr-CA.xml");
+        try {
+            writeCatalog(english, "exit", "Exit", "only_english", "English only");
+            writeCatalog(french, "exit", "Quitter");
+            TranslationManager reloading = new TranslationManager(directory.toPath());
+            Translator frenchTranslator = reloading.getTranslator("fr-CA");
+
+            writeCatalog(english, "exit", "Exit", "only_english", "Updated English");
+            reloading.reloadCatalogs(java.util.Collections.singleton("en-CA"));
+
+            assertSame("Handles are kept across reloads", frenchTranslator, reloading.getTranslator("fr-CA"));
+            assertEquals("Quitter", frenchTranslator.getTranslation("exit"));
+            assertEquals("Updated English", frenchTranslator.getTranslation("only_english"));
+            assertEquals("Updated English", reloading.getTranslator("en-CA").getTranslation("only_english"));
+        } finally {
+            english.delete();
+            french.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void testMalformedReloadKeepsLastGoodCatalog() throws IOException {
+        File directory = java.nio.file.Files.createTempDirectory("catalogs").toFile();
+        File english = new File(directory, "en-CA.xml");
+        try {
+            writeCatalog(english, "exit", "Exit");
+            TranslationManager reloading = new TranslationManager(directory.toPath());
+            Translator translator = reloading.getTranslator("en-CA");
+
+            try (PrintWriter writer = new PrintWriter(new FileWriter(english))) {
+                writer.println("<translation><key>exit</key><value>Half writ");
+            }
+            reloading.reloadCatalogs(java.util.Collections.singleton("en-CA"));
+
+            assertEquals("Exit", translator.getTranslation("exit"));
+        } finally {
+            english.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void testWatchedCatalogIsReloaded() throws Exception {
+        File directory = java.nio.file.Files.createTempDirectory("catalogs").toFile();
+        File english = new File(directory, "en-CA.xml");
+        TranslationManager reloading = new TranslationManager(directory.toPath());
+        try {
+            writeCatalog(english, "exit", "Exit");
+            Translator translator = reloading.getTranslator("en-CA");
+            reloading.watchCatalogs();
+
+            writeCatalog(english, "exit", "Leave");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!translator.getTranslation("exit").equals("Leave") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals("Leave", translator.getTranslation("exit"));
+        } finally {
+            reloading.stopWatching();
+            english.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void testFallbackLocales() {
+        assertEquals(java.util.Arrays.asList("fr", "en-CA"), TranslationManager.fallbackLocales("fr-CA"));
+        assertTrue("The default locale has no fallback", TranslationManager.fallbackLocales("en-CA").isEmpty());
+        assertTrue("Non-locale names have no fallback", TranslationManager.fallbackLocales("test_translations").isEmpty());
+    }
+
+    private static void writeCatalog(File file, String... entries) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                writer.println("<translation><key>" + entries[i] + "</key><value>" + entries[i + 1] + "</value></translation>");
+            }
+        }
+    }
+}
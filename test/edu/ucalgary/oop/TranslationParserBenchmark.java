@@ -0,0 +1,110 @@
+/**
+ * TranslationParserBenchmark.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares loading a catalog with the StAX TranslationParser against the previous approach of reading
+ * the whole file into a String through FileModel and matching it with a DOTALL lazy regex.
+ * Not a unit test; run it by hand with: java -cp out:lib/* edu.ucalgary.oop.TranslationParserBenchmark
+ */
+public class TranslationParserBenchmark {
+    private static final int[] CATALOG_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private static final Pattern LEGACY_PATTERN = Pattern.compile(
+            "<key>(.*?)</key>\\s*<value>(.*?)</value>",
+            Pattern.DOTALL
+    );
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-10s %12s %12s %10s%n", "entries", "regex ms", "stax ms", "speedup");
+
+        for (int size : CATALOG_SIZES) {
+            Path catalog = createCatalog(size);
+            try {
+                // Both must agree before their timings mean anything
+                if (!loadWithRegex(catalog).equals(loadWithStax(catalog))) {
+                    throw new IllegalStateException("Parsers disagree on a catalog of " + size);
+                }
+
+                double regexMillis = time(() -> loadWithRegex(catalog));
+                double staxMillis = time(() -> loadWithStax(catalog));
+                System.out.printf("%-10d %12.2f %12.2f %9.2fx%n", size, regexMillis, staxMillis, regexMillis / staxMillis);
+            } finally {
+                Files.deleteIfExists(catalog);
+            }
+        }
+    }
+
+
+
+
+    private interface Load {
+        Map<String, String> run() throws Exception;
+    }
+
+    /**
+     * @return The mean time of one load in milliseconds, after warming up.
+     */
+    private static double time(Load load) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            load.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            load.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static Map<String, String> loadWithRegex(Path catalog) {
+        FileModel fileModel = new FileModel(catalog.toString(), "");
+        fileModel.openFile();
+        fileModel.readFile();
+
+        Map<String, String> translations = new HashMap<>();
+        Matcher matcher = LEGACY_PATTERN.matcher(fileModel.getFileContent());
+        while (matcher.find()) {
+            translations.put(matcher.group(1).trim(), matcher.group(2).trim());
+        }
+        return translations;
+    }
+
+    private static Map<String, String> loadWithStax(Path catalog) throws Exception {
+        try (InputStream in = Files.newInputStream(catalog)) {
+            return TranslationParser.parse(in);
+        }
+    }
+
+    /**
+     * Writes a catalog laid out like data/en-CA.xml, with plain ASCII values both parsers read the same way.
+     */
+    private static Path createCatalog(int entries) throws Exception {
+        Path catalog = Files.createTempFile("catalog", ".xml");
+        try (BufferedWriter writer = Files.newBufferedWriter(catalog, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < entries; i++) {
+                writer.write("<translation>\n");
+                writer.write("  <key>benchmark_key_" + i + "</key>\n");
+                writer.write("  <value>Benchmark value number " + i + " with a typical sentence length: %s</value>\n");
+                writer.write("</translation>\n\n");
+            }
+        }
+        return catalog;
+    }
+}
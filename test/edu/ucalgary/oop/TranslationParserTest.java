@@ -0,0 +1,124 @@
+/**
+ * TranslationParserTest.java
+ * Version: 1.0
+ * Author: Jibran Somroo
+ * Date: October 17, 2026
+ */
+
+package edu.ucalgary.oop;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class TranslationParserTest {
+
+    @Test
+    public void testCatalogWithoutRootElement() throws Exception {
+        String xml =
+                "<translation>\n" +
+                "  <key>gender_man</key>\n" +
+                "  <value>Man</value>\n" +
+                "</translation>\n" +
+                "\n" +
+                "<translation>\n" +
+                "  <key>gender_woman</key>\n" +
+                "  <value>Woman</value>\n" +
+                "</translation>";
+
+        Map<String, String> translations = TranslationParser.parse(xml);
+
+        assertEquals(2, translations.size());
+        assertEquals("Man", translations.get("gender_man"));
+        assertEquals("Woman", translations.get("gender_woman"));
+    }
+
+    @Test
+    public void testCatalogWithRootElementAndDeclaration() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<translations><translation><key>exit</key><value>Quitter</value></translation></translations>";
+
+        assertEquals("Quitter", TranslationParser.parse(xml).get("exit"));
+    }
+
+    @Test
+    public void testByteOrderMarkIsSkipped() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        bytes.write("<translation><key>exit</key><value>Sortie</value></translation>".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> translations = TranslationParser.parse(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals("Sortie", translations.get("exit"));
+    }
+
+    @Test
+    public void testEntitiesAreResolved() throws Exception {
+        String xml = "<translation><key>menu</key><value>Supplies &amp; Locations &lt;%s&gt; &#233;t&#xE9;</value></translation>";
+
+        assertEquals("Supplies & Locations <%s> été", TranslationParser.parse(xml).get("menu"));
+    }
+
+    @Test
+    public void testCdataIsKeptAsIs() throws Exception {
+        String xml = "<translation><key>prompt</key><value>Enter <![CDATA[<name> & <id>]]> now</value></translation>";
+
+        assertEquals("Enter <name> & <id> now", TranslationParser.parse(xml).get("prompt"));
+    }
+
+    @Test
+    public void testKeysAndValuesAreTrimmedButInnerNewlinesKept() throws Exception {
+        String xml = "<translation><key>  help  </key><value>\n  Line one\nLine two  \n</value></translation>";
+
+        assertEquals("Line one\nLine two", TranslationParser.parse(xml).get("help"));
+    }
+
+    @Test
+    public void testLaterEntryReplacesEarlierOne() throws Exception {
+        String xml = "<translation><key>exit</key><value>Exit</value></translation>" +
+                "<translation><key>exit</key><value>Quit</value></translation>";
+
+        assertEquals("Quit", TranslationParser.parse(xml).get("exit"));
+    }
+
+    @Test
+    public void testEntryWithoutKeyIsSkipped() throws Exception {
+        String xml = "<translation><value>Orphan</value></translation>" +
+                "<translation><key>exit</key><value>Exit</value></translation>";
+
+        Map<String, String> translations = TranslationParser.parse(xml);
+
+        assertEquals(1, translations.size());
+        assertFalse(translations.containsValue("Orphan"));
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testMalformedCatalogRejected() throws Exception {
+        TranslationParser.parse("<translation><key>gender_man</key><value>Homme</translation>");
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testDoctypeRejected() throws Exception {
+        TranslationParser.parse("<!DOCTYPE x [<!ENTITY e SYSTEM \"file:///etc/passwd\">]>" +
+                "<translation><key>k</key><value>&e;</value></translation>");
+    }
+
+    @Test
+    public void testShippedCatalogsParse() throws Exception {
+        try (InputStream en = new FileInputStream("data/en-CA.xml");
+             InputStream fr = new FileInputStream("data/fr-CA.xml")) {
+            Map<String, String> english = TranslationParser.parse(en);
+            Map<String, String> french = TranslationParser.parse(fr);
+
+            assertEquals("Man", english.get("gender_man"));
+            assertEquals("Homme", french.get("gender_man"));
+            assertTrue("Catalogs should have many entries", english.size() > 100);
+        }
+    }
+}
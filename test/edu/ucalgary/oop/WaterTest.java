@@ -11,6 +11,7 @@ package edu.ucalgary.oop;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 
@@ -49,6 +50,25 @@ public class WaterTest {
     }
 
 
+    @Test
+    public void testSetAllocationTimestampSetsDate() {
+        water.setAllocationTimestamp(LocalDateTime.of(2023, 1, 1, 14, 30));
+        assertEquals("Allocation date should follow the timestamp", "2023-01-01", water.getAllocationDate());
+    }
+
+    @Test
+    public void testExpirationTimeHasHourPrecision() {
+        water.setAllocationTimestamp(LocalDateTime.of(2023, 1, 1, 14, 30));
+        assertEquals("Water should expire exactly EXPIRATION_DAYS after allocation",
+                LocalDateTime.of(2023, 1, 1, 14, 30).plusDays(Water.EXPIRATION_DAYS), water.getExpirationTime());
+    }
+
+    @Test
+    public void testUnallocatedWaterHasNoExpirationTime() {
+        assertNull("Unallocated water should not expire", water.getExpirationTime());
+    }
+
+
     @Test
     public void testSetSupplyNameForWater() {
         //arrange